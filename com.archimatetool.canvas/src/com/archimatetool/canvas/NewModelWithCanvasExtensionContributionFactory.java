@@ -5,7 +5,6 @@
  */
 package com.archimatetool.canvas;
 
-import java.io.File;
 import java.io.IOException;
 
 import org.eclipse.core.expressions.EvaluationResult;
@@ -27,7 +26,6 @@ import org.eclipse.ui.services.IServiceLocator;
 
 import com.archimatetool.canvas.preferences.IPreferenceConstants;
 import com.archimatetool.canvas.templates.wizard.NewCanvasFromTemplateWizard;
-import com.archimatetool.editor.model.IEditorModelManager;
 import com.archimatetool.editor.ui.components.ExtendedWizardDialog;
 import com.archimatetool.editor.ui.services.EditorManager;
 import com.archimatetool.editor.ui.services.UIRequestManager;
@@ -81,30 +79,22 @@ public class NewModelWithCanvasExtensionContributionFactory extends ExtensionCon
             
             if(dialog.open() == Window.OK) {
                 try {
-                    File file = wizard.getTempModelFile();
-                    if(file != null) {
-                        IArchimateModel model = IEditorModelManager.INSTANCE.openModel(file);
-                        if(model != null) {
-                            // Name
-                            model.setName(Messages.NewModelWithCanvasExtensionContributionFactory_1);
-                            
-                            // Set latest model version (need to do this in case we immediately save as Template)
-                            model.setVersion(ModelVersion.VERSION);
-                            
-                            // Set file to null
-                            model.setFile(null);
-                            
-                            // New IDs
-                            UUIDFactory.generateNewIDs(model);
-                            
-                            // Open Canvas
-                            EditorManager.openDiagramEditor(model.getDefaultDiagramModel(), false);
-                            
-                            // Edit in-place in Tree
-                            UIRequestManager.INSTANCE.fireRequestAsync(new TreeEditElementRequest(this, model));
-                        }
+                    IArchimateModel model = wizard.createNewModel();
+                    if(model != null) {
+                        // Name
+                        model.setName(Messages.NewModelWithCanvasExtensionContributionFactory_1);
                         
-                        file.delete();
+                        // Set latest model version (need to do this in case we immediately save as Template)
+                        model.setVersion(ModelVersion.VERSION);
+                        
+                        // New IDs
+                        UUIDFactory.generateNewIDs(model);
+                        
+                        // Open Canvas
+                        EditorManager.openDiagramEditor(model.getDefaultDiagramModel(), false);
+                        
+                        // Edit in-place in Tree
+                        UIRequestManager.INSTANCE.fireRequestAsync(new TreeEditElementRequest(this, model));
                     }
                 }
                 catch(IOException ex) {
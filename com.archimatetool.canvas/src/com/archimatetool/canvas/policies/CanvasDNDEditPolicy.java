@@ -5,25 +5,35 @@
  */
 package com.archimatetool.canvas.policies;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
+import java.net.URLConnection;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CommandStack;
 import org.eclipse.gef.commands.CompoundCommand;
 import org.eclipse.jface.util.LocalSelectionTransfer;
 import org.eclipse.jface.viewers.IStructuredSelection;
-import org.eclipse.swt.custom.BusyIndicator;
 import org.eclipse.swt.dnd.FileTransfer;
 import org.eclipse.swt.dnd.URLTransfer;
-import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.widgets.Display;
 
 import com.archimatetool.canvas.model.ICanvasFactory;
 import com.archimatetool.canvas.model.ICanvasModelImage;
@@ -32,6 +42,7 @@ import com.archimatetool.editor.diagram.commands.AddDiagramObjectCommand;
 import com.archimatetool.editor.diagram.dnd.AbstractDNDEditPolicy;
 import com.archimatetool.editor.diagram.dnd.DiagramDropRequest;
 import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.editor.utils.NetUtils;
 import com.archimatetool.editor.utils.PlatformUtils;
 import com.archimatetool.model.IDiagramModel;
 
@@ -52,58 +63,62 @@ public class CanvasDNDEditPolicy extends AbstractDNDEditPolicy {
             return getLocalDropCommand(request);
         }
 
-        Command[] cmd = new Command[1];
+        List<URL> urls = null;
         
-        BusyIndicator.showWhile(null, new Runnable() {
-            @Override
-            public void run() {
-                // Dragged files from desktop or Windows Browser or Linux embedded Browser
-                if(request.getTransferType() == FileTransfer.getInstance()) {
-                    cmd[0] = getFileDropCommand(request);
-                }
-                // Dragged URL link or image from Mac/Linux external Browser
-                else if(request.getTransferType() == URLTransfer.getInstance()) {
-                    try {
-                        cmd[0] = getURLDropCommand(request);
-                    }
-                    catch(Exception ex) {
-                        ex.printStackTrace();
-                    }
-                }
+        // Dragged files from desktop or Windows Browser or Linux embedded Browser
+        if(request.getTransferType() == FileTransfer.getInstance()) {
+            urls = getFileURLs(request);
+        }
+        // Dragged URL link or image from Mac/Linux external Browser
+        else if(request.getTransferType() == URLTransfer.getInstance()) {
+            try {
+                urls = getURLs(request);
             }
-        });
+            catch(Exception ex) {
+                ex.printStackTrace();
+            }
+        }
         
+        // The images are loaded in a background job and added in one Command when it's done, so there is no Command here
+        if(urls != null && !urls.isEmpty()) {
+            new ImageLoadJob(urls, getDropLocation(request)).schedule();
+        }
         
-        return cmd[0];
+        return null;
     }
     
     /**
-     * Get a Command based on local file transfer
+     * Get the URLs of the image files in a local file transfer
      */
-    private Command getFileDropCommand(DiagramDropRequest request) {
+    private List<URL> getFileURLs(DiagramDropRequest request) {
         String[] paths = (String[])request.getData();
         if(paths == null) {
             return null;
         }
         
-        List<File> files = new ArrayList<>();
+        List<URL> urls = new ArrayList<>();
         
         for(String path : paths) {
             if(isImagePath(path)) {
                 File file = new File(path);
                 if(file.exists() && file.canRead()) {
-                    files.add(file);
+                    try {
+                        urls.add(file.toURI().toURL());
+                    }
+                    catch(MalformedURLException ex) {
+                        ex.printStackTrace();
+                    }
                 }
             }
         }
         
-        return createImageFileDropCommand(files, getDropLocation(request));
+        return urls;
     }
     
     /**
-     * Get a Command based on URL transfer
+     * Get the URL of the image in a URL transfer
      */
-    private Command getURLDropCommand(DiagramDropRequest request) throws IOException, URISyntaxException {
+    private List<URL> getURLs(DiagramDropRequest request) throws MalformedURLException {
         String s = (String)request.getData();
         if(s == null) {
             return null;
@@ -120,42 +135,17 @@ public class CanvasDNDEditPolicy extends AbstractDNDEditPolicy {
             return null;
         }
         
-        File file = null;
-        URL url = new URL(s);
-        
-        // Local file:/// URL for a file that exists
-        if("file".equals(url.getProtocol())) {
-            file = new File(url.toURI());
-        }
-        // Online URL that we should download to a temporary file
-        else {
-            // Download and save to temporary file
-            file = File.createTempFile("archi-", s.substring(s.lastIndexOf(".")));
-            file.deleteOnExit();
-            
-            try(FileOutputStream fos = new FileOutputStream(file)) {
-                try(ReadableByteChannel rbc = Channels.newChannel(url.openStream())) {
-                    fos.getChannel().transferFrom(rbc, 0, Long.MAX_VALUE);
-                }
-            }
-        }
-        
-        List<File> files = new ArrayList<>();
-        
-        if(file.exists() && file.canRead()) {
-            files.add(file);
-        }
-        
-        return createImageFileDropCommand(files, getDropLocation(request));
+        // A local file:/// URL or an online URL. Either is read straight from its stream in the job.
+        return List.of(new URL(s));
     }
     
     /**
-     * Create a Command based on adding image files. The files must exist.
+     * Add the loaded images in one Command. Must be called in the UI thread.
      */
-    private Command createImageFileDropCommand(List<File> files, Point pt) {
-        // This can be null for example DND from Windows IE Browser
-        if(files == null || files.isEmpty()) {
-            return null;
+    private void addImages(List<LoadedImage> images, Point pt) {
+        // This can be empty for example DND from Windows IE Browser
+        if(images.isEmpty()) {
+            return;
         }
 
         int origin = pt.x;
@@ -166,48 +156,37 @@ public class CanvasDNDEditPolicy extends AbstractDNDEditPolicy {
         
         CompoundCommand result = new CompoundCommand(Messages.CanvasDNDEditPolicy_0);
 
-        for(File file : files) {
-            ICanvasModelImage canvasModelImage = ICanvasFactory.eINSTANCE.createCanvasModelImage();
-            canvasModelImage.setName(Messages.CanvasDNDEditPolicy_1);
+        for(LoadedImage image : images) {
+            // The image was decoded in the job so don't decode it again
             String pathName;
-            
             try {
-                pathName = archiveManager.addImageFromFile(file);
+                pathName = archiveManager.addDecodedImageBytes(image.name, image.bytes);
             }
             catch(IOException ex) {
                 ex.printStackTrace();
                 continue;
             }
             
+            ICanvasModelImage canvasModelImage = ICanvasFactory.eINSTANCE.createCanvasModelImage();
+            canvasModelImage.setName(Messages.CanvasDNDEditPolicy_1);
             canvasModelImage.setImagePath(pathName);
 
-            // Get width and height of the image
-            Image image = null;
-            try {
-                image = archiveManager.createImage(pathName);
-            }
-            catch(Exception ex) {
-                ex.printStackTrace();
-                continue;
-            }
-            
-            int image_width = image.getBounds().width;
-            int image_height = image.getBounds().height;
-            image.dispose();
-
-            canvasModelImage.setBounds(x, y, image_width, image_height);
+            canvasModelImage.setBounds(x, y, image.width, image.height);
 
             result.add(new AddDiagramObjectCommand(getTargetContainer(), canvasModelImage));
 
             // Increase x,y like a Carriage Return
-            x += image_width + 10;
+            x += image.width + 10;
             if(x > origin + 1000) {
                 x = origin;
-                y += image_height + 10;
+                y += image.height + 10;
             }
         }
         
-        return result;
+        CommandStack commandStack = (CommandStack)getTargetContainer().getAdapter(CommandStack.class);
+        if(commandStack != null) {
+            commandStack.execute(result);
+        }
     }
     
     private boolean isImagePath(String path) {
@@ -269,4 +248,120 @@ public class CanvasDNDEditPolicy extends AbstractDNDEditPolicy {
         
         return list;
     }
+    
+    // ====================================================================================================
+    // Background job to read and decode dropped images
+    // ====================================================================================================
+    
+    /**
+     * An image read and decoded in the job
+     */
+    private static class LoadedImage {
+        String name;
+        byte[] bytes;
+        int width;
+        int height;
+    }
+    
+    private class ImageLoadJob extends Job {
+        private List<URL> urls;
+        private Point pt;
+        
+        private Display display = Display.getCurrent();
+        
+        ImageLoadJob(List<URL> urls, Point pt) {
+            super(Messages.CanvasDNDEditPolicy_3);
+            this.urls = urls;
+            this.pt = pt;
+            setUser(true);
+        }
+        
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            monitor.beginTask(Messages.CanvasDNDEditPolicy_3, urls.size());
+            
+            List<LoadedImage> images = new ArrayList<>();
+            
+            // Images already loaded in this drop keyed by the digest of their bytes
+            Map<String, LoadedImage> digests = new HashMap<>();
+            
+            for(URL url : urls) {
+                if(monitor.isCanceled()) {
+                    return Status.CANCEL_STATUS;
+                }
+                
+                String name = url.getPath().substring(url.getPath().lastIndexOf('/') + 1);
+                monitor.subTask(name);
+                
+                try {
+                    byte[] bytes = readBytes(url, monitor);
+                    
+                    // Cancelled
+                    if(bytes == null) {
+                        return Status.CANCEL_STATUS;
+                    }
+                    
+                    // The same image dropped more than once is read but only decoded and stored once
+                    String digest = HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(bytes));
+                    LoadedImage image = digests.get(digest);
+                    
+                    if(image == null) {
+                        // Decoding tests that it's a valid image and gets the width and height
+                        ImageData imageData = new ImageData(new ByteArrayInputStream(bytes));
+                        
+                        image = new LoadedImage();
+                        image.name = name;
+                        image.bytes = bytes;
+                        image.width = imageData.width;
+                        image.height = imageData.height;
+                        digests.put(digest, image);
+                    }
+                    
+                    images.add(image);
+                }
+                catch(Exception ex) {
+                    ex.printStackTrace();
+                }
+                
+                monitor.worked(1);
+            }
+            
+            monitor.done();
+            
+            if(!display.isDisposed()) {
+                display.asyncExec(() -> {
+                    // The Canvas might have been closed
+                    if(getHost() != null && getHost().isActive()) {
+                        addImages(images, pt);
+                    }
+                });
+            }
+            
+            return Status.OK_STATUS;
+        }
+        
+        /**
+         * Read the bytes of a URL in chunks so that reading a large or slow image can be cancelled.
+         * The connection has the network timeouts set in Preferences so that a stalled server doesn't block the job.
+         * @return The bytes or null if the job was cancelled
+         */
+        private byte[] readBytes(URL url, IProgressMonitor monitor) throws IOException {
+            URLConnection connection = NetUtils.openConnection(url);
+            
+            try(InputStream in = connection.getInputStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int length;
+                
+                while((length = in.read(buffer)) != -1) {
+                    if(monitor.isCanceled()) {
+                        return null;
+                    }
+                    out.write(buffer, 0, length);
+                }
+                
+                return monitor.isCanceled() ? null : out.toByteArray();
+            }
+        }
+    }
 }
@@ -16,6 +16,8 @@ public class Messages extends NLS {
     public static String CanvasDNDEditPolicy_1;
 
     public static String CanvasDNDEditPolicy_2;
+
+    public static String CanvasDNDEditPolicy_3;
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -13,8 +13,6 @@ public class Messages extends NLS {
 
     public static String NewCanvasFromTemplateWizard_0;
 
-    public static String NewCanvasFromTemplateWizard_1;
-
     public static String NewCanvasFromTemplateWizardPage_0;
 
     public static String NewCanvasFromTemplateWizardPage_1;
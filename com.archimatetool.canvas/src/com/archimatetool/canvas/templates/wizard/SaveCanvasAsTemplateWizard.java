@@ -43,6 +43,7 @@ import com.archimatetool.model.util.UUIDFactory;
 import com.archimatetool.templates.model.ITemplateGroup;
 import com.archimatetool.templates.model.ITemplateXMLTags;
 import com.archimatetool.templates.model.TemplateManager;
+import com.archimatetool.templates.model.TemplateModelUtils;
 import com.archimatetool.templates.wizard.TemplateUtils;
 
 
@@ -150,12 +151,8 @@ public class SaveCanvasAsTemplateWizard extends Wizard {
             BufferedOutputStream out = new BufferedOutputStream(new FileOutputStream(zipFile));
             zOut = new ZipOutputStream(out);
 
-            // Model File
-            File modelFile = saveModelToTempFile();
-            ZipUtils.addFileToZip(modelFile, TemplateManager.ZIP_ENTRY_MODEL, zOut);
-            if(modelFile != null) {
-                modelFile.delete();
-            }
+            // Model
+            TemplateModelUtils.saveModel(fModel, zOut);
             
             // Manifest
             String manifest = createManifest();
@@ -212,19 +209,6 @@ public class SaveCanvasAsTemplateWizard extends Wizard {
         return JDOMUtils.write2XMLString(doc);
     }
     
-    private File saveModelToTempFile() throws IOException {
-        File tmpFile = File.createTempFile("architemplate", null); //$NON-NLS-1$
-        tmpFile.deleteOnExit();
-        
-        fModel.setFile(tmpFile);
-        
-        // Use the Archive Manager to save it
-        IArchiveManager archiveManager = (IArchiveManager)fModel.getAdapter(IArchiveManager.class);
-        archiveManager.saveModel();
-        
-        return tmpFile;
-    }
-    
     private void createTempModel(ICanvasModel canvasModel) {
         fModel = IArchimateFactory.eINSTANCE.createArchimateModel();
         fModel.setDefaults();
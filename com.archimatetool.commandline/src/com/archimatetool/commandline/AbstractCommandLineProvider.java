@@ -5,6 +5,8 @@
  */
 package com.archimatetool.commandline;
 
+import java.io.File;
+
 /**
  * Abstract CommandLineProvider
  * 
@@ -30,4 +32,22 @@ public abstract class AbstractCommandLineProvider implements ICommandLineProvide
         return ""; //$NON-NLS-1$
     }
     
+    /**
+     * Start measuring a phase of this provider's run if metrics are enabled.
+     * Use in a try-with-resources statement so that the phase is closed when it has finished.
+     * @param name The phase name, for example "load" or "export"
+     * @return The phase
+     */
+    protected CommandLineMetrics.Phase startPhase(String name) {
+        return CommandLineMetrics.startPhase(name);
+    }
+    
+    /**
+     * Record an output file or folder of this provider so that its size is included in the metrics if metrics are enabled
+     * @param file The file or folder
+     */
+    protected void addOutput(File file) {
+        CommandLineMetrics.addOutput(file);
+    }
+    
 }
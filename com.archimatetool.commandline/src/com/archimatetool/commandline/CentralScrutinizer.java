@@ -5,7 +5,9 @@
  */
 package com.archimatetool.commandline;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -27,9 +29,12 @@ import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.widgets.Display;
 
+import com.archimatetool.editor.ArchiPlugin;
 import com.archimatetool.editor.utils.StringUtils;
+import com.archimatetool.model.IArchimateModel;
 
 
 
@@ -39,7 +44,7 @@ import com.archimatetool.editor.utils.StringUtils;
  * 
  * @author Phillip Beauvoir
  */
-public class CentralScrutinizer implements IApplication {
+public class CentralScrutinizer implements IApplication, IJobRunner {
 
     /**
      * Constructor
@@ -61,13 +66,18 @@ public class CentralScrutinizer implements IApplication {
 
     private Map<ICommandLineProvider, ProviderInfo> providers;
     
+    /**
+     * The Display created in the application thread
+     */
+    private Display display;
+    
     @Override
     public Object start(IApplicationContext context) throws Exception {
         // Register providers
         registerProviders();
         
         // Process options
-        CommandLine commandLine = processOptions();
+        CommandLine commandLine = processOptions(Platform.getApplicationArgs());
         
         // Show help if set and exit
         if(commandLine.hasOption("help")) { //$NON-NLS-1$
@@ -78,8 +88,123 @@ public class CentralScrutinizer implements IApplication {
             return EXIT_OK;
         }
         
-        // Run provider options
-        return runProviderOptions(commandLine);
+        // Ensure Display is initialised
+        ensureDefaultDisplay();
+        
+        // Write metrics
+        boolean metrics = openMetrics(commandLine);
+        
+        try {
+            // Run as a daemon and run jobs until shut down
+            if(commandLine.hasOption("daemon")) { //$NON-NLS-1$
+                new CommandLineDaemon(this, getIntOptionValue(commandLine, "daemon", 0, 65535, 0), ArchiPlugin.INSTANCE.getWorkspaceFolder()).run(); //$NON-NLS-1$
+                return EXIT_OK;
+            }
+            
+            // Run a batch of jobs or the provider options
+            int result = commandLine.hasOption("batch") ? runBatch(commandLine) : runProviderOptions(commandLine, false); //$NON-NLS-1$
+            
+            if(result == EXIT_OK && commandLine.hasOption("pause")) { //$NON-NLS-1$
+                pause();
+            }
+            
+            return result;
+        }
+        // Bad option value
+        catch(ParseException ex) {
+            System.err.println(ex.getMessage());
+            return -1;
+        }
+        finally {
+            if(metrics) {
+                CommandLineMetrics.close();
+            }
+        }
+    }
+    
+    /**
+     * Run a daemon job with its own command line arguments
+     */
+    @Override
+    public int runJob(String[] args) throws Exception {
+        CommandLine commandLine = processOptions(args);
+        
+        if(commandLine.hasOption("help")) { //$NON-NLS-1$
+            showHelp();
+            return EXIT_OK;
+        }
+        
+        CommandLineState.reset();
+        
+        boolean metrics = openMetrics(commandLine);
+        
+        try {
+            if(commandLine.hasOption("batch")) { //$NON-NLS-1$
+                return runBatch(commandLine);
+            }
+            
+            return runProviderOptions(commandLine, true);
+        }
+        // Bad option value
+        catch(ParseException ex) {
+            System.err.println(ex.getMessage());
+            return -1;
+        }
+        finally {
+            if(metrics) {
+                CommandLineMetrics.close();
+            }
+        }
+    }
+    
+    /**
+     * Start writing metrics if the option is set and metrics are not already being written
+     * @return true if metrics were started
+     */
+    private boolean openMetrics(CommandLine commandLine) throws IOException {
+        if(commandLine.hasOption("metrics") && !CommandLineMetrics.isEnabled()) { //$NON-NLS-1$
+            CommandLineMetrics.open(new File(commandLine.getOptionValue("metrics"))); //$NON-NLS-1$
+            return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Run the jobs in the batch manifest file
+     */
+    private int runBatch(CommandLine commandLine) throws IOException, ParseException {
+        int threads = getIntOptionValue(commandLine, "batchThreads", 1, Integer.MAX_VALUE, Runtime.getRuntime().availableProcessors()); //$NON-NLS-1$
+        
+        // A batch job runs the provider options of its own arguments and can't run another batch
+        IJobRunner jobRunner = args -> {
+            CommandLine jobCommandLine = processOptions(args);
+            return runProviderOptions(jobCommandLine, true);
+        };
+        
+        return new CommandLineBatch(jobRunner, threads).run(new File(commandLine.getOptionValue("batch"))); //$NON-NLS-1$
+    }
+    
+    /**
+     * @return The value of an option as a whole number, or defaultValue if the option is not set
+     * @throws ParseException if the value is not a whole number from min to max
+     */
+    private int getIntOptionValue(CommandLine commandLine, String option, int min, int max, int defaultValue) throws ParseException {
+        String value = commandLine.getOptionValue(option);
+        if(value == null) {
+            return defaultValue;
+        }
+        
+        try {
+            int result = Integer.parseInt(value.trim());
+            if(result >= min && result <= max) {
+                return result;
+            }
+        }
+        catch(NumberFormatException ex) {
+        }
+        
+        throw new ParseException(NLS.bind(Messages.CentralScrutinizer_16, new Object[] { option, value, min, max }));
     }
     
     // Collect registered command line providers
@@ -112,7 +237,7 @@ public class CentralScrutinizer implements IApplication {
         }
     }
     
-    private CommandLine processOptions() throws ParseException {
+    private CommandLine processOptions(String[] applicationArgs) throws ParseException {
         // Get core options
         Options options = getCoreOptions();
         
@@ -131,7 +256,7 @@ public class CentralScrutinizer implements IApplication {
         List<String> args = new ArrayList<String>();
         boolean nextArgument = false;
         
-        for(String arg : Platform.getApplicationArgs()) {
+        for(String arg : applicationArgs) {
             if(options.hasOption(arg) || nextArgument) {
                 args.add(arg);
             }
@@ -150,18 +275,46 @@ public class CentralScrutinizer implements IApplication {
         options.addOption("a", "abortOnException", false, Messages.CentralScrutinizer_1); //$NON-NLS-1$ //$NON-NLS-2$
         options.addOption("p", "pause", false, Messages.CentralScrutinizer_6); //$NON-NLS-1$ //$NON-NLS-2$
         
+        options.addOption(Option.builder()
+                .longOpt("daemon") //$NON-NLS-1$
+                .hasArg()
+                .argName(Messages.CentralScrutinizer_9)
+                .desc(Messages.CentralScrutinizer_8)
+                .build());
+        
+        options.addOption(Option.builder()
+                .longOpt("batch") //$NON-NLS-1$
+                .hasArg()
+                .argName(Messages.CentralScrutinizer_11)
+                .desc(Messages.CentralScrutinizer_10)
+                .build());
+        
+        options.addOption(Option.builder()
+                .longOpt("batchThreads") //$NON-NLS-1$
+                .hasArg()
+                .argName(Messages.CentralScrutinizer_13)
+                .desc(Messages.CentralScrutinizer_12)
+                .build());
+        
+        options.addOption(Option.builder()
+                .longOpt("metrics") //$NON-NLS-1$
+                .hasArg()
+                .argName(Messages.CentralScrutinizer_15)
+                .desc(Messages.CentralScrutinizer_14)
+                .build());
+        
         return options;
     }
     
     // Run providers' options
-    private int runProviderOptions(CommandLine commandLine) {
-        // Ensure Display is initialised
-        ensureDefaultDisplay();
+    // If failOnException is true and a provider throws an exception the exit code is 1 so that a job is reported as failed
+    private int runProviderOptions(CommandLine commandLine, boolean failOnException) {
+        int result = EXIT_OK;
         
         // Invoke providers' run() method
-        for(ICommandLineProvider provider : providers.keySet()) {
+        for(Entry<ICommandLineProvider, ProviderInfo> entry : providers.entrySet()) {
             try {
-                provider.run(commandLine);
+                runProvider(entry.getKey(), entry.getValue().id, commandLine);
             }
             catch(Exception ex) {
                 ex.printStackTrace();
@@ -169,17 +322,80 @@ public class CentralScrutinizer implements IApplication {
                 if(commandLine.hasOption("abortOnException")) { //$NON-NLS-1$
                     return -1;
                 }
-                else {
-                    // Consume?
+                else if(failOnException) {
+                    result = 1;
                 }
             }
         }
         
-        if(commandLine.hasOption("pause")) { //$NON-NLS-1$
-            pause();
+        return result;
+    }
+    
+    // Run a provider in this thread, or in the Display thread if this is a batch worker thread and the provider is not thread safe
+    private void runProvider(ICommandLineProvider provider, String id, CommandLine commandLine) throws Exception {
+        if(provider.isThreadSafe() || display == null || display.getThread() == Thread.currentThread()) {
+            runProviderWithMetrics(provider, id, commandLine);
+            return;
+        }
+        
+        // The provider uses the CommandLineState of this thread's job
+        IArchimateModel[] model = { CommandLineState.getModel() };
+        PrintStream output = CommandLineState.getOutput();
+        Exception[] exception = new Exception[1];
+        
+        display.syncExec(() -> {
+            CommandLineState.setModel(model[0]);
+            CommandLineState.setOutput(output);
+            
+            try {
+                runProviderWithMetrics(provider, id, commandLine);
+            }
+            catch(Exception ex) {
+                exception[0] = ex;
+            }
+            finally {
+                model[0] = CommandLineState.getModel();
+                CommandLineState.reset();
+            }
+        });
+        
+        CommandLineState.setModel(model[0]);
+        
+        if(exception[0] != null) {
+            throw exception[0];
+        }
+    }
+    
+    // Run a provider and record its metrics if metrics are enabled and the provider has any options set
+    private void runProviderWithMetrics(ICommandLineProvider provider, String id, CommandLine commandLine) throws Exception {
+        if(!CommandLineMetrics.isEnabled() || !hasProviderOptions(provider, commandLine)) {
+            provider.run(commandLine);
+            return;
+        }
+        
+        try(CommandLineMetrics.Phase phase = CommandLineMetrics.startProvider(id)) {
+            try {
+                provider.run(commandLine);
+            }
+            catch(Exception ex) {
+                phase.setException(ex);
+                throw ex;
+            }
+        }
+    }
+    
+    private boolean hasProviderOptions(ICommandLineProvider provider, CommandLine commandLine) {
+        Options options = provider.getOptions();
+        
+        if(options != null) {
+            for(Option option : options.getOptions()) {
+                if(commandLine.hasOption(option.getLongOpt() != null ? option.getLongOpt() : option.getOpt())) {
+                    return true;
+                }
+            }
         }
         
-        return EXIT_OK;
+        return false;
     }
     
     private void showHelp() {
@@ -251,8 +467,8 @@ public class CentralScrutinizer implements IApplication {
      * This ensures that the default display is created
      */
     private void ensureDefaultDisplay() {
-        if(Display.getCurrent() == null) {
-            Display.getDefault();
+        if(display == null) {
+            display = Display.getCurrent() != null ? Display.getCurrent() : Display.getDefault();
         }
     }
 }
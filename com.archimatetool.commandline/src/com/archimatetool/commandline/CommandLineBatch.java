@@ -0,0 +1,283 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Runs the jobs listed in a manifest file in a pool of worker threads.<br/>
+ * <br/>
+ * Each line of the manifest is the command line arguments of one job, for example a model to load and the reports to create.
+ * Arguments are separated by spaces and an argument containing spaces is enclosed in double quotes.
+ * Empty lines and lines starting with "#" are ignored.<br/>
+ * <br/>
+ * Each job has its own model in CommandLineState and its console output is collected and printed when the job has finished.
+ * Providers that are not thread safe are run in the Display thread so the calling thread runs the Display event loop
+ * until all jobs have finished.
+ *
+ * @author Phillip Beauvoir
+ */
+public class CommandLineBatch {
+
+    /**
+     * The result of a job
+     */
+    public static class JobResult {
+        private final int index;
+        private final String[] args;
+        private int exitCode;
+        private long time;
+
+        JobResult(int index, String[] args) {
+            this.index = index;
+            this.args = args;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String[] getArgs() {
+            return args;
+        }
+
+        public int getExitCode() {
+            return exitCode;
+        }
+
+        /**
+         * @return The time taken to run the job in milliseconds
+         */
+        public long getTime() {
+            return time;
+        }
+
+        public boolean isFailed() {
+            return exitCode != 0;
+        }
+    }
+
+    private final IJobRunner runner;
+    private final int threads;
+
+    /**
+     * @param runner The job runner
+     * @param threads The number of worker threads
+     */
+    public CommandLineBatch(IJobRunner runner, int threads) {
+        this.runner = runner;
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Run the jobs in the manifest file and print a summary
+     * @param manifest The manifest file
+     * @return 0 if all jobs succeeded, or 1 if any job failed
+     * @throws IOException
+     */
+    public int run(File manifest) throws IOException {
+        List<String[]> jobs = readManifest(manifest);
+
+        long startTime = System.currentTimeMillis();
+        List<JobResult> results = runJobs(jobs);
+
+        int failed = 0;
+        for(JobResult result : results) {
+            if(result.isFailed()) {
+                failed++;
+                System.out.println(NLS.bind(Messages.CommandLineBatch_2, result.getIndex(), String.join(" ", result.getArgs()))); //$NON-NLS-1$
+            }
+        }
+
+        System.out.println(NLS.bind(Messages.CommandLineBatch_1, new Object[] { results.size(), failed, System.currentTimeMillis() - startTime }));
+
+        return failed == 0 ? 0 : 1;
+    }
+
+    /**
+     * Run the jobs in the worker threads
+     * @param jobs Each job's arguments
+     * @return The results in the same order as the jobs
+     */
+    public List<JobResult> runJobs(List<String[]> jobs) {
+        List<JobResult> results = new ArrayList<>();
+
+        PrintStream systemOut = System.out;
+        PrintStream systemErr = System.err;
+
+        // Send console output to the output of the job running in the current thread
+        PrintStream jobsOutput = new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                getOutput().write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                getOutput().write(b, off, len);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                getOutput().flush();
+            }
+
+            private OutputStream getOutput() {
+                PrintStream output = CommandLineState.getOutput();
+                return output != null ? output : systemOut;
+            }
+        }, true);
+
+        System.setOut(jobsOutput);
+        System.setErr(jobsOutput);
+
+        Display display = Display.getCurrent();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            for(int i = 0; i < jobs.size(); i++) {
+                JobResult result = new JobResult(i + 1, jobs.get(i));
+                results.add(result);
+
+                executor.execute(() -> {
+                    runJob(result, jobs.size(), systemOut);
+
+                    if(display != null && !display.isDisposed()) {
+                        display.wake();
+                    }
+                });
+            }
+
+            executor.shutdown();
+
+            // Run the event loop so that providers can be run in the Display thread
+            while(!executor.isTerminated()) {
+                if(display != null) {
+                    if(!display.readAndDispatch()) {
+                        display.sleep();
+                    }
+                }
+                else {
+                    executor.awaitTermination(1, TimeUnit.SECONDS);
+                }
+            }
+        }
+        catch(InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            System.setOut(systemOut);
+            System.setErr(systemErr);
+        }
+
+        return results;
+    }
+
+    private void runJob(JobResult result, int jobCount, PrintStream systemOut) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream output = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+
+        CommandLineState.reset();
+        CommandLineState.setOutput(output);
+
+        long startTime = System.currentTimeMillis();
+
+        try {
+            result.exitCode = runner.runJob(result.getArgs());
+        }
+        // Catch Errors as well so that a crashed job is not reported as succeeded
+        catch(Throwable ex) {
+            ex.printStackTrace();
+            result.exitCode = -1;
+        }
+        finally {
+            result.time = System.currentTimeMillis() - startTime;
+
+            // Don't keep the job's model in this worker thread
+            CommandLineState.reset();
+        }
+
+        // Print the job's output in one block
+        synchronized(systemOut) {
+            systemOut.println(NLS.bind(Messages.CommandLineBatch_0, new Object[] { result.getIndex(), jobCount, result.getExitCode(), result.getTime(),
+                    String.join(" ", result.getArgs()) })); //$NON-NLS-1$
+            systemOut.print(buffer.toString(StandardCharsets.UTF_8));
+            systemOut.flush();
+        }
+    }
+
+    /**
+     * Read the jobs from a manifest file
+     * @param file The manifest file
+     * @return Each job's arguments
+     * @throws IOException
+     */
+    public static List<String[]> readManifest(File file) throws IOException {
+        List<String[]> jobs = new ArrayList<>();
+
+        for(String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if(!line.isEmpty() && !line.startsWith("#")) { //$NON-NLS-1$
+                jobs.add(parseArguments(line));
+            }
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Split a line into arguments separated by spaces. Double quotes enclose an argument containing spaces.
+     * @param line The line
+     * @return The arguments
+     */
+    public static String[] parseArguments(String line) {
+        List<String> args = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean inQuotes = false;
+        boolean hasArg = false;
+
+        for(int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if(c == '"') {
+                inQuotes = !inQuotes;
+                hasArg = true;
+            }
+            else if(Character.isWhitespace(c) && !inQuotes) {
+                if(hasArg) {
+                    args.add(sb.toString());
+                    sb.setLength(0);
+                    hasArg = false;
+                }
+            }
+            else {
+                sb.append(c);
+                hasArg = true;
+            }
+        }
+
+        if(hasArg) {
+            args.add(sb.toString());
+        }
+
+        return args.toArray(String[]::new);
+    }
+}
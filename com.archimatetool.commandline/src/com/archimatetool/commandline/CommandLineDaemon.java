@@ -0,0 +1,244 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Keeps the command line application running and runs jobs sent to it over a local socket
+ * so that each job does not have to start the application.<br/>
+ * <br/>
+ * A job is sent as UTF-8 text. The first line is the daemon's access token, followed by one command line argument per line
+ * and then an empty line. The job's console output is sent back followed by a line with the exit code, "#exit 0".<br/>
+ * A job with the single line "#shutdown" stops the daemon.<br/>
+ * <br/>
+ * The access token is created at random when the daemon starts and written to a token file that only the current user can read,
+ * so that other users and processes on the host can't run jobs as this user.
+ * A connection without the token, or that doesn't send its request in time, is closed without running anything.<br/>
+ * <br/>
+ * Jobs are run one at a time. Loaded models are cached across jobs by file path and last modified time
+ * and each job is given its own copy of a cached model.
+ *
+ * @author Phillip Beauvoir
+ */
+public class CommandLineDaemon {
+
+    static final String SHUTDOWN = "#shutdown"; //$NON-NLS-1$
+    static final String EXIT_PREFIX = "#exit "; //$NON-NLS-1$
+
+    static final int DEFAULT_CACHE_SIZE = 20;
+
+    // Time in milliseconds that a client has to send its request
+    static final int DEFAULT_READ_TIMEOUT = 10000;
+
+    private final IJobRunner runner;
+    private final ServerSocket serverSocket;
+    private final ModelCache modelCache = new ModelCache(DEFAULT_CACHE_SIZE);
+
+    private final String token;
+    private final File tokenFile;
+
+    private int readTimeout = DEFAULT_READ_TIMEOUT;
+
+    /**
+     * Create the daemon, bind it to the port on the loopback address so that only local clients can connect
+     * and write its access token to a token file that only the current user can read
+     * @param runner The job runner
+     * @param port The port or 0 to use any free port
+     * @param tokenFolder The folder for the token file "daemon-[port].token"
+     * @throws IOException
+     */
+    public CommandLineDaemon(IJobRunner runner, int port, File tokenFolder) throws IOException {
+        this.runner = runner;
+        serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        token = HexFormat.of().formatHex(bytes);
+
+        tokenFile = new File(tokenFolder, "daemon-" + getPort() + ".token"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        try {
+            writeTokenFile();
+        }
+        catch(IOException ex) {
+            serverSocket.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * @return The port that the daemon is listening on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The file that has the access token that a client must send as the first line
+     */
+    public File getTokenFile() {
+        return tokenFile;
+    }
+
+    /**
+     * Set the time that a client has to send its request
+     * @param readTimeout Time in milliseconds
+     */
+    void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Write the token to a new token file that only the owner can read and write
+     */
+    private void writeTokenFile() throws IOException {
+        Path path = tokenFile.toPath();
+        Files.createDirectories(path.getParent());
+        Files.deleteIfExists(path);
+
+        if(path.getFileSystem().supportedFileAttributeViews().contains("posix")) { //$NON-NLS-1$
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))); //$NON-NLS-1$
+        }
+        else {
+            Files.createFile(path);
+            File file = path.toFile();
+            file.setReadable(false, false);
+            file.setWritable(false, false);
+            file.setReadable(true, true);
+            file.setWritable(true, true);
+        }
+
+        Files.writeString(path, token, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Accept and run jobs until a shutdown request is received
+     */
+    public void run() throws IOException {
+        CommandLineState.setModelCache(modelCache);
+
+        System.out.println(NLS.bind(Messages.CommandLineDaemon_0, getPort(), tokenFile));
+
+        try(serverSocket) {
+            boolean running = true;
+
+            while(running) {
+                try(Socket socket = serverSocket.accept()) {
+                    running = handleConnection(socket);
+                }
+                catch(IOException ex) {
+                    ex.printStackTrace();
+                }
+            }
+        }
+        finally {
+            CommandLineState.setModelCache(null);
+            modelCache.clear();
+            tokenFile.delete();
+        }
+    }
+
+    private boolean handleConnection(Socket socket) throws IOException {
+        List<String> args = readRequest(socket);
+        
+        // Rejected
+        if(args == null) {
+            System.out.println(Messages.CommandLineDaemon_2);
+            return true;
+        }
+        
+        PrintStream out = new PrintStream(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+
+        if(args.size() == 1 && SHUTDOWN.equals(args.get(0))) {
+            out.println(EXIT_PREFIX + 0);
+            return false;
+        }
+
+        out.println(EXIT_PREFIX + runJob(args, out));
+        return true;
+    }
+
+    /**
+     * Read the token and the arguments of a request.
+     * A client that doesn't send them in time would block the daemon's later jobs so it is rejected.
+     * @return The arguments or null if the request was rejected
+     */
+    private List<String> readRequest(Socket socket) throws IOException {
+        socket.setSoTimeout(readTimeout);
+        
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        
+        try {
+            String line = reader.readLine();
+            if(line == null || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), line.getBytes(StandardCharsets.UTF_8))) {
+                return null;
+            }
+            
+            List<String> args = new ArrayList<>();
+            while((line = reader.readLine()) != null && !line.isEmpty()) {
+                args.add(line);
+            }
+            
+            return line != null ? args : null; // No empty line so not a whole request
+        }
+        catch(SocketTimeoutException ex) {
+            return null;
+        }
+        finally {
+            socket.setSoTimeout(0);
+        }
+    }
+
+    private int runJob(List<String> args, PrintStream out) {
+        long startTime = System.currentTimeMillis();
+        int exitCode;
+
+        // Send the job's console output to the client
+        PrintStream systemOut = System.out;
+        PrintStream systemErr = System.err;
+        System.setOut(out);
+        System.setErr(out);
+
+        try {
+            exitCode = runner.runJob(args.toArray(String[]::new));
+        }
+        catch(Exception ex) {
+            ex.printStackTrace();
+            exitCode = -1;
+        }
+        finally {
+            System.setOut(systemOut);
+            System.setErr(systemErr);
+
+            // Don't keep the job's model
+            CommandLineState.reset();
+        }
+
+        System.out.println(NLS.bind(Messages.CommandLineDaemon_1, exitCode, System.currentTimeMillis() - startTime));
+
+        return exitCode;
+    }
+}
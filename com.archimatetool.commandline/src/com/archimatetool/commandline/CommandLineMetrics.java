@@ -0,0 +1,436 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.eclipse.emf.ecore.EObject;
+
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.model.IArchimateElement;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.IDiagramModel;
+
+/**
+ * Records timing and resource metrics of command line providers and writes them as JSON lines to a metrics file.<br/>
+ * <br/>
+ * One line is written for each provider that runs with one or more of its options and for each phase that a provider records
+ * with {@link AbstractCommandLineProvider#startPhase(String)}. A line has the wall and CPU time in milliseconds,
+ * the bytes allocated by the thread, the peak heap, the numbers of objects in the model and the sizes of the provider's output files.<br/>
+ * The peak heap is measured for the whole process so it is not written for a provider run that overlapped another provider run,
+ * for example in a batch with several threads. Such a run is marked as "concurrent" instead.
+ *
+ * @author Phillip Beauvoir
+ */
+@SuppressWarnings("nls")
+public final class CommandLineMetrics {
+
+    /**
+     * A measured provider run or phase. Closing it records its metrics.
+     */
+    public static class Phase implements AutoCloseable {
+        private final String provider;
+        private final String name;
+        private final Phase parent;
+
+        private final long startTime;
+        private final long startCpuTime;
+        private final long startAllocatedBytes;
+
+        private List<File> outputs;
+        private String exception;
+        private boolean closed;
+
+        // Another provider ran at the same time as this provider. Guarded by runningProviders.
+        private boolean concurrent;
+
+        private Phase(String provider, String name, Phase parent) {
+            this.provider = provider;
+            this.name = name;
+            this.parent = parent;
+
+            // The null phase doesn't measure anything
+            boolean measure = name != null;
+            startTime = measure ? System.nanoTime() : 0;
+            startCpuTime = measure ? getCurrentThreadCpuTime() : -1;
+            startAllocatedBytes = measure ? getCurrentThreadAllocatedBytes() : -1;
+        }
+
+        /**
+         * Add an output file or folder. Its size is recorded when the phase is closed.
+         */
+        public void addOutput(File file) {
+            if(file != null) {
+                if(outputs == null) {
+                    outputs = new ArrayList<>();
+                }
+                outputs.add(file);
+            }
+        }
+
+        /**
+         * Record that the phase failed with an exception
+         */
+        public void setException(Exception ex) {
+            exception = ex.getClass().getName() + ": " + ex.getMessage();
+        }
+
+        @Override
+        public void close() {
+            if(closed) {
+                return;
+            }
+            closed = true;
+
+            long wallTime = System.nanoTime() - startTime;
+            long cpuTime = getCurrentThreadCpuTime() - startCpuTime;
+            long allocatedBytes = getCurrentThreadAllocatedBytes() - startAllocatedBytes;
+
+            currentPhase.set(parent);
+
+            write(this, wallTime, startCpuTime < 0 ? -1 : cpuTime, startAllocatedBytes < 0 ? -1 : allocatedBytes,
+                    parent == null && providerFinished(this));
+        }
+    }
+
+    /**
+     * A phase that records nothing, used when metrics are not enabled
+     */
+    private static final Phase NULL_PHASE = new Phase(null, null, null) {
+        @Override
+        public void addOutput(File file) {
+        }
+
+        @Override
+        public void setException(Exception ex) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private static volatile PrintWriter writer;
+
+    private static final ThreadLocal<Phase> currentPhase = new ThreadLocal<>();
+
+    // Provider runs that have not finished
+    private static final Set<Phase> runningProviders = new HashSet<>();
+
+    private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+    private CommandLineMetrics() {
+    }
+
+    /**
+     * Start writing metrics to the file
+     * @param file The metrics file. Lines are appended to the file if it exists.
+     * @throws IOException
+     */
+    public static synchronized void open(File file) throws IOException {
+        close();
+
+        if(file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+
+        writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8), true);
+    }
+
+    /**
+     * Stop writing metrics
+     */
+    public static synchronized void close() {
+        if(writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * @return true if metrics are written
+     */
+    public static boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Start measuring a provider's run in the current thread
+     * @param provider The provider's id
+     * @return The phase to close when the provider has finished
+     */
+    public static Phase startProvider(String provider) {
+        if(!isEnabled()) {
+            return NULL_PHASE;
+        }
+
+        Phase phase = new Phase(provider, "run", null);
+        providerStarted(phase);
+        currentPhase.set(phase);
+        return phase;
+    }
+
+    /**
+     * Reset the peak heap if no other provider is running, else mark this and the running providers as concurrent
+     */
+    private static void providerStarted(Phase phase) {
+        synchronized(runningProviders) {
+            if(runningProviders.isEmpty()) {
+                resetPeakHeap();
+            }
+            else {
+                phase.concurrent = true;
+                for(Phase running : runningProviders) {
+                    running.concurrent = true;
+                }
+            }
+
+            runningProviders.add(phase);
+        }
+    }
+
+    /**
+     * @return true if another provider ran at the same time as this provider
+     */
+    private static boolean providerFinished(Phase phase) {
+        synchronized(runningProviders) {
+            runningProviders.remove(phase);
+            return phase.concurrent;
+        }
+    }
+
+    /**
+     * Start measuring a phase of the provider running in the current thread
+     * @param name The phase name, for example "load" or "export"
+     * @return The phase to close when the phase has finished
+     */
+    public static Phase startPhase(String name) {
+        Phase parent = currentPhase.get();
+        if(!isEnabled() || parent == null) {
+            return NULL_PHASE;
+        }
+
+        Phase phase = new Phase(parent.provider, name, parent);
+        currentPhase.set(phase);
+        return phase;
+    }
+
+    /**
+     * Add an output file or folder to the phase or provider running in the current thread
+     */
+    public static void addOutput(File file) {
+        Phase phase = currentPhase.get();
+        if(phase != null) {
+            phase.addOutput(file);
+        }
+    }
+
+    private static void write(Phase phase, long wallTime, long cpuTime, long allocatedBytes, boolean concurrent) {
+        StringBuilder sb = new StringBuilder("{");
+
+        appendString(sb, "provider", phase.provider);
+        sb.append(',');
+        appendString(sb, "phase", phase.name);
+        sb.append(",\"thread\":");
+        appendJSONString(sb, Thread.currentThread().getName());
+        sb.append(",\"wallMs\":").append(wallTime / 1_000_000.0);
+        sb.append(",\"cpuMs\":").append(cpuTime < 0 ? -1 : cpuTime / 1_000_000.0);
+        sb.append(",\"allocatedBytes\":").append(allocatedBytes);
+
+        // Provider totals
+        if(phase.parent == null) {
+            // The peak heap would include the other providers' heap
+            if(concurrent) {
+                sb.append(",\"concurrent\":true");
+            }
+            else {
+                sb.append(",\"peakHeapBytes\":").append(getPeakHeap());
+            }
+            appendModelCounts(sb, CommandLineState.getModel());
+        }
+
+        if(phase.outputs != null) {
+            sb.append(",\"outputs\":[");
+            for(Iterator<File> iter = phase.outputs.iterator(); iter.hasNext();) {
+                File file = iter.next();
+                sb.append('{');
+                appendString(sb, "path", file.getPath());
+                sb.append(",\"bytes\":").append(getSize(file)).append('}');
+                if(iter.hasNext()) {
+                    sb.append(',');
+                }
+            }
+            sb.append(']');
+        }
+
+        if(phase.exception != null) {
+            sb.append(',');
+            appendString(sb, "exception", phase.exception);
+        }
+
+        sb.append('}');
+
+        PrintWriter pw = writer;
+        if(pw != null) {
+            synchronized(pw) {
+                pw.println(sb);
+            }
+        }
+    }
+
+    private static void appendModelCounts(StringBuilder sb, IArchimateModel model) {
+        if(model == null) {
+            return;
+        }
+
+        int elements = 0, relations = 0, views = 0;
+
+        for(Iterator<EObject> iter = model.eAllContents(); iter.hasNext();) {
+            EObject eObject = iter.next();
+            if(eObject instanceof IArchimateElement) {
+                elements++;
+            }
+            else if(eObject instanceof IArchimateRelationship) {
+                relations++;
+            }
+            else if(eObject instanceof IDiagramModel) {
+                views++;
+                iter.prune(); // Don't count diagram components
+            }
+        }
+
+        IArchiveManager archiveManager = (IArchiveManager)model.getAdapter(IArchiveManager.class);
+        int images = archiveManager != null ? archiveManager.getImagePaths().size() : 0;
+
+        sb.append(',');
+        appendString(sb, "model", model.getName());
+        sb.append(",\"elements\":").append(elements);
+        sb.append(",\"relations\":").append(relations);
+        sb.append(",\"views\":").append(views);
+        sb.append(",\"images\":").append(images);
+    }
+
+    private static void appendString(StringBuilder sb, String key, String value) {
+        appendJSONString(sb, key);
+        sb.append(':');
+        if(value == null) {
+            sb.append("null");
+        }
+        else {
+            appendJSONString(sb, value);
+        }
+    }
+
+    private static void appendJSONString(StringBuilder sb, String s) {
+        sb.append('"');
+        for(int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch(c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if(c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int)c));
+                    }
+                    else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * @return The size of a file or the total size of the files in a folder
+     */
+    private static long getSize(File file) {
+        if(file.isFile()) {
+            return file.length();
+        }
+
+        if(file.isDirectory()) {
+            try(Stream<Path> stream = Files.walk(file.toPath())) {
+                return stream.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+            }
+            catch(IOException | UncheckedIOException ex) {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    private static long getCurrentThreadCpuTime() {
+        try {
+            return threadBean.isCurrentThreadCpuTimeSupported() ? threadBean.getCurrentThreadCpuTime() : -1;
+        }
+        catch(UnsupportedOperationException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * The bytes allocated by the current thread.
+     * This is an extension of the JDK's ThreadMXBean so it is called through the platform MBean server.
+     */
+    private static long getCurrentThreadAllocatedBytes() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Object result = server.invoke(new ObjectName(ManagementFactory.THREAD_MXBEAN_NAME), "getThreadAllocatedBytes",
+                    new Object[] { Thread.currentThread().getId() }, new String[] { long.class.getName() });
+            return result instanceof Long value ? value : -1;
+        }
+        catch(Exception ex) {
+            return -1;
+        }
+    }
+
+    private static void resetPeakHeap() {
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeap() {
+        long peak = 0;
+
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(pool.getType() == MemoryType.HEAP && pool.isValid() && pool.getPeakUsage() != null) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        return peak;
+    }
+}
@@ -5,30 +5,51 @@
  */
 package com.archimatetool.commandline;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+
 import org.eclipse.gef.commands.CommandStack;
 
 import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.editor.model.IEditorModelManager;
 import com.archimatetool.model.IArchimateModel;
 
 /**
  * Command Line State
- * Represents current state across all Command Line Providers
+ * Represents current state across all Command Line Providers.
+ * The state is held per thread so that batch jobs running in different threads each have their own model.
  * 
  * @author Phillip Beauvoir
  */
 public class CommandLineState {
     
     /**
-     * The single loaded model
+     * The single loaded model of the current job
+     */
+    private static final ThreadLocal<IArchimateModel> singletonModel = new ThreadLocal<>();
+    
+    /**
+     * The console output of the current job, or null to use the default output
      */
-    private static IArchimateModel singletonModel;
+    private static final ThreadLocal<PrintStream> jobOutput = new ThreadLocal<>();
+    
+    /**
+     * Cache of loaded models, or null if models are not cached
+     */
+    private static volatile ModelCache modelCache;
     
     public static IArchimateModel getModel() {
-        return singletonModel;
+        return singletonModel.get();
     }
     
     public static void setModel(IArchimateModel model) {
-        singletonModel = model;
+        if(model == null) {
+            singletonModel.remove();
+        }
+        else {
+            singletonModel.set(model);
+        }
         
         // Check that the model has a command stack and an ArchiveManager
         if(model != null) {
@@ -41,4 +62,53 @@ public class CommandLineState {
         }
     }
     
+    /**
+     * Load a model from file. If a model cache is set a copy of the cached model is returned.
+     * @param file The model file
+     * @return The model or null if the file does not exist
+     * @throws IOException
+     */
+    public static IArchimateModel loadModel(File file) throws IOException {
+        return modelCache != null ? modelCache.getModel(file) : IEditorModelManager.INSTANCE.load(file);
+    }
+    
+    public static ModelCache getModelCache() {
+        return modelCache;
+    }
+    
+    /**
+     * Set the cache used to load models so that loaded models are kept across jobs
+     * @param cache The cache, or null to not cache models
+     */
+    public static void setModelCache(ModelCache cache) {
+        modelCache = cache;
+    }
+    
+    /**
+     * @return The console output of the current job, or null if the job uses the default output
+     */
+    public static PrintStream getOutput() {
+        return jobOutput.get();
+    }
+    
+    /**
+     * Set the console output of the current job
+     * @param output The output, or null to use the default output
+     */
+    public static void setOutput(PrintStream output) {
+        if(output == null) {
+            jobOutput.remove();
+        }
+        else {
+            jobOutput.set(output);
+        }
+    }
+    
+    /**
+     * Reset the state at the start of a new job
+     */
+    public static void reset() {
+        singletonModel.remove();
+        jobOutput.remove();
+    }
 }
@@ -45,4 +45,13 @@ public interface ICommandLineProvider {
         return PRIORITY_REPORT_OR_EXPORT;
     }
     
+    /**
+     * @return true if this provider can run in a batch worker thread at the same time as other jobs.
+     * The provider must only use the model from CommandLineState and must not use the Display.
+     * If false, the default, the provider is run in the Display thread.
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+    
 }
@@ -0,0 +1,22 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+/**
+ * Runs a command line job with its own command line arguments
+ * 
+ * @author Phillip Beauvoir
+ */
+public interface IJobRunner {
+    
+    /**
+     * @param args The job's command line arguments
+     * @return The exit code
+     * @throws Exception
+     */
+    int runJob(String[] args) throws Exception;
+    
+}
@@ -21,6 +21,36 @@ public class Messages extends NLS {
     public static String CentralScrutinizer_6;
 
     public static String CentralScrutinizer_7;
+
+    public static String CentralScrutinizer_8;
+
+    public static String CentralScrutinizer_9;
+
+    public static String CentralScrutinizer_10;
+
+    public static String CentralScrutinizer_11;
+
+    public static String CentralScrutinizer_12;
+
+    public static String CentralScrutinizer_13;
+
+    public static String CentralScrutinizer_14;
+
+    public static String CentralScrutinizer_15;
+
+    public static String CentralScrutinizer_16;
+
+    public static String CommandLineBatch_0;
+
+    public static String CommandLineBatch_1;
+
+    public static String CommandLineBatch_2;
+
+    public static String CommandLineDaemon_0;
+
+    public static String CommandLineDaemon_1;
+
+    public static String CommandLineDaemon_2;
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -0,0 +1,142 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.gef.commands.CommandStack;
+
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.editor.model.IEditorModelManager;
+import com.archimatetool.model.IArchimateModel;
+
+/**
+ * Cache of loaded models keyed by file path so that a model file is only loaded again if it has changed.
+ * A loaded model is kept in the cache and a copy of it is returned so that changes made to a model in one job
+ * are not seen in another job.<br/>
+ * Different model files can be loaded at the same time by different threads.
+ *
+ * @author Phillip Beauvoir
+ */
+public class ModelCache {
+
+    private static class Entry {
+        IArchimateModel model;
+        long lastModified;
+        long length;
+
+        boolean isCurrent(File file) {
+            return model != null && lastModified == file.lastModified() && length == file.length();
+        }
+    }
+
+    private final Map<File, Entry> entries;
+
+    /**
+     * @param maxSize The maximum number of models to keep in the cache. The least recently used model is removed first.
+     */
+    @SuppressWarnings("serial")
+    public ModelCache(int maxSize) {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<File, Entry> eldest) {
+                // The removed entry is not disposed as another thread might be copying its model
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get a copy of the model loaded from file, loading the model if it is not in the cache or the file has changed since it was loaded
+     * @param file The model file
+     * @return A copy of the model or null if the file does not exist
+     * @throws IOException
+     */
+    public IArchimateModel getModel(File file) throws IOException {
+        if(file == null || !file.exists()) {
+            return null;
+        }
+
+        File key = file.getCanonicalFile();
+        Entry entry;
+
+        synchronized(entries) {
+            entry = entries.computeIfAbsent(key, k -> new Entry());
+        }
+
+        // Only lock this entry while loading so that other files can be loaded at the same time
+        synchronized(entry) {
+            if(!entry.isCurrent(key)) {
+                if(entry.model != null) {
+                    dispose(entry);
+                }
+
+                long lastModified = key.lastModified();
+                long length = key.length();
+
+                entry.model = IEditorModelManager.INSTANCE.load(key);
+
+                if(entry.model == null) {
+                    synchronized(entries) {
+                        entries.remove(key);
+                    }
+                    return null;
+                }
+
+                entry.lastModified = lastModified;
+                entry.length = length;
+            }
+
+            return copy(entry.model, file);
+        }
+    }
+
+    /**
+     * @return The number of models in the cache
+     */
+    public int size() {
+        synchronized(entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Remove all models from the cache
+     */
+    public void clear() {
+        synchronized(entries) {
+            for(Entry entry : entries.values()) {
+                synchronized(entry) {
+                    if(entry.model != null) {
+                        dispose(entry);
+                    }
+                }
+            }
+            entries.clear();
+        }
+    }
+
+    private IArchimateModel copy(IArchimateModel model, File file) {
+        // A copy keeps the same IDs
+        IArchimateModel copy = EcoreUtil.copy(model);
+        copy.setFile(file);
+        copy.setAdapter(CommandStack.class, new CommandStack());
+        copy.setAdapter(IArchiveManager.class, ((IArchiveManager)model.getAdapter(IArchiveManager.class)).clone(copy));
+        return copy;
+    }
+
+    private void dispose(Entry entry) {
+        IArchiveManager archiveManager = (IArchiveManager)entry.model.getAdapter(IArchiveManager.class);
+        if(archiveManager != null) {
+            archiveManager.dispose();
+        }
+        entry.model = null;
+    }
+}
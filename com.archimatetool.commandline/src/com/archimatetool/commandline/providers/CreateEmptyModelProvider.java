@@ -132,6 +132,11 @@ public class CreateEmptyModelProvider extends AbstractCommandLineProvider {
         return PRIORITY_LOAD_OR_CREATE_MODEL - 2;
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
     @Override
     protected String getLogPrefix() {
         return PREFIX;
@@ -15,7 +15,6 @@ import org.eclipse.osgi.util.NLS;
 
 import com.archimatetool.commandline.AbstractCommandLineProvider;
 import com.archimatetool.commandline.CommandLineState;
-import com.archimatetool.editor.model.IEditorModelManager;
 import com.archimatetool.model.IArchimateModel;
 
 
@@ -55,7 +54,7 @@ public class LoadModelFromFileProvider extends AbstractCommandLineProvider {
             String filePath = commandLine.getOptionValue(OPTION_LOAD_FILE_MODEL);
             File file = new File(filePath);
             
-            IArchimateModel model = IEditorModelManager.INSTANCE.load(file);
+            IArchimateModel model = CommandLineState.loadModel(file);
             
             if(model == null) {
                 throw new IOException(Messages.LoadModelFromFileProvider_3);
@@ -72,6 +71,11 @@ public class LoadModelFromFileProvider extends AbstractCommandLineProvider {
         return PRIORITY_LOAD_OR_CREATE_MODEL;
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
     @Override
     protected String getLogPrefix() {
         return PREFIX;
@@ -63,6 +63,7 @@ public class SaveModelProvider extends AbstractCommandLineProvider {
             String filePath = commandLine.getOptionValue(OPTION_SAVE_MODEL);
             File file = new File(filePath);
             saveModel(model, file);
+            addOutput(file);
             logMessage(NLS.bind(Messages.SaveModelProvider_4, file.getPath()));
         }
     }
@@ -94,6 +95,11 @@ public class SaveModelProvider extends AbstractCommandLineProvider {
         return PRIORITY_SAVE_MODEL;
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
     @Override
     protected String getLogPrefix() {
         return PREFIX;
@@ -112,9 +112,15 @@ public class ExportCSVProvider extends AbstractCommandLineProvider {
 
         logMessage(NLS.bind(Messages.ExportCSVProvider_4, model.getName(), folderOutput.getPath()));
         exporter.export(folderOutput);
+        addOutput(folderOutput);
         logMessage(Messages.ExportCSVProvider_5);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
     @Override
     protected String getLogPrefix() {
         return PREFIX;
@@ -73,6 +73,11 @@ public class ImportCSVProvider extends AbstractCommandLineProvider {
         logMessage(Messages.ImportCSVProvider_5);
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
     @Override
     protected String getLogPrefix() {
         return PREFIX;
@@ -7,10 +7,12 @@ package com.archimatetool.editor.diagram;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EventObject;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -91,6 +93,7 @@ import org.eclipse.ui.views.properties.tabbed.ITabbedPropertySheetPageContributo
 import org.eclipse.ui.views.properties.tabbed.TabbedPropertySheetPage;
 
 import com.archimatetool.editor.ArchiPlugin;
+import com.archimatetool.editor.diagram.actions.ArrangeAction;
 import com.archimatetool.editor.diagram.actions.BorderColorAction;
 import com.archimatetool.editor.diagram.actions.BringForwardAction;
 import com.archimatetool.editor.diagram.actions.BringToFrontAction;
@@ -130,7 +133,6 @@ import com.archimatetool.editor.diagram.figures.ITextFigure;
 import com.archimatetool.editor.diagram.tools.FormatPainterInfo;
 import com.archimatetool.editor.diagram.tools.FormatPainterToolEntry;
 import com.archimatetool.editor.diagram.tools.MouseWheelHorizontalScrollHandler;
-import com.archimatetool.editor.model.DiagramModelUtils;
 import com.archimatetool.editor.preferences.IPreferenceConstants;
 import com.archimatetool.editor.ui.ArchiLabelProvider;
 import com.archimatetool.editor.ui.ThemeUtils;
@@ -816,6 +818,12 @@ implements IDiagramModelEditor, IContextProvider, ITabbedPropertySheetPageContri
         getSelectionActions().add(action.getId());
         getUpdateCommandStackActions().add((UpdateAction)action);
         
+        // Arrange
+        action = new ArrangeAction(this);
+        registry.registerAction(action);
+        getSelectionActions().add(action.getId());
+        getUpdateCommandStackActions().add((UpdateAction)action);
+        
         // Properties
         action = new PropertiesAction(this);
         registry.registerAction(action);
@@ -962,39 +970,41 @@ implements IDiagramModelEditor, IContextProvider, ITabbedPropertySheetPageContri
             return;
         }
         
-        Set<Object> selection = new HashSet<>();
+        Set<EditPart> editParts = new LinkedHashSet<>();
+        Map<?, ?> registry = getGraphicalViewer().getEditPartRegistry();
         
+        // Look up the edit parts of each object's diagram components rather than searching the diagram
         for(Object object : objects) {
-            // Diagram Model so replace with diagram reference objects
-            if(object instanceof IDiagramModel) {
-                for(IDiagramModelComponent dc : DiagramModelUtils.findDiagramModelReferences(getModel(), (IDiagramModel)object)) {
-                    selection.add(dc);
+            for(Object model : getSelectableModels(object)) {
+                EditPart editPart = (EditPart)registry.get(model);
+                if(editPart != null && editPart.isSelectable()) {
+                    editParts.add(editPart);
                 }
             }
-            // Else add it
-            else {
-                selection.add(object);
-            }
-        }
-        
-        List<EditPart> editParts = new ArrayList<EditPart>();
-        
-        for(Object object : selection) {
-            EditPart editPart = (EditPart)getGraphicalViewer().getEditPartRegistry().get(object);
-            if(editPart != null && editPart.isSelectable() && !editParts.contains(editPart)) {
-                editParts.add(editPart);
-            }
         }
         
         if(!editParts.isEmpty()) {
-            getGraphicalViewer().setSelection(new StructuredSelection(editParts));
-            getGraphicalViewer().reveal(editParts.get(0));
+            getGraphicalViewer().setSelection(new StructuredSelection(new ArrayList<>(editParts)));
+            getGraphicalViewer().reveal(editParts.iterator().next());
         }
         else {
             getGraphicalViewer().setSelection(StructuredSelection.EMPTY);
         }
     }
 
+    /**
+     * @param object An object to select
+     * @return The models of the edit parts to select when object is selected. These may be in other diagrams.
+     *         A Diagram Model is selected by selecting its diagram model references.
+     */
+    protected Collection<?> getSelectableModels(Object object) {
+        if(object instanceof IDiagramModel) {
+            return ((IDiagramModel)object).getReferencingDiagramModelReferences();
+        }
+        
+        return List.of(object);
+    }
+
     @Override
     public String getContributorId() {
         return ArchiPlugin.PLUGIN_ID;
@@ -33,6 +33,7 @@ import org.eclipse.ui.actions.LabelRetargetAction;
 import org.eclipse.ui.actions.RetargetAction;
 
 import com.archimatetool.editor.actions.ArchiActionFactory;
+import com.archimatetool.editor.diagram.actions.ArrangeAction;
 import com.archimatetool.editor.diagram.actions.BorderColorAction;
 import com.archimatetool.editor.diagram.actions.BringForwardAction;
 import com.archimatetool.editor.diagram.actions.BringToFrontAction;
@@ -136,6 +137,9 @@ extends ActionBarContributor {
         retargetAction.setImageDescriptor(IArchiImages.ImageFactory.getImageDescriptor(IArchiImages.ICON_ASPECT_RATIO));
         addRetargetAction(retargetAction);
         
+        // Arrange
+        addRetargetAction(new RetargetAction(ArrangeAction.ID, ArrangeAction.TEXT));
+        
         // Export as Image
         addRetargetAction(new RetargetAction(ExportAsImageAction.ID, ExportAsImageAction.TEXT));
         
@@ -262,6 +266,9 @@ extends ActionBarContributor {
         alignmentMenu.add(getAction(DefaultEditPartSizeAction.ID));
         alignmentMenu.add(getAction(ResetAspectRatioAction.ID));
         
+        alignmentMenu.add(new Separator());
+        alignmentMenu.add(getAction(ArrangeAction.ID));
+        
         viewMenu.add(new Separator(GROUP_CONNECTIONS ));
         IMenuManager connectionMenu = new MenuManager(Messages.AbstractDiagramEditorActionBarContributor_7, "menu_connection_router"); //$NON-NLS-1$
         viewMenu.add(connectionMenu);
@@ -17,6 +17,7 @@ import org.eclipse.jface.action.Separator;
 import org.eclipse.ui.actions.ActionFactory;
 
 import com.archimatetool.editor.actions.ArchiActionFactory;
+import com.archimatetool.editor.diagram.actions.ArrangeAction;
 import com.archimatetool.editor.diagram.actions.BringForwardAction;
 import com.archimatetool.editor.diagram.actions.BringToFrontAction;
 import com.archimatetool.editor.diagram.actions.ConnectionRouterAction;
@@ -147,6 +148,9 @@ public abstract class AbstractDiagramEditorContextMenuProvider extends ContextMe
         alignmentMenu.add(actionRegistry.getAction(DefaultEditPartSizeAction.ID));
         alignmentMenu.add(actionRegistry.getAction(ResetAspectRatioAction.ID));
         
+        alignmentMenu.add(new Separator());
+        alignmentMenu.add(actionRegistry.getAction(ArrangeAction.ID));
+        
         menu.add(new Separator(GROUP_CONNECTIONS));
         IMenuManager connectionMenu = new MenuManager(Messages.AbstractDiagramEditorContextMenuProvider_3, "menu_connection_router"); //$NON-NLS-1$
         menu.appendToGroup(GROUP_CONNECTIONS, connectionMenu);
@@ -5,8 +5,7 @@
  */
 package com.archimatetool.editor.diagram;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collection;
 
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.gef.GraphicalViewer;
@@ -26,12 +25,10 @@ import com.archimatetool.editor.diagram.actions.GenerateViewAction;
 import com.archimatetool.editor.diagram.actions.ViewpointAction;
 import com.archimatetool.editor.diagram.dnd.ArchimateDiagramTransferDropTargetListener;
 import com.archimatetool.editor.diagram.editparts.ArchimateDiagramEditPartFactory;
-import com.archimatetool.editor.model.DiagramModelUtils;
 import com.archimatetool.editor.preferences.IPreferenceConstants;
 import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateDiagramModel;
 import com.archimatetool.model.IArchimatePackage;
-import com.archimatetool.model.IDiagramModelComponent;
 import com.archimatetool.model.viewpoints.IViewpoint;
 import com.archimatetool.model.viewpoints.ViewpointManager;
 
@@ -136,23 +133,13 @@ implements IArchimateDiagramEditor {
     }
     
     @Override
-    public void selectObjects(Object[] objects) {
-        Set<Object> selection = new HashSet<>();
-        
-        for(Object object : objects) {
-            // If this is an Archimate concept replace it with diagram object instances
-            if(object instanceof IArchimateConcept) {
-                for(IDiagramModelComponent dc : DiagramModelUtils.findDiagramModelComponentsForArchimateConcept(getModel(), (IArchimateConcept)object)) {
-                    selection.add(dc);
-                }
-            }
-            // Else add it
-            else {
-                selection.add(object);
-            }
+    protected Collection<?> getSelectableModels(Object object) {
+        // An Archimate concept is selected by selecting its diagram components
+        if(object instanceof IArchimateConcept) {
+            return ((IArchimateConcept)object).getReferencingDiagramComponents();
         }
         
-        super.selectObjects(selection.toArray());
+        return super.getSelectableModels(object);
     }
     
     /**
@@ -178,7 +178,9 @@ public class DiagramEditorFindReplaceProvider extends AbstractFindReplaceProvide
     public boolean understandsParameter(int parameter) {
         return parameter != PARAM_INCLUDE_FOLDERS
                 && parameter != PARAM_ALL_MODELS
-                && parameter != PARAM_SELECTED_MODEL;
+                && parameter != PARAM_SELECTED_MODEL
+                && parameter != PARAM_INCLUDE_DOCUMENTATION
+                && parameter != PARAM_INCLUDE_PROPERTIES;
     }
     
     /**
@@ -240,7 +242,7 @@ public class DiagramEditorFindReplaceProvider extends AbstractFindReplaceProvide
         }
         
         String string = getStringFromEditPart(editPart);
-        return string != null && string.matches(getSearchStringPattern(toFind));
+        return matchesSearchString(string, toFind);
     }
     
     private EditPart getFirstSelectedEditPart() {
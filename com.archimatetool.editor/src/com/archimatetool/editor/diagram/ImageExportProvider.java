@@ -47,10 +47,28 @@ public class ImageExportProvider implements IImageExportProvider {
     
     @Override
     public void export(String providerID, File file) throws Exception {
+        double scale = (double)fScaleSpinner.getSelection() / 100;
+        
+        // PNG images are painted and written in tiles so that large images don't need a single large Image
+        if(!BMP_IMAGE_EXPORT_PROVIDER.equals(providerID) && !JPEG_IMAGE_EXPORT_PROVIDER.equals(providerID)) {
+            try {
+                if(!PNG_IMAGE_EXPORT_PROVIDER.equals(providerID)) {
+                    file = new File(file.getPath() + ".png"); //$NON-NLS-1$
+                }
+                DiagramUtils.createPNGImageFile(fFigure, scale, 10, file);
+            }
+            finally {
+                // Save Preferences
+                savePreferences();
+            }
+            
+            return;
+        }
+        
         Image image = null;
         
         try {
-            image = DiagramUtils.createImage(fFigure, (double)fScaleSpinner.getSelection() / 100, 10);
+            image = DiagramUtils.createImage(fFigure, scale, 10);
             ImageData imageData = image.getImageData(ImageFactory.getImageDeviceZoom());
             
             ImageLoader loader = new ImageLoader();
@@ -59,14 +77,8 @@ public class ImageExportProvider implements IImageExportProvider {
             if(BMP_IMAGE_EXPORT_PROVIDER.equals(providerID)) {
                 loader.save(file.getPath(), SWT.IMAGE_BMP);
             }
-            else if(JPEG_IMAGE_EXPORT_PROVIDER.equals(providerID)) {
-                loader.save(file.getPath(), SWT.IMAGE_JPEG);
-            }
-            else if(PNG_IMAGE_EXPORT_PROVIDER.equals(providerID)) {
-                loader.save(file.getPath(), SWT.IMAGE_PNG);
-            }
             else {
-                loader.save(file.getPath() + ".png", SWT.IMAGE_PNG); //$NON-NLS-1$
+                loader.save(file.getPath(), SWT.IMAGE_JPEG);
             }
         }
         finally {
@@ -5,6 +5,7 @@
  */
 package com.archimatetool.editor.diagram;
 
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.LightweightSystem;
 import org.eclipse.draw2d.MarginBorder;
 import org.eclipse.draw2d.Viewport;
@@ -26,6 +27,8 @@ import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.part.Page;
 import org.eclipse.ui.views.contentoutline.IContentOutlinePage;
 
+import com.archimatetool.editor.diagram.figures.LevelOfDetail;
+
 /**
  * This is a sample implementation of an outline page showing an overview of a graphical editor.
  * It's based on the one by Gunnar Wagenknecht.
@@ -60,7 +63,13 @@ public class OverviewOutlinePage extends Page implements IContentOutlinePage, IC
         fCanvas = new Canvas(parent, SWT.NONE);
         LightweightSystem lws = new LightweightSystem(fCanvas);
         
-        fThumbnail = new ScrollableThumbnail((Viewport)fEditPart.getFigure());
+        fThumbnail = new ScrollableThumbnail((Viewport)fEditPart.getFigure()) {
+            // Paint the thumbnail with the least detail as it is too small to show it
+            @Override
+            protected void paintSource(Graphics graphics) {
+                LevelOfDetail.paintWith(LevelOfDetail.MINIMAL, () -> super.paintSource(graphics));
+            }
+        };
         fThumbnail.setUseScaledGraphics(false);
         fThumbnail.setSource(fEditPart.getLayer(LayerConstants.PRINTABLE_LAYERS));
         fThumbnail.setBorder(new MarginBorder(3));
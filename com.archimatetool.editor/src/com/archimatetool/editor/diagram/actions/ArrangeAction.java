@@ -0,0 +1,289 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.actions;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.draw2d.geometry.Dimension;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartViewer;
+import org.eclipse.gef.GraphicalEditPart;
+import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CompoundCommand;
+import org.eclipse.gef.ui.actions.SelectionAction;
+import org.eclipse.jface.dialogs.ProgressMonitorDialog;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IWorkbenchPart;
+
+import com.archimatetool.editor.Logger;
+import com.archimatetool.editor.diagram.commands.SetConstraintObjectCommand;
+import com.archimatetool.editor.diagram.editparts.AbstractConnectedEditPart;
+import com.archimatetool.editor.diagram.editparts.AbstractDiagramPart;
+import com.archimatetool.editor.diagram.figures.IDiagramModelObjectFigure;
+import com.archimatetool.editor.diagram.util.LayeredGraphLayout;
+import com.archimatetool.editor.ui.components.IRunnable;
+import com.archimatetool.model.IBounds;
+import com.archimatetool.model.IDiagramModelArchimateObject;
+import com.archimatetool.model.IDiagramModelConnection;
+import com.archimatetool.model.IDiagramModelContainer;
+import com.archimatetool.model.IDiagramModelObject;
+import com.archimatetool.model.ILockable;
+
+
+/**
+ * Arrange the selected diagram objects with a layered layout.<br/>
+ * <br/>
+ * Objects are only arranged with their siblings in the same parent container so that nesting is kept.
+ * Child objects move with their parent and connections to and from child objects are treated as connections to the parent.
+ * If the diagram itself is selected then the top level objects in the diagram are arranged.<br/>
+ * <br/>
+ * Large layouts are calculated in a separate thread with a progress dialog that can cancel the layout,
+ * smaller ones are calculated on the UI thread. The result is executed as one undoable command.
+ *
+ * @author Phillip Beauvoir
+ */
+public class ArrangeAction extends SelectionAction {
+
+    public static final String ID = "ArrangeAction"; //$NON-NLS-1$
+    public static final String TEXT = Messages.ArrangeAction_0;
+
+    /**
+     * Layouts with more nodes than this are calculated in a separate thread with a progress dialog
+     */
+    private static final int PROGRESS_THRESHOLD = 200;
+
+    public ArrangeAction(IWorkbenchPart part) {
+        super(part);
+        setText(TEXT);
+        setId(ID);
+        setToolTipText(Messages.ArrangeAction_1);
+    }
+
+    @Override
+    public void run() {
+        List<?> selected = getSelectedObjects();
+        Map<IDiagramModelContainer, List<IDiagramModelObject>> groups = getGroups(selected);
+        if(groups.isEmpty()) {
+            return;
+        }
+
+        EditPartViewer viewer = ((EditPart)selected.get(0)).getViewer();
+
+        // Create the layouts on the UI thread as this needs the figures' default sizes
+        Map<IDiagramModelContainer, LayeredGraphLayout> layouts = new LinkedHashMap<>();
+        Map<IDiagramModelContainer, Point> origins = new HashMap<>();
+        int nodeCount = 0;
+
+        for(Map.Entry<IDiagramModelContainer, List<IDiagramModelObject>> entry : groups.entrySet()) {
+            layouts.put(entry.getKey(), createLayout(entry.getValue(), viewer));
+            origins.put(entry.getKey(), getOrigin(entry.getValue()));
+            nodeCount += entry.getValue().size();
+        }
+
+        // Calculate the layouts
+        Map<IDiagramModelObject, Point> locations = new LinkedHashMap<>();
+
+        IRunnable runnable = monitor -> {
+            monitor.beginTask(Messages.ArrangeAction_2, layouts.size());
+
+            for(Map.Entry<IDiagramModelContainer, LayeredGraphLayout> entry : layouts.entrySet()) {
+                if(monitor.isCanceled()) {
+                    locations.clear();
+                    return;
+                }
+
+                // This is null if cancelled during the layout
+                Map<Object, Point> result = entry.getValue().layout(origins.get(entry.getKey()), monitor);
+                if(result == null) {
+                    locations.clear();
+                    return;
+                }
+
+                for(Map.Entry<Object, Point> e : result.entrySet()) {
+                    locations.put((IDiagramModelObject)e.getKey(), e.getValue());
+                }
+
+                monitor.worked(1);
+            }
+
+            monitor.done();
+        };
+
+        try {
+            if(nodeCount > PROGRESS_THRESHOLD) {
+                ProgressMonitorDialog dialog = new ProgressMonitorDialog(Display.getCurrent().getActiveShell());
+                IRunnable.run(dialog, runnable, true);
+            }
+            else {
+                runnable.run(new NullProgressMonitor());
+            }
+        }
+        catch(Exception ex) {
+            Logger.logError("Could not arrange diagram objects", ex); //$NON-NLS-1$
+            return;
+        }
+
+        execute(createCommand(locations));
+    }
+
+    @Override
+    protected boolean calculateEnabled() {
+        int count = 0;
+
+        for(Object object : getSelectedObjects()) {
+            // Diagram is selected so there must be an unlocked top level object
+            if(object instanceof AbstractDiagramPart) {
+                return ((AbstractDiagramPart)object).getModel().getChildren().stream().anyMatch(dmo -> !isLocked(dmo));
+            }
+            if(object instanceof AbstractConnectedEditPart && !isLocked(((AbstractConnectedEditPart)object).getModel()) && ++count > 1) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return The objects to arrange grouped by their parent container
+     */
+    private Map<IDiagramModelContainer, List<IDiagramModelObject>> getGroups(List<?> objects) {
+        Map<IDiagramModelContainer, List<IDiagramModelObject>> groups = new LinkedHashMap<>();
+
+        for(Object object : objects) {
+            // Diagram is selected so arrange the top level objects
+            if(object instanceof AbstractDiagramPart) {
+                groups.clear();
+                IDiagramModelContainer dm = ((AbstractDiagramPart)object).getModel();
+                for(IDiagramModelObject dmo : dm.getChildren()) {
+                    if(!isLocked(dmo)) {
+                        groups.computeIfAbsent(dm, k -> new ArrayList<>()).add(dmo);
+                    }
+                }
+                break;
+            }
+
+            if(object instanceof AbstractConnectedEditPart) {
+                IDiagramModelObject dmo = ((AbstractConnectedEditPart)object).getModel();
+                if(!isLocked(dmo) && dmo.eContainer() instanceof IDiagramModelContainer) {
+                    groups.computeIfAbsent((IDiagramModelContainer)dmo.eContainer(), k -> new ArrayList<>()).add(dmo);
+                }
+            }
+        }
+
+        return groups;
+    }
+
+    private LayeredGraphLayout createLayout(List<IDiagramModelObject> dmos, EditPartViewer viewer) {
+        LayeredGraphLayout layout = new LayeredGraphLayout();
+
+        for(IDiagramModelObject dmo : dmos) {
+            Dimension size = getSize(dmo, viewer);
+            int layer = dmo instanceof IDiagramModelArchimateObject ?
+                    LayeredGraphLayout.getLayer(((IDiagramModelArchimateObject)dmo).getArchimateElement()) : LayeredGraphLayout.NO_LAYER;
+            layout.addNode(dmo, size.width, size.height, layer);
+        }
+
+        // Connections from each object and its child objects to other objects in the group and their child objects
+        IDiagramModelContainer parent = (IDiagramModelContainer)dmos.get(0).eContainer();
+        for(IDiagramModelObject dmo : dmos) {
+            addEdges(layout, dmo, dmo, parent);
+        }
+
+        return layout;
+    }
+
+    private void addEdges(LayeredGraphLayout layout, IDiagramModelObject groupObject, IDiagramModelObject dmo, IDiagramModelContainer parent) {
+        for(IDiagramModelConnection connection : dmo.getSourceConnections()) {
+            // Unknown nodes are ignored by the layout
+            IDiagramModelObject target = getGroupObject(connection, parent);
+            if(target != null) {
+                layout.addEdge(groupObject, target);
+            }
+        }
+
+        if(dmo instanceof IDiagramModelContainer) {
+            for(IDiagramModelObject child : ((IDiagramModelContainer)dmo).getChildren()) {
+                addEdges(layout, groupObject, child, parent);
+            }
+        }
+    }
+
+    /**
+     * @return The child object of parent that contains (or is) the target of the connection, or null
+     */
+    private IDiagramModelObject getGroupObject(IDiagramModelConnection connection, IDiagramModelContainer parent) {
+        EObject eObject = connection.getTarget();
+
+        while(eObject instanceof IDiagramModelObject) {
+            if(eObject.eContainer() == parent) {
+                return (IDiagramModelObject)eObject;
+            }
+            eObject = eObject.eContainer();
+        }
+
+        return null;
+    }
+
+    private Dimension getSize(IDiagramModelObject dmo, EditPartViewer viewer) {
+        IBounds bounds = dmo.getBounds();
+
+        if(bounds.getWidth() > 0 && bounds.getHeight() > 0) {
+            return new Dimension(bounds.getWidth(), bounds.getHeight());
+        }
+
+        // Default size
+        Object editPart = viewer.getEditPartRegistry().get(dmo);
+        if(editPart instanceof GraphicalEditPart && ((GraphicalEditPart)editPart).getFigure() instanceof IDiagramModelObjectFigure) {
+            Dimension defaultSize = ((IDiagramModelObjectFigure)((GraphicalEditPart)editPart).getFigure()).getDefaultSize();
+            return new Dimension(bounds.getWidth() > 0 ? bounds.getWidth() : defaultSize.width, bounds.getHeight() > 0 ? bounds.getHeight() : defaultSize.height);
+        }
+
+        return new Dimension(Math.max(bounds.getWidth(), 0), Math.max(bounds.getHeight(), 0));
+    }
+
+    /**
+     * @return The top left of the objects' current bounds
+     */
+    private Point getOrigin(List<IDiagramModelObject> dmos) {
+        int x = Integer.MAX_VALUE;
+        int y = Integer.MAX_VALUE;
+
+        for(IDiagramModelObject dmo : dmos) {
+            x = Math.min(x, dmo.getBounds().getX());
+            y = Math.min(y, dmo.getBounds().getY());
+        }
+
+        return new Point(x, y);
+    }
+
+    private Command createCommand(Map<IDiagramModelObject, Point> locations) {
+        CompoundCommand result = new CompoundCommand(TEXT);
+
+        for(Map.Entry<IDiagramModelObject, Point> entry : locations.entrySet()) {
+            IDiagramModelObject dmo = entry.getKey();
+            IBounds bounds = dmo.getBounds().getCopy();
+
+            if(bounds.getX() != entry.getValue().x || bounds.getY() != entry.getValue().y) {
+                bounds.setX(entry.getValue().x);
+                bounds.setY(entry.getValue().y);
+                result.add(new SetConstraintObjectCommand(dmo, bounds));
+            }
+        }
+
+        return result;
+    }
+
+    private boolean isLocked(IDiagramModelObject dmo) {
+        return dmo instanceof ILockable && ((ILockable)dmo).isLocked();
+    }
+}
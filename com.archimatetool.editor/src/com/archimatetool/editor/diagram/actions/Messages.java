@@ -11,6 +11,12 @@ public class Messages extends NLS {
 
     private static final String BUNDLE_NAME = "com.archimatetool.editor.diagram.actions.messages"; //$NON-NLS-1$
 
+    public static String ArrangeAction_0;
+
+    public static String ArrangeAction_1;
+
+    public static String ArrangeAction_2;
+
     public static String BorderColorAction_0;
 
     public static String BorderColorAction_1;
@@ -16,6 +16,7 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.actions.ActionFactory;
 
+import com.archimatetool.editor.diagram.figures.LevelOfDetail;
 import com.archimatetool.editor.diagram.util.DiagramUtils;
 import com.archimatetool.model.IDiagramModel;
 
@@ -61,7 +62,8 @@ public class PrintDiagramAction extends WorkbenchPartAction {
             PrintGraphicalViewerOperation op = new PrintGraphicalViewerOperation(new Printer(data), viewer);
             op.setUseScaledGraphics(false); // this should stop font clipping
             op.setPrintMode(printMode);
-            op.run(getWorkbenchPart().getTitle());
+            // Print in full detail at any scale
+            LevelOfDetail.paintWith(LevelOfDetail.FULL, () -> op.run(getWorkbenchPart().getTitle()));
 
             tempShell.dispose();
         }
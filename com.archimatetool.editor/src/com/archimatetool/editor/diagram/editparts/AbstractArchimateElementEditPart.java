@@ -13,6 +13,7 @@ import org.eclipse.jface.util.PropertyChangeEvent;
 
 import com.archimatetool.editor.ArchiPlugin;
 import com.archimatetool.editor.diagram.policies.ArchimateDiagramConnectionPolicy;
+import com.archimatetool.editor.preferences.ConnectionPreferences;
 import com.archimatetool.editor.preferences.IPreferenceConstants;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IArchimatePackage;
@@ -144,6 +145,8 @@ public abstract class AbstractArchimateElementEditPart extends AbstractConnected
         // Hidden connections
         if(IPreferenceConstants.HIDDEN_RELATIONS_TYPES.equals(event.getProperty()) ||
                 IPreferenceConstants.USE_NESTED_CONNECTIONS.equals(event.getProperty())) {
+            // We might be notified before ConnectionPreferences so don't use its old values
+            ConnectionPreferences.resetCachedValues();
             refreshSourceConnections();
             refreshTargetConnections();
         }
@@ -18,6 +18,7 @@ import org.eclipse.gef.requests.ReconnectRequest;
 import org.eclipse.jface.util.PropertyChangeEvent;
 
 import com.archimatetool.editor.diagram.policies.ArchimateDiagramConnectionPolicy;
+import com.archimatetool.editor.preferences.ConnectionPreferences;
 import com.archimatetool.editor.preferences.IPreferenceConstants;
 import com.archimatetool.model.IArchimatePackage;
 import com.archimatetool.model.IDiagramModelArchimateConnection;
@@ -64,6 +65,8 @@ implements NodeEditPart {
         // Hidden connections
         if(IPreferenceConstants.HIDDEN_RELATIONS_TYPES.equals(event.getProperty()) ||
                 IPreferenceConstants.USE_NESTED_CONNECTIONS.equals(event.getProperty())) {
+            // We might be notified before ConnectionPreferences so don't use its old values
+            ConnectionPreferences.resetCachedValues();
             refreshSourceConnections();
             refreshTargetConnections();
         }
@@ -100,6 +100,14 @@ implements IContainerFigure {
         }
     }
     
+    @Override
+    protected void drawMinimalFigure(Graphics graphics) {
+        super.drawMinimalFigure(graphics);
+        if(SHOW_TARGET_FEEDBACK) {
+            drawTargetFeedback(graphics);
+        }
+    }
+    
     /**
      * Draw hover-over highlighting
      * @param graphics
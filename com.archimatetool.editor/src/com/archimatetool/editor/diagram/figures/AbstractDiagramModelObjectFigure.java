@@ -58,6 +58,9 @@ implements IDiagramModelObjectFigure {
     // Delegate to draw icon image
     private IconicDelegate fIconicDelegate;
     
+    // Level of detail of the current paint
+    private LevelOfDetail fLevelOfDetail = LevelOfDetail.FULL;
+    
     protected AbstractDiagramModelObjectFigure() {
     }
     
@@ -84,6 +87,62 @@ implements IDiagramModelObjectFigure {
         fFigureDelegate = figureDelegate;
     }
     
+    @Override
+    public void paint(Graphics graphics) {
+        fLevelOfDetail = LevelOfDetail.get(graphics);
+        
+        if(fLevelOfDetail != LevelOfDetail.MINIMAL) {
+            super.paint(graphics);
+            return;
+        }
+        
+        // Paint as Figure#paint() does but draw a plain rectangle instead of the figure. Child figures are still painted.
+        if(getLocalBackgroundColor() != null) {
+            graphics.setBackgroundColor(getLocalBackgroundColor());
+        }
+        if(getLocalForegroundColor() != null) {
+            graphics.setForegroundColor(getLocalForegroundColor());
+        }
+        if(getLocalFont() != null) {
+            graphics.setFont(getLocalFont());
+        }
+        
+        graphics.pushState();
+        try {
+            drawMinimalFigure(graphics);
+            graphics.restoreState();
+            paintClientArea(graphics);
+            paintBorder(graphics);
+        }
+        finally {
+            graphics.popState();
+        }
+    }
+    
+    /**
+     * Draw the figure as a filled rectangle when the level of detail is MINIMAL
+     */
+    protected void drawMinimalFigure(Graphics graphics) {
+        Rectangle bounds = getBounds().getCopy();
+        bounds.width--;
+        bounds.height--;
+        
+        graphics.setAlpha(getAlpha());
+        graphics.setBackgroundColor(getFillColor());
+        graphics.fillRectangle(bounds);
+        
+        graphics.setAlpha(getLineAlpha());
+        graphics.setForegroundColor(getLineColor());
+        graphics.drawRectangle(bounds);
+    }
+    
+    /**
+     * @return The level of detail of the current paint
+     */
+    public LevelOfDetail getLevelOfDetail() {
+        return fLevelOfDetail;
+    }
+    
     /**
      * Draw the figure.
      * The default behaviour is to delegate to the Figure Delegate if one is set.
@@ -250,6 +309,11 @@ implements IDiagramModelObjectFigure {
     }
     
     protected int getGradient() {
+        // Gradients are not painted with less detail
+        if(!fLevelOfDetail.isFull()) {
+            return IDiagramModelObject.GRADIENT_NONE;
+        }
+        
         return fDiagramModelObject.getGradient();
     }
     
@@ -269,7 +333,13 @@ implements IDiagramModelObjectFigure {
      */
     public void drawIconImage(Graphics graphics, Rectangle drawArea) {
         if(hasIconImage()) {
-            getIconicDelegate().drawIcon(graphics, drawArea); // Call this directly in case offsets are set elsewhere
+            // Call these directly in case offsets are set elsewhere
+            if(fLevelOfDetail.isFull()) {
+                getIconicDelegate().drawIcon(graphics, drawArea);
+            }
+            else {
+                getIconicDelegate().drawPlaceholder(graphics, drawArea, drawArea, getLineColor());
+            }
         }
     }
     
@@ -286,7 +356,13 @@ implements IDiagramModelObjectFigure {
     public void drawIconImage(Graphics graphics, Rectangle figureBounds, Rectangle drawArea, int topOffset, int rightOffset, int bottomOffset, int leftOffset) {
         if(hasIconImage()) {
             getIconicDelegate().setOffsets(topOffset, rightOffset, bottomOffset, leftOffset);
-            getIconicDelegate().drawIcon(graphics, figureBounds, drawArea);
+            
+            if(fLevelOfDetail.isFull()) {
+                getIconicDelegate().drawIcon(graphics, figureBounds, drawArea);
+            }
+            else {
+                getIconicDelegate().drawPlaceholder(graphics, figureBounds, drawArea, getLineColor());
+            }
         }
     }
 
@@ -327,6 +403,13 @@ implements IDiagramModelObjectFigure {
         }
     }
 
+    /**
+     * @return whether to draw the small in-built icon in the current paint. It is not drawn with less detail.
+     */
+    protected boolean shouldDrawIcon() {
+        return isIconVisible() && fLevelOfDetail.isFull();
+    }
+
     /**
      * @return The offset in pixels to adjust the text position if there is an inbuilt icon
      */
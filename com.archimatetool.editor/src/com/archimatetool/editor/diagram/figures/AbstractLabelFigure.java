@@ -6,6 +6,7 @@
 package com.archimatetool.editor.diagram.figures;
 
 import org.eclipse.draw2d.DelegatingLayout;
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.Label;
 import org.eclipse.draw2d.Locator;
@@ -72,7 +73,15 @@ public abstract class AbstractLabelFigure extends AbstractDiagramModelObjectFigu
     
     public Label getLabel() {
         if(fLabel == null) {
-            fLabel = new Label(""); //$NON-NLS-1$
+            fLabel = new Label("") { //$NON-NLS-1$
+                @Override
+                public void paint(Graphics graphics) {
+                    // Text is not painted with less detail
+                    if(getLevelOfDetail().isFull()) {
+                        super.paint(graphics);
+                    }
+                }
+            };
         }
         return fLabel;
     }
@@ -7,6 +7,7 @@ package com.archimatetool.editor.diagram.figures;
 
 import org.eclipse.draw2d.DelegatingLayout;
 import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
 import org.eclipse.draw2d.GridData;
 import org.eclipse.draw2d.GridLayout;
 import org.eclipse.draw2d.IFigure;
@@ -182,7 +183,15 @@ public abstract class AbstractTextControlContainerFigure extends AbstractContain
         FlowPage page = new FlowPage();
         page.add(textFlow);
         
-        Figure textWrapperFigure = new Figure();
+        Figure textWrapperFigure = new Figure() {
+            @Override
+            public void paint(Graphics graphics) {
+                // Text is not painted with less detail
+                if(getLevelOfDetail().isFull()) {
+                    super.paint(graphics);
+                }
+            }
+        };
         
         GridLayout layout = new GridLayout();
         layout.marginWidth = getTextControlMarginWidth();
@@ -264,7 +273,15 @@ public abstract class AbstractTextControlContainerFigure extends AbstractContain
     }
     
     protected Label createLabelControl(Locator textLocator) {
-        Label label = new Label(""); //$NON-NLS-1$
+        Label label = new Label("") { //$NON-NLS-1$
+            @Override
+            public void paint(Graphics graphics) {
+                // Text is not painted with less detail
+                if(getLevelOfDetail().isFull()) {
+                    super.paint(graphics);
+                }
+            }
+        };
         add(label, textLocator);
         return label;
     }
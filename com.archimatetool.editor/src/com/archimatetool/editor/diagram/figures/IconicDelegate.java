@@ -7,6 +7,7 @@ package com.archimatetool.editor.diagram.figures;
 
 import org.eclipse.draw2d.Graphics;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.Rectangle;
 
@@ -172,8 +173,79 @@ public class IconicDelegate {
         
         Rectangle imageBounds = fImage.getBounds();
         
+        org.eclipse.draw2d.geometry.Rectangle iconBounds = getIconBounds(drawArea);
+        int x = iconBounds.x;
+        int y = iconBounds.y;
+        int width = iconBounds.width;
+        int height = iconBounds.height;
+        
+        graphics.pushState();
+        
+        graphics.setAntialias(SWT.ON);
+        graphics.setInterpolation(SWT.HIGH);
+        graphics.setClip(figureBounds); // Don't paint the image beyond the figure's bounds
+        
+        // Ensure image is drawn in full alpha
+        graphics.setAlpha(255);
+        
+        // Fill
+        if(fIconic.getImagePosition() == IIconic.ICON_POSITION_FILL) {
+            // Fill
+            // graphics.drawImage(fImage, 0, 0, imageBounds.width, imageBounds.height, figureBounds.x, figureBounds.y, figureBounds.width, figureBounds.height);
+            
+            // Cover Fill (algorithm from JB the maths wizard)
+            float imageRatio  = (float) imageBounds.width / imageBounds.height;
+            float figureRatio = (float) figureBounds.width / figureBounds.height;
+            int newWidth  = (int) (imageRatio < figureRatio ? figureBounds.width : figureBounds.height * imageRatio);
+            int newHeight = (int) (imageRatio < figureRatio ? figureBounds.width / imageRatio : figureBounds.height);                
+                            
+            // Image top-left corner
+            x = figureBounds.x - (newWidth / 2) + (figureBounds.width / 2);
+            y = figureBounds.y - (newHeight / 2) + (figureBounds.height / 2);
+            
+            graphics.drawImage(fImage, 0, 0, imageBounds.width, imageBounds.height, x, y, newWidth, newHeight);
+        }
+        // Full image size
+        else if(fMaxImageSize == MAX_IMAGESIZE) {
+            graphics.drawImage(fImage, x, y);
+        }
+        // Scaled image size
+        else {
+            graphics.drawImage(fImage, 0, 0, imageBounds.width, imageBounds.height, x, y, width, height);
+        }
+        
+        graphics.popState();
+    }
+    
+    /**
+     * Draw a filled rectangle where the icon image would be drawn. This is drawn instead of the image when a View is painted with less detail.
+     * @param graphics Graphics context
+     * @param figureBounds The bounds of the Figure
+     * @param drawArea The area to draw the image in (may be the same as figureBounds)
+     * @param color The color to fill with
+     */
+    public void drawPlaceholder(Graphics graphics, org.eclipse.draw2d.geometry.Rectangle figureBounds, org.eclipse.draw2d.geometry.Rectangle drawArea, Color color) {
+        if(fImage == null || fIconic == null) {
+            return;
+        }
+        
+        // A Fill image covers the whole figure
+        org.eclipse.draw2d.geometry.Rectangle iconBounds = fIconic.getImagePosition() == IIconic.ICON_POSITION_FILL ?
+                                                           figureBounds.getCopy() : getIconBounds(drawArea).intersect(figureBounds);
+        
+        graphics.pushState();
+        graphics.setAlpha(255);
+        graphics.setBackgroundColor(color);
+        graphics.fillRectangle(iconBounds);
+        graphics.popState();
+    }
+    
+    /**
+     * @return The bounds of the icon image in the draw area for the image position
+     */
+    private org.eclipse.draw2d.geometry.Rectangle getIconBounds(org.eclipse.draw2d.geometry.Rectangle drawArea) {
         // New Image size, possibly scaled
-        Rectangle newSize = getImageSize(imageBounds);
+        Rectangle newSize = getImageSize(fImage.getBounds());
         
         int width = newSize.width;
         int height = newSize.height;
@@ -225,42 +297,7 @@ public class IconicDelegate {
                 break;
         }
         
-        graphics.pushState();
-        
-        graphics.setAntialias(SWT.ON);
-        graphics.setInterpolation(SWT.HIGH);
-        graphics.setClip(figureBounds); // Don't paint the image beyond the figure's bounds
-        
-        // Ensure image is drawn in full alpha
-        graphics.setAlpha(255);
-        
-        // Fill
-        if(fIconic.getImagePosition() == IIconic.ICON_POSITION_FILL) {
-            // Fill
-            // graphics.drawImage(fImage, 0, 0, imageBounds.width, imageBounds.height, figureBounds.x, figureBounds.y, figureBounds.width, figureBounds.height);
-            
-            // Cover Fill (algorithm from JB the maths wizard)
-            float imageRatio  = (float) imageBounds.width / imageBounds.height;
-            float figureRatio = (float) figureBounds.width / figureBounds.height;
-            int newWidth  = (int) (imageRatio < figureRatio ? figureBounds.width : figureBounds.height * imageRatio);
-            int newHeight = (int) (imageRatio < figureRatio ? figureBounds.width / imageRatio : figureBounds.height);                
-                            
-            // Image top-left corner
-            x = figureBounds.x - (newWidth / 2) + (figureBounds.width / 2);
-            y = figureBounds.y - (newHeight / 2) + (figureBounds.height / 2);
-            
-            graphics.drawImage(fImage, 0, 0, imageBounds.width, imageBounds.height, x, y, newWidth, newHeight);
-        }
-        // Full image size
-        else if(fMaxImageSize == MAX_IMAGESIZE) {
-            graphics.drawImage(fImage, x, y);
-        }
-        // Scaled image size
-        else {
-            graphics.drawImage(fImage, 0, 0, imageBounds.width, imageBounds.height, x, y, width, height);
-        }
-        
-        graphics.popState();
+        return new org.eclipse.draw2d.geometry.Rectangle(x, y, width, height);
     }
     
     /**
@@ -0,0 +1,122 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.figures;
+
+import org.eclipse.draw2d.Graphics;
+
+import com.archimatetool.editor.ArchiPlugin;
+import com.archimatetool.editor.preferences.IPreferenceConstants;
+
+
+
+/**
+ * Level of detail used to paint figures in a View.<br/>
+ * <br/>
+ * When a View is zoomed out below the zoom levels set in Preferences figures are painted with less detail:<br/>
+ * SIMPLE - text, gradients, in-built icons and images are not painted, images are replaced by plain rectangles
+ * and connections are painted as plain polylines without curves or line jumps.<br/>
+ * MINIMAL - as SIMPLE but figures are painted as filled rectangles and connections are painted without decorations.<br/>
+ * <br/>
+ * The level is taken from the scale of the Graphics instance each time a figure is painted
+ * so the full detail is painted again as soon as the View is zoomed in.
+ *
+ * @author Phillip Beauvoir
+ */
+public enum LevelOfDetail {
+
+    FULL,
+    SIMPLE,
+    MINIMAL;
+
+    // Level of detail set for a paint in the current thread regardless of scale
+    private static final ThreadLocal<LevelOfDetail> forcedLevel = new ThreadLocal<>();
+
+    // Cached values of LEVEL_OF_DETAIL_MINIMAL_ZOOM and LEVEL_OF_DETAIL_SIMPLE_ZOOM as these are read for every figure painted
+    // These are refreshed when the preferences change
+    private static volatile int minimalZoom, simpleZoom;
+    private static volatile boolean prefsListenerAdded;
+
+    /**
+     * @return The level of detail to paint with for the scale of the Graphics instance
+     */
+    public static LevelOfDetail get(Graphics graphics) {
+        LevelOfDetail level = forcedLevel.get();
+        if(level != null) {
+            return level;
+        }
+
+        return get(FigureUtils.getGraphicsScale(graphics));
+    }
+
+    /**
+     * @param scale The scale where 1.0 is 100%
+     * @return The level of detail to paint with at the given scale
+     */
+    public static LevelOfDetail get(double scale) {
+        if(!prefsListenerAdded) {
+            addPreferencesListener();
+        }
+
+        int zoom = (int)Math.round(scale * 100);
+
+        if(zoom < minimalZoom) {
+            return MINIMAL;
+        }
+
+        if(zoom < simpleZoom) {
+            return SIMPLE;
+        }
+
+        return FULL;
+    }
+
+    /**
+     * Read the zoom levels and add a listener to refresh them when the preferences change
+     */
+    private static synchronized void addPreferencesListener() {
+        if(!prefsListenerAdded) {
+            readPreferences();
+
+            ArchiPlugin.PREFERENCES.addPropertyChangeListener(event -> {
+                if(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM.equals(event.getProperty())
+                        || IPreferenceConstants.LEVEL_OF_DETAIL_SIMPLE_ZOOM.equals(event.getProperty())) {
+                    readPreferences();
+                }
+            });
+
+            prefsListenerAdded = true;
+        }
+    }
+
+    private static void readPreferences() {
+        minimalZoom = ArchiPlugin.PREFERENCES.getInt(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM);
+        simpleZoom = ArchiPlugin.PREFERENCES.getInt(IPreferenceConstants.LEVEL_OF_DETAIL_SIMPLE_ZOOM);
+    }
+
+    /**
+     * Run a paint with the given level of detail regardless of scale.
+     * @param level The level of detail
+     * @param runnable Paints the figures
+     */
+    public static void paintWith(LevelOfDetail level, Runnable runnable) {
+        LevelOfDetail oldLevel = forcedLevel.get();
+        forcedLevel.set(level);
+
+        try {
+            runnable.run();
+        }
+        finally {
+            forcedLevel.set(oldLevel);
+        }
+    }
+
+    /**
+     * @return true if this is the full level of detail
+     */
+    public boolean isFull() {
+        return this == FULL;
+    }
+}
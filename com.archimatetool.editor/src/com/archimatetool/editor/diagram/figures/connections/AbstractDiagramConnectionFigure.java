@@ -135,6 +135,14 @@ extends RoundedPolylineConnection implements IDiagramConnectionFigure {
                     }
                     return d;
                 }
+                
+                @Override
+                public void paint(Graphics graphics) {
+                    // Text is not painted with less detail
+                    if(getLevelOfDetail().isFull()) {
+                        super.paint(graphics);
+                    }
+                }
             };
             
             flowPage.add(fTextFlow);
@@ -306,7 +314,8 @@ extends RoundedPolylineConnection implements IDiagramConnectionFigure {
             setForegroundColor(fLineColor);
         }
 
-        if(StringUtils.isSet(getConnectionLabel().getText()) && 
+        // The label is not painted with less detail so it doesn't need clipping
+        if(getLevelOfDetail().isFull() && StringUtils.isSet(getConnectionLabel().getText()) && 
                 ArchiPlugin.PREFERENCES.getInt(IPreferenceConstants.CONNECTION_LABEL_STRATEGY) == CONNECTION_LABEL_CLIPPED) {
             clipTextLabel(graphics);
         }
@@ -38,6 +38,7 @@ import org.eclipse.draw2d.geometry.PointList;
 import org.eclipse.draw2d.geometry.Rectangle;
 
 import com.archimatetool.editor.ArchiPlugin;
+import com.archimatetool.editor.diagram.figures.LevelOfDetail;
 import com.archimatetool.editor.diagram.figures.PolarPoint;
 import com.archimatetool.editor.preferences.IPreferenceConstants;
 
@@ -62,6 +63,30 @@ public class RoundedPolylineConnection extends PolylineConnection {
 	final double PI34 = Math.PI * 3.0 / 4.0;
 	final double PI2 = Math.PI * 2.0;
 	final double PI12 = Math.PI * 1.0 / 2.0;
+	
+	// Level of detail of the current paint
+	private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+
+	@Override
+	public void paint(Graphics g) {
+		levelOfDetail = LevelOfDetail.get(g);
+		super.paint(g);
+	}
+	
+	/**
+	 * @return The level of detail of the current paint
+	 */
+	public LevelOfDetail getLevelOfDetail() {
+		return levelOfDetail;
+	}
+	
+	@Override
+	protected void paintClientArea(Graphics g) {
+		// Decorations and label are not painted with the least detail
+		if(levelOfDetail != LevelOfDetail.MINIMAL) {
+			super.paintClientArea(g);
+		}
+	}
 
 	@Override
 	public Rectangle getBounds() {
@@ -76,6 +101,13 @@ public class RoundedPolylineConnection extends PolylineConnection {
 	protected void outlineShape(Graphics g) {
 		// Original list of bendpoints
 		PointList bendpoints = getPoints();
+		
+		// With less detail draw a plain polyline without line-curves and line-jumps
+		if (!levelOfDetail.isFull()) {
+			g.drawPolyline(bendpoints);
+			return;
+		}
+		
 		// List of bendpoints and points added to draw line-curves and line-jumps
 		PointList linepoints = new PointList();
 		// List of all connections on current diagram
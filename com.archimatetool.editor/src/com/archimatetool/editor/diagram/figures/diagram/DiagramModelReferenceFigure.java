@@ -44,7 +44,7 @@ public class DiagramModelReferenceFigure extends AbstractTextControlContainerFig
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
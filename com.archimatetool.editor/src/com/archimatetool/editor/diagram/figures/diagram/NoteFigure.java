@@ -51,7 +51,15 @@ public class NoteFigure extends AbstractDiagramModelObjectFigure implements ITex
     protected void setUI() {
         setLayoutManager(new GridLayout());
 
-        FlowPage page = new FlowPage();
+        FlowPage page = new FlowPage() {
+            @Override
+            public void paint(Graphics graphics) {
+                // Text is not painted with less detail
+                if(getLevelOfDetail().isFull()) {
+                    super.paint(graphics);
+                }
+            }
+        };
         fTextFlow = new TextFlow();
         fTextFlow.setLayoutManager(new ParagraphTextLayout(fTextFlow, ParagraphTextLayout.WORD_WRAP_SOFT));
         page.add(fTextFlow);
@@ -113,7 +113,7 @@ public class ApplicationComponentFigure extends AbstractTextControlContainerFigu
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
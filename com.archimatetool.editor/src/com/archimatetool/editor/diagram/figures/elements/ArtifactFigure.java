@@ -111,7 +111,7 @@ public class ArtifactFigure extends AbstractTextControlContainerFigure implement
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
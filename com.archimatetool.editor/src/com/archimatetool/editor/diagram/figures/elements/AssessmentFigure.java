@@ -126,7 +126,7 @@ public class AssessmentFigure extends AbstractMotivationFigure {
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -108,7 +108,7 @@ public class BusinessActorFigure extends AbstractTextControlContainerFigure impl
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
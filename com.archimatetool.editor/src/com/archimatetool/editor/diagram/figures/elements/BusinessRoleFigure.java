@@ -44,7 +44,7 @@ public class BusinessRoleFigure extends AbstractTextControlContainerFigure imple
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -120,7 +120,7 @@ public class CapabilityFigure extends AbstractTextControlContainerFigure impleme
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -99,7 +99,7 @@ public class CollaborationFigure extends AbstractTextControlContainerFigure impl
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
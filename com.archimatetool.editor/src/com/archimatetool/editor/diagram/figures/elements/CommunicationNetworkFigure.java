@@ -110,7 +110,7 @@ public class CommunicationNetworkFigure extends AbstractTextControlContainerFigu
     }
     
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -96,7 +96,7 @@ public class ContractFigure extends ObjectFigure {
      */
     @Override
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
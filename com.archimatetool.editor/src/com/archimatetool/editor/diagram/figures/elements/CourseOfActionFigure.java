@@ -169,7 +169,7 @@ public class CourseOfActionFigure extends AbstractTextControlContainerFigure imp
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -102,7 +102,7 @@ public class DeliverableFigure extends AbstractTextControlContainerFigure implem
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -105,7 +105,7 @@ public class DeviceFigure extends AbstractTextControlContainerFigure implements
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -172,7 +172,7 @@ public class DistributionNetworkFigure extends AbstractTextControlContainerFigur
     }
     
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
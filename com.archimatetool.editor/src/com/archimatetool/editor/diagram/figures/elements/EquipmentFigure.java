@@ -187,7 +187,7 @@ public class EquipmentFigure extends AbstractTextControlContainerFigure implemen
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -94,7 +94,7 @@ public class EventFigure extends AbstractTextControlContainerFigure implements I
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
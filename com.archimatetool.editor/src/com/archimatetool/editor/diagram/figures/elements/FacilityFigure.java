@@ -123,7 +123,7 @@ public class FacilityFigure extends AbstractTextControlContainerFigure implement
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
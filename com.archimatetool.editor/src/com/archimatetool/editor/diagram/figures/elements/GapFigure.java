@@ -103,7 +103,7 @@ public class GapFigure extends AbstractTextControlContainerFigure implements IAr
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -121,7 +121,7 @@ public class InteractionFigure extends AbstractTextControlContainerFigure implem
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
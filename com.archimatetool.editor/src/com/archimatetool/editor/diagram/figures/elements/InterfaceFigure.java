@@ -96,7 +96,7 @@ public class InterfaceFigure extends AbstractTextControlContainerFigure implemen
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -45,7 +45,7 @@ public class NodeFigure extends AbstractTextControlContainerFigure implements IA
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
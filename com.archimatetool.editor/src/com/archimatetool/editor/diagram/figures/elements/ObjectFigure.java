@@ -112,7 +112,7 @@ public class ObjectFigure extends AbstractTextControlContainerFigure implements
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -49,7 +49,7 @@ public class PathFigure extends DistributionNetworkFigure {
      */
     @Override
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -83,7 +83,7 @@ public class PlateauFigure extends AbstractTextControlContainerFigure implements
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -49,7 +49,7 @@ public class ProcessFigure extends AbstractTextControlContainerFigure implements
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -115,7 +115,7 @@ public class ProductFigure extends AbstractTextControlContainerFigure implements
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -98,7 +98,7 @@ public class RepresentationFigure extends DeliverableFigure {
      */
     @Override
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -47,7 +47,7 @@ public class ServiceFigure extends AbstractTextControlContainerFigure implements
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -94,7 +94,7 @@ public class SystemSoftwareFigure extends AbstractTextControlContainerFigure imp
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
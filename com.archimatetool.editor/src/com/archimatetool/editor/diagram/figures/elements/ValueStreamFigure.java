@@ -117,7 +117,7 @@ public class ValueStreamFigure extends AbstractTextControlContainerFigure implem
      * Draw the icon
      */
     protected void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
@@ -137,7 +137,7 @@ public class WorkPackageFigure extends AbstractTextControlContainerFigure implem
      * Draw the icon
      */
     private void drawIcon(Graphics graphics) {
-        if(!isIconVisible()) {
+        if(!shouldDrawIcon()) {
             return;
         }
         
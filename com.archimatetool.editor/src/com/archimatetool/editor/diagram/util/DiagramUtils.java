@@ -5,6 +5,11 @@
  */
 package com.archimatetool.editor.diagram.util;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.draw2d.FreeformFigure;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.SWTGraphics;
@@ -18,6 +23,7 @@ import org.eclipse.gef.editparts.LayerManager;
 import org.eclipse.gef.ui.parts.GraphicalViewerImpl;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
@@ -26,7 +32,9 @@ import org.eclipse.swt.widgets.Shell;
 import com.archimatetool.editor.diagram.DiagramEditorFactoryExtensionHandler;
 import com.archimatetool.editor.diagram.IDiagramEditorFactory;
 import com.archimatetool.editor.diagram.editparts.ArchimateDiagramEditPartFactory;
+import com.archimatetool.editor.diagram.figures.LevelOfDetail;
 import com.archimatetool.editor.diagram.sketch.editparts.SketchEditPartFactory;
+import com.archimatetool.editor.ui.ImageFactory;
 import com.archimatetool.model.IArchimateDiagramModel;
 import com.archimatetool.model.IDiagramModel;
 import com.archimatetool.model.ISketchModel;
@@ -41,12 +49,37 @@ import com.archimatetool.model.ISketchModel;
  */
 public final class DiagramUtils {
     
+    // Maximum width and height of an image tile when writing an image file in tiles
+    private static final int MAX_TILE_SIZE = 1024;
+    
+    // Maximum number of pixels in a band of tiles when writing an image file in tiles
+    private static final int MAX_BAND_PIXELS = 4 * 1024 * 1024;
+    
     /**
      * Create a GraphicalViewerImpl to show the model. The Viewer has no Scroll Bars
      * @param model
      * @return A Graphical Viewer
      */
     public static GraphicalViewerImpl createViewer(IDiagramModel model, Composite parent) {
+        GraphicalViewerImpl viewer = new GraphicalViewerImpl();
+        viewer.createControl(parent);
+        
+        viewer.setEditPartFactory(createEditPartFactory(model));
+        
+        RootEditPart rootPart = new FreeformGraphicalRootEditPart();
+        viewer.setRootEditPart(rootPart);
+        
+        viewer.setContents(model);
+        viewer.flush();
+        
+        return viewer;
+    }
+    
+    /**
+     * @return A new EditPartFactory for the type of the Diagram Model
+     * @throws RuntimeException if the type of the Diagram Model is not supported
+     */
+    static EditPartFactory createEditPartFactory(IDiagramModel model) {
         EditPartFactory editPartFactory = null;
         
         if(model instanceof IArchimateDiagramModel) {
@@ -67,18 +100,7 @@ public final class DiagramUtils {
             throw new RuntimeException("Unsupported model type"); //$NON-NLS-1$
         }
         
-        GraphicalViewerImpl viewer = new GraphicalViewerImpl();
-        viewer.createControl(parent);
-        
-        viewer.setEditPartFactory(editPartFactory);
-        
-        RootEditPart rootPart = new FreeformGraphicalRootEditPart();
-        viewer.setRootEditPart(rootPart);
-        
-        viewer.setContents(model);
-        viewer.flush();
-        
-        return viewer;
+        return editPartFactory;
     }
     
     /**
@@ -124,7 +146,7 @@ public final class DiagramUtils {
         return createModelReferencedImage(graphicalViewer, scale, margin).getImage();
     }
     
-    private static ModelReferencedImage createModelReferencedImage(GraphicalViewer graphicalViewer, double scale, int margin) {
+    static ModelReferencedImage createModelReferencedImage(GraphicalViewer graphicalViewer, double scale, int margin) {
         LayerManager layerManager = (LayerManager)graphicalViewer.getEditPartRegistry().get(LayerManager.ID);
         IFigure rootFigure = layerManager.getLayer(LayerConstants.PRINTABLE_LAYERS);
         return createModelReferencedImage(rootFigure, scale, margin);
@@ -143,20 +165,8 @@ public final class DiagramUtils {
     }
 
     private static ModelReferencedImage createModelReferencedImage(IFigure figure, double scale, int margin) {
-        if(scale <= 0) {
-            scale = 1;
-        }
-        if(scale > 5) {
-            scale = 5;
-        }
-        
-        Rectangle bounds = getMinimumBounds(figure);
-        if(bounds == null) {
-            bounds = new Rectangle(0, 0, 100, 100); // At least a minimum
-        }
-        else {
-            bounds.expand(margin / scale, margin / scale);
-        }
+        scale = getImageScale(scale);
+        Rectangle bounds = getImageBounds(figure, scale, margin);
         
         Image image = new Image(Display.getDefault(), (int)(bounds.width * scale), (int)(bounds.height * scale) );
         GC gc = new GC(image);
@@ -171,8 +181,8 @@ public final class DiagramUtils {
         // Compensate for negative co-ordinates
         graphics.translate(bounds.x * -1, bounds.y * -1);
 
-        // Paint onto graphics
-        figure.paint(graphics);
+        // Paint onto graphics in full detail at any scale
+        LevelOfDetail.paintWith(LevelOfDetail.FULL, () -> figure.paint(graphics));
         
         // Dispose
         gc.dispose();
@@ -181,6 +191,126 @@ public final class DiagramUtils {
         return new ModelReferencedImage(image, bounds);
     }
     
+    /**
+     * Write a PNG image file of a Diagram Model. The image is painted and written in tiles so that large images can be written
+     * without holding the whole image in memory.
+     * @param model The model to create the image from
+     * @param scale The scale to use. 1 is full size.
+     * @param margin amount of white space margin to apply around the image
+     * @param file The PNG file
+     * @return The bounds of the figure in the image, as in {@link ModelReferencedImage#getBounds()}
+     * @throws IOException
+     */
+    public static Rectangle createPNGImageFile(IDiagramModel model, double scale, int margin, File file) throws IOException {
+        Shell shell = new Shell();
+        shell.setLayout(new FillLayout());
+        
+        try {
+            GraphicalViewer viewer = createViewer(model, shell);
+            LayerManager layerManager = (LayerManager)viewer.getEditPartRegistry().get(LayerManager.ID);
+            return createPNGImageFile(layerManager.getLayer(LayerConstants.PRINTABLE_LAYERS), scale, margin, file);
+        }
+        finally {
+            shell.dispose();
+        }
+    }
+    
+    /**
+     * Write a PNG image file of a Figure. The image is painted in tiles and written a band of tiles at a time
+     * so that memory use doesn't depend on the size of the image.
+     * @param figure The Figure to create the image from
+     * @param scale The scale to use. 1 is full size. Max of 5 is allowed.
+     * @param margin amount of white space margin to apply around the image
+     * @param file The PNG file
+     * @return The bounds of the figure in the image, as in {@link ModelReferencedImage#getBounds()}
+     * @throws IOException
+     */
+    public static Rectangle createPNGImageFile(IFigure figure, double scale, int margin, File file) throws IOException {
+        double imageScale = getImageScale(scale);
+        Rectangle bounds = getImageBounds(figure, imageScale, margin);
+        
+        int imageWidth = Math.max(1, (int)(bounds.width * imageScale));
+        int imageHeight = Math.max(1, (int)(bounds.height * imageScale));
+        
+        int tileWidth = Math.min(imageWidth, MAX_TILE_SIZE);
+        int bandHeight = Math.max(1, Math.min(MAX_TILE_SIZE, MAX_BAND_PIXELS / imageWidth));
+        
+        try(PNGImageWriter writer = new PNGImageWriter(file)) {
+            for(int y = 0; y < imageHeight; y += bandHeight) {
+                List<ImageData> tiles = new ArrayList<>();
+                
+                for(int x = 0; x < imageWidth; x += tileWidth) {
+                    tiles.add(createImageTile(figure, imageScale, bounds, x, y, Math.min(tileWidth, imageWidth - x), Math.min(bandHeight, imageHeight - y)));
+                }
+                
+                writer.writeRows(tiles.toArray(new ImageData[tiles.size()]));
+            }
+        }
+        
+        return bounds;
+    }
+    
+    /**
+     * Paint a tile of the image of a figure
+     * @return The tile's image data at the image device zoom
+     */
+    private static ImageData createImageTile(IFigure figure, double scale, Rectangle bounds, int x, int y, int width, int height) {
+        Image image = new Image(Display.getDefault(), width, height);
+        GC gc = new GC(image);
+        SWTGraphics graphics = new SWTGraphics(gc);
+        
+        try {
+            // Move the tile's area to the image origin in image pixels before scaling
+            graphics.translate(-x, -y);
+            
+            if(scale != 1) {
+                graphics.scale(scale);
+            }
+            
+            // Compensate for negative co-ordinates
+            graphics.translate(bounds.x * -1, bounds.y * -1);
+            
+            // Paint onto graphics in full detail at any scale
+            LevelOfDetail.paintWith(LevelOfDetail.FULL, () -> figure.paint(graphics));
+            
+            graphics.dispose();
+            gc.dispose();
+            
+            return image.getImageData(ImageFactory.getImageDeviceZoom());
+        }
+        finally {
+            if(!gc.isDisposed()) {
+                gc.dispose();
+            }
+            image.dispose();
+        }
+    }
+    
+    /**
+     * @return The scale to use for an image, between 0 and 5
+     */
+    private static double getImageScale(double scale) {
+        if(scale <= 0) {
+            return 1;
+        }
+        if(scale > 5) {
+            return 5;
+        }
+        return scale;
+    }
+    
+    /**
+     * @return The bounds of the figure to paint in an image including the margin
+     */
+    private static Rectangle getImageBounds(IFigure figure, double scale, int margin) {
+        Rectangle bounds = getMinimumBounds(figure);
+        if(bounds == null) {
+            return new Rectangle(0, 0, 100, 100); // At least a minimum
+        }
+        
+        return bounds.getCopy().expand(margin / scale, margin / scale);
+    }
+    
     /**
      * Return the extents of the diagram by extending from the left-topmost child to the right-bottom-most child.
      * If there are no children in the diagram a minimal size of 100x100 is returned.
@@ -0,0 +1,293 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.draw2d.geometry.Insets;
+import org.eclipse.draw2d.geometry.Point;
+import org.eclipse.draw2d.graph.DirectedGraph;
+import org.eclipse.draw2d.graph.DirectedGraphLayout;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.Node;
+import org.eclipse.draw2d.graph.Rank;
+
+import com.archimatetool.model.IApplicationElement;
+import com.archimatetool.model.IArchimateConcept;
+import com.archimatetool.model.IBusinessElement;
+import com.archimatetool.model.IImplementationMigrationElement;
+import com.archimatetool.model.IMotivationElement;
+import com.archimatetool.model.IPhysicalElement;
+import com.archimatetool.model.IStrategyElement;
+import com.archimatetool.model.ITechnologyElement;
+
+
+
+/**
+ * Layered (Sugiyama style) layout of nodes and edges using Draw2d's DirectedGraphLayout.<br/>
+ * <br/>
+ * Nodes are given an ArchiMate layer so that, where possible, Motivation elements are placed at the top
+ * followed by Strategy, Business, Application, Technology, Physical and Implementation & Migration elements.
+ * Edges are directed from the upper layer to the lower layer regardless of the relationship's direction.<br/>
+ * <br/>
+ * DirectedGraphLayout is used to assign ranks and to order the nodes in each rank to reduce crossings.
+ * Ranks that are wider than the maximum row width are wrapped onto more than one row.<br/>
+ * <br/>
+ * This class does not use any UI resources and so can be used off the UI thread.
+ * The layout can be cancelled between its stages but not while DirectedGraphLayout is running.
+ *
+ * @author Phillip Beauvoir
+ */
+public class LayeredGraphLayout {
+
+    /**
+     * Layer value for nodes that are not in an ArchiMate layer
+     */
+    public static final int NO_LAYER = -1;
+
+    private int hSpacing = 40;
+    private int vSpacing = 60;
+    private int maxRowWidth = 2000;
+
+    private Map<Object, Node> nodes = new LinkedHashMap<>();
+    private Map<Node, Integer> layers = new HashMap<>();
+    private List<Node[]> edges = new ArrayList<>();
+    private Set<List<Node>> edgeKeys = new HashSet<>();
+
+    public LayeredGraphLayout() {
+    }
+
+    /**
+     * @param hSpacing Horizontal space between nodes
+     * @param vSpacing Vertical space between rows
+     * @param maxRowWidth Rows wider than this are wrapped
+     */
+    public LayeredGraphLayout(int hSpacing, int vSpacing, int maxRowWidth) {
+        this.hSpacing = hSpacing;
+        this.vSpacing = vSpacing;
+        this.maxRowWidth = maxRowWidth;
+    }
+
+    /**
+     * @return The ArchiMate layer of a concept, with 0 being the top layer, or NO_LAYER
+     */
+    public static int getLayer(IArchimateConcept concept) {
+        if(concept instanceof IMotivationElement) {
+            return 0;
+        }
+        if(concept instanceof IStrategyElement) {
+            return 1;
+        }
+        if(concept instanceof IBusinessElement) {
+            return 2;
+        }
+        if(concept instanceof IApplicationElement) {
+            return 3;
+        }
+        if(concept instanceof IPhysicalElement) {
+            return 5;
+        }
+        if(concept instanceof ITechnologyElement) {
+            return 4;
+        }
+        if(concept instanceof IImplementationMigrationElement) {
+            return 6;
+        }
+        return NO_LAYER;
+    }
+
+    /**
+     * Add a node
+     * @param key The key object for this node
+     * @param width Width of the node
+     * @param height Height of the node
+     * @param layer The ArchiMate layer of the node or NO_LAYER
+     */
+    public void addNode(Object key, int width, int height, int layer) {
+        if(nodes.containsKey(key)) {
+            return;
+        }
+
+        Node node = new Node(key);
+        node.width = width;
+        node.height = height;
+        nodes.put(key, node);
+
+        if(layer != NO_LAYER) {
+            layers.put(node, layer);
+        }
+    }
+
+    /**
+     * Add an edge between two nodes that have already been added.
+     * Self edges, duplicate edges and edges to unknown nodes are ignored.
+     * @param sourceKey The key of the source node
+     * @param targetKey The key of the target node
+     */
+    public void addEdge(Object sourceKey, Object targetKey) {
+        Node source = nodes.get(sourceKey);
+        Node target = nodes.get(targetKey);
+        if(source == null || target == null || source == target) {
+            return;
+        }
+
+        // Direct the edge from the upper layer to the lower layer
+        Integer sourceLayer = layers.get(source);
+        Integer targetLayer = layers.get(target);
+        if(sourceLayer != null && targetLayer != null && sourceLayer > targetLayer) {
+            Node temp = source;
+            source = target;
+            target = temp;
+        }
+
+        // Only one edge between two nodes in either direction
+        if(edgeKeys.add(List.of(source, target)) && !edgeKeys.contains(List.of(target, source))) {
+            edges.add(new Node[] { source, target });
+        }
+    }
+
+    /**
+     * Perform the layout. This should only be called once for each instance of this class.
+     * @param origin The top left location of the layout
+     * @return The new top-left location of each node keyed by the node's key object
+     */
+    public Map<Object, Point> layout(Point origin) {
+        return layout(origin, new NullProgressMonitor());
+    }
+
+    /**
+     * Perform the layout. This should only be called once for each instance of this class.
+     * @param origin The top left location of the layout
+     * @param monitor The monitor that is checked for cancellation between the stages of the layout
+     * @return The new top-left location of each node keyed by the node's key object, or null if the monitor was cancelled
+     */
+    public Map<Object, Point> layout(Point origin, IProgressMonitor monitor) {
+        Map<Object, Point> result = new LinkedHashMap<>();
+
+        if(nodes.isEmpty()) {
+            return result;
+        }
+
+        DirectedGraph graph = createGraph();
+        if(monitor.isCanceled()) {
+            return null;
+        }
+
+        new DirectedGraphLayout().visit(graph);
+        if(monitor.isCanceled()) {
+            return null;
+        }
+
+        int minX = Integer.MAX_VALUE;
+        for(Node node : nodes.values()) {
+            minX = Math.min(minX, node.x);
+        }
+
+        int y = origin.y;
+
+        for(int i = 0; i < graph.ranks.size(); i++) {
+            if(monitor.isCanceled()) {
+                return null;
+            }
+
+            Rank rank = graph.ranks.getRank(i);
+
+            // Our nodes in this rank in the order given by the layout, ignoring anchor and virtual nodes
+            List<Node> rowNodes = new ArrayList<>();
+            for(int j = 0; j < rank.size(); j++) {
+                Node node = rank.getNode(j);
+                if(node.data != null && nodes.get(node.data) == node) {
+                    rowNodes.add(node);
+                }
+            }
+
+            if(rowNodes.isEmpty()) {
+                continue;
+            }
+
+            Node first = rowNodes.get(0);
+            Node last = rowNodes.get(rowNodes.size() - 1);
+
+            // Row fits so use the x positions from the layout
+            if(last.x + last.width - first.x <= maxRowWidth) {
+                int rowHeight = 0;
+                for(Node node : rowNodes) {
+                    result.put(node.data, new Point(origin.x + node.x - minX, y));
+                    rowHeight = Math.max(rowHeight, node.height);
+                }
+                y += rowHeight + vSpacing;
+            }
+            // Wrap onto more than one row keeping the order from the layout
+            else {
+                int x = origin.x;
+                int rowHeight = 0;
+                for(Node node : rowNodes) {
+                    if(x > origin.x && x + node.width > origin.x + maxRowWidth) {
+                        x = origin.x;
+                        y += rowHeight + vSpacing;
+                        rowHeight = 0;
+                    }
+                    result.put(node.data, new Point(x, y));
+                    x += node.width + hSpacing;
+                    rowHeight = Math.max(rowHeight, node.height);
+                }
+                y += rowHeight + vSpacing;
+            }
+        }
+
+        return result;
+    }
+
+    private DirectedGraph createGraph() {
+        DirectedGraph graph = new DirectedGraph();
+        graph.setDefaultPadding(new Insets(vSpacing / 2, hSpacing / 2, vSpacing / 2, hSpacing / 2));
+
+        for(Node node : nodes.values()) {
+            graph.nodes.add(node);
+        }
+
+        for(Node[] edge : edges) {
+            graph.edges.add(new Edge(edge[0], edge[1]));
+        }
+
+        // Add an anchor node for each layer so that nodes in the same layer are pulled towards the same rank
+        // and unconnected nodes are still ordered by layer
+        Map<Integer, Node> anchors = new TreeMap<>();
+        for(Integer layer : layers.values()) {
+            anchors.computeIfAbsent(layer, l -> {
+                Node anchor = new Node();
+                anchor.width = 0;
+                anchor.height = 0;
+                anchor.setPadding(new Insets());
+                return anchor;
+            });
+        }
+
+        Node previous = null;
+        for(Node anchor : anchors.values()) {
+            graph.nodes.add(anchor);
+            if(previous != null) {
+                graph.edges.add(new Edge(previous, anchor));
+            }
+            previous = anchor;
+        }
+
+        for(Map.Entry<Node, Integer> entry : layers.entrySet()) {
+            graph.edges.add(new Edge(anchors.get(entry.getValue()), entry.getKey()));
+        }
+
+        return graph;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.draw2d.IFigure;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.EditPartFactory;
+import org.eclipse.gef.GraphicalViewer;
+import org.eclipse.gef.LayerConstants;
+import org.eclipse.gef.editparts.FreeformGraphicalRootEditPart;
+import org.eclipse.gef.editparts.LayerManager;
+import org.eclipse.gef.ui.parts.GraphicalViewerImpl;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Shell;
+
+import com.archimatetool.model.IDiagramModel;
+
+
+
+/**
+ * Renders images of Diagram Models offscreen using one hidden Shell and GraphicalViewer for all of the Diagram Models.<br/>
+ * <br/>
+ * The contents of the viewer are swapped each time a different Diagram Model is rendered so that rendering many Views,
+ * as in a report, does not create and dispose a Shell and viewer for each View. Fonts and colours come from the shared
+ * Font and Color factories so these are created once.<br/>
+ * <br/>
+ * Must be used in the UI thread and disposed when done.
+ *
+ * @author Phillip Beauvoir
+ */
+public class OffscreenDiagramRenderer {
+
+    private Shell shell;
+    private GraphicalViewerImpl viewer;
+
+    // EditPartFactories keyed by the type of Diagram Model
+    private Map<EClass, EditPartFactory> editPartFactories = new HashMap<>();
+
+    public OffscreenDiagramRenderer() {
+        shell = new Shell();
+        shell.setLayout(new FillLayout());
+
+        viewer = new GraphicalViewerImpl();
+        viewer.createControl(shell);
+        viewer.setRootEditPart(new FreeformGraphicalRootEditPart());
+    }
+
+    /**
+     * @param model The Diagram Model to show
+     * @return The GraphicalViewer showing the Diagram Model. This is valid until a different Diagram Model is rendered.
+     */
+    public GraphicalViewer getViewer(IDiagramModel model) {
+        if(viewer == null) {
+            throw new IllegalStateException("Renderer is disposed"); //$NON-NLS-1$
+        }
+
+        EditPart contents = viewer.getContents();
+
+        if(contents == null || contents.getModel() != model) {
+            viewer.setEditPartFactory(editPartFactories.computeIfAbsent(model.eClass(), eClass -> DiagramUtils.createEditPartFactory(model)));
+            viewer.setContents(model);
+            viewer.flush();
+        }
+
+        return viewer;
+    }
+
+    /**
+     * @param model The model to create the image from
+     * @param scale The scale to use. 1 is full size.
+     * @param margin amount of white space margin to apply around the image
+     * @return A Scaled Image from the given Diagram Model. Clients must dispose of the Image when done.
+     */
+    public Image createImage(IDiagramModel model, double scale, int margin) {
+        return createModelReferencedImage(model, scale, margin).getImage();
+    }
+
+    /**
+     * @param model The model to create the image from
+     * @param scale The scale to use. 1 is full size.
+     * @param margin amount of white space margin to apply around the image
+     * @return ModelReferencedImage wrapper class containing a Scaled Image from the given Diagram Model and offset bounds
+     *         Clients must dispose of the Image when done.
+     */
+    public ModelReferencedImage createModelReferencedImage(IDiagramModel model, double scale, int margin) {
+        return DiagramUtils.createModelReferencedImage(getViewer(model), scale, margin);
+    }
+
+    /**
+     * Write a PNG image file of a Diagram Model in tiles
+     * @param model The model to create the image from
+     * @param scale The scale to use. 1 is full size.
+     * @param margin amount of white space margin to apply around the image
+     * @param file The PNG file
+     * @return The bounds of the figure in the image
+     * @throws IOException
+     */
+    public Rectangle createPNGImageFile(IDiagramModel model, double scale, int margin, File file) throws IOException {
+        return DiagramUtils.createPNGImageFile(getPrintableLayer(model), scale, margin, file);
+    }
+
+    /**
+     * @return The extents of the Diagram Model as in {@link DiagramUtils#getDiagramExtents(GraphicalViewer)}
+     */
+    public Rectangle getDiagramExtents(IDiagramModel model) {
+        return DiagramUtils.getDiagramExtents(getViewer(model));
+    }
+
+    private IFigure getPrintableLayer(IDiagramModel model) {
+        LayerManager layerManager = (LayerManager)getViewer(model).getEditPartRegistry().get(LayerManager.ID);
+        return layerManager.getLayer(LayerConstants.PRINTABLE_LAYERS);
+    }
+
+    /**
+     * Remove the last Diagram Model from the viewer and dispose of the Shell
+     */
+    public void dispose() {
+        if(viewer == null) {
+            return;
+        }
+
+        // Remove the EditParts so that they stop listening to the model
+        viewer.setContents((EditPart)null);
+        shell.dispose();
+
+        viewer = null;
+        shell = null;
+        editPartFactories = null;
+    }
+}
@@ -0,0 +1,247 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+
+
+/**
+ * Writes an RGB PNG file a band of rows at a time so that the whole image is never held in memory.<br/>
+ * <br/>
+ * The width and height of the image are taken from the rows that are written and set in the file's header when it is closed.
+ *
+ * @author Phillip Beauvoir
+ */
+class PNGImageWriter implements Closeable {
+
+    private static final byte[] SIGNATURE = { (byte)0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    // Offset of the width in the file. This is after the signature and IHDR chunk's length and type.
+    private static final int IHDR_DATA_OFFSET = 16;
+    private static final int IHDR_DATA_LENGTH = 13;
+
+    // Maximum size of an IDAT chunk
+    private static final int IDAT_CHUNK_SIZE = 64 * 1024;
+
+    // RGB
+    private static final int BYTES_PER_PIXEL = 3;
+
+    private FileOutputStream fileOutputStream;
+    private DataOutputStream out;
+    private DeflaterOutputStream idatStream;
+    private Deflater deflater;
+
+    private int width = -1;
+    private int height;
+
+    private byte[] rowBuffer;
+    private byte[] filteredRowBuffer;
+
+    /**
+     * Create the PNG file and write its header
+     */
+    PNGImageWriter(File file) throws IOException {
+        fileOutputStream = new FileOutputStream(file);
+        out = new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+
+        out.write(SIGNATURE);
+
+        // Width and height are set when closed
+        writeChunk("IHDR", createHeader(0, 0)); //$NON-NLS-1$
+
+        deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        idatStream = new DeflaterOutputStream(new IDATOutputStream(), deflater, IDAT_CHUNK_SIZE);
+    }
+
+    /**
+     * Write the rows of a band of image tiles. Each row of the image is made from the same row of each tile from left to right.
+     * All bands must have the same width.
+     * @param tiles The image data of the tiles of the band. These must have the same height.
+     */
+    void writeRows(ImageData... tiles) throws IOException {
+        int bandWidth = 0;
+        for(ImageData tile : tiles) {
+            bandWidth += tile.width;
+        }
+
+        if(width == -1) {
+            width = bandWidth;
+            rowBuffer = new byte[width * BYTES_PER_PIXEL];
+            filteredRowBuffer = new byte[width * BYTES_PER_PIXEL + 1];
+        }
+        else if(bandWidth != width) {
+            throw new IllegalArgumentException("Image band has a different width"); //$NON-NLS-1$
+        }
+
+        int[] pixels = new int[width];
+
+        for(int y = 0; y < tiles[0].height; y++) {
+            int i = 0;
+
+            for(ImageData tile : tiles) {
+                PaletteData palette = tile.palette;
+                tile.getPixels(0, y, tile.width, pixels, 0);
+
+                for(int x = 0; x < tile.width; x++) {
+                    int pixel = pixels[x];
+
+                    if(palette.isDirect) {
+                        rowBuffer[i++] = (byte)shift(pixel & palette.redMask, palette.redShift);
+                        rowBuffer[i++] = (byte)shift(pixel & palette.greenMask, palette.greenShift);
+                        rowBuffer[i++] = (byte)shift(pixel & palette.blueMask, palette.blueShift);
+                    }
+                    else {
+                        RGB rgb = palette.getRGB(pixel);
+                        rowBuffer[i++] = (byte)rgb.red;
+                        rowBuffer[i++] = (byte)rgb.green;
+                        rowBuffer[i++] = (byte)rgb.blue;
+                    }
+                }
+            }
+
+            writeRow();
+        }
+    }
+
+    /**
+     * Write the current row with the "Sub" filter which stores the difference from the pixel to the left
+     */
+    private void writeRow() throws IOException {
+        filteredRowBuffer[0] = 1;
+
+        for(int i = 0; i < rowBuffer.length; i++) {
+            int left = i < BYTES_PER_PIXEL ? 0 : rowBuffer[i - BYTES_PER_PIXEL];
+            filteredRowBuffer[i + 1] = (byte)(rowBuffer[i] - left);
+        }
+
+        idatStream.write(filteredRowBuffer);
+        height++;
+    }
+
+    private int shift(int value, int shift) {
+        return shift < 0 ? value >>> -shift : value << shift;
+    }
+
+    /**
+     * Finish the image data, write the end of the file and set the width and height in the header
+     */
+    @Override
+    public void close() throws IOException {
+        if(out == null) {
+            return;
+        }
+
+        try {
+            idatStream.finish();
+            idatStream.flush();
+            writeChunk("IEND", new byte[0]); //$NON-NLS-1$
+            out.flush();
+
+            // Write the header again with the width and height
+            byte[] header = createHeader(Math.max(width, 0), height);
+            ByteBuffer buffer = ByteBuffer.allocate(IHDR_DATA_LENGTH + 4);
+            buffer.put(header);
+            buffer.putInt((int)getCRC("IHDR", header)); //$NON-NLS-1$
+            buffer.flip();
+
+            FileChannel channel = fileOutputStream.getChannel();
+            channel.write(buffer, IHDR_DATA_OFFSET);
+        }
+        finally {
+            deflater.end();
+            out.close();
+            out = null;
+        }
+    }
+
+    private byte[] createHeader(int width, int height) {
+        ByteBuffer buffer = ByteBuffer.allocate(IHDR_DATA_LENGTH);
+        buffer.putInt(width);
+        buffer.putInt(height);
+        buffer.put((byte)8); // Bit depth
+        buffer.put((byte)2); // Colour type RGB
+        buffer.put((byte)0); // Compression method
+        buffer.put((byte)0); // Filter method
+        buffer.put((byte)0); // No interlace
+        return buffer.array();
+    }
+
+    private void writeChunk(String type, byte[] data) throws IOException {
+        writeChunk(type, data, data.length);
+    }
+
+    private void writeChunk(String type, byte[] data, int length) throws IOException {
+        out.writeInt(length);
+        out.write(type.getBytes(StandardCharsets.US_ASCII));
+        out.write(data, 0, length);
+        out.writeInt((int)getCRC(type, data, length));
+    }
+
+    private long getCRC(String type, byte[] data) {
+        return getCRC(type, data, data.length);
+    }
+
+    private long getCRC(String type, byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(type.getBytes(StandardCharsets.US_ASCII));
+        crc.update(data, 0, length);
+        return crc.getValue();
+    }
+
+    /**
+     * Writes the compressed image data as IDAT chunks
+     */
+    private class IDATOutputStream extends OutputStream {
+        private byte[] buffer = new byte[IDAT_CHUNK_SIZE];
+        private int count;
+
+        @Override
+        public void write(int b) throws IOException {
+            if(count == buffer.length) {
+                flush();
+            }
+            buffer[count++] = (byte)b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while(len > 0) {
+                if(count == buffer.length) {
+                    flush();
+                }
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if(count > 0) {
+                writeChunk("IDAT", buffer, count); //$NON-NLS-1$
+                count = 0;
+            }
+        }
+    }
+}
@@ -14,9 +14,9 @@ import java.util.Set;
 import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 
 import com.archimatetool.editor.preferences.ConnectionPreferences;
-import com.archimatetool.model.FolderType;
 import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateElement;
 import com.archimatetool.model.IArchimateFactory;
@@ -104,11 +104,12 @@ public class DiagramModelUtils {
      * @return The list of active Diagram Model Objects. May be empty, but never null.
      */
     public static List<IDiagramModelArchimateObject> findDiagramModelObjectsForElement(IDiagramModel diagramModel, IArchimateElement element) {
-        // This is the faster method
-        //return findDiagramModelObjectsForElementByReference(diagramModel, element);
+        // References are only returned for diagram objects in a model so iterate a diagram model that is not in a model
+        if(diagramModel.getArchimateModel() == null) {
+            return findDiagramModelObjectsForElementByIterator(diagramModel, element);
+        }
         
-        // Use slower but safer method
-        return findDiagramModelObjectsForElementByIterator(diagramModel, element);
+        return findDiagramModelObjectsForElementByReference(diagramModel, element);
     }
 
     /**
@@ -118,16 +119,18 @@ public class DiagramModelUtils {
      * @return The list of active Diagram Model Connections. May be empty, but never null.
      */
     public static List<IDiagramModelArchimateConnection> findDiagramModelConnectionsForRelation(IDiagramModel diagramModel, IArchimateRelationship relationship) {
-        // This is the faster method
-        //return findDiagramModelConnectionsForRelationByReference(diagramModel, relationship);
+        // References are only returned for diagram connections in a model so iterate a diagram model that is not in a model
+        if(diagramModel.getArchimateModel() == null) {
+            return findDiagramModelConnectionsForRelationByIterator(diagramModel, relationship);
+        }
         
-        // Use slower but safer method
-        return findDiagramModelConnectionsForRelationByIterator(diagramModel, relationship);
+        return findDiagramModelConnectionsForRelationByReference(diagramModel, relationship);
     }
 
-    // ==================================== Slower, but safe, methods of finding a concept ========================================
+    // ==================================== Slower methods of finding a concept ========================================
+    // These are also used to check that the reference lists are consistent with the diagram model's contents
     
-    private static List<IDiagramModelArchimateObject> findDiagramModelObjectsForElementByIterator(IDiagramModel diagramModel, IArchimateElement element) {
+    static List<IDiagramModelArchimateObject> findDiagramModelObjectsForElementByIterator(IDiagramModel diagramModel, IArchimateElement element) {
         Set<IDiagramModelArchimateObject> set = new HashSet<>();
         
         for(Iterator<EObject> iter = diagramModel.eAllContents(); iter.hasNext();) {
@@ -143,7 +146,7 @@ public class DiagramModelUtils {
         return new ArrayList<>(set);
     }
 
-    private static List<IDiagramModelArchimateConnection> findDiagramModelConnectionsForRelationByIterator(IDiagramModel diagramModel, IArchimateRelationship relationship) {
+    static List<IDiagramModelArchimateConnection> findDiagramModelConnectionsForRelationByIterator(IDiagramModel diagramModel, IArchimateRelationship relationship) {
         Set<IDiagramModelArchimateConnection> set = new HashSet<>();
         
         for(Iterator<EObject> iter = diagramModel.eAllContents(); iter.hasNext();) {
@@ -161,8 +164,7 @@ public class DiagramModelUtils {
 
     // ============================= Fast methods of finding components using reference list ==============================
 
-    @SuppressWarnings("unused")
-    private static List<IDiagramModelArchimateObject> findDiagramModelObjectsForElementByReference(IDiagramModel diagramModel, IArchimateElement element) {
+    static List<IDiagramModelArchimateObject> findDiagramModelObjectsForElementByReference(IDiagramModel diagramModel, IArchimateElement element) {
         Set<IDiagramModelArchimateObject> set = new HashSet<>();
         
         for(IDiagramModelArchimateObject dmo : element.getReferencingDiagramObjects()) {
@@ -174,8 +176,7 @@ public class DiagramModelUtils {
         return new ArrayList<>(set);
     }
 
-    @SuppressWarnings("unused")
-    private static List<IDiagramModelArchimateConnection> findDiagramModelConnectionsForRelationByReference(IDiagramModel diagramModel, IArchimateRelationship relationship) {
+    static List<IDiagramModelArchimateConnection> findDiagramModelConnectionsForRelationByReference(IDiagramModel diagramModel, IArchimateRelationship relationship) {
         Set<IDiagramModelArchimateConnection> set = new HashSet<>();
         
         for(IDiagramModelArchimateConnection dmc : relationship.getReferencingDiagramConnections()) {
@@ -196,6 +197,23 @@ public class DiagramModelUtils {
      * @return The list of Diagram Model References. May be empty, but never null.
      */
     public static List<IDiagramModelReference> findDiagramModelReferences(IDiagramModelContainer container, IDiagramModel diagramModel) {
+        // References are only returned for diagram model references in a model so iterate a container that is not in a model
+        if(container.getArchimateModel() == null) {
+            return findDiagramModelReferencesByIterator(container, diagramModel);
+        }
+        
+        List<IDiagramModelReference> list = new ArrayList<IDiagramModelReference>();
+        
+        for(IDiagramModelReference ref : diagramModel.getReferencingDiagramModelReferences()) {
+            if(EcoreUtil.isAncestor(container, ref)) {
+                list.add(ref);
+            }
+        }
+        
+        return list;
+    }
+    
+    static List<IDiagramModelReference> findDiagramModelReferencesByIterator(IDiagramModelContainer container, IDiagramModel diagramModel) {
         List<IDiagramModelReference> list = new ArrayList<IDiagramModelReference>();
         
         for(IDiagramModelObject object : container.getChildren()) {
@@ -205,7 +223,7 @@ public class DiagramModelUtils {
                 }
             }
             if(object instanceof IDiagramModelContainer) {
-                list.addAll(findDiagramModelReferences((IDiagramModelContainer)object, diagramModel));
+                list.addAll(findDiagramModelReferencesByIterator((IDiagramModelContainer)object, diagramModel));
             }
         }
         
@@ -218,16 +236,7 @@ public class DiagramModelUtils {
      * @return true if referenced
      */
     public static boolean hasDiagramModelReference(IDiagramModel diagramModel) {
-        if(diagramModel.getArchimateModel() != null) {
-            for(Iterator<EObject> iter = diagramModel.getArchimateModel().getFolder(FolderType.DIAGRAMS).eAllContents(); iter.hasNext();) {
-                EObject eObject = iter.next();
-                if(eObject instanceof IDiagramModelReference && ((IDiagramModelReference)eObject).getReferencedModel() == diagramModel) {
-                    return true;
-                }
-            }
-        }
-        
-        return false;
+        return diagramModel.getArchimateModel() != null && !diagramModel.getReferencingDiagramModelReferences().isEmpty();
     }
     
     /**
@@ -259,12 +268,7 @@ public class DiagramModelUtils {
      * @return true if relation is of a type that can be represented by a nested container 
      */
     public static boolean isNestedConnectionTypeRelationship(IArchimateRelationship relation) {
-        for(EClass eClass : ConnectionPreferences.getRelationsClassesForHiding()) {
-            if(relation.eClass() == eClass) {
-                return true;
-            }
-        }
-        return false;
+        return ConnectionPreferences.isRelationClassForHiding(relation.eClass());
     }
     
     /**
@@ -277,62 +281,44 @@ public class DiagramModelUtils {
         }
 
         // Only if the connection's source and target are both ArchiMate concepts
-        if(!(connection.getSource() instanceof IDiagramModelArchimateComponent) && !(connection.getTarget() instanceof IDiagramModelArchimateComponent)) {
+        if(!(connection.getSource() instanceof IDiagramModelArchimateComponent) || !(connection.getTarget() instanceof IDiagramModelArchimateComponent)) {
+            return false;
+        }
+        
+        // And it's a relationship type we have chosen to hide
+        IArchimateRelationship relationship = connection.getArchimateRelationship();
+        if(relationship == null || !isNestedConnectionTypeRelationship(relationship)) {
             return false;
         }
             
-        IDiagramModelArchimateComponent source = (IDiagramModelArchimateComponent)connection.getSource();
-        IDiagramModelArchimateComponent target = (IDiagramModelArchimateComponent)connection.getTarget();
+        IConnectable source = connection.getSource();
+        IConnectable target = connection.getTarget();
+        
+        // A child object's container is its parent object so we don't need to search the parent's children
         
         // If the connection's source element contains the target element, or the connection's target element contains the source element
         if(source instanceof IDiagramModelArchimateObject && target instanceof IDiagramModelArchimateObject) {
-            if(((IDiagramModelContainer)source).getChildren().contains((IDiagramModelArchimateObject)target) 
-                    || ((IDiagramModelContainer)target).getChildren().contains((IDiagramModelArchimateObject)source)) {
-                // And it's a relationship type we have chosen to hide
-                for(EClass eClass : ConnectionPreferences.getRelationsClassesForHiding()) {
-                    if(connection.getArchimateRelationship().eClass() == eClass) {
-                        return true;
-                    }
-                }
-            }
+            return target.eContainer() == source || source.eContainer() == target;
         }
 
         // If connection's source is an element and target is a connection
-        if(source instanceof IDiagramModelArchimateObject && target instanceof IDiagramModelArchimateConnection) {
-            IDiagramModelArchimateObject parent = (IDiagramModelArchimateObject)source;
-            IConnectable connectionSource = ((IDiagramModelArchimateConnection)target).getSource();
-            IConnectable connectionTarget = ((IDiagramModelArchimateConnection)target).getTarget();
-
-            if(parent.getChildren().contains(connectionSource) && parent.getChildren().contains(connectionTarget)) {
-                // And it's a relationship type we have chosen to hide
-                for(EClass eClass : ConnectionPreferences.getRelationsClassesForHiding()) {
-                    if(connection.getArchimateRelationship().eClass() == eClass) {
-                        return true;
-                    }
-                }
-            }
+        if(source instanceof IDiagramModelArchimateObject && target instanceof IDiagramModelArchimateConnection targetConnection) {
+            return isParentOf(source, targetConnection.getSource()) && isParentOf(source, targetConnection.getTarget());
         }
 
         // If connection's target is an element and source is a connection
         // TODO: Not sure if this directionality should be allowed
-        if(target instanceof IDiagramModelArchimateObject && source instanceof IDiagramModelArchimateConnection) {
-            IDiagramModelArchimateObject parent = (IDiagramModelArchimateObject)target;
-            IConnectable connectionSource = ((IDiagramModelArchimateConnection)source).getSource();
-            IConnectable connectionTarget = ((IDiagramModelArchimateConnection)source).getTarget();
-
-            if(parent.getChildren().contains(connectionSource) && parent.getChildren().contains(connectionTarget)) {
-                // And it's a relationship type we have chosen to hide
-                for(EClass eClass : ConnectionPreferences.getRelationsClassesForHiding()) {
-                    if(connection.getArchimateRelationship().eClass() == eClass) {
-                        return true;
-                    }
-                }
-            }
+        if(target instanceof IDiagramModelArchimateObject && source instanceof IDiagramModelArchimateConnection sourceConnection) {
+            return isParentOf(target, sourceConnection.getSource()) && isParentOf(target, sourceConnection.getTarget());
         }
 
         return false;
     }
     
+    private static boolean isParentOf(IConnectable parent, IConnectable child) {
+        return child != null && child.eContainer() == parent;
+    }
+    
     // ========================================================================================================
     
     /**
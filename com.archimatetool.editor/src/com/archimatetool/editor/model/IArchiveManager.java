@@ -7,15 +7,21 @@ package com.archimatetool.editor.model;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Set;
 import java.util.zip.ZipFile;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 
 import com.archimatetool.editor.model.impl.ArchiveManager;
+import com.archimatetool.editor.utils.FileUtils;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.util.ArchimateResourceFactory;
 
@@ -108,6 +114,22 @@ public interface IArchiveManager {
      */
     String addImageFromFile(File file) throws IOException;
 
+    /**
+     * Add the bytes of an image that has already been decoded, for example in a background thread, to this Archive Manager's storage cache.
+     * The bytes are not decoded again to test that they are a valid image.
+     * If the image already exists the existing image path is returned.
+     * 
+     * The default implementation adds the bytes with {@link #addByteContentEntry(String, byte[])}.
+     * 
+     * @param fileName The image's file name, used for the file extension of the image path
+     * @param bytes The image bytes
+     * @return The newly created imagePath, or an existing imagePath if the image already exists
+     * @throws IOException
+     */
+    default String addDecodedImageBytes(String fileName, byte[] bytes) throws IOException {
+        return addByteContentEntry("images/" + EcoreUtil.generateUUID() + FileUtils.getFileExtension(new File(fileName)), bytes);
+    }
+
     /**
      * Add image bytes keyed by entryName. This has to follow the same pattern as in createArchiveImagePathname()<p>
      * If the image already exists the existing image path is returned, otherwise path is returned
@@ -174,6 +196,19 @@ public interface IArchiveManager {
      */
     void saveModel() throws IOException;
     
+    /**
+     * Save the Model and any images to a stream in archive format, or as XML if there are no images.
+     * The model's file and Resource are not changed and the stream is not closed.
+     * 
+     * The default implementation does not support this and throws an IOException.
+     * 
+     * @param out The stream to save to
+     * @throws IOException
+     */
+    default void saveModel(OutputStream out) throws IOException {
+        throw new IOException("Saving the model to a stream is not supported");
+    }
+    
     /**
      * Clone this ArchiveManager with a copy of this one but with the given model
      * 
@@ -197,6 +232,28 @@ public interface IArchiveManager {
      */
     boolean loadImagesFromModelFile(File file) throws IOException;
     
+    /**
+     * Load all images from the stream of another Archimate Model archive file and add to this one.
+     * The stream is not closed.
+     * 
+     * The default implementation copies the stream to a temporary file and loads the images with {@link #loadImagesFromModelFile(File)}.
+     * 
+     * @param in The stream of the model file
+     * @return true if the stream is of an archive file
+     * @throws IOException
+     */
+    default boolean loadImagesFromModelStream(InputStream in) throws IOException {
+        File tmpFile = File.createTempFile("~archi", null);
+        
+        try {
+            Files.copy(in, tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return loadImagesFromModelFile(tmpFile);
+        }
+        finally {
+            tmpFile.delete();
+        }
+    }
+    
     /**
      * @return True if the model currently has references to at least one image and the image is loaded
      */
@@ -8,6 +8,7 @@ package com.archimatetool.editor.model;
 import java.beans.PropertyChangeListener;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import com.archimatetool.editor.model.impl.EditorModelManager;
@@ -77,11 +78,19 @@ public interface IEditorModelManager {
     IArchimateModel openModel(File file);
     
     /**
-     * Open an existing model
+     * Open an existing model.
+     * If the model already has an Archive Manager it is kept so that any images that it has loaded are kept.
      * @param model
      */
     void openModel(IArchimateModel model);
     
+    /**
+     * Open an existing model as {@link #openModel(IArchimateModel)} does.
+     * @param model
+     * @param openDiagrams If true open the model's Views if set in Preferences as when a model file is opened
+     */
+    void openModel(IArchimateModel model, boolean openDiagrams);
+    
     /**
      * Load a model and notify the UI. This is called to load the model and set it in the Model Tree and UI.
      * @param file The file to load
@@ -96,6 +105,16 @@ public interface IEditorModelManager {
      */
     IArchimateModel load(File file) throws IOException;
     
+    /**
+     * Load a model from the stream of its model xml file but not in the UI. Will not send UI notifications or appear in the Models Tree.
+     * If the Workbench is running and the model is a later version or has unknown features the user is asked whether to continue.
+     * The model's file is not set and it has no Command Stack or Archive Manager.
+     * @param in The stream of the model xml file
+     * @param file The file that the stream is read from. This is used for the model's Resource and in messages.
+     * @return The newly loaded model or null if the user chose not to continue
+     */
+    IArchimateModel loadModel(InputStream in, File file) throws IOException;
+    
     /**
      * Close a model in the UI and notify the UI. Will ask the user to save the model if it's dirty.
      * @param model The model
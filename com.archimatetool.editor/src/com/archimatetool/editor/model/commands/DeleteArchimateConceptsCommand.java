@@ -0,0 +1,191 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.model.commands;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.NotificationChain;
+import org.eclipse.emf.common.util.BasicEList;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.impl.ENotificationImpl;
+import org.eclipse.gef.commands.Command;
+
+import com.archimatetool.editor.ui.ArchiLabelProvider;
+import com.archimatetool.model.IArchimateConcept;
+import com.archimatetool.model.IArchimatePackage;
+import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.IFolder;
+
+
+
+/**
+ * Delete many Archimate Concepts from the same parent Folder in one pass.<br/>
+ * <br/>
+ * Deleting concepts one at a time means an indexOf() and remove() on the folder's list for each concept
+ * and a notification for each removal, which is quadratic for large deletions.
+ * This command finds the indices and compacts the folder's list in one pass and then sends one REMOVE_MANY notification.
+ * Undo merges the concepts back in at their original indices in one pass.
+ *
+ * @author Phillip Beauvoir
+ */
+public class DeleteArchimateConceptsCommand extends Command {
+
+    private IFolder fFolder;
+    private Set<IArchimateConcept> fConcepts;
+
+    // Removed concepts and their original indices, in ascending index order
+    private List<IArchimateConcept> fRemoved;
+    private int[] fIndices;
+
+    /**
+     * @param folder The parent folder of the concepts
+     * @param concepts The concepts to delete. Any concepts that are not in the folder are ignored.
+     */
+    public DeleteArchimateConceptsCommand(IFolder folder, Collection<? extends IArchimateConcept> concepts) {
+        fFolder = folder;
+        fConcepts = new HashSet<>(concepts);
+
+        if(fConcepts.size() == 1) {
+            setLabel(Messages.DeleteElementCommand_0 + " " + ArchiLabelProvider.INSTANCE.getLabel(fConcepts.iterator().next())); //$NON-NLS-1$
+        }
+        else {
+            setLabel(Messages.DeleteElementCommand_0);
+        }
+    }
+
+    @Override
+    public boolean canExecute() {
+        return fFolder != null && !fConcepts.isEmpty();
+    }
+
+    @Override
+    public void execute() {
+        // Ensure indices are stored just before execute because if this is part of a composite delete action
+        // then the index positions will have changed
+        BasicEList<?> elements = (BasicEList<?>)fFolder.getElements();
+        Object[] data = elements.data();
+        int size = elements.size();
+
+        fRemoved = new ArrayList<>(fConcepts.size());
+        int[] indices = new int[fConcepts.size()];
+        int kept = 0;
+
+        // Compact the list's data in one pass rather than removing each concept and shifting the rest down
+        for(int i = 0; i < size; i++) {
+            Object object = data[i];
+            if(fConcepts.contains(object)) {
+                indices[fRemoved.size()] = i;
+                fRemoved.add((IArchimateConcept)object);
+            }
+            else {
+                data[kept++] = object;
+            }
+        }
+
+        fIndices = Arrays.copyOf(indices, fRemoved.size());
+
+        // Might be already be deleted from Command in CompoundCommand
+        if(fRemoved.isEmpty()) {
+            return;
+        }
+
+        Arrays.fill(data, kept, size, null);
+        elements.setData(kept, data);
+
+        // Setting the data doesn't unset the concepts' container so do what the containment list would do
+        for(IArchimateConcept concept : fRemoved) {
+            dispatch(((InternalEObject)concept).eInverseRemove((InternalEObject)fFolder, getContainerFeatureID(), null, null));
+        }
+
+        // Disconnect source/target references
+        for(IArchimateConcept concept : fRemoved) {
+            if(concept instanceof IArchimateRelationship) {
+                ((IArchimateRelationship)concept).disconnect();
+            }
+        }
+
+        if(fFolder.eNotificationRequired()) {
+            fFolder.eNotify(new ENotificationImpl((InternalEObject)fFolder, Notification.REMOVE_MANY, IArchimatePackage.Literals.FOLDER__ELEMENTS,
+                    new ArrayList<>(fRemoved), fIndices.clone(), fIndices[0]));
+        }
+    }
+
+    @Override
+    public void undo() {
+        if(fRemoved == null || fRemoved.isEmpty()) { // might be already be deleted from Command in CompoundCommand
+            return;
+        }
+
+        BasicEList<?> elements = (BasicEList<?>)fFolder.getElements();
+        int keptSize = elements.size();
+        int size = keptSize + fRemoved.size();
+        elements.grow(size);
+        Object[] data = elements.data();
+
+        // Merge the concepts back in at their original indices in one pass from the end
+        // rather than inserting each one and shifting the rest up
+        for(int i = size - 1, removed = fIndices.length - 1, kept = keptSize - 1; i >= 0; i--) {
+            if(removed >= 0 && fIndices[removed] == i) {
+                data[i] = fRemoved.get(removed--);
+            }
+            else {
+                data[i] = data[kept--];
+            }
+        }
+
+        elements.setData(size, data);
+
+        for(IArchimateConcept concept : fRemoved) {
+            dispatch(((InternalEObject)concept).eInverseAdd((InternalEObject)fFolder, getContainerFeatureID(), null, null));
+        }
+
+        // Reconnect source/target references
+        for(IArchimateConcept concept : fRemoved) {
+            if(concept instanceof IArchimateRelationship) {
+                ((IArchimateRelationship)concept).reconnect();
+            }
+        }
+
+        // One ADD_MANY notification for each run of contiguous indices
+        if(fFolder.eNotificationRequired()) {
+            int start = 0;
+            for(int i = 1; i <= fIndices.length; i++) {
+                if(i == fIndices.length || fIndices[i] != fIndices[i - 1] + 1) {
+                    fFolder.eNotify(new ENotificationImpl((InternalEObject)fFolder, Notification.ADD_MANY, IArchimatePackage.Literals.FOLDER__ELEMENTS,
+                            null, new ArrayList<>(fRemoved.subList(start, i)), fIndices[start]));
+                    start = i;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The feature ID that the folder's containment list uses to set and unset a concept's container
+     */
+    private int getContainerFeatureID() {
+        return InternalEObject.EOPPOSITE_FEATURE_BASE - fFolder.eClass().getFeatureID(IArchimatePackage.Literals.FOLDER__ELEMENTS);
+    }
+
+    private void dispatch(NotificationChain notifications) {
+        if(notifications != null) {
+            notifications.dispatch();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        fFolder = null;
+        fConcepts = null;
+        fRemoved = null;
+        fIndices = null;
+    }
+}
@@ -12,8 +12,10 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
 import java.util.Enumeration;
@@ -23,12 +25,14 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.widgets.Display;
@@ -101,6 +105,20 @@ public class ArchiveManager implements IArchiveManager {
         return addByteContentEntry(entryName, bytes);
     }
     
+    @Override
+    public String addDecodedImageBytes(String fileName, byte[] bytes) {
+        // Is this already in the cache?
+        String entryName = byteArrayStorage.getKey(bytes);
+        
+        // No, so add it
+        if(entryName == null) {
+            entryName = createArchiveImagePathname(new File(fileName));
+            byteArrayStorage.addByteContentEntry(entryName, bytes);
+        }
+        
+        return entryName;
+    }
+    
     /**
      * Test that a set of bytes from a file is actually a valid Image
      * @param bytes
@@ -195,6 +213,26 @@ public class ArchiveManager implements IArchiveManager {
         return true;
     }
     
+    @Override
+    public boolean loadImagesFromModelStream(InputStream in) throws IOException {
+        // Not closed as that would close the given stream
+        ZipInputStream zIn = new ZipInputStream(in);
+        boolean isArchive = false;
+        
+        for(ZipEntry zipEntry; (zipEntry = zIn.getNextEntry()) != null;) {
+            isArchive = true;
+            String entryName = zipEntry.getName();
+            if(entryName.startsWith("images/")) {
+                // Add to ByteArrayStorage
+                if(!byteArrayStorage.hasEntry(entryName)) {
+                    byteArrayStorage.addByteContentEntry(entryName, zIn.readAllBytes());
+                }
+            }
+        }
+        
+        return isArchive;
+    }
+    
     /**
      * Load any images from the "images" folder if this model is in a git repository
      */
@@ -316,6 +354,27 @@ public class ArchiveManager implements IArchiveManager {
         }
     }
     
+    @Override
+    public void saveModel(OutputStream out) throws IOException {
+        if(hasImages()) {
+            // Not closed as that would close the given stream
+            ZipOutputStream zOut = new ZipOutputStream(out);
+            
+            // Add the model xml file
+            zOut.putNextEntry(new ZipEntry("model.xml"));
+            saveResource(zOut);
+            zOut.closeEntry();
+            
+            // Add any images
+            saveImages(zOut);
+            
+            zOut.finish();
+        }
+        else {
+            saveResource(out);
+        }
+    }
+    
     @Override
     public IArchiveManager clone(IArchimateModel model) {
         ArchiveManager archiveManager = new ArchiveManager(model);
@@ -410,6 +469,46 @@ public class ArchiveManager implements IArchiveManager {
         }
     }
     
+    /**
+     * Save the model's Resource to a stream without changing the Resource's URI
+     */
+    private void saveResource(OutputStream out) throws IOException {
+        Resource resource = fModel.eResource();
+        
+        // No parent Resource set, so use a new one just for this
+        boolean isNewResource = resource == null;
+        if(isNewResource) {
+            resource = ArchimateResourceFactory.createNewResource(URI.createURI("model.xml"));
+            resource.getContents().add(fModel);
+        }
+        
+        // Don't let the Resource close the stream
+        OutputStream unclosedOut = new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+            
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+        
+        // Catch *all* exceptions in case of XML errors
+        try {
+            resource.save(unclosedOut, ((XMLResource)resource).getDefaultSaveOptions());
+        }
+        catch(Exception ex) {
+            throw new IOException(ex);
+        }
+        finally {
+            if(isNewResource) {
+                resource.getContents().remove(fModel);
+            }
+        }
+    }
+    
     private void saveImages(ZipOutputStream zOut) throws IOException {
         for(String imagePath : getImagePaths()) {
             byte[] bytes = byteArrayStorage.getEntry(imagePath);
@@ -10,12 +10,14 @@ import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.Resource.Diagnostic;
+import org.eclipse.emf.ecore.xmi.XMLResource;
 import org.eclipse.gef.commands.CommandStack;
 import org.eclipse.gef.commands.CommandStackEvent;
 import org.eclipse.gef.commands.CommandStackEventListener;
@@ -51,6 +53,7 @@ import com.archimatetool.model.IArchimateFactory;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IDiagramModel;
 import com.archimatetool.model.ModelVersion;
+import com.archimatetool.model.util.ArchimateResourceFactory;
 import com.archimatetool.model.util.IModelContentListener;
 
 
@@ -202,16 +205,7 @@ implements IEditorModelManager {
         model = loadModel(file);
         
         if(model != null) {
-            // Open Views of newly opened model if set in Preferences up to a maximum for safety
-            if(ArchiPlugin.PREFERENCES.getBoolean(IPreferenceConstants.OPEN_DIAGRAMS_ON_LOAD)) {
-                int max = 0;
-                for(IDiagramModel dm : model.getDiagramModels()) {
-                    if(max++ < 30) {
-                        EditorManager.openDiagramEditor(dm);
-                    }
-                }
-            }
-            
+            openDiagramEditors(model);
             firePropertyChange(this, PROPERTY_MODEL_OPENED, null, model);
         }
         
@@ -220,6 +214,11 @@ implements IEditorModelManager {
     
     @Override
     public void openModel(IArchimateModel model) {
+        openModel(model, false);
+    }
+    
+    @Override
+    public void openModel(IArchimateModel model, boolean openDiagrams) {
         if(model == null || getModels().contains(model)) {
             return;
         }
@@ -230,15 +229,35 @@ implements IEditorModelManager {
         // New Command Stack
         createNewCommandStack(model);
         
-        // New Archive Manager
-        createNewArchiveManager(model);
+        // New Archive Manager unless the model has one with its images already loaded
+        if(model.getAdapter(IArchiveManager.class) == null) {
+            createNewArchiveManager(model);
+        }
         
         // Register Ecore listener
         model.addModelContentListener(fEContentListener);
 
+        if(openDiagrams) {
+            openDiagramEditors(model);
+        }
+        
         firePropertyChange(this, PROPERTY_MODEL_OPENED, null, model);
     }
     
+    /**
+     * Open Views of newly opened model if set in Preferences up to a maximum for safety
+     */
+    private void openDiagramEditors(IArchimateModel model) {
+        if(ArchiPlugin.PREFERENCES.getBoolean(IPreferenceConstants.OPEN_DIAGRAMS_ON_LOAD)) {
+            int max = 0;
+            for(IDiagramModel dm : model.getDiagramModels()) {
+                if(max++ < 30) {
+                    EditorManager.openDiagramEditor(dm);
+                }
+            }
+        }
+    }
+    
     @Override
     public IArchimateModel loadModel(File file) {
         if(file == null || !file.exists()) {
@@ -254,83 +273,33 @@ implements IEditorModelManager {
         // Create the Resource
         Resource resource = IArchiveManager.FACTORY.createResource(file);
 
-        // Check model compatibility
-        ModelCompatibility modelCompatibility = new ModelCompatibility(resource);
-        
         // Load the model file
         try {
-            resource.load(null);
+            model = loadResource(resource, null, file, true);
         }
+        // No Resource errors so must be file access exception
         catch(IOException ex) {
-            // No Resource errors so must be file access exception
-            if(resource.getErrors().isEmpty() && PlatformUI.isWorkbenchRunning()) {
+            if(PlatformUI.isWorkbenchRunning()) {
                 MessageDialog.openError(Display.getCurrent().getActiveShell(),
                         Messages.EditorModelManager_2,
                         ex.toString());
-                return null;
-            }
-            
-            // Error occured loading model. 
-            try {
-                modelCompatibility.checkErrors();
-            }
-            catch(IncompatibleModelException ex1) {
-                // Was it a disaster?
-                if(PlatformUI.isWorkbenchRunning()) {
-                    MessageDialog.openError(Display.getCurrent().getActiveShell(),
-                            Messages.EditorModelManager_2,
-                            NLS.bind(Messages.EditorModelManager_3, file)
-                            + "\n" + ex1.getMessage()); //$NON-NLS-1$
-                    
-                }
-
-                return null;
             }
+            return null;
         }
-        
-        model = (IArchimateModel)resource.getContents().get(0);
-
-        // Once loaded - check for later model version
-        if(PlatformUI.isWorkbenchRunning()) {
-            boolean isLaterModelVersion = modelCompatibility.isLaterModelVersion(ModelVersion.VERSION);
-            if(isLaterModelVersion) {
-                boolean answer = MessageDialog.openQuestion(Display.getCurrent().getActiveShell(),
-                        Messages.EditorModelManager_4,
-                        NLS.bind(Messages.EditorModelManager_5,
-                                file, model.getVersion()));
-                if(!answer) {
-                    return null;
-                }
-            }
-            // Check for unknown model features which might be OK to load
-            else {
-                List<Diagnostic> exceptions = modelCompatibility.getAcceptableExceptions();
-                if(!exceptions.isEmpty()) {
-                    String message = ""; //$NON-NLS-1$
-                    for(int i = 0; i < exceptions.size(); i++) {
-                        if(i == 3) {
-                            message += (exceptions.size() - 3) + " " + Messages.EditorModelManager_12; //$NON-NLS-1$
-                            break;
-                        }
-                        message += exceptions.get(i).getMessage() + "\n"; //$NON-NLS-1$
-                    }
-                    
-                    boolean answer = MessageDialog.openQuestion(Display.getCurrent().getActiveShell(),
-                            Messages.EditorModelManager_4,
-                            NLS.bind(Messages.EditorModelManager_13, file)
-                            + "\n\n" + message); //$NON-NLS-1$
-                    if(!answer) {
-                        return null;
-                    }
-                }
+        // Was it a disaster?
+        catch(IncompatibleModelException ex) {
+            if(PlatformUI.isWorkbenchRunning()) {
+                MessageDialog.openError(Display.getCurrent().getActiveShell(),
+                        Messages.EditorModelManager_2,
+                        NLS.bind(Messages.EditorModelManager_3, file)
+                        + "\n" + ex.getMessage()); //$NON-NLS-1$
             }
+            return null;
         }
-
-        // And then fix any backward compatibility issues
-        try {
-            modelCompatibility.fixCompatibility();
-        }
-        catch(CompatibilityHandlerException ex) {
+        
+        // User chose not to continue
+        if(model == null) {
+            return null;
         }
 
         // Set file
@@ -369,52 +338,140 @@ implements IEditorModelManager {
         // Create the Resource
         Resource resource = IArchiveManager.FACTORY.createResource(file);
 
+        // Load the model file
+        IArchimateModel model;
+        try {
+            model = loadResource(resource, null, file, false);
+        }
+        catch(IncompatibleModelException ex) {
+            throw new IOException(NLS.bind(Messages.EditorModelManager_10, file) + "\n" + ex.getMessage()); //$NON-NLS-1$
+        }
+
+        // Set file
+        model.setFile(file);
+        
+        // Check defaults
+        model.setDefaults();
+        
+        // New Command Stack
+        CommandStack cmdStack = new CommandStack();
+        model.setAdapter(CommandStack.class, cmdStack);
+        
+        // New Archive Manager and load images
+        IArchiveManager archiveManager = IArchiveManager.FACTORY.createArchiveManager(model);
+        model.setAdapter(IArchiveManager.class, archiveManager);
+        archiveManager.loadImages();
+        
+        return model;
+    }
+    
+    @Override
+    public IArchimateModel loadModel(InputStream in, File file) throws IOException {
+        // Create the Resource
+        Resource resource = ArchimateResourceFactory.createNewResource(file);
+        
+        // Load the model from the stream
+        IArchimateModel model;
+        try {
+            model = loadResource(resource, in, file, true);
+        }
+        catch(IncompatibleModelException ex) {
+            throw new IOException(NLS.bind(Messages.EditorModelManager_10, file) + "\n" + ex.getMessage()); //$NON-NLS-1$
+        }
+        
+        // Check defaults
+        if(model != null) {
+            model.setDefaults();
+        }
+        
+        return model;
+    }
+    
+    /**
+     * Load a model's Resource, check it for errors and fix any backward compatibility issues
+     * @param resource The model's Resource
+     * @param in The stream of the model xml file or null to load the Resource's file
+     * @param file The model's file for messages
+     * @param askContinue If true and the Workbench is running ask the user whether to continue loading a later version model or one with unknown features
+     * @return The model or null if the user chose not to continue
+     * @throws IOException If the model could not be read
+     * @throws IncompatibleModelException If the model is incompatible
+     */
+    private IArchimateModel loadResource(Resource resource, InputStream in, File file, boolean askContinue) throws IOException, IncompatibleModelException {
         // Check model compatibility
         ModelCompatibility modelCompatibility = new ModelCompatibility(resource);
         
-        // Load the model file
+        // Load the model
         try {
-            resource.load(null);
+            if(in != null) {
+                resource.load(in, ((XMLResource)resource).getDefaultLoadOptions());
+            }
+            else {
+                resource.load(null);
+            }
         }
         catch(IOException ex) {
-            // No errors so must be something else
+            // No Resource errors so must be file access exception
             if(resource.getErrors().isEmpty()) {
                 throw ex;
             }
-            // Error occured loading model. 
-            try {
-                modelCompatibility.checkErrors();
-            }
-            catch(IncompatibleModelException ex1) {
-                throw new IOException(NLS.bind(Messages.EditorModelManager_10, file) + "\n" + ex1.getMessage()); //$NON-NLS-1$
-            }
+            // Error occured loading model. Was it a disaster?
+            modelCompatibility.checkErrors();
         }
         
         IArchimateModel model = (IArchimateModel)resource.getContents().get(0);
-
+        
+        // Once loaded - check for later model version or unknown model features
+        if(askContinue && !canContinueLoading(file, model, modelCompatibility)) {
+            return null;
+        }
+        
         // And then fix any backward compatibility issues
         try {
             modelCompatibility.fixCompatibility();
         }
         catch(CompatibilityHandlerException ex) {
         }
-
-        // Set file
-        model.setFile(file);
         
-        // Check defaults
-        model.setDefaults();
+        return model;
+    }
+    
+    /**
+     * If the Workbench is running and the model is a later version or has unknown model features
+     * which might be OK to load ask the user whether to continue
+     * @return true if loading can continue
+     */
+    private boolean canContinueLoading(File file, IArchimateModel model, ModelCompatibility modelCompatibility) {
+        if(!PlatformUI.isWorkbenchRunning()) {
+            return true;
+        }
         
-        // New Command Stack
-        CommandStack cmdStack = new CommandStack();
-        model.setAdapter(CommandStack.class, cmdStack);
+        if(modelCompatibility.isLaterModelVersion(ModelVersion.VERSION)) {
+            return MessageDialog.openQuestion(Display.getCurrent().getActiveShell(),
+                    Messages.EditorModelManager_4,
+                    NLS.bind(Messages.EditorModelManager_5,
+                            file, model.getVersion()));
+        }
         
-        // New Archive Manager and load images
-        IArchiveManager archiveManager = IArchiveManager.FACTORY.createArchiveManager(model);
-        model.setAdapter(IArchiveManager.class, archiveManager);
-        archiveManager.loadImages();
+        // Check for unknown model features which might be OK to load
+        List<Diagnostic> exceptions = modelCompatibility.getAcceptableExceptions();
+        if(!exceptions.isEmpty()) {
+            String message = ""; //$NON-NLS-1$
+            for(int i = 0; i < exceptions.size(); i++) {
+                if(i == 3) {
+                    message += (exceptions.size() - 3) + " " + Messages.EditorModelManager_12; //$NON-NLS-1$
+                    break;
+                }
+                message += exceptions.get(i).getMessage() + "\n"; //$NON-NLS-1$
+            }
+            
+            return MessageDialog.openQuestion(Display.getCurrent().getActiveShell(),
+                    Messages.EditorModelManager_4,
+                    NLS.bind(Messages.EditorModelManager_13, file)
+                    + "\n\n" + message); //$NON-NLS-1$
+        }
         
-        return model;
+        return true;
     }
     
     @Override
@@ -59,11 +59,25 @@ public class ConnectionPreferences implements IPreferenceConstants {
         RELATION_KEYMAP.put(IArchimatePackage.eINSTANCE.getFlowRelationship(), 1 << 3);
     }
     
+    // Cached values of USE_NESTED_CONNECTIONS and HIDDEN_RELATIONS_TYPES as these are read for every connection in a View
+    // These are reset when the preferences change
+    private static volatile Boolean useNestedConnections;
+    private static volatile int hiddenRelationsTypes = -1;
+    private static boolean prefsListenerAdded;
+    
     /**
      * @return true if we should use nested connection logic
      */
     public static boolean useNestedConnections() {
-        return ArchiPlugin.PREFERENCES.getBoolean(USE_NESTED_CONNECTIONS);
+        Boolean value = useNestedConnections;
+        
+        if(value == null) {
+            addPreferencesListener();
+            value = ArchiPlugin.PREFERENCES.getBoolean(USE_NESTED_CONNECTIONS);
+            useNestedConnections = value;
+        }
+        
+        return value;
     }
     
     /**
@@ -92,29 +106,79 @@ public class ConnectionPreferences implements IPreferenceConstants {
      * @return The list of relation classes to consider when creating new nested-type relations
      */
     public static Set<EClass> getRelationsClassesForNewRelations() {
-        return getRelationsClasses(NEW_RELATIONS_TYPES);
+        return getRelationsClasses(ArchiPlugin.PREFERENCES.getInt(NEW_RELATIONS_TYPES));
     }
 
     /**
      * @return The list of relation classes to consider when creating new reverse nested-type relations
      */
     public static Set<EClass> getRelationsClassesForNewReverseRelations() {
-        return getRelationsClasses(NEW_REVERSE_RELATIONS_TYPES);
+        return getRelationsClasses(ArchiPlugin.PREFERENCES.getInt(NEW_REVERSE_RELATIONS_TYPES));
     }
 
     /**
      * @return The list of relation classes to consider as a nested-type relation without explicit connections
      */
     public static Set<EClass> getRelationsClassesForHiding() {
-        return getRelationsClasses(HIDDEN_RELATIONS_TYPES);
+        return getRelationsClasses(getHiddenRelationsTypes());
+    }
+    
+    /**
+     * @param eClass The relation class
+     * @return true if the relation class is a nested-type relation without explicit connections
+     */
+    public static boolean isRelationClassForHiding(EClass eClass) {
+        Integer key = RELATION_KEYMAP.get(eClass);
+        return key != null && (key & getHiddenRelationsTypes()) != 0;
     }
     
     /**
-     * @return relation classes for NEW_RELATIONS_TYPES, NEW_REVERSE_RELATIONS_TYPES or HIDDEN_RELATIONS_TYPES
+     * @return The bitmask of the HIDDEN_RELATIONS_TYPES preference
      */
-    private static Set<EClass> getRelationsClasses(String type) {
-        int val = ArchiPlugin.PREFERENCES.getInt(type);
+    private static int getHiddenRelationsTypes() {
+        int value = hiddenRelationsTypes;
+        
+        if(value == -1) {
+            addPreferencesListener();
+            value = ArchiPlugin.PREFERENCES.getInt(HIDDEN_RELATIONS_TYPES);
+            hiddenRelationsTypes = value;
+        }
         
+        return value;
+    }
+    
+    /**
+     * Reset the cached values of USE_NESTED_CONNECTIONS and HIDDEN_RELATIONS_TYPES.
+     * Preference listeners that use these values when either preference changes should call this first
+     * as they might be notified before the listener that resets them.
+     */
+    public static void resetCachedValues() {
+        useNestedConnections = null;
+        hiddenRelationsTypes = -1;
+    }
+    
+    /**
+     * Add a listener to reset the cached preference values when the preferences change
+     */
+    private static synchronized void addPreferencesListener() {
+        if(!prefsListenerAdded) {
+            prefsListenerAdded = true;
+            
+            ArchiPlugin.PREFERENCES.addPropertyChangeListener(event -> {
+                if(USE_NESTED_CONNECTIONS.equals(event.getProperty())) {
+                    useNestedConnections = null;
+                }
+                else if(HIDDEN_RELATIONS_TYPES.equals(event.getProperty())) {
+                    hiddenRelationsTypes = -1;
+                }
+            });
+        }
+    }
+    
+    /**
+     * @return relation classes for the bitmask value of NEW_RELATIONS_TYPES, NEW_REVERSE_RELATIONS_TYPES or HIDDEN_RELATIONS_TYPES
+     */
+    private static Set<EClass> getRelationsClasses(int val) {
         Set<EClass> set = new LinkedHashSet<>();
         
         for(Entry<EClass, Integer> entry : RELATION_KEYMAP.entrySet()) {
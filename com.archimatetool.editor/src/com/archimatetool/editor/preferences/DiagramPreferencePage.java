@@ -36,6 +36,9 @@ implements IWorkbenchPreferencePage, IPreferenceConstants {
     private Spinner fGridSizeSpinner;
     private Spinner fMarginWidthSpinner;
     
+    private Spinner fSimpleZoomSpinner;
+    private Spinner fMinimalZoomSpinner;
+    
     private Button fViewTooltipsButton;
     
     private Button fPaletteStateButton;
@@ -98,6 +101,17 @@ implements IWorkbenchPreferencePage, IPreferenceConstants {
         fMarginWidthSpinner = new Spinner(viewGroup, SWT.BORDER);
         fMarginWidthSpinner.setMinimum(0);
         fMarginWidthSpinner.setMaximum(100);
+        
+        // Level of detail zoom levels
+        new Label(viewGroup, SWT.NULL).setText(Messages.DiagramPreferencePage_25);
+        fSimpleZoomSpinner = new Spinner(viewGroup, SWT.BORDER);
+        fSimpleZoomSpinner.setMinimum(0);
+        fSimpleZoomSpinner.setMaximum(100);
+        
+        new Label(viewGroup, SWT.NULL).setText(Messages.DiagramPreferencePage_26);
+        fMinimalZoomSpinner = new Spinner(viewGroup, SWT.BORDER);
+        fMinimalZoomSpinner.setMinimum(0);
+        fMinimalZoomSpinner.setMaximum(100);
 
         fPaletteStateButton = new Button(viewGroup, SWT.CHECK);
         fPaletteStateButton.setText(Messages.DiagramPreferencePage_6);
@@ -223,12 +237,16 @@ implements IWorkbenchPreferencePage, IPreferenceConstants {
     private void setSpinnerValues() {
         fGridSizeSpinner.setSelection(getPreferenceStore().getInt(GRID_SIZE));
         fMarginWidthSpinner.setSelection(getPreferenceStore().getInt(MARGIN_WIDTH));
+        fSimpleZoomSpinner.setSelection(getPreferenceStore().getInt(LEVEL_OF_DETAIL_SIMPLE_ZOOM));
+        fMinimalZoomSpinner.setSelection(getPreferenceStore().getInt(LEVEL_OF_DETAIL_MINIMAL_ZOOM));
     }
     
     @Override
     public boolean performOk() {
         getPreferenceStore().setValue(GRID_SIZE, fGridSizeSpinner.getSelection());
         getPreferenceStore().setValue(MARGIN_WIDTH, fMarginWidthSpinner.getSelection());
+        getPreferenceStore().setValue(LEVEL_OF_DETAIL_SIMPLE_ZOOM, fSimpleZoomSpinner.getSelection());
+        getPreferenceStore().setValue(LEVEL_OF_DETAIL_MINIMAL_ZOOM, fMinimalZoomSpinner.getSelection());
 
         getPreferenceStore().setValue(PALETTE_STATE, fPaletteStateButton.getSelection());
         getPreferenceStore().setValue(VIEW_TOOLTIPS, fViewTooltipsButton.getSelection());
@@ -263,6 +281,8 @@ implements IWorkbenchPreferencePage, IPreferenceConstants {
     protected void performDefaults() {
         fGridSizeSpinner.setSelection(getPreferenceStore().getDefaultInt(GRID_SIZE));
         fMarginWidthSpinner.setSelection(getPreferenceStore().getDefaultInt(MARGIN_WIDTH));
+        fSimpleZoomSpinner.setSelection(getPreferenceStore().getDefaultInt(LEVEL_OF_DETAIL_SIMPLE_ZOOM));
+        fMinimalZoomSpinner.setSelection(getPreferenceStore().getDefaultInt(LEVEL_OF_DETAIL_MINIMAL_ZOOM));
 
         fPaletteStateButton.setSelection(getPreferenceStore().getDefaultBoolean(PALETTE_STATE));
         fViewTooltipsButton.setSelection(getPreferenceStore().getDefaultBoolean(VIEW_TOOLTIPS));
@@ -101,6 +101,10 @@ public interface IPreferenceConstants {
     
     // Whether to add a note to the documentation field of relationships that have been changed to Association when setting a new concept type
     String ADD_DOCUMENTATION_NOTE_ON_RELATION_CHANGE = "addDocumentationNoteOnRelationChange";
+    
+    // Zoom percentages below which figures are drawn with less detail. 0 means never.
+    String LEVEL_OF_DETAIL_SIMPLE_ZOOM = "levelOfDetailSimpleZoom";
+    String LEVEL_OF_DETAIL_MINIMAL_ZOOM = "levelOfDetailMinimalZoom";
 
     // Appearance
     
@@ -111,6 +111,9 @@ implements IPreferenceConstants {
         store.setDefault(USE_FIGURE_LINE_OFFSET, PlatformUtils.isWindows() && ImageFactory.getDeviceZoom() > 100);
         
         store.setDefault(ADD_DOCUMENTATION_NOTE_ON_RELATION_CHANGE, false);
+        
+        store.setDefault(LEVEL_OF_DETAIL_SIMPLE_ZOOM, 50);
+        store.setDefault(LEVEL_OF_DETAIL_MINIMAL_ZOOM, 25);
 
         // Appearance
         
@@ -5,13 +5,19 @@
  */
 package com.archimatetool.editor.propertysections;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.layout.TableColumnLayout;
 import org.eclipse.jface.viewers.ColumnWeightData;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
@@ -29,7 +35,6 @@ import org.eclipse.nebula.widgets.gallery.Gallery;
 import org.eclipse.nebula.widgets.gallery.GalleryItem;
 import org.eclipse.nebula.widgets.gallery.NoGroupRenderer;
 import org.eclipse.swt.SWT;
-import org.eclipse.swt.custom.BusyIndicator;
 import org.eclipse.swt.custom.CLabel;
 import org.eclipse.swt.custom.SashForm;
 import org.eclipse.swt.events.DisposeEvent;
@@ -39,11 +44,13 @@ import org.eclipse.swt.events.MouseEvent;
 import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Listener;
@@ -56,6 +63,7 @@ import com.archimatetool.editor.model.IArchiveManager;
 import com.archimatetool.editor.model.IEditorModelManager;
 import com.archimatetool.editor.ui.ArchiLabelProvider;
 import com.archimatetool.editor.ui.IArchiImages;
+import com.archimatetool.editor.ui.ImageFactory;
 import com.archimatetool.editor.ui.UIUtils;
 import com.archimatetool.editor.ui.components.ExtendedTitleAreaDialog;
 import com.archimatetool.model.IArchimateModel;
@@ -87,7 +95,14 @@ public class ImageManagerDialog extends ExtendedTitleAreaDialog {
     private String fUserSelectedImagePath;
     private File fUserSelectedFile;
     
-    private Map<String, Image> fImageCache = new HashMap<String, Image>();
+    // Model and image paths shown in the gallery
+    private IArchimateModel fGalleryModel;
+    private List<String> fImagePaths = new ArrayList<>();
+    
+    // Images of the thumbnails shown in this dialog keyed by the cached thumbnail ImageData
+    private Map<ImageData, Image> fImageCache = new HashMap<>();
+    
+    private ThumbnailJob fThumbnailJob = new ThumbnailJob();
 
     public ImageManagerDialog(Shell parentShell) {
         super(parentShell, "ImageManagerDialog"); //$NON-NLS-1$
@@ -177,9 +192,26 @@ public class ImageManagerDialog extends ExtendedTitleAreaDialog {
         layout.marginHeight = 0;
         galleryComposite.setLayout(layout);
         
-        fGallery = new Gallery(galleryComposite, SWT.V_SCROLL | SWT.BORDER);
+        // Virtual so that only the items that are shown are created
+        fGallery = new Gallery(galleryComposite, SWT.V_SCROLL | SWT.BORDER | SWT.VIRTUAL);
         fGallery.setLayoutData(new GridData(GridData.FILL_BOTH));
         
+        fGallery.addListener(SWT.SetData, new Listener() {
+            @Override
+            public void handleEvent(Event event) {
+                GalleryItem item = (GalleryItem)event.item;
+                
+                // Root Group
+                if(item.getParentItem() == null) {
+                    item.setItemCount(fImagePaths.size());
+                    item.setExpanded(true);
+                }
+                else {
+                    setGalleryItem(item, fImagePaths.get(event.index));
+                }
+            }
+        });
+        
         // Renderers
         final NoGroupRenderer groupRenderer = new NoGroupRenderer();
         groupRenderer.setItemSize(DEFAULT_GALLERY_ITEM_SIZE, DEFAULT_GALLERY_ITEM_SIZE);
@@ -193,9 +225,6 @@ public class ImageManagerDialog extends ExtendedTitleAreaDialog {
         itemRenderer.setShowRoundedSelectionCorners(true);
         fGallery.setItemRenderer(itemRenderer);
         
-        // Root Group
-        fGalleryRoot = new GalleryItem(fGallery, SWT.NONE);
-        
         // Slider
         fScale = new Scale(galleryComposite, SWT.HORIZONTAL);
         gd = new GridData(SWT.END, SWT.NONE, false, false);
@@ -247,6 +276,8 @@ public class ImageManagerDialog extends ExtendedTitleAreaDialog {
         fGallery.addDisposeListener(new DisposeListener() {
             @Override
             public void widgetDisposed(DisposeEvent e) {
+                fThumbnailJob.clear();
+                fThumbnailJob.cancel();
                 disposeImages();
             }
         });
@@ -258,14 +289,9 @@ public class ImageManagerDialog extends ExtendedTitleAreaDialog {
             fModelsViewer.setSelection(new StructuredSelection(fUserSelectedModel));
 
             // Make selection of image path if it's set
-            if(fUserSelectedImagePath != null) {
-                for(GalleryItem item : fGalleryRoot.getItems()) {
-                    String imagePath = (String)item.getData("imagepath"); //$NON-NLS-1$
-                    if(imagePath != null && fUserSelectedImagePath.equals(imagePath)) {
-                        fGallery.setSelection(new GalleryItem[] { item });
-                        break;
-                    }
-                }
+            int index = fImagePaths.indexOf(fUserSelectedImagePath);
+            if(index != -1 && fGalleryRoot != null) {
+                fGallery.setSelection(new GalleryItem[] { fGalleryRoot.getItem(index) });
             }
         }
         // Else select the first model in the table, if there is one
@@ -283,48 +309,81 @@ public class ImageManagerDialog extends ExtendedTitleAreaDialog {
      * Clear old root group
      */
     private void clearGallery() {
-        if(fGalleryRoot != null && !fGallery.isDisposed() && fGallery.getItemCount() > 0) {
-            while(fGalleryRoot.getItemCount() > 0) {
-                GalleryItem item = fGalleryRoot.getItem(0);
-                fGalleryRoot.remove(item);
-            }
+        fThumbnailJob.clear();
+        
+        if(!fGallery.isDisposed()) {
+            fGallery.removeAll();
+            fGallery.setItemCount(0);
+            fGalleryRoot = null;
         }
     }
 
-    private void updateGallery(final IArchimateModel model) {
-        BusyIndicator.showWhile(null, new Runnable() {
-            @Override
-            public void run() {
-                IArchiveManager archiveManager = (IArchiveManager)model.getAdapter(IArchiveManager.class);
-                
-                for(String path : archiveManager.getImagePaths()) {
-                    Image thumbnail = fImageCache.get(path);
-                    
-                    // Create image and cache it
-                    if(thumbnail == null) {
-                        try {
-                            thumbnail = archiveManager.createImage(path);
-                            if(thumbnail != null) {
-                                fImageCache.put(path, thumbnail);
-                            }
-                        }
-                        catch(Exception ex) {
-                            ex.printStackTrace();
-                            continue;
-                        }
-                    }
-                    
-                    if(thumbnail != null) {
-                        GalleryItem item = new GalleryItem(fGalleryRoot, SWT.NONE);
-                        item.setImage(thumbnail);
-                        item.setData("imagepath", path); //$NON-NLS-1$
-                        item.setData("model", model); //$NON-NLS-1$
-                    }
-                }
-                
-                fGallery.redraw(); // at some scale settings this is needed
+    private void updateGallery(IArchimateModel model) {
+        IArchiveManager archiveManager = (IArchiveManager)model.getAdapter(IArchiveManager.class);
+        
+        fGalleryModel = model;
+        fImagePaths = new ArrayList<>();
+        
+        for(String path : archiveManager.getImagePaths()) {
+            if(archiveManager.getBytesFromEntry(path) != null) {
+                fImagePaths.add(path);
             }
-        });
+        }
+        
+        // Root group. Its items are created and their thumbnails loaded when they are shown.
+        fGallery.setItemCount(1);
+        fGalleryRoot = fGallery.getItem(0);
+        
+        fGallery.redraw(); // at some scale settings this is needed
+    }
+    
+    /**
+     * Set the data of a gallery item when it is first shown and its thumbnail if there is one in the cache.
+     * If not, the thumbnail is created in the background.
+     */
+    private void setGalleryItem(GalleryItem item, String path) {
+        item.setData("imagepath", path); //$NON-NLS-1$
+        item.setData("model", fGalleryModel); //$NON-NLS-1$
+        
+        IArchiveManager archiveManager = (IArchiveManager)fGalleryModel.getAdapter(IArchiveManager.class);
+        byte[] bytes = archiveManager.getBytesFromEntry(path);
+        
+        ImageData thumbnailData = ImageThumbnailCache.INSTANCE.get(path, bytes);
+        if(thumbnailData != null) {
+            item.setImage(getThumbnailImage(thumbnailData));
+        }
+        else if(bytes != null) {
+            fThumbnailJob.add(item, path, bytes);
+        }
+    }
+    
+    /**
+     * Set the thumbnail of a gallery item from the image's ImageData at full size
+     */
+    private void setThumbnail(GalleryItem item, String path, byte[] bytes, ImageData imageData) {
+        if(item.isDisposed()) {
+            return;
+        }
+        
+        ImageData thumbnailData = imageData;
+        
+        // Scale it with a GC as ImageData#scaledTo does not use interpolation
+        int size = Math.max(imageData.width, imageData.height);
+        if(size > MAX_GALLERY_ITEM_SIZE) {
+            Image image = new Image(item.getDisplay(), imageData);
+            Image scaledImage = ImageFactory.getScaledImage(image, imageData.width * MAX_GALLERY_ITEM_SIZE / size,
+                    imageData.height * MAX_GALLERY_ITEM_SIZE / size);
+            thumbnailData = scaledImage.getImageData();
+            scaledImage.dispose();
+            image.dispose();
+        }
+        
+        ImageThumbnailCache.INSTANCE.put(path, bytes, thumbnailData);
+        item.setImage(getThumbnailImage(thumbnailData));
+    }
+    
+    private Image getThumbnailImage(ImageData thumbnailData) {
+        return fImageCache.computeIfAbsent(thumbnailData, data -> new Image(Display.getCurrent(), data));
     }
 
     /**
@@ -369,12 +428,77 @@ public class ImageManagerDialog extends ExtendedTitleAreaDialog {
     }
 
     private void disposeImages() {
-        for(Entry<String, Image> entry : fImageCache.entrySet()) {
-            Image image = entry.getValue();
+        for(Image image : fImageCache.values()) {
             if(image != null && !image.isDisposed()) {
                 image.dispose();
             }
         }
+        fImageCache.clear();
+    }
+    
+    // ====================================================================================================
+    // Background job to create thumbnails
+    // ====================================================================================================
+    
+    private class ThumbnailJob extends Job {
+        private class Request {
+            GalleryItem item;
+            String path;
+            byte[] bytes;
+        }
+        
+        private Queue<Request> requests = new ConcurrentLinkedQueue<>();
+        
+        private Display display = Display.getCurrent();
+        
+        ThumbnailJob() {
+            super("Thumbnails"); //$NON-NLS-1$
+            setSystem(true);
+        }
+        
+        /**
+         * Add a request for the thumbnail of a gallery item in the order that the items are shown
+         */
+        void add(GalleryItem item, String path, byte[] bytes) {
+            Request request = new Request();
+            request.item = item;
+            request.path = path;
+            request.bytes = bytes;
+            requests.add(request);
+            schedule();
+        }
+        
+        /**
+         * Remove requests that have not been started
+         */
+        void clear() {
+            requests.clear();
+        }
+        
+        @Override
+        protected IStatus run(IProgressMonitor monitor) {
+            Request request;
+            
+            while(!monitor.isCanceled() && (request = requests.poll()) != null) {
+                // Decoding the image is the slow part so do it here
+                ImageData imageData;
+                try {
+                    imageData = new ImageData(new ByteArrayInputStream(request.bytes));
+                }
+                catch(Exception ex) {
+                    ex.printStackTrace();
+                    continue;
+                }
+                
+                // Wait for the thumbnail to be set so that the full size ImageData is not queued
+                Request r = request;
+                if(!display.isDisposed()) {
+                    display.syncExec(() -> setThumbnail(r.item, r.path, r.bytes, imageData));
+                }
+            }
+            
+            return Status.OK_STATUS;
+        }
     }
     
     // ====================================================================================================
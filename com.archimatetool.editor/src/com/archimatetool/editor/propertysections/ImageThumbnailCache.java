@@ -0,0 +1,93 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.propertysections;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.graphics.ImageData;
+
+
+
+/**
+ * Cache of the thumbnails of model images shown in the Image Manager Dialog and shared by each opening of the dialog.<br/>
+ * <br/>
+ * Thumbnails are kept as ImageData so that they can be created in a background thread and do not use native resources.
+ * A thumbnail is keyed by its image path and is only returned for the same image bytes that it was created from.
+ * The least recently used thumbnail is removed when the maximum number of thumbnails is reached.
+ *
+ * @author Phillip Beauvoir
+ */
+class ImageThumbnailCache {
+
+    static final ImageThumbnailCache INSTANCE = new ImageThumbnailCache(256);
+
+    private static class Entry {
+        // Weak so that the bytes of a closed model are not kept
+        WeakReference<byte[]> bytes;
+        ImageData imageData;
+
+        Entry(byte[] bytes, ImageData imageData) {
+            this.bytes = new WeakReference<>(bytes);
+            this.imageData = imageData;
+        }
+    }
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * @param maxSize The maximum number of thumbnails to keep
+     */
+    @SuppressWarnings("serial")
+    ImageThumbnailCache(int maxSize) {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param imagePath The image path in the model's archive
+     * @param bytes The image's bytes in the model's archive
+     * @return The thumbnail for the image or null if there is no thumbnail for these bytes
+     */
+    synchronized ImageData get(String imagePath, byte[] bytes) {
+        Entry entry = entries.get(imagePath);
+
+        if(entry == null || bytes == null || entry.bytes.get() != bytes) {
+            return null;
+        }
+
+        return entry.imageData;
+    }
+
+    /**
+     * Add a thumbnail
+     * @param imagePath The image path in the model's archive
+     * @param bytes The image's bytes in the model's archive
+     * @param imageData The thumbnail
+     */
+    synchronized void put(String imagePath, byte[] bytes, ImageData imageData) {
+        entries.put(imagePath, new Entry(bytes, imageData));
+    }
+
+    /**
+     * @return The number of thumbnails
+     */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Remove all thumbnails
+     */
+    synchronized void clear() {
+        entries.clear();
+    }
+}
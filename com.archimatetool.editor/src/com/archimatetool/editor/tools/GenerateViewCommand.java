@@ -6,21 +6,29 @@
 package com.archimatetool.editor.tools;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
-import org.eclipse.emf.ecore.EObject;
+import org.eclipse.draw2d.geometry.Point;
 import org.eclipse.gef.commands.Command;
 import org.eclipse.jface.window.Window;
 import org.eclipse.swt.widgets.Shell;
 
 import com.archimatetool.editor.diagram.ArchimateDiagramModelFactory;
+import com.archimatetool.editor.diagram.util.LayeredGraphLayout;
 import com.archimatetool.editor.ui.services.EditorManager;
 import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateDiagramModel;
 import com.archimatetool.model.IArchimateElement;
 import com.archimatetool.model.IArchimateFactory;
 import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.IBounds;
+import com.archimatetool.model.IDiagramModelArchimateComponent;
 import com.archimatetool.model.IDiagramModelArchimateConnection;
 import com.archimatetool.model.IDiagramModelArchimateObject;
 import com.archimatetool.model.IDiagramModelObject;
@@ -37,7 +45,7 @@ import com.archimatetool.model.viewpoints.IViewpoint;
 public class GenerateViewCommand extends Command {
     
     private List<IArchimateElement> fSelectedElements;
-    private List<IArchimateElement> fAddedElements;
+    private Set<IArchimateElement> fAddedElements;
     
     private IFolder fParentFolder;
     private IArchimateDiagramModel fDiagramModel;
@@ -96,92 +104,132 @@ public class GenerateViewCommand extends Command {
         fParentFolder = fSelectedElements.get(0).getArchimateModel().getDefaultFolderForObject(dm);
         fParentFolder.getElements().add(dm);
         
-        int x = 20;
-        int y = 20;
-        
         getElementsToAdd();
         
+        Set<IArchimateElement> selectedElements = new HashSet<>(fSelectedElements);
+        
+        // Map of concept to its diagram component
+        Map<IArchimateConcept, IDiagramModelArchimateComponent> componentMap = new HashMap<>();
+        
+        // Selected elements first and then the added elements
         for(IArchimateElement element : fSelectedElements) {
-            createDiagramNode(element, dm, x, y);
-            y += 100;
+            if(!componentMap.containsKey(element)) {
+                componentMap.put(element, createDiagramNode(element, dm));
+            }
         }
         
-        x = 170;
-        y = 20;
-
         for(IArchimateElement element : fAddedElements) {
-            if(!fSelectedElements.contains(element)) {
-                createDiagramNode(element, dm, x, y);
-                y += 80;
-                
-                if(y > 700) {
-                    y = 20;
-                    x += 150;
-                }
+            if(!componentMap.containsKey(element)) {
+                componentMap.put(element, createDiagramNode(element, dm));
             }
         }
         
         // Add connections between elements first
-        for(IDiagramModelObject dmoSource : dm.getChildren()) {
+        List<IDiagramModelArchimateConnection> connections = new ArrayList<>();
+        
+        // Connecting a connection re-adds its relationship to the concepts' relationship lists
+        // so collect the relationships to add first rather than iterating over a copy of each list
+        List<IArchimateRelationship> relations = new ArrayList<>();
+        
+        for(IDiagramModelObject dmoSource : List.copyOf(dm.getChildren())) {
             IArchimateElement elementSource = ((IDiagramModelArchimateObject)dmoSource).getArchimateElement();
             
-            for(IArchimateRelationship relation : List.copyOf(elementSource.getSourceRelationships())) { // work on a copy of the list
-                for(IDiagramModelObject dmoTarget : dm.getChildren()) {
-                    IArchimateElement elementTarget = ((IDiagramModelArchimateObject)dmoTarget).getArchimateElement();
-                    
-                    // Don't add connections that are not connected to the main elements if option is set
-                    if(!fAddAllConnections && !(fSelectedElements.contains(elementSource)) && !(fSelectedElements.contains(elementTarget))) {
-                        continue;
-                    }
-                    
-                    if(relation.getTarget() == elementTarget) {
-                        // Create connection
-                        IDiagramModelArchimateConnection newConnection = ArchimateDiagramModelFactory.createDiagramModelArchimateConnection(relation);
-                        newConnection.connect(dmoSource, dmoTarget);
-                    }
+            relations.clear();
+            
+            elementSource.forEachRelationship(IArchimateConcept.SOURCE_RELATIONSHIPS, null, relation -> {
+                IArchimateConcept elementTarget = relation.getTarget();
+                
+                // Target is not in the View
+                if(!(componentMap.get(elementTarget) instanceof IDiagramModelArchimateObject)) {
+                    return;
                 }
+                
+                // Don't add connections that are not connected to the main elements if option is set
+                if(!fAddAllConnections && !selectedElements.contains(elementSource) && !selectedElements.contains(elementTarget)) {
+                    return;
+                }
+                
+                relations.add(relation);
+            });
+            
+            for(IArchimateRelationship relation : relations) {
+                // Create connection
+                IDiagramModelArchimateConnection newConnection = ArchimateDiagramModelFactory.createDiagramModelArchimateConnection(relation);
+                newConnection.connect(dmoSource, componentMap.get(relation.getTarget()));
+                componentMap.put(relation, newConnection);
+                connections.add(newConnection);
             }
         }
         
-        // Add connections to connections
-        for(Iterator<EObject> iter1 = dm.eAllContents(); iter1.hasNext();) {
-            EObject eObject1 = iter1.next();
-            if(eObject1 instanceof IDiagramModelArchimateConnection) {
-                IDiagramModelArchimateConnection connection = (IDiagramModelArchimateConnection)eObject1;
-                
-                for(IDiagramModelObject dmo : dm.getChildren()) {
-                    IArchimateElement element = ((IDiagramModelArchimateObject) dmo).getArchimateElement();
-                    
-                    for(IArchimateRelationship relation : List.copyOf(connection.getArchimateRelationship().getSourceRelationships())) { // work on a copy of the list
-                        if(relation.getTarget() == element) {
-                            IDiagramModelArchimateConnection newConnection = ArchimateDiagramModelFactory.createDiagramModelArchimateConnection(relation);
-                            newConnection.connect(connection, dmo);
-                        }
-                    }
-                    
-                    for(IArchimateRelationship relation : List.copyOf(connection.getArchimateRelationship().getTargetRelationships())) { // work on a copy of the list
-                        if(relation.getSource() == element) {
-                            IDiagramModelArchimateConnection newConnection = ArchimateDiagramModelFactory.createDiagramModelArchimateConnection(relation);
-                            newConnection.connect(dmo, connection);
-                        }
-                    }
+        // Lay out the elements using the connections between them
+        layoutDiagramNodes(dm, connections);
+        
+        // Add connections to connections (this list will grow as connections are added)
+        for(int i = 0; i < connections.size(); i++) {
+            IDiagramModelArchimateConnection connection = connections.get(i);
+            IArchimateRelationship relationship = connection.getArchimateRelationship();
+            
+            relations.clear();
+            relationship.forEachRelationship(IArchimateConcept.SOURCE_RELATIONSHIPS, null, relation -> {
+                if(!componentMap.containsKey(relation) && componentMap.get(relation.getTarget()) instanceof IDiagramModelArchimateObject) {
+                    relations.add(relation);
+                }
+            });
+            
+            for(IArchimateRelationship relation : relations) {
+                IDiagramModelArchimateConnection newConnection = ArchimateDiagramModelFactory.createDiagramModelArchimateConnection(relation);
+                newConnection.connect(connection, componentMap.get(relation.getTarget()));
+                componentMap.put(relation, newConnection);
+                connections.add(newConnection);
+            }
+            
+            relations.clear();
+            relationship.forEachRelationship(IArchimateConcept.TARGET_RELATIONSHIPS, null, relation -> {
+                if(!componentMap.containsKey(relation) && componentMap.get(relation.getSource()) instanceof IDiagramModelArchimateObject) {
+                    relations.add(relation);
                 }
+            });
+            
+            for(IArchimateRelationship relation : relations) {
+                IDiagramModelArchimateConnection newConnection = ArchimateDiagramModelFactory.createDiagramModelArchimateConnection(relation);
+                newConnection.connect(componentMap.get(relation.getSource()), connection);
+                componentMap.put(relation, newConnection);
+                connections.add(newConnection);
             }
         }
        
         return dm;
     }
     
-    private void createDiagramNode(IArchimateElement element, IArchimateDiagramModel dm, int x, int y) {
+    private IDiagramModelArchimateObject createDiagramNode(IArchimateElement element, IArchimateDiagramModel dm) {
         IDiagramModelArchimateObject dmo = ArchimateDiagramModelFactory.createDiagramModelArchimateObject(element);
         dm.getChildren().add(dmo);
+        return dmo;
+    }
+    
+    /**
+     * Set the location of the diagram nodes with a layered layout
+     */
+    private void layoutDiagramNodes(IArchimateDiagramModel dm, List<IDiagramModelArchimateConnection> connections) {
+        LayeredGraphLayout layout = new LayeredGraphLayout();
+        
+        for(IDiagramModelObject dmo : dm.getChildren()) {
+            IBounds bounds = dmo.getBounds();
+            layout.addNode(dmo, bounds.getWidth(), bounds.getHeight(),
+                    LayeredGraphLayout.getLayer(((IDiagramModelArchimateObject)dmo).getArchimateElement()));
+        }
         
-        // Location
-        dmo.getBounds().setLocation(x, y);
+        for(IDiagramModelArchimateConnection connection : connections) {
+            layout.addEdge(connection.getSource(), connection.getTarget());
+        }
+        
+        for(Entry<Object, Point> entry : layout.layout(new Point(20, 20)).entrySet()) {
+            ((IDiagramModelObject)entry.getKey()).getBounds().setLocation(entry.getValue().x, entry.getValue().y);
+        }
     }
     
     private void getElementsToAdd() {
-        fAddedElements = new ArrayList<IArchimateElement>();
+        fAddedElements = new LinkedHashSet<IArchimateElement>();
         
         for(IArchimateElement element : fSelectedElements) {
             addElement(element);
@@ -200,7 +248,7 @@ public class GenerateViewCommand extends Command {
     
     private void addElement(IArchimateConcept concept) {
         if(concept instanceof IArchimateElement) {
-            if(fViewpoint.isAllowedConcept(concept.eClass()) && !fAddedElements.contains(concept)) {
+            if(fViewpoint.isAllowedConcept(concept.eClass())) {
                 fAddedElements.add((IArchimateElement)concept);
             }
         }
@@ -19,6 +19,14 @@ public abstract class AbstractFindReplaceProvider implements IFindReplaceProvide
 
     private int parameter = 0;
     
+    /**
+     * Compiled search and replace patterns are kept for the last string so that they are not compiled for each object
+     */
+    private Pattern searchPattern, replacePattern;
+    private String searchPatternString, replacePatternString;
+    private int searchPatternFlags, replacePatternFlags;
+    private boolean searchPatternWholeWord;
+    
     @Override
     public boolean canFind(String toFind) {
         return StringUtils.isSet(toFind);
@@ -92,6 +100,14 @@ public abstract class AbstractFindReplaceProvider implements IFindReplaceProvide
         return (getParameter() & PARAM_INCLUDE_RELATIONS) != 0;
     }
 
+    protected boolean isIncludeDocumentation() {
+        return (getParameter() & PARAM_INCLUDE_DOCUMENTATION) != 0;
+    }
+
+    protected boolean isIncludeProperties() {
+        return (getParameter() & PARAM_INCLUDE_PROPERTIES) != 0;
+    }
+
     /**
      * @param oldString The old string
      * @param toFind The string to find in the old string
@@ -99,13 +115,57 @@ public abstract class AbstractFindReplaceProvider implements IFindReplaceProvide
      * @return A new string based on the old string, replacing the part toFind with toReplaceWith
      */
     protected String getReplacedString(String oldString, String toFind, String toReplaceWith) {
-        toFind = Pattern.quote(toFind);
-
-        if(!isCaseSensitive()) {
-            toFind = "(?iu:" + toFind + ")"; //$NON-NLS-1$ //$NON-NLS-2$
+        return getReplacePattern(toFind).matcher(oldString).replaceAll(toReplaceWith);
+    }
+    
+    /**
+     * @param toFind The string to find
+     * @return The compiled pattern to replace toFind given the set case parameter
+     */
+    protected Pattern getReplacePattern(String toFind) {
+        int flags = isCaseSensitive() ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        
+        if(replacePattern == null || flags != replacePatternFlags || !toFind.equals(replacePatternString)) {
+            replacePattern = Pattern.compile(Pattern.quote(toFind), flags);
+            replacePatternString = toFind;
+            replacePatternFlags = flags;
+        }
+        
+        return replacePattern;
+    }
+    
+    /**
+     * @param toFind The string to find
+     * @return The compiled pattern to find toFind given the set search parameters.
+     *         This finds the same strings as {@link #getSearchStringPattern(String)} when used with {@link java.util.regex.Matcher#find()}
+     */
+    protected Pattern getSearchPattern(String toFind) {
+        int flags = isCaseSensitive() ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+        
+        if(searchPattern == null || flags != searchPatternFlags || isWholeWord() != searchPatternWholeWord || !toFind.equals(searchPatternString)) {
+            String regex = Pattern.quote(toFind);
+            
+            // Match whole word
+            if(isWholeWord()) {
+                regex = "\\b" + regex + "\\b"; //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            
+            searchPattern = Pattern.compile(regex, flags);
+            searchPatternString = toFind;
+            searchPatternFlags = flags;
+            searchPatternWholeWord = isWholeWord();
         }
         
-        return oldString.replaceAll(toFind, toReplaceWith);
+        return searchPattern;
+    }
+    
+    /**
+     * @param string The string to search in
+     * @param toFind The string to find
+     * @return True if toFind is found in string given the set search parameters
+     */
+    protected boolean matchesSearchString(String string, String toFind) {
+        return string != null && StringUtils.isSet(toFind) && getSearchPattern(toFind).matcher(string).find();
     }
     
     /**
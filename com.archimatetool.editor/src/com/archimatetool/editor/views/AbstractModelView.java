@@ -245,6 +245,16 @@ implements IContextProvider, PropertyChangeListener, ITabbedPropertySheetPageCon
      */
     private List<Notification> notificationBuffer;
     
+    /**
+     * Delay in milliseconds over which notifications are collected when coalescing
+     */
+    private static final int COALESCE_DELAY = 20;
+    
+    /**
+     * Notifications received outside of a START/END batch and waiting to be applied when coalescing
+     */
+    private List<Notification> pendingNotifications;
+    
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         String propertyName = evt.getPropertyName();
@@ -252,6 +262,9 @@ implements IContextProvider, PropertyChangeListener, ITabbedPropertySheetPageCon
         
         // Start: Buffer all incoming notifications
         if(propertyName == IEditorModelManager.PROPERTY_ECORE_EVENTS_START) {
+            // Apply any pending notifications first to keep them in order
+            flushNotifications();
+            
             if(notificationBuffer == null) {
                 notificationBuffer = new ArrayList<>();
             }
@@ -265,8 +278,12 @@ implements IContextProvider, PropertyChangeListener, ITabbedPropertySheetPageCon
         }
         // ECore model event
         else if(propertyName == IEditorModelManager.PROPERTY_ECORE_EVENT) {
+            // No buffer and coalescing, so collect and apply later
+            if(notificationBuffer == null && isCoalescingNotifications()) {
+                queueNotification((Notification)newValue);
+            }
             // No buffer, so treat as single event
-            if(notificationBuffer == null) {
+            else if(notificationBuffer == null) {
                 eCoreChanged((Notification)newValue);
             }
             // Else add to buffer
@@ -276,6 +293,52 @@ implements IContextProvider, PropertyChangeListener, ITabbedPropertySheetPageCon
         }
     }
     
+    /**
+     * @return true if notifications received outside of a PROPERTY_ECORE_EVENTS_START/END batch should be
+     *         collected over a short delay and applied together rather than one at a time.
+     *         The default is false. Clients can over-ride.
+     */
+    protected boolean isCoalescingNotifications() {
+        return false;
+    }
+    
+    /**
+     * Add a notification to the pending notifications and schedule them to be applied if not already scheduled
+     */
+    private void queueNotification(Notification msg) {
+        if(pendingNotifications == null) {
+            pendingNotifications = new ArrayList<>();
+            getViewer().getControl().getDisplay().timerExec(COALESCE_DELAY, this::flushNotifications);
+        }
+        
+        pendingNotifications.add(msg);
+    }
+    
+    /**
+     * Apply any pending coalesced notifications now.
+     * Clients should call this before doing anything that relies on the viewer being up to date, such as setting a selection.
+     */
+    protected void flushNotifications() {
+        if(pendingNotifications == null) {
+            return;
+        }
+        
+        List<Notification> notifications = pendingNotifications;
+        pendingNotifications = null;
+        
+        if(getViewer() != null && !getViewer().getControl().isDisposed()) {
+            doRefreshFromCoalescedNotifications(notifications);
+        }
+    }
+    
+    /**
+     * Refresh the viewer from coalesced notifications. This should be done synchronously.
+     * The default is to call doRefreshFromNotifications(). Clients can over-ride.
+     */
+    protected void doRefreshFromCoalescedNotifications(List<Notification> notifications) {
+        doRefreshFromNotifications(notifications);
+    }
+    
     /**
      * React to ECore Model Changes to refresh the view
      */
@@ -283,7 +346,7 @@ implements IContextProvider, PropertyChangeListener, ITabbedPropertySheetPageCon
         int type = msg.getEventType();
         
         // Not interested in these types
-        if(type == Notification.ADD_MANY || type == Notification.REMOVE_MANY || type == Notification.MOVE
+        if(type == Notification.MOVE
                 || type == EObjectNonNotifyingCompoundCommand.START || type == EObjectNonNotifyingCompoundCommand.END) {
             return;
         }
@@ -339,6 +402,12 @@ implements IContextProvider, PropertyChangeListener, ITabbedPropertySheetPageCon
                 }
             }
         }
+        else if(type == Notification.ADD_MANY || type == Notification.REMOVE_MANY) {
+            // Bulk change of a folder's children
+            if(msg.getNotifier() instanceof IFolder) {
+                element = (EObject)msg.getNotifier();
+            }
+        }
         else if(type == Notification.SET) {
             // Need to refresh parent node on name or label expression change because of using a ViewerSorter
             if(msg.getNotifier() instanceof EObject) {
@@ -465,6 +534,9 @@ implements IContextProvider, PropertyChangeListener, ITabbedPropertySheetPageCon
     public void dispose() {
         super.dispose();
         
+        // Any pending notifications are no longer needed
+        pendingNotifications = null;
+        
         // Unregister us as a Model Manager Listener
         IEditorModelManager.INSTANCE.removePropertyChangeListener(this);
         
@@ -47,6 +47,7 @@ import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IArchimateModelObject;
 import com.archimatetool.model.IArchimatePackage;
+import com.archimatetool.model.IFolder;
 
 
 
@@ -354,13 +355,25 @@ implements INavigatorView, ISelectionListener {
         doRefresh(msg);
     }
     
+    @Override
+    protected boolean isCoalescingNotifications() {
+        return true;
+    }
+    
     @Override
     protected void doRefreshFromNotifications(List<Notification> notifications) {
-        for(Notification msg : notifications) {
-            if(doRefresh(msg)) {
-                break; // Only need to refresh once
+        try {
+            getViewer().getControl().setRedraw(false);
+            
+            for(Notification msg : notifications) {
+                if(doRefresh(msg)) {
+                    break; // Only need to refresh once
+                }
             }
         }
+        finally {
+            getViewer().getControl().setRedraw(true);
+        }
     }
     
     private boolean doRefresh(Notification msg) {
@@ -382,6 +395,11 @@ implements INavigatorView, ISelectionListener {
             return true;
         }
         
+        // Bulk add or remove of a folder's concepts
+        if(msg.getNotifier() instanceof IFolder && (msg.getEventType() == Notification.ADD_MANY || msg.getEventType() == Notification.REMOVE_MANY)) {
+            return true;
+        }
+        
         return false;
     }
 
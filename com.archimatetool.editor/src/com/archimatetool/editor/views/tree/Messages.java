@@ -26,6 +26,8 @@ public class Messages extends NLS {
     public static String TreeModelView_5;
 
     public static String TreeModelViewerDragDropHandler_0;
+
+    public static String TreeModelViewerFindReplaceProvider_0;
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, Messages.class);
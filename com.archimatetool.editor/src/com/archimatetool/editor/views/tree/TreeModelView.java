@@ -181,6 +181,9 @@ implements ITreeModelView, IUIRequestListener {
         // Add Selection Sync
         fSynchroniser = new TreeSelectionSynchroniser(getViewer());
         
+        // Apply any pending notifications before a selection is made in the tree
+        fTreeViewer.setPendingRefreshHandler(this::flushNotifications);
+        
         // Register us as a UIRequest Listener
         UIRequestManager.INSTANCE.addListener(this);
         
@@ -823,6 +826,9 @@ implements ITreeModelView, IUIRequestListener {
     
     @Override
     public void requestAction(UIRequest request) {
+        // Make sure that the tree is up to date first
+        flushNotifications();
+        
         // Request to select elements
         if(request instanceof TreeSelectionRequest) {
             TreeSelectionRequest req = (TreeSelectionRequest)request;
@@ -840,39 +846,6 @@ implements ITreeModelView, IUIRequestListener {
     //                       React to ECore Model Changes
     // =================================================================================
     
-    @Override
-    protected void eCoreChanged(Notification msg) {
-        int type = msg.getEventType();
-        Object notifier = msg.getNotifier();
-        Object feature = msg.getFeature();
-        
-        // Attribute set
-        if(type == Notification.SET) {
-            // Viewpoint changed
-            if(feature == IArchimatePackage.Literals.ARCHIMATE_DIAGRAM_MODEL__VIEWPOINT) {
-                if(ArchiPlugin.PREFERENCES.getBoolean(IPreferenceConstants.VIEWPOINTS_FILTER_MODEL_TREE)) {
-                    if(notifier instanceof IDiagramModel) {
-                        IArchimateModel model = ((IDiagramModel)notifier).getArchimateModel();
-                        getViewer().refreshInBackground(model);
-                    }
-                }
-            }
-            // Model renamed
-            // This is too expensive in refreshing the whole tree
-            //else if(feature == IArchimatePackage.Literals.NAMEABLE__NAME && notifier instanceof IArchimateModel) {
-            //    getViewer().refreshTreePreservingExpandedNodes();
-            //    getViewer().setSelection(new StructuredSelection(notifier), true);
-            //}
-            else {
-                super.eCoreChanged(msg);
-            }
-        }
-        else {
-            super.eCoreChanged(msg);
-            checkDrillDown();
-        }
-    }
-    
     @Override
     protected void doRefreshFromNotifications(final List<Notification> notifications) {
         Display.getCurrent().asyncExec(new Runnable() {
@@ -885,11 +858,34 @@ implements ITreeModelView, IUIRequestListener {
         });
     }
     
+    @Override
+    protected boolean isCoalescingNotifications() {
+        return true;
+    }
+    
+    @Override
+    protected void doRefreshFromCoalescedNotifications(List<Notification> notifications) {
+        refreshFromNotifications(notifications);
+    }
+    
     private void refreshFromNotifications(List<Notification> notifications) {
         Set<EObject> refreshElements = new HashSet<>();
         Set<EObject> updateElements = new HashSet<>();
+        Set<IArchimateModel> viewpointModels = new HashSet<>();
         
         for(Notification msg : notifications) {
+            // Viewpoint changed so refresh the whole model
+            if(msg.getFeature() == IArchimatePackage.Literals.ARCHIMATE_DIAGRAM_MODEL__VIEWPOINT) {
+                if(ArchiPlugin.PREFERENCES.getBoolean(IPreferenceConstants.VIEWPOINTS_FILTER_MODEL_TREE)
+                        && msg.getNotifier() instanceof IDiagramModel) {
+                    IArchimateModel model = ((IDiagramModel)msg.getNotifier()).getArchimateModel();
+                    if(model != null) {
+                        viewpointModels.add(model);
+                    }
+                }
+                continue;
+            }
+            
             // Get parent nodes to refresh
             EObject parent = getParentToRefreshFromNotification(msg);
             if(parent != null) {
@@ -905,10 +901,14 @@ implements ITreeModelView, IUIRequestListener {
             for(EObject parent = object.eContainer(); parent != null; parent = parent.eContainer()) {
                 if(refreshElements.contains(parent)) {
                     refreshElements.remove(object);
+                    break;
                 }
             }
         }
         
+        // Elements that are refreshed don't need an update as well
+        updateElements.removeAll(refreshElements);
+        
         try {
             getViewer().getControl().setRedraw(false);
 
@@ -924,6 +924,10 @@ implements ITreeModelView, IUIRequestListener {
             getViewer().getControl().setRedraw(true);
         }
         
+        for(IArchimateModel model : viewpointModels) {
+            getViewer().refreshInBackground(model);
+        }
+        
         checkDrillDown();
     }
 
@@ -18,6 +18,7 @@ import org.eclipse.jface.viewers.ColumnViewerEditor;
 import org.eclipse.jface.viewers.ColumnViewerEditorActivationEvent;
 import org.eclipse.jface.viewers.ColumnViewerEditorActivationStrategy;
 import org.eclipse.jface.viewers.ICellModifier;
+import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.TreeViewerEditor;
@@ -73,6 +74,16 @@ public class TreeModelViewer extends TreeViewer {
      */
     private TreeViewpointFilterProvider fViewpointFilterProvider;
     
+    /**
+     * Handler to apply any pending refreshes before a selection is made or an element is edited
+     */
+    private Runnable fPendingRefreshHandler;
+    
+    /**
+     * Number of times the tree has been refreshed
+     */
+    private int fRefreshCount;
+    
     /**
      * Application Preferences Listener
      */
@@ -212,8 +223,30 @@ public class TreeModelViewer extends TreeViewer {
         editElement(element, 0);
     }
     
+    /**
+     * Set a handler to apply any pending refreshes before a selection is made or an element is edited.
+     * This ensures that new elements are in the tree before they are selected.
+     */
+    void setPendingRefreshHandler(Runnable handler) {
+        fPendingRefreshHandler = handler;
+    }
+    
+    private void applyPendingRefresh() {
+        if(fPendingRefreshHandler != null) {
+            fPendingRefreshHandler.run();
+        }
+    }
+    
+    @Override
+    public void setSelection(ISelection selection, boolean reveal) {
+        applyPendingRefresh();
+        super.setSelection(selection, reveal);
+    }
+    
     @Override
     public void editElement(Object element, int column) {
+        applyPendingRefresh();
+        
         /*
          * Important to set focus first!
          * 
@@ -293,6 +326,20 @@ public class TreeModelViewer extends TreeViewer {
         return super.getSortedChildren(parentElementOrTreePath);
     }
     
+    @Override
+    protected void internalRefresh(Object element, boolean updateLabels) {
+        fRefreshCount++;
+        super.internalRefresh(element, updateLabels);
+    }
+    
+    /**
+     * @return The number of times the tree has been refreshed so that a cached list of the tree's elements
+     *         can tell if it is out of date because of a change of filter or sorting
+     */
+    int getRefreshCount() {
+        return fRefreshCount;
+    }
+    
     /**
      * If a Concept or a View's parent or ancestor parent folder has a text expression, evaluate it and return it
      * But let's keep a limit to its length
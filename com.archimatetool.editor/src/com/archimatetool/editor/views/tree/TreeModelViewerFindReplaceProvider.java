@@ -5,33 +5,59 @@
  */
 package com.archimatetool.editor.views.tree;
 
+import java.beans.PropertyChangeListener;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Pattern;
 
+import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CommandStack;
+import org.eclipse.gef.commands.CompoundCommand;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredSelection;
 
+import com.archimatetool.editor.model.IEditorModelManager;
+import com.archimatetool.editor.model.commands.EObjectFeatureCommand;
+import com.archimatetool.editor.model.commands.NonNotifyingCompoundCommand;
 import com.archimatetool.editor.ui.findreplace.AbstractFindReplaceProvider;
 import com.archimatetool.editor.utils.StringUtils;
 import com.archimatetool.editor.views.tree.commands.RenameCommandHandler;
+import com.archimatetool.model.IAdapter;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IArchimateModelObject;
+import com.archimatetool.model.IArchimatePackage;
 import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.IDocumentable;
 import com.archimatetool.model.IFolder;
 import com.archimatetool.model.INameable;
+import com.archimatetool.model.IProperties;
+import com.archimatetool.model.IProperty;
 
 
 
 
 /**
  * Find/Replace Provider for Model Tree Viewer
- * 
+ *
+ * The elements in the tree are collected once into a snapshot in sorted and filtered order and the positions of
+ * the matching elements are kept so that Find Next/Previous doesn't search the tree again.
+ * The snapshot is collected again after a model is changed or the tree is refreshed.
+ *
  * @author Phillip Beauvoir
  */
 public class TreeModelViewerFindReplaceProvider extends AbstractFindReplaceProvider {
     
+    /**
+     * Parameters that change which elements match
+     */
+    private static final int MATCH_PARAMETERS = PARAM_INCLUDE_FOLDERS | PARAM_INCLUDE_RELATIONS | PARAM_INCLUDE_DOCUMENTATION | PARAM_INCLUDE_PROPERTIES;
+    
     private TreeModelViewer fTreeModelViewer;
-
+    
     /**
      * If this is true then when user has selected items in the tree and chooses "Replace", these elements
      * are the ones for the replace operation (if they match the criteria).
@@ -39,8 +65,32 @@ public class TreeModelViewerFindReplaceProvider extends AbstractFindReplaceProvi
      */
     boolean replaceSelection = false;
     
+    /**
+     * Snapshot of the elements in the tree from a root element, in sorted and filtered order
+     */
+    private Object fSnapshotRoot;
+    private List<INameable> fSnapshot;
+    private Map<Object, Integer> fSnapshotPositions;
+    private int fSnapshotRefreshCount;
+    private boolean fSnapshotValid;
+    
+    /**
+     * Positions in the snapshot of the elements that match the search pattern
+     */
+    private int[] fMatches;
+    private Pattern fMatchesPattern;
+    private int fMatchesParameter;
+    
+    /**
+     * Any change in a model makes the snapshot out of date
+     */
+    private PropertyChangeListener fModelListener = event -> fSnapshotValid = false;
+    
     public TreeModelViewerFindReplaceProvider(TreeModelViewer viewer) {
         fTreeModelViewer = viewer;
+        
+        IEditorModelManager.INSTANCE.addPropertyChangeListener(fModelListener);
+        viewer.getControl().addDisposeListener(e -> IEditorModelManager.INSTANCE.removePropertyChangeListener(fModelListener));
     }
     
     @Override
@@ -67,14 +117,7 @@ public class TreeModelViewerFindReplaceProvider extends AbstractFindReplaceProvi
         if(isAll()) {
             List<INameable> elements = getAllMatchingElements(toFind);
             if(!elements.isEmpty()) {
-                List<String> newNames = new ArrayList<String>();
-                
-                for(INameable nameable : elements) {
-                    String newName = getReplacedString(nameable.getName(), toFind, toReplaceWith);
-                    newNames.add(newName);
-                }
-                
-                RenameCommandHandler.doRenameCommands(elements, newNames);
+                doReplaceCommands(elements, toFind, toReplaceWith);
                 fTreeModelViewer.setSelection(new StructuredSelection(elements), true);
             }
             return !elements.isEmpty();
@@ -83,32 +126,24 @@ public class TreeModelViewerFindReplaceProvider extends AbstractFindReplaceProvi
         else {
             // Replace on selected elements
             if(replaceSelection) {
-                List<Object> selected = getSelectedObjects();
-                if(!selected.isEmpty()) {
-                    List<INameable> elements = new ArrayList<INameable>();
-                    List<String> newNames = new ArrayList<String>();
-                    
-                    for(Object object : selected) {
-                        if(matches(object, toFind)) {
-                            INameable nameable = (INameable)object;
-                            elements.add(nameable);
-                            
-                            String newName = getReplacedString(nameable.getName(), toFind, toReplaceWith);
-                            newNames.add(newName);
-                        }
-                    }
-                    
-                    if(!elements.isEmpty()) {
-                        RenameCommandHandler.doRenameCommands(elements, newNames);
-                        return true;
+                List<INameable> elements = new ArrayList<INameable>();
+                
+                for(Object object : getSelectedObjects()) {
+                    if(matches(object, toFind)) {
+                        elements.add((INameable)object);
                     }
                 }
+                
+                if(!elements.isEmpty()) {
+                    doReplaceCommands(elements, toFind, toReplaceWith);
+                    return true;
+                }
             }
             // Replace on next single selection
             else {
                 Object object = getFirstSelectedObject();
                 if(matches(object, toFind)) {
-                    RenameCommandHandler.doRenameCommand((INameable)object, getReplacedString(((INameable)object).getName(), toFind, toReplaceWith));
+                    doReplaceCommands(List.of((INameable)object), toFind, toReplaceWith);
                     return true;
                 }
             }
@@ -125,8 +160,10 @@ public class TreeModelViewerFindReplaceProvider extends AbstractFindReplaceProvi
      * @return The next/previous element if found, or null
      */
     INameable findNextElement(Object startElement, String toFind) {
+        Object root = getRootInScope();
+        
         // Get *all* elements in the viewer
-        List<INameable> elements = getAllNameableElements();
+        List<INameable> elements = getSnapshot(root);
         
         if(elements.isEmpty()) {
             return null;
@@ -140,67 +177,159 @@ public class TreeModelViewerFindReplaceProvider extends AbstractFindReplaceProvi
         
         // Find starting point from startElement, if we have one
         if(startElement != null) {
-            startIndex = elements.indexOf(startElement) + increment;
+            Integer position = fSnapshotPositions.get(startElement);
+            startIndex = (position != null ? position : -1) + increment;
         }
         
-        // Iterate through all elements forwards or backwards until we find the next matching element
-        for(int i = startIndex; isForward() ? (i < elements.size()) : (i >= 0); i += increment) {
-            Object element = elements.get(i);
-            if(matches(element, toFind)) {
-                return (INameable)element;
-            }
+        // Find the first match at or after the starting index (forwards) or at or before it (backwards)
+        int[] matches = getMatches(root, toFind);
+        int i = Arrays.binarySearch(matches, startIndex);
+        if(i < 0) {
+            i = isForward() ? -i - 1 : -i - 2;
         }
         
-        return null;
+        return (i >= 0 && i < matches.length) ? elements.get(matches[i]) : null;
     }
     
     /**
-     * @param toFind The string to find a match on. If this is null, then collect all elements in the tree viewer.
+     * @param toFind The string to find a match on
      * @return All elements in the TreeViewer that match the string, in sorted and filtered order
      *          If a model is in scope use that as the starting/end point
      */
     List<INameable> getAllMatchingElements(String toFind) {
-        if(isAllModels()) {
-            return getMatchingElements(fTreeModelViewer.getInput(), toFind);
-        }
-        else {
-            return getMatchingElements(getModelInScope(), toFind);
+        Object root = getRootInScope();
+        List<INameable> elements = getSnapshot(root);
+        
+        int[] matches = getMatches(root, toFind);
+        List<INameable> list = new ArrayList<INameable>(matches.length);
+        for(int position : matches) {
+            list.add(elements.get(position));
         }
+        
+        return list;
     }
     
     /**
-     * @param element The element to start searching from.
-     * @param toFind The string to find a match on. If this is null, then collect all elements in the tree viewer.
-     * @return A list of all matching elements in the viewer model as sorted and filtered by the TreeViewer model
+     * Replace toFind in the names of the elements and, if included, in their documentation and property values.
+     * One compound command is executed on the Command Stack of each model so that each model sends one batch of notifications.
      */
-    private List<INameable> getMatchingElements(Object element, String toFind) {
-        List<INameable> list = new ArrayList<INameable>();
+    void doReplaceCommands(List<INameable> elements, String toFind, String toReplaceWith) {
+        Map<CommandStack, CompoundCommand> commandMap = new HashMap<>();
         
-        if(element != null) {
-            if(toFind == null && element instanceof INameable) { // collect all
-                list.add((INameable)element);
+        for(INameable element : elements) {
+            CommandStack stack = (CommandStack)((IAdapter)element).getAdapter(CommandStack.class);
+            if(stack == null) {
+                continue;
             }
-            else if(matches(element, toFind)) { // collect on match
-                list.add((INameable)element);
+            
+            CompoundCommand compoundCommand = commandMap.computeIfAbsent(stack,
+                    s -> new NonNotifyingCompoundCommand(Messages.TreeModelViewerFindReplaceProvider_0));
+            
+            if(RenameCommandHandler.canRename(element) && matchesSearchString(element.getName(), toFind)) {
+                addCommand(compoundCommand, new EObjectFeatureCommand(Messages.TreeModelViewerFindReplaceProvider_0 + " " + element.getName(), element, //$NON-NLS-1$
+                        IArchimatePackage.Literals.NAMEABLE__NAME, getReplacedString(element.getName(), toFind, toReplaceWith)));
             }
             
-            for(Object object : fTreeModelViewer.getSortedChildren(element)) {
-                list.addAll(getMatchingElements(object, toFind));
+            if(isIncludeDocumentation() && element instanceof IDocumentable documentable && matchesSearchString(documentable.getDocumentation(), toFind)) {
+                addCommand(compoundCommand, new EObjectFeatureCommand(Messages.TreeModelViewerFindReplaceProvider_0, documentable,
+                        IArchimatePackage.Literals.DOCUMENTABLE__DOCUMENTATION, getReplacedString(documentable.getDocumentation(), toFind, toReplaceWith)));
+            }
+            
+            if(isIncludeProperties() && element instanceof IProperties properties) {
+                for(IProperty property : properties.getProperties()) {
+                    if(matchesSearchString(property.getValue(), toFind)) {
+                        addCommand(compoundCommand, new EObjectFeatureCommand(Messages.TreeModelViewerFindReplaceProvider_0, property,
+                                IArchimatePackage.Literals.PROPERTY__VALUE, getReplacedString(property.getValue(), toFind, toReplaceWith)));
+                    }
+                }
             }
         }
         
-        return list;
+        // Execute the Commands on the CommandStack(s) - there could be more than one if more than one model open in the Tree
+        for(Entry<CommandStack, CompoundCommand> entry : commandMap.entrySet()) {
+            if(!entry.getValue().isEmpty()) {
+                entry.getKey().execute(entry.getValue().unwrap());
+            }
+        }
+    }
+    
+    /**
+     * Add a command if it changes a value. A compound command can't be executed if one of its commands can't.
+     */
+    private void addCommand(CompoundCommand compoundCommand, Command command) {
+        if(command.canExecute()) {
+            compoundCommand.add(command);
+        }
     }
     
     /**
-     * @return *all* elements in the TreeViewer of type INameable, in sorted and filtered order
+     * @return The snapshot of all elements in the TreeViewer of type INameable from root, in sorted and filtered order
      */
-    private List<INameable> getAllNameableElements() {
-        return getAllMatchingElements(null);
+    private List<INameable> getSnapshot(Object root) {
+        if(!fSnapshotValid || root != fSnapshotRoot || fSnapshotRefreshCount != fTreeModelViewer.getRefreshCount()) {
+            fSnapshot = new ArrayList<INameable>();
+            if(root != null) {
+                collectElements(root, fSnapshot);
+            }
+            
+            fSnapshotPositions = new HashMap<>(fSnapshot.size() * 4 / 3 + 1);
+            for(int i = 0; i < fSnapshot.size(); i++) {
+                fSnapshotPositions.put(fSnapshot.get(i), i);
+            }
+            
+            fSnapshotRoot = root;
+            fSnapshotRefreshCount = fTreeModelViewer.getRefreshCount();
+            fSnapshotValid = true;
+            fMatches = null;
+        }
+        
+        return fSnapshot;
+    }
+    
+    private void collectElements(Object element, List<INameable> list) {
+        if(element instanceof INameable nameable) {
+            list.add(nameable);
+        }
+        
+        for(Object object : fTreeModelViewer.getSortedChildren(element)) {
+            collectElements(object, list);
+        }
     }
     
     /**
-     * @return True if object is a matching type and toFind is found in the object's name
+     * @return The positions in the snapshot from root of the elements that match toFind, in ascending order
+     */
+    private int[] getMatches(Object root, String toFind) {
+        List<INameable> elements = getSnapshot(root);
+        
+        if(!StringUtils.isSet(toFind)) {
+            return new int[0];
+        }
+        
+        Pattern pattern = getSearchPattern(toFind);
+        int parameter = getParameter() & MATCH_PARAMETERS;
+        
+        if(fMatches == null || pattern != fMatchesPattern || parameter != fMatchesParameter) {
+            int[] matches = new int[elements.size()];
+            int count = 0;
+            
+            for(int i = 0; i < elements.size(); i++) {
+                if(matches(elements.get(i), toFind)) {
+                    matches[count++] = i;
+                }
+            }
+            
+            fMatches = Arrays.copyOf(matches, count);
+            fMatchesPattern = pattern;
+            fMatchesParameter = parameter;
+        }
+        
+        return fMatches;
+    }
+    
+    /**
+     * @return True if object is a matching type and toFind is found in the object's name,
+     *         or in its documentation or property values if these are included
      */
     private boolean matches(Object object, String toFind) {
         if(object instanceof IFolder && !isIncludeFolders()) { // folders not included
@@ -211,11 +340,27 @@ public class TreeModelViewerFindReplaceProvider extends AbstractFindReplaceProvi
             return false;
         }
         
-        return (object instanceof INameable)
-                && RenameCommandHandler.canRename(object)
-                && StringUtils.isSet(toFind)
-                && ((INameable)object).getName() != null
-                && ((INameable)object).getName().matches(getSearchStringPattern(toFind));
+        if(!(object instanceof INameable nameable) || !(object instanceof IAdapter) || !StringUtils.isSet(toFind)) {
+            return false;
+        }
+        
+        if(RenameCommandHandler.canRename(object) && matchesSearchString(nameable.getName(), toFind)) {
+            return true;
+        }
+        
+        if(isIncludeDocumentation() && object instanceof IDocumentable documentable && matchesSearchString(documentable.getDocumentation(), toFind)) {
+            return true;
+        }
+        
+        if(isIncludeProperties() && object instanceof IProperties properties) {
+            for(IProperty property : properties.getProperties()) {
+                if(matchesSearchString(property.getValue(), toFind)) {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
     }
     
     /**
@@ -232,6 +377,13 @@ public class TreeModelViewerFindReplaceProvider extends AbstractFindReplaceProvi
         return selection.toList();
     }
     
+    /**
+     * @return The root of the search, either the input of the tree for all models or the model in scope of the selected element
+     */
+    private Object getRootInScope() {
+        return isAllModels() ? fTreeModelViewer.getInput() : getModelInScope();
+    }
+    
     /**
      * @return The model in scope of the selected element
      */
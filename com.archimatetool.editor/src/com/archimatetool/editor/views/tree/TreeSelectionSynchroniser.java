@@ -6,7 +6,9 @@
 package com.archimatetool.editor.views.tree;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.gef.EditPart;
 import org.eclipse.gef.GraphicalViewer;
@@ -51,6 +53,15 @@ public class TreeSelectionSynchroniser implements ISelectionChangedListener {
     // Store last activated Editor Part in order to not trigger spurious selections
     private IDiagramModelEditor lastActiveEditor;
     
+    // Tree selection waiting to be sent to the Diagram Editors so that rapid selections are coalesced
+    private IStructuredSelection pendingTreeSelection;
+    
+    // Last Tree selection sent to the Diagram Editors
+    private IStructuredSelection lastTreeSelection;
+    
+    // Diagram Editors that were not visible when the last Tree selection was sent and are synced when shown
+    private Set<IDiagramModelEditor> editorsToSync = new HashSet<>();
+    
     private PartListenerAdapter partListenerAdapter = new PartListenerAdapter() {
         @Override
         public void partOpened(IWorkbenchPart part) {
@@ -63,6 +74,7 @@ public class TreeSelectionSynchroniser implements ISelectionChangedListener {
         public void partClosed(IWorkbenchPart part) {
             if(part instanceof IDiagramModelEditor) {
                 unregisterEditor((IDiagramModelEditor)part);
+                editorsToSync.remove(part);
             }
             
             // This is important for garbage collection!
@@ -72,8 +84,15 @@ public class TreeSelectionSynchroniser implements ISelectionChangedListener {
             }
         }
         
+        @Override
+        public void partBroughtToTop(IWorkbenchPart part) {
+            syncEditor(part);
+        }
+        
         @Override
         public void partActivated(IWorkbenchPart part) {
+            syncEditor(part);
+            
             if(part == lastActiveEditor) {
                 return;
             }
@@ -103,6 +122,9 @@ public class TreeSelectionSynchroniser implements ISelectionChangedListener {
             fTreeViewer = null;
             lastActiveEditor = null;
             lastSelectionEvent = null;
+            pendingTreeSelection = null;
+            lastTreeSelection = null;
+            editorsToSync.clear();
             partListenerAdapter = null;
         });
     }
@@ -183,16 +205,72 @@ public class TreeSelectionSynchroniser implements ISelectionChangedListener {
         }
         // Selection from Tree, so select objects in any open Archimate Diagram Editors
         else if(source instanceof TreeViewer) {
-            // Select these (or an empty selection) in the Diagram Editors
-            for(IDiagramModelEditor editor : getOpenEditors()) {
-                editor.selectObjects(((IStructuredSelection)selection).toArray());
+            // Only the last of several quick selections is sent to the Diagram Editors
+            if(pendingTreeSelection == null) {
+                fTreeViewer.getControl().getDisplay().asyncExec(this::selectInEditors);
             }
+            pendingTreeSelection = (IStructuredSelection)selection;
         }
         
         isSelecting = false;
     }
     
-    private void registerListeners() {
+    /**
+     * Select the pending Tree selection (or an empty selection) in the visible Diagram Editors.
+     * Editors that are not visible are synced when they are shown.
+     */
+    private void selectInEditors() {
+        // Disposed
+        if(fTreeViewer == null || pendingTreeSelection == null) {
+            return;
+        }
+        
+        lastTreeSelection = pendingTreeSelection;
+        pendingTreeSelection = null;
+        
+        if(!doSync()) {
+            return;
+        }
+        
+        isSelecting = true;
+        
+        try {
+            Object[] objects = lastTreeSelection.toArray();
+            
+            for(IDiagramModelEditor editor : getOpenEditors()) {
+                if(isVisible(editor)) {
+                    editor.selectObjects(objects);
+                    editorsToSync.remove(editor);
+                }
+                else {
+                    editorsToSync.add(editor);
+                }
+            }
+        }
+        finally {
+            isSelecting = false;
+        }
+    }
+    
+    /**
+     * If the part is a Diagram Editor that missed the last Tree selection when it was not visible then select it now
+     */
+    void syncEditor(IWorkbenchPart part) {
+        if(!editorsToSync.remove(part) || lastTreeSelection == null || !doSync()) {
+            return;
+        }
+        
+        isSelecting = true;
+        
+        try {
+            ((IDiagramModelEditor)part).selectObjects(lastTreeSelection.toArray());
+        }
+        finally {
+            isSelecting = false;
+        }
+    }
+    
+    void registerListeners() {
         // Part listener
         IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
         window.getPartService().addPartListener(partListenerAdapter);
@@ -206,7 +284,7 @@ public class TreeSelectionSynchroniser implements ISelectionChangedListener {
         }
     }
     
-    private void unregisterListeners() {
+    void unregisterListeners() {
         // Part listener
         IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
         window.getPartService().removePartListener(partListenerAdapter);
@@ -234,10 +312,14 @@ public class TreeSelectionSynchroniser implements ISelectionChangedListener {
         }
     }
 
-    private List<IDiagramModelEditor> getOpenEditors() {
+    List<IDiagramModelEditor> getOpenEditors() {
         List<IDiagramModelEditor> list = new ArrayList<>();
         
-        IWorkbenchPage page = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getActivePage();
+        IWorkbenchPage page = getActivePage();
+        if(page == null) {
+            return list;
+        }
+        
         for(IEditorReference ref : page.getEditorReferences()) {
             IEditorPart part = ref.getEditor(false);
             if(part instanceof IDiagramModelEditor) {
@@ -247,4 +329,14 @@ public class TreeSelectionSynchroniser implements ISelectionChangedListener {
         
         return list;
     }
+    
+    boolean isVisible(IDiagramModelEditor editor) {
+        IWorkbenchPage page = getActivePage();
+        return page != null && page.isPartVisible(editor);
+    }
+    
+    private IWorkbenchPage getActivePage() {
+        IWorkbenchWindow window = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
+        return window != null ? window.getActivePage() : null;
+    }
 }
@@ -6,10 +6,9 @@
 package com.archimatetool.editor.views.tree.commands;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -24,25 +23,19 @@ import org.eclipse.swt.widgets.TreeItem;
 
 import com.archimatetool.editor.diagram.commands.DiagramCommandFactory;
 import com.archimatetool.editor.model.DiagramModelUtils;
-import com.archimatetool.editor.model.commands.DeleteArchimateElementCommand;
-import com.archimatetool.editor.model.commands.DeleteArchimateRelationshipCommand;
+import com.archimatetool.editor.model.commands.DeleteArchimateConceptsCommand;
 import com.archimatetool.editor.model.commands.DeleteDiagramModelCommand;
 import com.archimatetool.editor.model.commands.DeleteFolderCommand;
 import com.archimatetool.editor.views.tree.TreeModelViewer;
 import com.archimatetool.model.FolderType;
 import com.archimatetool.model.IAdapter;
 import com.archimatetool.model.IArchimateConcept;
-import com.archimatetool.model.IArchimateElement;
-import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IArchimateModelObject;
-import com.archimatetool.model.IArchimateRelationship;
 import com.archimatetool.model.IDiagramModel;
 import com.archimatetool.model.IDiagramModelConnection;
 import com.archimatetool.model.IDiagramModelObject;
-import com.archimatetool.model.IDiagramModelReference;
 import com.archimatetool.model.IFolder;
 import com.archimatetool.model.IFolderContainer;
-import com.archimatetool.model.util.ArchimateModelUtils;
 
 
 
@@ -77,9 +70,6 @@ public class DeleteCommandHandler {
     // The object to select in the tree after the deletion
     private Object fObjectToSelectAfterDeletion;
     
-    // A cache for a model's diagram references as getting them is slow if there are many diagrams
-    private Map<IArchimateModel, List<IDiagramModelReference>> fDiagramModelReferenceCache;
-    
     /**
      * @param element
      * @return True if we can delete this object
@@ -163,8 +153,6 @@ public class DeleteCommandHandler {
         // Actual elements to delete
         fObjectsToDelete = new HashSet<>();
         
-        fDiagramModelReferenceCache = new HashMap<>();
-        
         // Gather the objects to delete
         getObjectsToDelete();
         
@@ -203,6 +191,8 @@ public class DeleteCommandHandler {
         /*
          * Then the other types
          */
+        Map<IFolder, List<IArchimateConcept>> conceptsToDelete = new LinkedHashMap<>();
+        
         for(Object object : fObjectsToDelete) {
             if(object instanceof IDiagramModel) { // already done
                 continue;
@@ -218,13 +208,10 @@ public class DeleteCommandHandler {
                 Command cmd = new DeleteFolderCommand((IFolder)object);
                 compoundCommand.add(cmd);
             }
-            else if(object instanceof IArchimateElement) {
-                Command cmd = new DeleteArchimateElementCommand((IArchimateElement)object);
-                compoundCommand.add(cmd);
-            }
-            else if(object instanceof IArchimateRelationship) {
-                Command cmd = new DeleteArchimateRelationshipCommand((IArchimateRelationship)object);
-                compoundCommand.add(cmd);
+            else if(object instanceof IArchimateConcept) {
+                // Gathered per parent folder and deleted in one pass
+                IFolder parent = (IFolder)((IArchimateConcept)object).eContainer();
+                conceptsToDelete.computeIfAbsent(parent, folder -> new ArrayList<>()).add((IArchimateConcept)object);
             }
             else if(object instanceof IDiagramModelObject) {
                 Command cmd = DiagramCommandFactory.createDeleteDiagramObjectCommand((IDiagramModelObject)object);
@@ -235,6 +222,18 @@ public class DeleteCommandHandler {
                 compoundCommand.add(cmd);
             }
         }
+        
+        /*
+         * Concepts are deleted with one command per parent folder rather than one command per concept.
+         * Deleting thousands of concepts one by one is quadratic and fires a notification for each one.
+         */
+        for(Entry<IFolder, List<IArchimateConcept>> entry : conceptsToDelete.entrySet()) {
+            CompoundCommand compoundCommand = getCompoundCommand(entry.getKey());
+            if(compoundCommand != null) {
+                Command cmd = new DeleteArchimateConceptsCommand(entry.getKey(), entry.getValue());
+                compoundCommand.add(cmd);
+            }
+        }
     }
     
     /**
@@ -266,30 +265,7 @@ public class DeleteCommandHandler {
     }
     
     private void getDiagramModelReferencesToDelete(IDiagramModel dm) {
-        // Iterating more than once can be slow so use a cache of diagram model references
-        List<IDiagramModelReference> refs = fDiagramModelReferenceCache.get(dm.getArchimateModel());
-        
-        // Not in the cache so create a new one
-        if(refs == null) {
-            refs = new ArrayList<>();
-            IFolder diagramsFolder = dm.getArchimateModel().getFolder(FolderType.DIAGRAMS);
-            if(diagramsFolder != null) {
-                for(Iterator<EObject> iter = diagramsFolder.eAllContents(); iter.hasNext();) {
-                    EObject eObject = iter.next();
-                    if(eObject instanceof IDiagramModelReference) {
-                        refs.add((IDiagramModelReference)eObject);
-                    }
-                }
-            }
-            fDiagramModelReferenceCache.put(dm.getArchimateModel(), refs);
-        }
-        
-        // Iterate through all refs
-        for(IDiagramModelReference ref : refs) {
-            if(ref.getReferencedModel() == dm) {
-                fObjectsToDelete.add(ref);
-            }
-        }
+        fObjectsToDelete.addAll(dm.getReferencingDiagramModelReferences());
     }
 
     /**
@@ -329,12 +305,12 @@ public class DeleteCommandHandler {
         }
         // Element/Relation
         else if(object instanceof IArchimateConcept) {
-            for(IArchimateRelationship relationship : ArchimateModelUtils.getAllRelationshipsForConcept((IArchimateConcept)object)) {
+            ((IArchimateConcept)object).forEachRelationship(relationship -> {
                 fObjectsToDelete.add(relationship);
                 
                 // Recurse
                 addElementRelationships(relationship);
-            }
+            });
         }
     }
     
@@ -16,6 +16,7 @@ import com.archimatetool.hammer.validation.issues.AdviceType;
 import com.archimatetool.hammer.validation.issues.IIssue;
 import com.archimatetool.model.IAccessRelationship;
 import com.archimatetool.model.IAggregationRelationship;
+import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateDiagramModel;
 import com.archimatetool.model.IArchimateElement;
 import com.archimatetool.model.IArchimateRelationship;
@@ -28,7 +29,6 @@ import com.archimatetool.model.IDiagramModelObject;
 import com.archimatetool.model.IJunction;
 import com.archimatetool.model.IRealizationRelationship;
 import com.archimatetool.model.ISpecializationRelationship;
-import com.archimatetool.model.util.ArchimateModelUtils;
 
 
 /**
@@ -130,13 +130,8 @@ public class NestedElementsChecker implements IChecker {
         }
         
         // Check for any nested type relationships in the model, return false if one is found
-        for(IArchimateRelationship relation : ArchimateModelUtils.getAllRelationshipsForConcept(parentElement)) {
-            if((relation.getTarget() == childElement || relation.getSource() == childElement) && isNestedTypeRelationship(relation)) {
-                return false;
-            }
-        }
-        
-        return true;
+        return !parentElement.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, null,
+                relation -> (relation.getTarget() == childElement || relation.getSource() == childElement) && isNestedTypeRelationship(relation));
     }
     
     /**
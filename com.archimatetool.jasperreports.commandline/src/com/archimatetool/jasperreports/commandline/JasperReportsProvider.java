@@ -140,6 +140,8 @@ public class JasperReportsProvider extends AbstractCommandLineProvider {
             }
         });
         
+        addOutput(folderOutput);
+        
         logMessage(Messages.JasperReportsProvider_8);
     }
     
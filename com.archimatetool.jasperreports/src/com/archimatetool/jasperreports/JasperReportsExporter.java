@@ -17,15 +17,10 @@ import java.util.ResourceBundle;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.osgi.util.NLS;
-import org.eclipse.swt.SWT;
-import org.eclipse.swt.graphics.Image;
-import org.eclipse.swt.graphics.ImageData;
-import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
 
-import com.archimatetool.editor.diagram.util.DiagramUtils;
-import com.archimatetool.editor.ui.ImageFactory;
+import com.archimatetool.editor.diagram.util.OffscreenDiagramRenderer;
 import com.archimatetool.editor.utils.FileUtils;
 import com.archimatetool.jasperreports.data.ArchimateModelDataSource;
 import com.archimatetool.model.IArchimateModel;
@@ -170,29 +165,27 @@ public class JasperReportsExporter {
         int total = diagramModels.size();
         int i = 1;
 
-        for(IDiagramModel dm : diagramModels) {
-            setProgressSubTask(NLS.bind(Messages.JasperReportsExporter_1, i++, total));
-            
-            Image image = null;
-            
-            try {
-                image = DiagramUtils.createImage(dm, 1, 10);
-                String diagramName = dm.getId() + ".png"; //$NON-NLS-1$
-                ImageLoader loader = new ImageLoader();
-                loader.data = new ImageData[] { image.getImageData(ImageFactory.getImageDeviceZoom()) };
-                File file = new File(tmpFolder, diagramName);
-                loader.save(file.getAbsolutePath(), SWT.IMAGE_PNG);
-            }
-            catch(Throwable t) {
-                throw new IOException("Error saving image for: " + dm.getName() + "\n" + //$NON-NLS-1$ //$NON-NLS-2$
-                        (t.getMessage() == null ? t.toString() : t.getMessage()), t);
-            }
-            finally {
-                if(image != null) {
-                    image.dispose();
+        // Render all of the images with one offscreen viewer
+        OffscreenDiagramRenderer renderer = new OffscreenDiagramRenderer();
+        
+        try {
+            for(IDiagramModel dm : diagramModels) {
+                setProgressSubTask(NLS.bind(Messages.JasperReportsExporter_1, i++, total));
+                
+                try {
+                    String diagramName = dm.getId() + ".png"; //$NON-NLS-1$
+                    File file = new File(tmpFolder, diagramName);
+                    renderer.createPNGImageFile(dm, 1, 10, file);
+                }
+                catch(Throwable t) {
+                    throw new IOException("Error saving image for: " + dm.getName() + "\n" + //$NON-NLS-1$ //$NON-NLS-2$
+                            (t.getMessage() == null ? t.toString() : t.getMessage()), t);
                 }
             }
         }
+        finally {
+            renderer.dispose();
+        }
     }
     
     JasperPrint createJasperPrint(File tmpFolder) throws JRException, IOException {
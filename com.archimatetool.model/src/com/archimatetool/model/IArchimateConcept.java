@@ -6,8 +6,11 @@
 package com.archimatetool.model;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.ecore.EClass;
 
 /**
  * <!-- begin-user-doc -->
@@ -21,6 +24,21 @@ import org.eclipse.emf.common.util.EList;
  */
 public interface IArchimateConcept extends IArchimateModelObject, ICloneable, IDocumentable, IProperties, IProfiles {
     
+    /**
+     * Direction flag for relationships where this concept is the source
+     */
+    int SOURCE_RELATIONSHIPS = 1;
+    
+    /**
+     * Direction flag for relationships where this concept is the target
+     */
+    int TARGET_RELATIONSHIPS = 2;
+    
+    /**
+     * Direction flag for relationships where this concept is the source or the target
+     */
+    int ALL_RELATIONSHIPS = SOURCE_RELATIONSHIPS | TARGET_RELATIONSHIPS;
+    
     /**
      * @return A list of source relationships connected to this concept - this is a live list so don't change it!
      */
@@ -35,5 +53,33 @@ public interface IArchimateConcept extends IArchimateModelObject, ICloneable, ID
      * @return A list of diagram components that reference this concept
      */
     List<? extends IDiagramModelArchimateComponent> getReferencingDiagramComponents();
+    
+    /**
+     * Perform an action on each source and target relationship connected to this concept without creating a new list.
+     * A relationship connected to this concept at both ends is only visited once.
+     * Relationships must not be connected or disconnected to this concept in the action.
+     * @param action The action to perform
+     */
+    void forEachRelationship(Consumer<? super IArchimateRelationship> action);
+    
+    /**
+     * Perform an action on each relationship connected to this concept without creating a new list.
+     * A relationship connected to this concept at both ends is only visited once.
+     * Relationships must not be connected or disconnected to this concept in the action.
+     * @param direction One of SOURCE_RELATIONSHIPS, TARGET_RELATIONSHIPS or ALL_RELATIONSHIPS
+     * @param relationshipType If not null only relationships of this type are visited
+     * @param action The action to perform
+     */
+    void forEachRelationship(int direction, EClass relationshipType, Consumer<? super IArchimateRelationship> action);
+    
+    /**
+     * Test the relationships connected to this concept without creating a new list and stop at the first match.
+     * Relationships must not be connected or disconnected to this concept in the predicate.
+     * @param direction One of SOURCE_RELATIONSHIPS, TARGET_RELATIONSHIPS or ALL_RELATIONSHIPS
+     * @param relationshipType If not null only relationships of this type are tested
+     * @param predicate The predicate to test
+     * @return true if the predicate is true for any relationship
+     */
+    boolean anyRelationship(int direction, EClass relationshipType, Predicate<? super IArchimateRelationship> predicate);
 
 } // IArchimateConcept
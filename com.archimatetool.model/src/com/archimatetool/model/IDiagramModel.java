@@ -5,6 +5,7 @@
  */
 package com.archimatetool.model;
 
+import java.util.List;
 
 /**
  * <!-- begin-user-doc -->
@@ -60,4 +61,9 @@ public interface IDiagramModel extends IArchimateModelObject, IDiagramModelConta
      */
     void setConnectionRouterType(int value);
 
+    /**
+     * @return A list of diagram model references that reference this diagram model
+     */
+    List<IDiagramModelReference> getReferencingDiagramModelReferences();
+
 } // IDiagramModel
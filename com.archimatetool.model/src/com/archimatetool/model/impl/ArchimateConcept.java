@@ -8,6 +8,8 @@ package com.archimatetool.model.impl;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.NotificationChain;
@@ -310,6 +312,61 @@ public abstract class ArchimateConcept extends EObjectImpl implements IArchimate
         }
         return targetRelationships;
     }
+    
+    @Override
+    public void forEachRelationship(Consumer<? super IArchimateRelationship> action) {
+        forEachRelationship(ALL_RELATIONSHIPS, null, action);
+    }
+    
+    @Override
+    public void forEachRelationship(int direction, EClass relationshipType, Consumer<? super IArchimateRelationship> action) {
+        // Use indexes rather than iterators so that nothing is allocated
+        if((direction & SOURCE_RELATIONSHIPS) != 0 && sourceRelationships != null) {
+            for(int i = 0; i < sourceRelationships.size(); i++) {
+                IArchimateRelationship relationship = sourceRelationships.get(i);
+                if(relationshipType == null || relationshipType.isInstance(relationship)) {
+                    action.accept(relationship);
+                }
+            }
+        }
+        
+        if((direction & TARGET_RELATIONSHIPS) != 0 && targetRelationships != null) {
+            boolean visitedSource = (direction & SOURCE_RELATIONSHIPS) != 0;
+            for(int i = 0; i < targetRelationships.size(); i++) {
+                IArchimateRelationship relationship = targetRelationships.get(i);
+                // Already visited as a source relationship
+                if(visitedSource && relationship.getSource() == this) {
+                    continue;
+                }
+                if(relationshipType == null || relationshipType.isInstance(relationship)) {
+                    action.accept(relationship);
+                }
+            }
+        }
+    }
+    
+    @Override
+    public boolean anyRelationship(int direction, EClass relationshipType, Predicate<? super IArchimateRelationship> predicate) {
+        if((direction & SOURCE_RELATIONSHIPS) != 0 && sourceRelationships != null) {
+            for(int i = 0; i < sourceRelationships.size(); i++) {
+                IArchimateRelationship relationship = sourceRelationships.get(i);
+                if((relationshipType == null || relationshipType.isInstance(relationship)) && predicate.test(relationship)) {
+                    return true;
+                }
+            }
+        }
+        
+        if((direction & TARGET_RELATIONSHIPS) != 0 && targetRelationships != null) {
+            for(int i = 0; i < targetRelationships.size(); i++) {
+                IArchimateRelationship relationship = targetRelationships.get(i);
+                if((relationshipType == null || relationshipType.isInstance(relationship)) && predicate.test(relationship)) {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
+    }
 
     /**
      * <!-- begin-user-doc -->
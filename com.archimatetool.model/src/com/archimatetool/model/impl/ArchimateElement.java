@@ -28,7 +28,8 @@ public abstract class ArchimateElement extends ArchimateConcept implements IArch
     
     /**
      * Stored references to Diagram Objects
-     * Some of these may be orphaned so this is not an accurate list of live diagram objects
+     * These are added and removed when they, or an ancestor, are added to and removed from a parent.
+     * Some of these may not be in a diagram model, or the diagram model may be deleted, so this is not an accurate list of live diagram objects
      */
     Set<IDiagramModelArchimateObject> diagramObjects = new HashSet<>();
 
@@ -53,8 +54,8 @@ public abstract class ArchimateElement extends ArchimateConcept implements IArch
     
     /*
      * It's not simply a case of returning the list of references.
-     * If an *ancestor* of a dmo is deleted, or the diagram model itself, but not the direct parent,
-     * the dmo will not be removed from the element's dmo reference list,
+     * If the diagram model itself is deleted, or the dmo has not been added to a diagram model,
+     * the dmo will still be in the element's dmo reference list,
      * so we check if there is a top model ancestor on the referenced dmo.
      * If there is a top model ancestor, it's used in a diagram model.
      */
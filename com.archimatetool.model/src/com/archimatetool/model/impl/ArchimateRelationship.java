@@ -57,7 +57,8 @@ public abstract class ArchimateRelationship extends ArchimateConcept implements
 
     /**
      * Stored references to Diagram Connections
-     * Some of these may be orphaned so this is not an accurate list of live diagram connections
+     * These are added and removed when they, or an ancestor, are added to and removed from a parent.
+     * Some of these may not be in a diagram model, or the diagram model may be deleted, so this is not an accurate list of live diagram connections
      */
     Set<IDiagramModelArchimateConnection> diagramConnections = new HashSet<>();
 
@@ -196,8 +197,8 @@ public abstract class ArchimateRelationship extends ArchimateConcept implements
 
     /*
      * It's not simply a case of returning the list of references.
-     * If an *ancestor* of a dmc is deleted, or the diagram model itself, but not the direct parent,
-     * the dmc will not be removed from the relation's dmc reference list,
+     * If the diagram model itself is deleted, or the dmc has not been added to a diagram model,
+     * the dmc will still be in the relation's dmc reference list,
      * so we check if there is a top model ancestor on the referenced dmc.
      * If there is a top model ancestor, it's used in a diagram model.
      */
@@ -6,9 +6,13 @@
  */
 package com.archimatetool.model.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.NotificationChain;
@@ -31,6 +35,7 @@ import com.archimatetool.model.IDiagramModel;
 import com.archimatetool.model.IDiagramModelComponent;
 import com.archimatetool.model.IDiagramModelContainer;
 import com.archimatetool.model.IDiagramModelObject;
+import com.archimatetool.model.IDiagramModelReference;
 import com.archimatetool.model.IDocumentable;
 import com.archimatetool.model.IFeature;
 import com.archimatetool.model.IFeatures;
@@ -62,6 +67,14 @@ import com.archimatetool.model.util.UUIDFactory;
  * @generated
  */
 public abstract class DiagramModel extends EObjectImpl implements IDiagramModel {
+    
+    /**
+     * Stored references to Diagram Model References
+     * These are added and removed when they, or an ancestor, are added to and removed from a parent.
+     * Some of these may not be in a diagram model, or the diagram model may be deleted, so this is not an accurate list of live references
+     */
+    Set<IDiagramModelReference> diagramModelReferences = new HashSet<>();
+    
     /**
      * The default value of the '{@link #getName() <em>Name</em>}' attribute.
      * <!-- begin-user-doc -->
@@ -388,6 +401,26 @@ public abstract class DiagramModel extends EObjectImpl implements IDiagramModel
         newDiagramModel.getChildren().clear(); // need to do this!
         return newDiagramModel;
     }
+    
+    /*
+     * It's not simply a case of returning the list of references.
+     * If the diagram model containing a reference is deleted, or the reference has not been added to a diagram model,
+     * the reference will still be in this diagram model's reference list,
+     * so we check if there is a top model ancestor on the reference.
+     * If there is a top model ancestor, it's used in a diagram model.
+     */
+    @Override
+    public List<IDiagramModelReference> getReferencingDiagramModelReferences() {
+        List<IDiagramModelReference> list = new ArrayList<>();
+        
+        for(IDiagramModelReference ref : diagramModelReferences) {
+            if(ref.getArchimateModel() != null) {
+                list.add(ref);
+            }
+        }
+        
+        return list;
+    }
 
     /**
      * <!-- begin-user-doc -->
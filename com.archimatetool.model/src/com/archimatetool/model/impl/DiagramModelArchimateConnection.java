@@ -5,10 +5,8 @@
  */
 package com.archimatetool.model.impl;
 
-import org.eclipse.emf.common.notify.NotificationChain;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
-import org.eclipse.emf.ecore.InternalEObject;
 
 import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimatePackage;
@@ -202,21 +200,16 @@ public class DiagramModelArchimateConnection extends DiagramModelConnection impl
     }
     
     @Override
-    public NotificationChain eInverseAdd(InternalEObject otherEnd, int featureID, Class<?> baseClass, NotificationChain msgs) {
-        // Add a reference to this in the Archimate Relationship
+    void updateReference(boolean add) {
+        // Add or remove the reference to this in the Archimate Relationship
         if(fRelationship != null) { // this will be null when a copy of this object is made
-            ((ArchimateRelationship)fRelationship).diagramConnections.add(this);
-        }
-        return super.eInverseAdd(otherEnd, featureID, baseClass, msgs);
-    }
-    
-    @Override
-    public NotificationChain eInverseRemove(InternalEObject otherEnd, int featureID, Class<?> baseClass, NotificationChain msgs) {
-        // Remove the reference to this in the Archimate Relationship
-        if(fRelationship != null) { // this may be null...possibly?
-            ((ArchimateRelationship)fRelationship).diagramConnections.remove(this);
+            if(add) {
+                ((ArchimateRelationship)fRelationship).diagramConnections.add(this);
+            }
+            else {
+                ((ArchimateRelationship)fRelationship).diagramConnections.remove(this);
+            }
         }
-        return super.eInverseRemove(otherEnd, featureID, baseClass, msgs);
     }
     
     /**
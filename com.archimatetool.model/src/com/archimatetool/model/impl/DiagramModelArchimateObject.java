@@ -300,21 +300,16 @@ public class DiagramModelArchimateObject extends DiagramModelObject implements I
     }
     
     @Override
-    public NotificationChain eInverseAdd(InternalEObject otherEnd, int featureID, Class<?> baseClass, NotificationChain msgs) {
-        // Re-Add a reference to this in the Archimate Element
+    void updateReference(boolean add) {
+        // Add or remove the reference to this in the Archimate Element
         if(fArchimateElement != null) { // this will be null when a copy of this object is made
-            ((ArchimateElement)fArchimateElement).diagramObjects.add(this);
-        }
-        return super.eInverseAdd(otherEnd, featureID, baseClass, msgs);
-    }
-    
-    @Override
-    public NotificationChain eInverseRemove(InternalEObject otherEnd, int featureID, Class<?> baseClass, NotificationChain msgs) {
-        // Remove the reference to this in the Archimate Element
-        if(fArchimateElement != null) { // this could be null...possibly?
-            ((ArchimateElement)fArchimateElement).diagramObjects.remove(this);
+            if(add) {
+                ((ArchimateElement)fArchimateElement).diagramObjects.add(this);
+            }
+            else {
+                ((ArchimateElement)fArchimateElement).diagramObjects.remove(this);
+            }
         }
-        return super.eInverseRemove(otherEnd, featureID, baseClass, msgs);
     }
     
     /**
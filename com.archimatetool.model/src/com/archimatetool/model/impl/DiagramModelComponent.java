@@ -7,6 +7,7 @@ package com.archimatetool.model.impl;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.eclipse.emf.common.notify.Notification;
@@ -245,6 +246,43 @@ public abstract class DiagramModelComponent extends EObjectImpl implements IDiag
         newObject.setId(UUIDFactory.createID(newObject)); // need a new ID
         return newObject;
     }
+    
+    @Override
+    public NotificationChain eInverseAdd(InternalEObject otherEnd, int featureID, Class<?> baseClass, NotificationChain msgs) {
+        // Add the references of this and child components
+        updateReferences(true);
+        return super.eInverseAdd(otherEnd, featureID, baseClass, msgs);
+    }
+    
+    @Override
+    public NotificationChain eInverseRemove(InternalEObject otherEnd, int featureID, Class<?> baseClass, NotificationChain msgs) {
+        // Remove the references of this and child components
+        updateReferences(false);
+        return super.eInverseRemove(otherEnd, featureID, baseClass, msgs);
+    }
+    
+    /**
+     * Add or remove the references to this component and all of its child components in the objects that they reference,
+     * such as their Archimate concepts or referenced Diagram Models.
+     * Only the component that is added to or removed from its parent is notified by EMF so its children are done here.
+     * This means that the child components of a deleted component are not orphaned in the referenced objects,
+     * and are referenced again when the deletion is undone.
+     */
+    private void updateReferences(boolean add) {
+        updateReference(add);
+        
+        for(Iterator<EObject> iter = eAllContents(); iter.hasNext();) {
+            if(iter.next() instanceof DiagramModelComponent dmc) {
+                dmc.updateReference(add);
+            }
+        }
+    }
+    
+    /**
+     * Add or remove the reference to this component in the object that it references if it has one
+     */
+    void updateReference(boolean add) {
+    }
 
     /**
      * <!-- begin-user-doc -->
@@ -198,16 +198,39 @@ public class DiagramModelReference extends DiagramModelObject implements IDiagra
     /**
      * <!-- begin-user-doc -->
      * <!-- end-user-doc -->
-     * @generated
+     * @generated NOT
      */
     @Override
     public void setReferencedModel(IDiagramModel newReferencedModel) {
         IDiagramModel oldReferencedModel = referencedModel;
+        
+        // If we already have a diagram model we *must* remove it from the referenced list first
+        if(oldReferencedModel instanceof DiagramModel dm) {
+            dm.diagramModelReferences.remove(this);
+        }
+        
+        if(newReferencedModel instanceof DiagramModel dm) {
+            dm.diagramModelReferences.add(this);
+        }
+        
         referencedModel = newReferencedModel;
         if (eNotificationRequired())
             eNotify(new ENotificationImpl(this, Notification.SET, IArchimatePackage.DIAGRAM_MODEL_REFERENCE__REFERENCED_MODEL, oldReferencedModel, referencedModel));
     }
 
+    @Override
+    void updateReference(boolean add) {
+        // Add or remove the reference to this in the Diagram Model
+        if(referencedModel instanceof DiagramModel dm) {
+            if(add) {
+                dm.diagramModelReferences.add(this);
+            }
+            else {
+                dm.diagramModelReferences.remove(this);
+            }
+        }
+    }
+
     @Override
     public String getName() {
         if(getReferencedModel() != null) {
@@ -9,11 +9,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -48,10 +46,8 @@ public class ArchimateModelUtils {
         // If the source concept is a Junction check for valid relationships
         if(sourceConcept instanceof IJunction) {
             // Has to be the same type of relationship
-            for(IArchimateRelationship rel : getAllRelationshipsForConcept(sourceConcept)) {
-                if(!rel.eClass().equals(relationshipType)) {
-                    return false;
-                }
+            if(sourceConcept.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, null, rel -> rel.eClass() != relationshipType)) {
+                return false;
             }
         }
         
@@ -79,10 +75,8 @@ public class ArchimateModelUtils {
                 }
             }
             // Has to be the same type of relationship
-            for(IArchimateRelationship rel : getAllRelationshipsForConcept(sourceConcept)) {
-                if(!rel.eClass().equals(relationshipType)) {
-                    return false;
-                }
+            if(sourceConcept.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, null, rel -> rel.eClass() != relationshipType)) {
+                return false;
             }
         }
         
@@ -95,10 +89,8 @@ public class ArchimateModelUtils {
                 }
             }
             // Has to be the same type of relationship
-            for(IArchimateRelationship rel : getAllRelationshipsForConcept(targetConcept)) {
-                if(!rel.eClass().equals(relationshipType)) {
-                    return false;
-                }
+            if(targetConcept.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, null, rel -> rel.eClass() != relationshipType)) {
+                return false;
             }
         }
         
@@ -161,13 +153,13 @@ public class ArchimateModelUtils {
      */
     public static boolean hasDirectRelationship(IArchimateConcept concept1, IArchimateConcept concept2) {
         if(concept1 instanceof IArchimateRelationship) {
-            if(getAllRelationshipsForConcept(concept2).contains(concept1)) {
+            if(concept2.getSourceRelationships().contains(concept1) || concept2.getTargetRelationships().contains(concept1)) {
                 return true;
             }
         }
         
         if(concept2 instanceof IArchimateRelationship) {
-            if(getAllRelationshipsForConcept(concept1).contains(concept2)) {
+            if(concept1.getSourceRelationships().contains(concept2) || concept1.getTargetRelationships().contains(concept2)) {
                 return true;
             }
         }
@@ -177,13 +169,13 @@ public class ArchimateModelUtils {
     
     /**
      * @param concept The Archimate concept to get relationships for
-     * @return A list of all relationships that a concept has, both as target and as source
+     * @return A new list of all relationships that a concept has, both as target and as source.
+     *         To visit the relationships without creating a new list use {@link IArchimateConcept#forEachRelationship(java.util.function.Consumer)}
      */
     public static List<IArchimateRelationship> getAllRelationshipsForConcept(IArchimateConcept concept) {
-        Set<IArchimateRelationship> set = new HashSet<IArchimateRelationship>();
-        set.addAll(concept.getSourceRelationships());
-        set.addAll(concept.getTargetRelationships());
-        return new ArrayList<>(set);
+        List<IArchimateRelationship> list = new ArrayList<>(concept.getSourceRelationships().size() + concept.getTargetRelationships().size());
+        concept.forEachRelationship(list::add);
+        return list;
     }
     
     /**
@@ -5,18 +5,28 @@
  */
 package com.archimatetool.model.util;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EClassifier;
 import org.jdom2.Document;
 import org.jdom2.Element;
 import org.jdom2.input.SAXBuilder;
@@ -27,6 +37,12 @@ import com.archimatetool.model.IArchimatePackage;
 
 /**
  * Representation of the ArchiMate Relationships Matrix
+ * <p>
+ * The matrix is loaded from a compact binary file generated from the XML files, or from the XML files if the binary file
+ * can't be loaded. Queries use a dense table of relationship bit masks indexed by the source and target EClass classifier IDs
+ * so that they don't allocate and don't need any map or set lookups.
+ * <p>
+ * If relationships.xml or relationships-keys.xml are changed, run {@link #main(String[])} to generate the binary file.
  * 
  * @author Phillip Beauvoir
  */
@@ -52,6 +68,22 @@ public class RelationshipsMatrix {
      */
     static final String RELATIONSHIPS_FILE = "model/relationships.xml"; //$NON-NLS-1$
     
+    /**
+     * The binary file generated from the XML files
+     */
+    static final String RELATIONSHIPS_BINARY_FILE = "model/relationships.bin"; //$NON-NLS-1$
+    
+    /*
+     * Binary file header
+     */
+    static final int BINARY_MAGIC = 0x41524D58; // "ARMX"
+    static final int BINARY_VERSION = 1;
+    
+    /**
+     * Name used in the XML and binary files for the "Relationship" generic super type
+     */
+    static final String GENERIC_RELATIONSHIP_NAME = "Relationship"; //$NON-NLS-1$
+    
     /*
      * XML element and attribute names
      */
@@ -81,7 +113,7 @@ public class RelationshipsMatrix {
     /**
      * Mapping of source concepts to target concepts and possible relations
      */
-    private Map<EClass, List<TargetMatrix>> matrixMap = new HashMap<EClass, List<TargetMatrix>>();
+    private Map<EClass, List<TargetMatrix>> matrixMap = new LinkedHashMap<EClass, List<TargetMatrix>>();
     
     /**
      * Mapping of key letters to relationships
@@ -93,12 +125,61 @@ public class RelationshipsMatrix {
      */
     private Map<EClass, Character> relationsValueMap = new LinkedHashMap<EClass, Character>();
 
+    /**
+     * Number of EClassifiers in the package, the table is size * size
+     */
+    private int size;
+    
+    /**
+     * Table of relationship bit masks indexed by [source classifier ID * size + target classifier ID]
+     */
+    private int[] table;
+    
+    /**
+     * All relationship bits for each source classifier ID, used by isValidRelationshipStart()
+     */
+    private int[] startMasks;
+    
+    /**
+     * The relationship bit for each relationship classifier ID, or 0
+     */
+    private int[] relationshipBits;
+    
+    /**
+     * The table index for each classifier ID. Relationships use the generic "Relationship" super type.
+     */
+    private int[] tableIndex;
+
     private RelationshipsMatrix() {
-        // Load Key letters file
-        loadKeyLetters();
+        // Load the binary file, else the XML files
+        if(!loadBinary(Platform.getBundle(BUNDLE_ID).getEntry(RELATIONSHIPS_BINARY_FILE))) {
+            loadXML(Platform.getBundle(BUNDLE_ID).getEntry(RELATIONSHIPS_KEYS_FILE), Platform.getBundle(BUNDLE_ID).getEntry(RELATIONSHIPS_FILE));
+        }
         
-        // Load Relationships file
-        loadRelationships();
+        createTable();
+    }
+    
+    /**
+     * Load from the given XML files. Used to generate the binary file.
+     */
+    RelationshipsMatrix(URL keysFile, URL relationshipsFile) {
+        loadXML(keysFile, relationshipsFile);
+        createTable();
+    }
+    
+    /**
+     * Generate the binary file from the XML files.
+     * @param args The path to the "model" folder of this bundle
+     */
+    public static void main(String[] args) throws IOException {
+        File modelFolder = new File(args[0]);
+        
+        RelationshipsMatrix matrix = new RelationshipsMatrix(new File(modelFolder, new File(RELATIONSHIPS_KEYS_FILE).getName()).toURI().toURL(),
+                new File(modelFolder, new File(RELATIONSHIPS_FILE).getName()).toURI().toURL());
+        
+        try(OutputStream out = new FileOutputStream(new File(modelFolder, new File(RELATIONSHIPS_BINARY_FILE).getName()))) {
+            matrix.writeBinary(out);
+        }
     }
     
     public Map<EClass, List<TargetMatrix>> getRelationshipsMatrix() {
@@ -110,59 +191,246 @@ public class RelationshipsMatrix {
     }
 
     boolean isValidRelationshipStart(EClass sourceType, EClass relationshipType) {
-        // Use "Relationship" as a generic super type
-        if(IArchimatePackage.eINSTANCE.getArchimateRelationship().isSuperTypeOf(sourceType)) {
-            sourceType = IArchimatePackage.eINSTANCE.getArchimateRelationship();
+        int sourceIndex = getTableIndex(sourceType);
+        return sourceIndex != -1 && (startMasks[sourceIndex] & getRelationshipBit(relationshipType)) != 0;
+    }
+    
+    boolean isValidRelationship(EClass sourceType, EClass targetType, EClass relationshipType) {
+        int relationshipBit = getRelationshipBit(relationshipType);
+        if(relationshipBit == 0) {
+            return false;
         }
         
-        List<TargetMatrix> listMatrix = matrixMap.get(sourceType);
-        if(listMatrix != null) {
-            for(TargetMatrix targetMatrix : listMatrix) {
-                if(targetMatrix.getRelationships().contains(relationshipType)) {
-                    return true;
-                }
+        int sourceIndex = getTableIndex(sourceType);
+        int targetIndex = getTableIndex(targetType);
+        
+        return sourceIndex != -1 && targetIndex != -1 && (table[sourceIndex * size + targetIndex] & relationshipBit) != 0;
+    }
+    
+    /**
+     * @return The table index of eClass or -1 if it's not in the package
+     */
+    private int getTableIndex(EClass eClass) {
+        if(eClass == null || eClass.getEPackage() != IArchimatePackage.eINSTANCE) {
+            return -1;
+        }
+        return tableIndex[eClass.getClassifierID()];
+    }
+    
+    /**
+     * @return The bit for the relationship or 0 if it's not a relationship in the matrix
+     */
+    private int getRelationshipBit(EClass relationshipType) {
+        if(relationshipType == null || relationshipType.getEPackage() != IArchimatePackage.eINSTANCE) {
+            return 0;
+        }
+        return relationshipBits[relationshipType.getClassifierID()];
+    }
+    
+    /**
+     * Create the dense table from the loaded matrix
+     */
+    private void createTable() {
+        List<EClassifier> eClassifiers = IArchimatePackage.eINSTANCE.getEClassifiers();
+        size = eClassifiers.size();
+        
+        table = new int[size * size];
+        startMasks = new int[size];
+        relationshipBits = new int[size];
+        tableIndex = new int[size];
+        
+        EClass genericRelationship = IArchimatePackage.eINSTANCE.getArchimateRelationship();
+        
+        for(EClassifier eClassifier : eClassifiers) {
+            int id = eClassifier.getClassifierID();
+            
+            // Use "Relationship" as a generic super type
+            if(eClassifier instanceof EClass && genericRelationship.isSuperTypeOf((EClass)eClassifier)) {
+                tableIndex[id] = genericRelationship.getClassifierID();
             }
+            else {
+                tableIndex[id] = id;
+            }
+        }
+        
+        // One bit for each relationship in key order
+        int bit = 1;
+        for(EClass relationship : relationsValueMap.keySet()) {
+            relationshipBits[relationship.getClassifierID()] = bit;
+            bit <<= 1;
         }
         
-        return false;
+        for(Entry<EClass, List<TargetMatrix>> entry : matrixMap.entrySet()) {
+            int sourceIndex = entry.getKey().getClassifierID();
+            
+            for(TargetMatrix targetMatrix : entry.getValue()) {
+                int mask = getRelationshipsMask(targetMatrix.getRelationships());
+                table[sourceIndex * size + targetMatrix.getTargetClass().getClassifierID()] |= mask;
+                startMasks[sourceIndex] |= mask;
+            }
+        }
     }
     
-    boolean isValidRelationship(EClass sourceType, EClass targetType, EClass relationshipType) {
-        if(relationshipType == null) {
-            return false;
+    private int getRelationshipsMask(Set<EClass> relationships) {
+        int mask = 0;
+        for(EClass relationship : relationships) {
+            mask |= relationshipBits[relationship.getClassifierID()];
         }
+        return mask;
+    }
+    
+    /**
+     * Write the binary form of the matrix
+     */
+    void writeBinary(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
         
-        // relationshipType has to be a Relationship class
-        if(!IArchimatePackage.eINSTANCE.getArchimateRelationship().isSuperTypeOf(relationshipType)) {
-            return false;
+        out.writeInt(BINARY_MAGIC);
+        out.writeInt(BINARY_VERSION);
+        
+        // Key letters
+        out.writeInt(relationsValueMap.size());
+        for(Entry<EClass, Character> entry : relationsValueMap.entrySet()) {
+            out.writeChar(entry.getValue());
+            out.writeUTF(entry.getKey().getName());
         }
         
-        // Use "Relationship" as a generic super type
-        if(IArchimatePackage.eINSTANCE.getArchimateRelationship().isSuperTypeOf(sourceType)) {
-            sourceType = IArchimatePackage.eINSTANCE.getArchimateRelationship();
+        // Concept names in order of first use
+        Map<EClass, Integer> concepts = new LinkedHashMap<>();
+        for(Entry<EClass, List<TargetMatrix>> entry : matrixMap.entrySet()) {
+            concepts.putIfAbsent(entry.getKey(), concepts.size());
+            for(TargetMatrix targetMatrix : entry.getValue()) {
+                concepts.putIfAbsent(targetMatrix.getTargetClass(), concepts.size());
+            }
         }
         
-        // Use "Relationship" as a generic super type
-        if(IArchimatePackage.eINSTANCE.getArchimateRelationship().isSuperTypeOf(targetType)) {
-            targetType = IArchimatePackage.eINSTANCE.getArchimateRelationship();
+        out.writeInt(concepts.size());
+        for(EClass eClass : concepts.keySet()) {
+            out.writeUTF(getName(eClass));
+        }
+        
+        // Sources and targets as indexes of the concept names with a bit mask of the relationships in key order
+        out.writeInt(matrixMap.size());
+        for(Entry<EClass, List<TargetMatrix>> entry : matrixMap.entrySet()) {
+            out.writeShort(concepts.get(entry.getKey()));
+            out.writeShort(entry.getValue().size());
+            for(TargetMatrix targetMatrix : entry.getValue()) {
+                out.writeShort(concepts.get(targetMatrix.getTargetClass()));
+                out.writeInt(getRelationshipsMask(targetMatrix.getRelationships()));
+            }
         }
         
-        List<TargetMatrix> listMatrix = matrixMap.get(sourceType);
-        if(listMatrix != null) {
-            for(TargetMatrix targetMatrix : listMatrix) {
-                if(targetMatrix.getTargetClass() == targetType && targetMatrix.getRelationships().contains(relationshipType)) {
-                    return true;
+        out.flush();
+    }
+    
+    /**
+     * Load the binary form of the matrix
+     * @return true if loaded
+     */
+    private boolean loadBinary(URL url) {
+        if(url == null) {
+            return false;
+        }
+        
+        try(InputStream is = url.openStream()) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(is));
+            
+            if(in.readInt() != BINARY_MAGIC || in.readInt() != BINARY_VERSION) {
+                throw new IOException("Wrong binary file format"); //$NON-NLS-1$
+            }
+            
+            // Key letters
+            List<EClass> relationships = new ArrayList<>();
+            int keyCount = in.readInt();
+            if(keyCount > Integer.SIZE) {
+                throw new IOException("Too many relationships: " + keyCount); //$NON-NLS-1$
+            }
+            
+            for(int i = 0; i < keyCount; i++) {
+                char keyLetter = in.readChar();
+                EClass relationship = getEClass(in.readUTF());
+                relationsKeyMap.put(keyLetter, relationship);
+                relationsValueMap.put(relationship, keyLetter);
+                relationships.add(relationship);
+            }
+            
+            // Concept names
+            int conceptCount = in.readInt();
+            EClass[] concepts = new EClass[conceptCount];
+            for(int i = 0; i < conceptCount; i++) {
+                concepts[i] = getEClass(in.readUTF());
+            }
+            
+            // Sources and targets
+            int sourceCount = in.readInt();
+            for(int i = 0; i < sourceCount; i++) {
+                EClass source = concepts[in.readUnsignedShort()];
+                List<TargetMatrix> matrixList = new ArrayList<TargetMatrix>();
+                matrixMap.put(source, matrixList);
+                
+                int targetCount = in.readUnsignedShort();
+                for(int j = 0; j < targetCount; j++) {
+                    TargetMatrix matrix = new TargetMatrix();
+                    matrix.targetClass = concepts[in.readUnsignedShort()];
+                    matrixList.add(matrix);
+                    
+                    int mask = in.readInt();
+                    for(int k = 0; k < relationships.size(); k++) {
+                        if((mask & (1 << k)) != 0) {
+                            matrix.getRelationships().add(relationships.get(k));
+                        }
+                    }
                 }
             }
+            
+            return true;
+        }
+        catch(IOException | IndexOutOfBoundsException ex) {
+            ex.printStackTrace();
+            relationsKeyMap.clear();
+            relationsValueMap.clear();
+            matrixMap.clear();
+            return false;
+        }
+    }
+    
+    private EClass getEClass(String name) throws IOException {
+        EClass eClass = getEClassFromName(name);
+        if(eClass == null) {
+            throw new IOException("Couldn't find " + name); //$NON-NLS-1$
+        }
+        return eClass;
+    }
+    
+    /**
+     * @return The EClass from the name used in the XML and binary files, or null
+     */
+    private EClass getEClassFromName(String name) {
+        // Use "Relationship" as a generic super type
+        if(GENERIC_RELATIONSHIP_NAME.equals(name)) {
+            return IArchimatePackage.eINSTANCE.getArchimateRelationship();
         }
         
-        return false;
+        EClassifier eClassifier = IArchimatePackage.eINSTANCE.getEClassifier(name);
+        return eClassifier instanceof EClass ? (EClass)eClassifier : null;
     }
     
-    private void loadKeyLetters() {
-        //URL url = Platform.getBundle(BUNDLE_ID).getResource(RELATIONSHIPS_KEYS_FILE);
-        URL url = Platform.getBundle(BUNDLE_ID).getEntry(RELATIONSHIPS_KEYS_FILE);
-
+    /**
+     * @return The name used in the XML and binary files for the EClass
+     */
+    private String getName(EClass eClass) {
+        return eClass == IArchimatePackage.eINSTANCE.getArchimateRelationship() ? GENERIC_RELATIONSHIP_NAME : eClass.getName();
+    }
+    
+    private void loadXML(URL keysFile, URL relationshipsFile) {
+        // Load Key letters file
+        loadKeyLetters(keysFile);
+        
+        // Load Relationships file
+        loadRelationships(relationshipsFile);
+    }
+    
+    private void loadKeyLetters(URL url) {
         // Load the JDOM Document from XML
         Document doc = null;
         try {
@@ -199,10 +467,7 @@ public class RelationshipsMatrix {
         }
     }
 
-    private void loadRelationships() {
-        //URL url = Platform.getBundle(BUNDLE_ID).getResource(RELATIONSHIPS_FILE);
-        URL url = Platform.getBundle(BUNDLE_ID).getEntry(RELATIONSHIPS_FILE);
-        
+    private void loadRelationships(URL url) {
         // Load the JDOM Document from XML
         Document doc = null;
         try {
@@ -224,16 +489,7 @@ public class RelationshipsMatrix {
             }
             
             // Get EClass source from mapping
-            EClass source = null;
-            
-            // Use "Relationship" as a generic super type
-            if(sourceName.equals("Relationship")) { //$NON-NLS-1$
-                source = IArchimatePackage.eINSTANCE.getArchimateRelationship();
-            }
-            // Else use given class
-            else {
-                source = (EClass)IArchimatePackage.eINSTANCE.getEClassifier(sourceName);
-            }
+            EClass source = getEClassFromName(sourceName);
             
             if(source == null) {
                 System.err.println(getClass() + ": Couldn't find source " + sourceName); //$NON-NLS-1$
@@ -256,18 +512,8 @@ public class RelationshipsMatrix {
                     continue;
                 }
                 
-                EClass target = null;
-                
                 // Get EClass target from mapping
-
-                // Use "Relationship" as a generic super type
-                if(targetName.equals("Relationship")) { //$NON-NLS-1$
-                    target = IArchimatePackage.eINSTANCE.getArchimateRelationship();
-                }
-                // Else use given class
-                else {
-                    target = (EClass)IArchimatePackage.eINSTANCE.getEClassifier(targetName);
-                }
+                EClass target = getEClassFromName(targetName);
                 
                 if(target == null) {
                     System.err.println(getClass() + ": Couldn't find target " + targetName); //$NON-NLS-1$
@@ -116,6 +116,11 @@ public class ImportModelProvider extends AbstractCommandLineProvider {
         return PRIORITY_IMPORT;
     }
     
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+    
     @Override
     protected String getLogPrefix() {
         return PREFIX;
@@ -60,6 +60,10 @@ abstract class AbstractImporter {
         importer.updateObject(source, target);
     }
     
+    protected boolean isUnchanged(IArchimateModelObject importedObject) {
+        return importer.isUnchanged(importedObject);
+    }
+    
     protected IArchimateModel getImportedModel() {
         return importer.getImportedModel();
     }
@@ -33,6 +33,7 @@ class ConceptImporter extends AbstractImporter {
     
     IArchimateConcept importConcept(IArchimateConcept importedConcept) throws ImportException {
         boolean createdNewConcept = false;
+        boolean updateConcept = false;
         
         // Do we have this concept given its ID?
         IArchimateConcept targetConcept = findObjectInTargetModel(importedConcept);
@@ -44,8 +45,14 @@ class ConceptImporter extends AbstractImporter {
             logMessage(StatusMessageLevel.INFO, (targetConcept instanceof IArchimateElement)
                     ? Messages.ConceptImporter_0 : Messages.ConceptImporter_1, targetConcept);
         }
+        // Nothing to update if it is unchanged
+        else if(shouldUpdate() && isUnchanged(importedConcept)) {
+            logMessage(StatusMessageLevel.INFO, (targetConcept instanceof IArchimateElement)
+                    ? Messages.ConceptImporter_6 : Messages.ConceptImporter_7, targetConcept);
+        }
         else if(shouldUpdate()) {
             updateObject(importedConcept, targetConcept);
+            updateConcept = true;
             logMessage(StatusMessageLevel.INFO, (targetConcept instanceof IArchimateElement)
                     ? Messages.ConceptImporter_2 : Messages.ConceptImporter_3, targetConcept);
         }
@@ -54,7 +61,7 @@ class ConceptImporter extends AbstractImporter {
                     ? Messages.ConceptImporter_4 : Messages.ConceptImporter_5, targetConcept);
         }
         
-        if(shouldUpdate() || createdNewConcept) {
+        if(updateConcept || createdNewConcept) {
             // Relationship ends
             if(importedConcept instanceof IArchimateRelationship) {
                 setRelationshipEnds((IArchimateRelationship)importedConcept, (IArchimateRelationship)targetConcept);
@@ -0,0 +1,250 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.modelimporter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.emf.ecore.EObject;
+
+import com.archimatetool.model.FolderType;
+import com.archimatetool.model.IArchimateConcept;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IArchimateModelObject;
+import com.archimatetool.model.IDiagramModel;
+import com.archimatetool.model.IFolder;
+import com.archimatetool.model.IProfile;
+
+
+/**
+ * The read-only part of an import that is done before any Commands are created.<br/>
+ * <br/>
+ * It lists the folders, concepts, views and profiles of the imported model in the order that they are imported
+ * and, if target objects are updated, compares each one with its target object to find the ones that are unchanged.
+ * The contents of an unchanged sub-folder are left out of the list.<br/>
+ * <br/>
+ * Neither model is changed so this can run in a background thread while the models are not edited.
+ * The objects are compared in parallel if the default object matcher is used.
+ *
+ * @author Phillip Beauvoir
+ */
+class ImportPreparation {
+
+    // How often to report progress when comparing objects
+    private static final int PROGRESS_INTERVAL = 100;
+
+    private ModelImporter importer;
+    private IArchimateModel importedModel;
+    private IArchimateModel targetModel;
+    private boolean update;
+    private boolean updateFolderStructure;
+
+    // Whether the target model has all of its top level folders
+    private boolean hasDefaultFolders = true;
+
+    // Folders, concepts, views and profiles to import in the order of the imported model
+    private List<EObject> workList;
+
+    // Imported objects that are the same as their target objects
+    private Set<EObject> unchangedObjects = ConcurrentHashMap.newKeySet();
+
+    ImportPreparation(ModelImporter importer) {
+        this.importer = importer;
+        importedModel = importer.getImportedModel();
+        targetModel = importer.getTargetModel();
+        update = importer.shouldUpdate();
+        updateFolderStructure = importer.shouldUpdateFolderStructure();
+
+        for(FolderType type : FolderType.values()) {
+            if(type != FolderType.USER && targetModel.getFolder(type) == null) {
+                hasDefaultFolders = false;
+            }
+        }
+    }
+
+    /**
+     * @return true if this preparation is for these models and the importer's current options
+     */
+    boolean isPreparedFor(IArchimateModel importedModel, IArchimateModel targetModel) {
+        return this.importedModel == importedModel && this.targetModel == targetModel && workList != null
+                && update == importer.shouldUpdate() && updateFolderStructure == importer.shouldUpdateFolderStructure();
+    }
+
+    void run(IProgressMonitor monitor, boolean parallel) {
+        List<EObject> objects = getImportedObjects();
+
+        monitor.beginTask(Messages.ModelImporter_9, update ? objects.size() : IProgressMonitor.UNKNOWN);
+
+        if(update) {
+            findUnchangedObjects(objects, monitor, parallel);
+        }
+
+        workList = new ArrayList<>();
+
+        for(EObject eObject : objects) {
+            if(!isInUnchangedSubFolder(eObject)) {
+                workList.add(eObject);
+            }
+        }
+
+        monitor.done();
+    }
+
+    /**
+     * @return The folders, concepts, views and profiles to import in the order of the imported model
+     */
+    List<EObject> getWorkList() {
+        return workList;
+    }
+
+    /**
+     * @return true if the imported object is the same as its target object
+     */
+    boolean isUnchanged(EObject importedObject) {
+        return unchangedObjects.contains(importedObject);
+    }
+
+    /**
+     * @return The folders, concepts, views and profiles of the imported model in the same order as eAllContents()
+     */
+    private List<EObject> getImportedObjects() {
+        List<EObject> objects = new ArrayList<>();
+
+        for(Iterator<EObject> iter = importedModel.eAllContents(); iter.hasNext();) {
+            EObject eObject = iter.next();
+
+            if(eObject instanceof IFolder || eObject instanceof IArchimateConcept || eObject instanceof IProfile) {
+                objects.add(eObject);
+            }
+            else if(eObject instanceof IDiagramModel) {
+                objects.add(eObject);
+                iter.prune(); // The View's components are imported with the View
+            }
+        }
+
+        return objects;
+    }
+
+    private void findUnchangedObjects(List<EObject> objects, IProgressMonitor monitor, boolean parallel) {
+        ObjectFingerprinter importedFingerprinter = new ObjectFingerprinter(importedModel);
+        ObjectFingerprinter targetFingerprinter = new ObjectFingerprinter(targetModel);
+        AtomicInteger count = new AtomicInteger();
+
+        Stream<EObject> stream = parallel ? objects.parallelStream() : objects.stream();
+
+        stream.forEach(eObject -> {
+            if(monitor.isCanceled()) {
+                throw new OperationCanceledException();
+            }
+
+            if(isUnchanged((IArchimateModelObject)eObject, importedFingerprinter, targetFingerprinter)) {
+                unchangedObjects.add(eObject);
+            }
+
+            if(count.incrementAndGet() % PROGRESS_INTERVAL == 0) {
+                synchronized(monitor) {
+                    monitor.worked(PROGRESS_INTERVAL);
+                }
+            }
+        });
+
+        importedFingerprinter.dispose();
+        targetFingerprinter.dispose();
+    }
+
+    /**
+     * @return true if the target object is in the matching parent folder and its content is the same as the imported object's content
+     *         so that it does not need to be updated. The content includes attributes, properties, features, profiles and contained objects.
+     */
+    private boolean isUnchanged(IArchimateModelObject importedObject, ObjectFingerprinter importedFingerprinter, ObjectFingerprinter targetFingerprinter) {
+        // Top level folders are always imported
+        if(importedObject instanceof IFolder && ((IFolder)importedObject).getType() != FolderType.USER) {
+            return false;
+        }
+
+        try {
+            IArchimateModelObject targetObject = importer.findObjectInTargetModel(importedObject);
+
+            return targetObject != null && isInParentFolder(importedObject, targetObject)
+                    && Arrays.equals(importedFingerprinter.getFingerprint(importedObject), targetFingerprinter.getFingerprint(targetObject));
+        }
+        // The import will report this when the object is imported
+        catch(ImportException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * @return true if the target object is in the folder that it would be added to when updated
+     */
+    private boolean isInParentFolder(IArchimateModelObject importedObject, IArchimateModelObject targetObject) throws ImportException {
+        EObject targetParent = targetObject.eContainer();
+
+        // A new object that has not been added yet
+        if(targetParent == null) {
+            return false;
+        }
+
+        // Profiles are not in a folder
+        if(!(importedObject.eContainer() instanceof IFolder)) {
+            return true;
+        }
+
+        // Concepts and Views keep their parent folder if the folder structure is not updated
+        if(!(importedObject instanceof IFolder) && !updateFolderStructure) {
+            return true;
+        }
+
+        IFolder importedParentFolder = (IFolder)importedObject.eContainer();
+
+        if(importedParentFolder.getType() == FolderType.USER) {
+            return targetParent == importer.findObjectInTargetModel(importedParentFolder);
+        }
+
+        if(importedObject instanceof IFolder) {
+            return targetParent == targetModel.getFolder(importedParentFolder.getType());
+        }
+
+        // getDefaultFolderForObject() adds missing top level folders to the model so leave that to the import
+        if(!hasDefaultFolders) {
+            return false;
+        }
+
+        return targetParent == targetModel.getDefaultFolderForObject(targetObject);
+    }
+
+    /**
+     * @return true if the object is in an unchanged sub-folder so it is skipped with the sub-folder
+     */
+    private boolean isInUnchangedSubFolder(EObject eObject) {
+        for(EObject parent = eObject.eContainer(); parent instanceof IFolder; parent = parent.eContainer()) {
+            if(unchangedObjects.contains(parent)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Release objects for GC
+     */
+    void dispose() {
+        importer = null;
+        importedModel = null;
+        targetModel = null;
+        workList = null;
+        unchangedObjects = null;
+    }
+}
@@ -7,8 +7,10 @@ package com.archimatetool.modelimporter;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
 
 import org.eclipse.jface.dialogs.IDialogConstants;
+import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.window.Window;
 import org.eclipse.jface.wizard.WizardDialog;
 import org.eclipse.swt.custom.BusyIndicator;
@@ -60,11 +62,33 @@ public class ImportProvider implements ISelectedModelImporter {
             importer.setUpdate(wizard.shouldUpdate());
             importer.setUpdateAll(wizard.shouldUpdateAll());
             
+            // Load the model and compare it with the target model in a background thread
+            IArchimateModel[] importedModel = new IArchimateModel[1];
+            
+            try {
+                new ProgressMonitorDialog(PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell()).run(true, true, monitor -> {
+                    try {
+                        importedModel[0] = importer.prepare(importedFile, targetModel, monitor);
+                    }
+                    catch(IOException ex) {
+                        throw new InvocationTargetException(ex);
+                    }
+                });
+            }
+            catch(InvocationTargetException ex) {
+                throw new IOException(ex.getCause());
+            }
+            // Cancelled
+            catch(InterruptedException ex) {
+                return;
+            }
+            
             Exception[] ex = new Exception[1];
 
+            // Create and run the Commands
             BusyIndicator.showWhile(Display.getCurrent(), () -> {
                 try {
-                    importer.doImport(importedFile, targetModel);
+                    importer.doImport(importedModel[0], targetModel);
                 }
                 catch(Exception ex1) {
                     ex[0] = ex1;
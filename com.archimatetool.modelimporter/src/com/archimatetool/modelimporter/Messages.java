@@ -18,6 +18,10 @@ public class Messages extends NLS {
 
     public static String ConceptImporter_5;
 
+    public static String ConceptImporter_6;
+
+    public static String ConceptImporter_7;
+
     public static String FolderImporter_0;
 
     public static String FolderImporter_1;
@@ -60,12 +64,20 @@ public class Messages extends NLS {
 
     public static String ModelImporter_6;
 
+    public static String ModelImporter_7;
+
+    public static String ModelImporter_8;
+
+    public static String ModelImporter_9;
+
     public static String ProfileImporter_0;
 
     public static String ProfileImporter_1;
 
     public static String ProfileImporter_2;
 
+    public static String ProfileImporter_3;
+
     public static String StatusDialog_0;
 
     public static String StatusDialog_1;
@@ -90,6 +102,8 @@ public class Messages extends NLS {
 
     public static String ViewImporter_3;
 
+    public static String ViewImporter_4;
+
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, Messages.class);
@@ -11,7 +11,11 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EStructuralFeature;
@@ -71,6 +75,9 @@ public class ModelImporter {
     // Undo/Redo commands
     private NonNotifyingCompoundCommand compoundCommand;
     
+    // Objects to import and unchanged objects
+    private ImportPreparation preparation;
+    
     // Ecore attributes that should not be imported
     private static Set<EAttribute> IGNORED_EATTRIBUTES = Set.of(
             IArchimatePackage.Literals.DIAGRAM_MODEL_IMAGE_PROVIDER__IMAGE_PATH, // Image Path - we will set this
@@ -110,6 +117,58 @@ public class ModelImporter {
         return getCommand();
     }
     
+    /**
+     * Load the imported model and prepare the import of it into the target model.
+     * This does not change either model so it can be run in a background thread.
+     * Then call doImport() or getCommand() with the same models before either of them is changed.
+     * @return The imported model
+     */
+    public IArchimateModel prepare(File importedFile, IArchimateModel targetModel, IProgressMonitor monitor) throws IOException {
+        monitor.subTask(NLS.bind(Messages.ModelImporter_8, importedFile.getName()));
+        
+        // Create the default object matcher at the same time as loading the model
+        CompletableFuture<IObjectMatcher> matcher = objectMatcher == null ? CompletableFuture.supplyAsync(() -> new DefaultObjectMatcher(targetModel)) : null;
+        
+        IArchimateModel importedModel = loadModel(importedFile);
+        
+        if(matcher != null) {
+            try {
+                objectMatcher = matcher.join();
+            }
+            catch(CompletionException ex) {
+                throw new IOException(ex.getCause());
+            }
+        }
+        
+        prepare(importedModel, targetModel, monitor);
+        return importedModel;
+    }
+    
+    /**
+     * Prepare the import of the imported model into the target model.
+     * This finds the objects to import and, if updating, compares them with the target objects in parallel.
+     * This does not change either model so it can be run in a background thread.
+     * Then call doImport() or getCommand() with the same models before either of them is changed.
+     */
+    public void prepare(IArchimateModel importedModel, IArchimateModel targetModel, IProgressMonitor monitor) {
+        this.importedModel = importedModel;
+        this.targetModel = targetModel;
+        
+        // Default Object Matcher
+        if(objectMatcher == null) {
+            objectMatcher = new DefaultObjectMatcher(targetModel);
+        }
+        
+        if(preparation != null) {
+            preparation.dispose();
+        }
+        
+        preparation = new ImportPreparation(this);
+        
+        // Only the default object matcher is known to be safe to use in more than one thread
+        preparation.run(monitor, objectMatcher instanceof DefaultObjectMatcher);
+    }
+    
     private IArchimateModel loadModel(File importedFile) throws IOException {
         if(!importedFile.exists()) {
             throw new IOException(NLS.bind(Messages.ModelImporter_2, importedFile));
@@ -119,9 +178,9 @@ public class ModelImporter {
     }
     
     private Command getCommand() throws IOException, ImportException {
-        // Default Object Matcher
-        if(objectMatcher == null) {
-            objectMatcher = new DefaultObjectMatcher(targetModel);
+        // Prepare now if not already prepared
+        if(preparation == null || !preparation.isPreparedFor(importedModel, targetModel)) {
+            prepare(importedModel, targetModel, new NullProgressMonitor());
         }
         
         statusMessages = new ArrayList<>();
@@ -141,13 +200,17 @@ public class ModelImporter {
             logMessage(StatusMessageLevel.INFO, Messages.ModelImporter_3, targetModel);
         }
         
-        // Iterate through all model contents
-        for(Iterator<EObject> iter = importedModel.eAllContents(); iter.hasNext();) {
-            EObject eObject = iter.next();
-            
+        // Iterate through the prepared model contents
+        for(EObject eObject : preparation.getWorkList()) {
             // Update folders
             if(eObject instanceof IFolder) {
-                new FolderImporter(this).importFolder((IFolder)eObject);
+                // An unchanged sub-folder is skipped and its contents are not in the work list
+                if(isUnchanged((IFolder)eObject)) {
+                    logMessage(StatusMessageLevel.INFO, Messages.ModelImporter_7, findObjectInTargetModel((IFolder)eObject));
+                }
+                else {
+                    new FolderImporter(this).importFolder((IFolder)eObject);
+                }
             }
             // Update concepts
             else if(eObject instanceof IArchimateConcept) {
@@ -262,6 +325,14 @@ public class ModelImporter {
         return (T)foundObject;
     }
     
+    /**
+     * @return true if the imported object is unchanged in the target model so that it does not need to be updated.
+     *         Only set if updating.
+     */
+    boolean isUnchanged(IArchimateModelObject importedObject) {
+        return preparation.isUnchanged(importedObject);
+    }
+    
     /**
      * Create a new object based on class of a given object and set its data to that in the given object
      */
@@ -343,6 +414,11 @@ public class ModelImporter {
         targetModel = null;
         compoundCommand = null;
         objectMatcher = null;
+        
+        if(preparation != null) {
+            preparation.dispose();
+            preparation = null;
+        }
     }
     
     // ====================================================================================================
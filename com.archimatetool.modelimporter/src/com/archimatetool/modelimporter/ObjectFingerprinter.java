@@ -0,0 +1,238 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.modelimporter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.model.IArchimateConcept;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IArchimatePackage;
+import com.archimatetool.model.IDiagramModel;
+import com.archimatetool.model.IFolder;
+import com.archimatetool.model.IIdentifier;
+import com.archimatetool.model.IProfile;
+
+
+/**
+ * Content fingerprints of the objects of a model so that an imported object can be compared with its target object
+ * without creating the Commands to update it.<br/>
+ * <br/>
+ * A fingerprint is a digest of an object's attributes and the fingerprints of its contained objects,
+ * so it covers properties, features, bounds, the components of a View and the contents of a Folder.
+ * A referenced object is included by its ID, or by its concept type and name if it is a Profile, as this is how objects are matched.
+ * An image is included by its bytes because the same image can have a different path in each model.<br/>
+ * <br/>
+ * Fingerprints can be computed in more than one thread at the same time as long as the model is not changed.
+ *
+ * @author Phillip Beauvoir
+ */
+class ObjectFingerprinter {
+
+    // Used to detect changes, not for security
+    private static final String DIGEST_ALGORITHM = "MD5"; //$NON-NLS-1$
+
+    // Features that are not compared
+    private static final Set<EStructuralFeature> IGNORED_FEATURES = Set.of(
+            IArchimatePackage.Literals.ARCHIMATE_MODEL__FILE,               // File path
+            IArchimatePackage.Literals.ARCHIMATE_MODEL__VERSION,            // Model version
+            IArchimatePackage.Literals.CONNECTABLE__TARGET_CONNECTIONS      // Opposite of connection target and its order can differ
+    );
+
+    private IArchiveManager archiveManager;
+
+    // Fingerprints of folders, concepts, views and profiles. EObjects are compared by identity.
+    private Map<EObject, byte[]> fingerprints = new ConcurrentHashMap<>();
+
+    // Fingerprints of image bytes keyed by image path
+    private Map<String, byte[]> imageFingerprints = new ConcurrentHashMap<>();
+
+    // Each thread has one digest for each level of nested objects
+    private ThreadLocal<Digests> digests = ThreadLocal.withInitial(Digests::new);
+
+    private static class Digests {
+        List<MessageDigest> list = new ArrayList<>();
+        int depth;
+
+        MessageDigest get(int index) {
+            if(index == list.size()) {
+                try {
+                    list.add(MessageDigest.getInstance(DIGEST_ALGORITHM));
+                }
+                catch(NoSuchAlgorithmException ex) {
+                    // Every Java platform has MD5
+                    throw new IllegalStateException(ex);
+                }
+            }
+
+            return list.get(index);
+        }
+    }
+
+    ObjectFingerprinter(IArchimateModel model) {
+        archiveManager = (IArchiveManager)model.getAdapter(IArchiveManager.class);
+    }
+
+    /**
+     * @return The fingerprint of the content of an object and its contained objects
+     */
+    byte[] getFingerprint(EObject eObject) {
+        byte[] fingerprint = fingerprints.get(eObject);
+
+        if(fingerprint == null) {
+            fingerprint = createFingerprint(eObject);
+
+            // Don't keep the fingerprints of diagram components, properties, bounds etc
+            if(eObject instanceof IFolder || eObject instanceof IArchimateConcept || eObject instanceof IDiagramModel || eObject instanceof IProfile) {
+                fingerprints.put(eObject, fingerprint);
+            }
+        }
+
+        return fingerprint;
+    }
+
+    private byte[] createFingerprint(EObject eObject) {
+        Digests threadDigests = digests.get();
+        MessageDigest digest = threadDigests.get(threadDigests.depth++);
+
+        try {
+            update(digest, eObject.eClass().getName());
+
+            for(EStructuralFeature feature : eObject.eClass().getEAllStructuralFeatures()) {
+                if(feature.isTransient() || feature.isDerived() || IGNORED_FEATURES.contains(feature)) {
+                    continue;
+                }
+
+                // Profiles are matched by concept type and name so their IDs can differ
+                if(eObject instanceof IProfile && feature == IArchimatePackage.Literals.IDENTIFIER__ID) {
+                    continue;
+                }
+
+                Object value = eObject.eGet(feature, false);
+                List<?> values = feature.isMany() ? (List<?>)value : Collections.singletonList(value);
+
+                update(digest, values.size());
+
+                for(Object object : values) {
+                    if(feature instanceof EAttribute) {
+                        updateAttribute(digest, feature, object);
+                    }
+                    else if(((EReference)feature).isContainment()) {
+                        if(object == null) {
+                            update(digest, -1);
+                        }
+                        else {
+                            digest.update(getFingerprint((EObject)object));
+                        }
+                    }
+                    else {
+                        updateReference(digest, (EObject)object);
+                    }
+                }
+            }
+
+            return digest.digest();
+        }
+        finally {
+            threadDigests.depth--;
+        }
+    }
+
+    private void updateAttribute(MessageDigest digest, EStructuralFeature feature, Object value) {
+        if(value == null) {
+            update(digest, -1);
+        }
+        else if(feature == IArchimatePackage.Literals.DIAGRAM_MODEL_IMAGE_PROVIDER__IMAGE_PATH) {
+            digest.update(getImageFingerprint((String)value));
+        }
+        else {
+            update(digest, value.toString());
+        }
+    }
+
+    private void updateReference(MessageDigest digest, EObject eObject) {
+        if(eObject instanceof IProfile) {
+            update(digest, ((IProfile)eObject).getConceptType());
+            update(digest, ((IProfile)eObject).getName() != null ? ((IProfile)eObject).getName().toLowerCase() : null);
+        }
+        else if(eObject instanceof IIdentifier) {
+            update(digest, ((IIdentifier)eObject).getId());
+        }
+        else if(eObject != null) {
+            update(digest, eObject.eClass().getName());
+        }
+        else {
+            update(digest, -1);
+        }
+    }
+
+    /**
+     * @return The fingerprint of an image's bytes, or of its path if the image is not in the archive
+     */
+    private byte[] getImageFingerprint(String imagePath) {
+        byte[] fingerprint = imageFingerprints.get(imagePath);
+
+        if(fingerprint == null) {
+            byte[] bytes = archiveManager != null ? archiveManager.getBytesFromEntry(imagePath) : null;
+
+            Digests threadDigests = digests.get();
+            MessageDigest digest = threadDigests.get(threadDigests.depth);
+            if(bytes != null) {
+                digest.update(bytes);
+            }
+            else {
+                update(digest, imagePath);
+            }
+
+            fingerprint = digest.digest();
+            imageFingerprints.put(imagePath, fingerprint);
+        }
+
+        return fingerprint;
+    }
+
+    private void update(MessageDigest digest, String s) {
+        if(s == null) {
+            update(digest, -1);
+            return;
+        }
+
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        update(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private void update(MessageDigest digest, int i) {
+        digest.update((byte)(i >>> 24));
+        digest.update((byte)(i >>> 16));
+        digest.update((byte)(i >>> 8));
+        digest.update((byte)i);
+    }
+
+    /**
+     * Release objects for GC
+     */
+    void dispose() {
+        archiveManager = null;
+        fingerprints = null;
+        imageFingerprints = null;
+        digests.remove();
+        digests = null;
+    }
+}
@@ -31,6 +31,10 @@ class ProfileImporter extends AbstractImporter {
         if(targetProfile == null) {
             addNewProfile(importedProfile);
         }
+        // Unchanged
+        else if(shouldUpdate() && isUnchanged(importedProfile)) {
+            logMessage(StatusMessageLevel.INFO, Messages.ProfileImporter_3, importedProfile);
+        }
         // Else update
         else if(shouldUpdate()) {
             updateProfile(importedProfile, targetProfile);
@@ -57,6 +57,10 @@ class ViewImporter extends AbstractImporter {
             addToParentFolder(importedView, targetView);
             logMessage(StatusMessageLevel.INFO, Messages.ViewImporter_0, targetView);
         }
+        // We have it but it is unchanged
+        else if(shouldUpdate() && isUnchanged(importedView)) {
+            logMessage(StatusMessageLevel.INFO, Messages.ViewImporter_4, targetView);
+        }
         // We have it so update it
         else if(shouldUpdate()) {
             updateObject(importedView, targetView);
@@ -75,6 +75,8 @@ public class HTMLReportProvider extends AbstractCommandLineProvider {
                 logMessage(name);
             }
         });
+        
+        addOutput(folderOutput);
 
         logMessage(Messages.HTMLReportProvider_5);
     }
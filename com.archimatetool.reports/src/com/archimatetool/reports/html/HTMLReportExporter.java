@@ -26,9 +26,6 @@ import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.osgi.util.NLS;
-import org.eclipse.swt.SWT;
-import org.eclipse.swt.graphics.ImageData;
-import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.widgets.DirectoryDialog;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.PlatformUI;
@@ -43,8 +40,7 @@ import com.archimatetool.editor.ArchiPlugin;
 import com.archimatetool.editor.browser.BrowserEditorInput;
 import com.archimatetool.editor.browser.IBrowserEditor;
 import com.archimatetool.editor.browser.IBrowserEditorInput;
-import com.archimatetool.editor.diagram.util.DiagramUtils;
-import com.archimatetool.editor.diagram.util.ModelReferencedImage;
+import com.archimatetool.editor.diagram.util.OffscreenDiagramRenderer;
 import com.archimatetool.editor.ui.ImageFactory;
 import com.archimatetool.editor.ui.services.EditorManager;
 import com.archimatetool.editor.utils.FileUtils;
@@ -242,9 +238,14 @@ public class HTMLReportExporter {
         
         setProgressSubTask(Messages.HTMLReportExporter_13);
         
+        // Write model tree folders and search index
+        ModelTreeWriter treeWriter = new ModelTreeWriter(fModel);
+        treeWriter.write(new File(targetFolder, fModel.getId()));
+        
         // Write root model.html frame
         ST stModel = groupFile.getInstanceOf("modelreport"); //$NON-NLS-1$
         stModel.add("model", fModel); //$NON-NLS-1$
+        stModel.add("folderCounts", treeWriter.getFolderCounts()); //$NON-NLS-1$
         stModel.add("strategyFolder", fModel.getFolder(FolderType.STRATEGY)); //$NON-NLS-1$
         stModel.add("businessFolder", fModel.getFolder(FolderType.BUSINESS)); //$NON-NLS-1$
         stModel.add("applicationFolder", fModel.getFolder(FolderType.APPLICATION)); //$NON-NLS-1$
@@ -403,54 +404,51 @@ public class HTMLReportExporter {
         int total = diagramModels.size();
         int i = 1;
         
-        for(IDiagramModel dm : diagramModels) {
-            setProgressSubTask(NLS.bind(Messages.HTMLReportExporter_4, i++, total));
+        // Render all of the images with one offscreen viewer
+        OffscreenDiagramRenderer renderer = new OffscreenDiagramRenderer();
+        
+        try {
+            for(IDiagramModel dm : diagramModels) {
+                setProgressSubTask(NLS.bind(Messages.HTMLReportExporter_4, i++, total));
 
-            ModelReferencedImage geoImage = null;
-            
-            try {
-                geoImage = DiagramUtils.createModelReferencedImage(dm, 1, 10);
-                
-                // Generate file name
-                String diagramName = dm.getId();
-                if(StringUtils.isSet(diagramName)) {
-                    // removed this because ids can have hyphens in them (when imported from TOG format)
-                    // Let's hope that ids are filename friendly...
-                    //diagramName = FileUtils.getValidFileName(diagramName);
+                try {
+                    // Generate file name
+                    String diagramName = dm.getId();
+                    if(StringUtils.isSet(diagramName)) {
+                        // removed this because ids can have hyphens in them (when imported from TOG format)
+                        // Let's hope that ids are filename friendly...
+                        //diagramName = FileUtils.getValidFileName(diagramName);
 
-                    int j = 2;
-                    String s = diagramName + ".png";  //$NON-NLS-1$
-                    while(nameTable.containsValue(s)) {
-                        s = diagramName + "_" + j++ + ".png"; //$NON-NLS-1$ //$NON-NLS-2$
+                        int j = 2;
+                        String s = diagramName + ".png";  //$NON-NLS-1$
+                        while(nameTable.containsValue(s)) {
+                            s = diagramName + "_" + j++ + ".png"; //$NON-NLS-1$ //$NON-NLS-2$
+                        }
+                        diagramName = s;
+                    }
+                    else {
+                        diagramName = Messages.HTMLReportExporter_1 + " " + nameCount++ + ".png";  //$NON-NLS-1$//$NON-NLS-2$
                     }
-                    diagramName = s;
-                }
-                else {
-                    diagramName = Messages.HTMLReportExporter_1 + " " + nameCount++ + ".png";  //$NON-NLS-1$//$NON-NLS-2$
-                }
 
-                nameTable.put(dm, diagramName);
+                    nameTable.put(dm, diagramName);
 
-                // Get and store the bounds of the top-left element in the figure to act as overall x,y offset
-                Rectangle bounds = geoImage.getBounds();
-                bounds.performScale(ImageFactory.getImageDeviceZoom() / 100); // Account for device zoom level
-                diagramBoundsMap.put(dm, bounds);
+                    // Write the image in tiles so that large diagrams don't need a single large Image
+                    File file = new File(imagesFolder, diagramName);
+                    Rectangle bounds = renderer.createPNGImageFile(dm, 1, 10, file);
 
-                ImageLoader loader = new ImageLoader();
-                loader.data = new ImageData[] { geoImage.getImage().getImageData(ImageFactory.getImageDeviceZoom()) };
-                File file = new File(imagesFolder, diagramName);
-                loader.save(file.getAbsolutePath(), SWT.IMAGE_PNG);
-            }
-            catch(Throwable t) {
-                throw new IOException("Error saving image for: " + dm.getName() + "\n" + //$NON-NLS-1$ //$NON-NLS-2$
-                        (t.getMessage() == null ? t.toString() : t.getMessage()), t);
-            }
-            finally {
-                if(geoImage != null && geoImage.getImage() != null) {
-                    geoImage.getImage().dispose();
+                    // Store the bounds of the top-left element in the figure to act as overall x,y offset
+                    bounds.performScale(ImageFactory.getImageDeviceZoom() / 100); // Account for device zoom level
+                    diagramBoundsMap.put(dm, bounds);
+                }
+                catch(Throwable t) {
+                    throw new IOException("Error saving image for: " + dm.getName() + "\n" + //$NON-NLS-1$ //$NON-NLS-2$
+                            (t.getMessage() == null ? t.toString() : t.getMessage()), t);
                 }
             }
         }
+        finally {
+            renderer.dispose();
+        }
     }
     
     private void checkProgressCancelled() throws CancelledException {
@@ -0,0 +1,307 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.reports.html;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.eclipse.emf.ecore.EObject;
+
+import com.archimatetool.model.FolderType;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.IFolder;
+import com.archimatetool.model.IIdentifier;
+import com.archimatetool.model.INameable;
+import com.archimatetool.model.IProperties;
+import com.archimatetool.model.IProperty;
+
+
+/**
+ * Writes the model tree of the HTML report as one script file for each folder, and a search index of the tree's elements and views.<br/>
+ * <br/>
+ * The report page loads a folder's file when the folder is first opened instead of rendering the whole tree,
+ * and answers searches from the index instead of searching the page.
+ * The files are scripts that pass their content as JSON to a function in model.js because browsers don't load JSON files from "file:" URLs.<br/>
+ * <br/>
+ * A folder file calls <code>treeFolderLoaded(folderId, {"f":[[id, name, count]], "e":[[id, name] or [id, name, type, source, target]]})</code>
+ * with the folder's sub-folders and elements, each sorted by name.<br/>
+ * The search index calls <code>searchIndexLoaded({"folders":[[id, parent, target]], "items":[[id, folder]], "tokens":[token], "postings":[[item]]})</code>
+ * where a folder's parent and an item's folder are indexes in "folders" and the postings of a token are the indexes of the items whose text contains it.
+ *
+ * @author Phillip Beauvoir
+ */
+@SuppressWarnings("nls")
+public class ModelTreeWriter {
+
+    static final String TREE_FOLDER = "tree";
+    static final String SEARCH_INDEX_FILE = "search.js";
+
+    static final String HIDE_FROM_EXPORT = "_hide_from_export_";
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private IArchimateModel fModel;
+
+    /**
+     * Number of visible child folders and elements of each folder
+     */
+    private Map<String, Integer> folderCounts = new HashMap<>();
+
+    private List<String> folderEntries = new ArrayList<>();
+    private List<String> itemEntries = new ArrayList<>();
+    private Map<String, List<Integer>> postings = new TreeMap<>();
+
+    public ModelTreeWriter(IArchimateModel model) {
+        fModel = model;
+    }
+
+    /**
+     * Write the folder files and search index to the model's report folder
+     * @param modelFolder The model's report folder
+     * @throws IOException
+     */
+    public void write(File modelFolder) throws IOException {
+        File treeFolder = new File(modelFolder, TREE_FOLDER);
+        treeFolder.mkdirs();
+
+        for(IFolder folder : fModel.getFolders()) {
+            if(!isHidden(folder)) {
+                writeFolder(treeFolder, folder, -1, folder.getType() == FolderType.DIAGRAMS ? "view" : "element");
+            }
+        }
+
+        writeSearchIndex(new File(modelFolder, SEARCH_INDEX_FILE));
+    }
+
+    /**
+     * @return The number of visible child folders and elements of each folder keyed by folder id
+     */
+    public Map<String, Integer> getFolderCounts() {
+        return folderCounts;
+    }
+
+    /**
+     * Write a folder file and its sub-folders' files
+     * @return The number of the folder's visible children
+     */
+    private int writeFolder(File treeFolder, IFolder folder, int parentIndex, String target) throws IOException {
+        int folderIndex = folderEntries.size();
+        folderEntries.add("[" + toJSONString(folder.getId()) + "," + parentIndex + "," + toJSONString(target) + "]");
+
+        List<IFolder> subFolders = new ArrayList<>();
+        for(IFolder subFolder : folder.getFolders()) {
+            if(!isHidden(subFolder)) {
+                subFolders.add(subFolder);
+            }
+        }
+        subFolders.sort(Comparator.comparing(f -> getSortKey(f.getName())));
+
+        List<EObject> elements = new ArrayList<>();
+        for(EObject element : folder.getElements()) {
+            if(element instanceof INameable && element instanceof IIdentifier && !isHidden(element)) {
+                elements.add(element);
+            }
+        }
+        elements.sort(Comparator.comparing(e -> getSortKey(getLabel(e))));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("treeFolderLoaded(").append(toJSONString(folder.getId())).append(",{\"f\":[");
+
+        for(int i = 0; i < subFolders.size(); i++) {
+            IFolder subFolder = subFolders.get(i);
+            int count = writeFolder(treeFolder, subFolder, folderIndex, target);
+
+            if(i > 0) {
+                sb.append(',');
+            }
+            sb.append('[').append(toJSONString(subFolder.getId())).append(',').append(toJSONString(subFolder.getName())).append(',').append(count).append(']');
+        }
+
+        sb.append("],\"e\":[");
+
+        for(int i = 0; i < elements.size(); i++) {
+            EObject element = elements.get(i);
+            String id = ((IIdentifier)element).getId();
+            String name = ((INameable)element).getName();
+
+            if(i > 0) {
+                sb.append(',');
+            }
+            sb.append('[').append(toJSONString(id)).append(',').append(toJSONString(name));
+
+            if(element instanceof IArchimateRelationship relation) {
+                String sourceName = relation.getSource() != null ? relation.getSource().getName() : "";
+                String targetName = relation.getTarget() != null ? relation.getTarget().getName() : "";
+                sb.append(',').append(toJSONString(element.eClass().getName()))
+                  .append(',').append(toJSONString(sourceName))
+                  .append(',').append(toJSONString(targetName));
+                addItem(id, folderIndex, name, sourceName, targetName);
+            }
+            else {
+                addItem(id, folderIndex, name);
+            }
+
+            sb.append(']');
+        }
+
+        sb.append("]});\n");
+
+        try(Writer writer = new OutputStreamWriter(new FileOutputStream(new File(treeFolder, folder.getId() + ".js")), StandardCharsets.UTF_8)) {
+            writer.write(sb.toString());
+        }
+
+        int count = subFolders.size() + elements.size();
+        folderCounts.put(folder.getId(), count);
+        return count;
+    }
+
+    /**
+     * Add an item to the search index with the tokens of its text
+     */
+    private void addItem(String id, int folderIndex, String... text) {
+        int itemIndex = itemEntries.size();
+        itemEntries.add("[" + toJSONString(id) + "," + folderIndex + "]");
+
+        for(String s : text) {
+            if(s == null) {
+                continue;
+            }
+
+            for(String token : TOKEN_SEPARATOR.split(s.toLowerCase(Locale.ROOT))) {
+                if(!token.isEmpty()) {
+                    List<Integer> items = postings.computeIfAbsent(token, t -> new ArrayList<>());
+                    // Items are added in order so a repeated token in the same item is the last one
+                    if(items.isEmpty() || items.get(items.size() - 1) != itemIndex) {
+                        items.add(itemIndex);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeSearchIndex(File file) throws IOException {
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("searchIndexLoaded({\"folders\":[");
+        sb.append(String.join(",", folderEntries));
+        sb.append("],\"items\":[");
+        sb.append(String.join(",", itemEntries));
+        sb.append("],\"tokens\":[");
+
+        boolean first = true;
+        for(String token : postings.keySet()) {
+            if(!first) {
+                sb.append(',');
+            }
+            sb.append(toJSONString(token));
+            first = false;
+        }
+
+        sb.append("],\"postings\":[");
+
+        first = true;
+        for(List<Integer> items : postings.values()) {
+            if(!first) {
+                sb.append(',');
+            }
+            sb.append('[');
+            for(int i = 0; i < items.size(); i++) {
+                if(i > 0) {
+                    sb.append(',');
+                }
+                sb.append(items.get(i));
+            }
+            sb.append(']');
+            first = false;
+        }
+
+        sb.append("]});\n");
+
+        try(Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(sb.toString());
+        }
+    }
+
+    /**
+     * @return The text of an element in the tree. A relation shows the names of its source and target.
+     */
+    private String getLabel(EObject element) {
+        String name = ((INameable)element).getName();
+
+        if(element instanceof IArchimateRelationship relation && relation.getSource() != null && relation.getTarget() != null) {
+            return name + " (" + relation.getSource().getName() + " - " + relation.getTarget().getName() + ")";
+        }
+
+        return name;
+    }
+
+    private String getSortKey(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return true if the object has the property to hide it from the report
+     */
+    static boolean isHidden(EObject eObject) {
+        if(eObject instanceof IProperties properties) {
+            for(IProperty property : properties.getProperties()) {
+                if(HIDE_FROM_EXPORT.equals(property.getKey()) && "true".equalsIgnoreCase(property.getValue())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return s as a quoted JSON string that is also safe in a script
+     */
+    static String toJSONString(String s) {
+        if(s == null) {
+            return "\"\"";
+        }
+
+        StringBuilder sb = new StringBuilder(s.length() + 2);
+        sb.append('"');
+
+        for(int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch(c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\u2028', '\u2029' -> sb.append(String.format("\\u%04x", (int)c)); // Line separators end a line in older scripts
+                default -> {
+                    if(c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int)c));
+                    }
+                    else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+
+        sb.append('"');
+        return sb.toString();
+    }
+}
@@ -2,29 +2,121 @@
 	$('.root-panel-body').css('height', $('.root-panel').outerHeight() - $('.root-panel-heading').outerHeight());
 }
 
-function strcmp(a, b){
-	var aText = $(a).text().trim().toLowerCase();
-	var bText = $(b).text().trim().toLowerCase();
-	if (aText.toString() < bText.toString()) return -1;
-  if (aText.toString() > bText.toString()) return 1;
-  return 0;
+// *** MODEL TREE ***
+
+// The content of each folder of the model tree and the search index are scripts written with the report.
+// A folder's content is loaded when the folder is first opened and the search index when it is first needed.
+const folderLoaders = {};
+let searchIndexLoader = null;
+let searchCount = 0;
+
+function getModelId() {
+	return $('.tree').attr('data-model');
 }
 
-function toggleTreeEntry(listItem) {
-	// Sort folder content (done here only once for performance reasons)
-	if (! $(listItem).hasClass('sorted')) {
-		$(listItem).find(' > ul').each(function(){
-			// Sort folders first
-			$(this).children('li.tree-folder').sort(strcmp).appendTo($(this));
-			// Sort views after
-			$(this).children('li.tree-element').sort(strcmp).appendTo($(this));
-		});
-		$(listItem).addClass('sorted');
+function escapeHtml(text) {
+	return String(text).replace(/&/g, '&amp;').replace(/</g, '&lt;').replace(/>/g, '&gt;').replace(/"/g, '&quot;');
+}
+
+// Script files are used because browsers don't load JSON files from "file:" URLs
+function loadScript(src, loader) {
+	let script = document.createElement('script');
+	script.src = src;
+	script.onerror = function() {
+		loader.reject();
+	};
+	document.head.appendChild(script);
+}
+
+// Load a folder's content. Its parent folder must have been loaded first.
+function loadFolder(folderId) {
+	if (! folderLoaders[folderId]) {
+		folderLoaders[folderId] = $.Deferred();
+		loadScript(getModelId() + '/tree/' + folderId + '.js', folderLoaders[folderId]);
 	}
+	return folderLoaders[folderId].promise();
+}
+
+// Load the folders of a path from the top folder down
+function loadFolderPath(folderIds) {
+	let promise = $.Deferred().resolve().promise();
+	folderIds.forEach(function(folderId) {
+		promise = promise.then(function() {
+			return loadFolder(folderId);
+		});
+	});
+	return promise;
+}
+
+function loadTreeEntry(listItem) {
+	const folderId = $(listItem).attr('data-folder');
+	return folderId ? loadFolder(folderId) : $.Deferred().resolve().promise();
+}
+
+function getFolderListItem(folderId) {
+	return $('.tree li[data-folder="' + CSS.escape(folderId) + '"]');
+}
+
+// Called by a folder's script with its sub-folders and elements, already sorted
+function treeFolderLoaded(folderId, content) {
+	const listItem = getFolderListItem(folderId);
+	const target = listItem.attr('data-target');
+	const modelId = getModelId();
+	
+	let html = '<ul>';
+	
+	content.f.forEach(function(folder) {
+		html += '<li class="tree-folder' + (folder[2] ? ' parent_li' : '') + '" data-folder="' + escapeHtml(folder[0]) + '" data-target="' + target + '">'
+			+ '<span><i class="glyphicon glyphicon-triangle-right"></i> ' + escapeHtml(folder[1]) + ' </span></li>';
+	});
 	
+	content.e.forEach(function(element) {
+		html += '<li class="tree-element" data-id="' + escapeHtml(element[0]) + '"><a href="' + modelId + '/' + target + 's/' + escapeHtml(element[0]) + '.html" target="' + target + '"> ';
+		if (element.length > 2) {
+			// Relation
+			html += (element[1] ? escapeHtml(element[1]) : '<span class="i18n-elementtype-' + element[2] + '"></span>')
+				+ ' (' + escapeHtml(element[3]) + ' - ' + escapeHtml(element[4]) + ')';
+		} else {
+			html += escapeHtml(element[1]);
+		}
+		html += ' </a></li>';
+	});
+	
+	html += '</ul>';
+	
+	listItem.append(html);
+	listItem.find(' > ul > li').hide();
+	
+	if (folderLoaders[folderId]) {
+		folderLoaders[folderId].resolve();
+	}
+}
+
+function expandTreeEntry(listItem) {
+	$(listItem).find(' > ul > li').show();
+	$(listItem).find('> span > i').addClass('glyphicon-triangle-bottom').removeClass('glyphicon-triangle-right');
+}
+
+// Load and open the folders of a path and their parent entries
+function expandFolderPath(folderIds) {
+	return loadFolderPath(folderIds).done(function() {
+		if (folderIds.length) {
+			getFolderListItem(folderIds[0]).parents('.tree li').each(function() {
+				expandTreeEntry(this);
+			});
+		}
+		folderIds.forEach(function(folderId) {
+			expandTreeEntry(getFolderListItem(folderId));
+		});
+	});
+}
+
+function toggleTreeEntry(listItem) {
 	if (isTreeFiltered()) {
 		return;
-	} else {
+	}
+	
+	loadTreeEntry(listItem).done(function() {
 		var children = $(listItem).find(' > ul > li');
 		if (children.is(":visible")) {
 			children.hide('fast');
@@ -35,7 +127,86 @@ function toggleTreeEntry(listItem) {
 			// Toggle arrow icon
 			$(listItem).find('> span > i').addClass('glyphicon-triangle-bottom').removeClass('glyphicon-triangle-right');
 		}
+	});
+}
+
+// *** SEARCH INDEX ***
+
+function loadSearchIndex() {
+	if (! searchIndexLoader) {
+		searchIndexLoader = $.Deferred();
+		loadScript(getModelId() + '/search.js', searchIndexLoader);
+	}
+	return searchIndexLoader.promise();
+}
+
+// Called by the search index script
+function searchIndexLoaded(index) {
+	index.itemsById = {};
+	index.items.forEach(function(item) {
+		index.itemsById[item[0]] = item;
+	});
+	searchIndexLoader.resolve(index);
+}
+
+// Return the ids of the top folder down to the folder at folderIndex
+function getFolderPath(index, folderIndex) {
+	let path = [];
+	for (let i = folderIndex; i !== -1; i = index.folders[i][1]) {
+		path.unshift(index.folders[i][0]);
+	}
+	return path;
+}
+
+// Characters that make a filter a regular expression rather than plain words
+const REGEXP_CHARS = /[.*+?^${}()|[\]\\]/;
+
+// Return the indexes of the items whose text contains each word of the filter (case insensitive).
+// A filter with regular expression characters is a case insensitive regular expression that matches a word of the text.
+function findItems(index, filter) {
+	if (REGEXP_CHARS.test(filter)) {
+		try {
+			return findItemsMatching(index, new RegExp(filter, 'i'));
+		}
+		catch (e) {
+			// Not a valid regular expression so search for its words
+		}
 	}
+	
+	const words = filter.toLowerCase().split(/[^\p{L}\p{N}]+/u).filter(function(word) {
+		return word.length;
+	});
+	
+	let found = null;
+	
+	words.forEach(function(word) {
+		const matches = findItemsMatching(index, {
+			test: function(token) {
+				return token.indexOf(word) !== -1;
+			}
+		});
+		found = found === null ? new Set(matches) : new Set(matches.filter(function(item) {
+			return found.has(item);
+		}));
+	});
+	
+	return found ? Array.from(found) : [];
+}
+
+// Return the indexes of the items that have a token that the matcher's test() accepts
+function findItemsMatching(index, matcher) {
+	let matches = new Set();
+	
+	// Only the distinct tokens are searched, not the tree
+	index.tokens.forEach(function(token, i) {
+		if (matcher.test(token)) {
+			index.postings[i].forEach(function(item) {
+				matches.add(item);
+			});
+		}
+	});
+	
+	return Array.from(matches);
 }
 
 $(document).ready(function() {
@@ -70,21 +241,23 @@ $(document).ready(function() {
 	// Set heigh of panels the first time
 	setRootPanelHeight();
 	
-	// Remove hidden nodes from the model tree
+	// Remove hidden nodes and empty top folders from the model tree
 	$('.hide-true').remove();
 	let topTreeFolders = $('.tree > li');
 	topTreeFolders.each(function(index) {
-		if (! $(this).find(' > ul > li').length) {
+		const count = $(this).attr('data-count');
+		if (count === '0' || (count === undefined && ! $(this).find(' > ul > li').length)) {
 			$(this).remove();
 		}
 	});
 	
 	
-	// Setup modeltree
+	// Setup modeltree. Folders with a count have their content loaded when opened
 	$('.tree li:has(ul)').addClass('parent_li').find(' > ul > li').hide();
+	$('.tree li[data-count]').not('[data-count="0"]').addClass('parent_li');
 
 	// Add show/hide function on modeltree
-	$('.tree li.parent_li > span').on('click', function (e) {
+	$('.tree').on('click', 'li.parent_li > span', function (e) {
 		toggleTreeEntry($(this).parent('li.parent_li'));
 		e.stopPropagation();
 	});
@@ -95,9 +268,8 @@ $(document).ready(function() {
 	
 	// *** DEEP LINKS ***
 
-	// Register a new onClick function
-	let $viewLinks = $("a[href][target='view']");
-	$viewLinks.on('click', function (event) {
+	// Register a new onClick function (links in folders are added when the folders are loaded)
+	$('.root-panel-body').on('click', "a[href][target='view']", function (event) {
 		const id = getIdFromHref(event.currentTarget.href);
 		setLocationForView(id);
 		openViewFromLocation(false);
@@ -121,30 +293,36 @@ $(document).ready(function() {
 	}
 	
 	function openViewFromLocation(expandModelTree) {
-		// Find matching view in model tree...
 		const targetId = getIdFromLocation();
-		const matchingLinks = $viewLinks.filter(function (index, element) {
-			return getIdFromHref(element.href) === targetId;
-		});
-		const link = matchingLinks[0];
-
+		if (! targetId) {
+			return;
+		}
+		
+		// Model page or view in an opened folder
+		const link = $("a[href][target='view']").filter(function () {
+			return getIdFromHref(this.href) === targetId;
+		})[0];
+		
 		if (link) {
-			// View found in model tree. Loading it in frame
-			const $link = $(link);
-			$("iframe[name='view']").attr('src', $link.attr('href'));
-
-			if (expandModelTree) {
-				let spans = [];
-				let $parentListItem = $link.parent().parent().parent();
-				while ($parentListItem[0].tagName === 'LI') {
-					spans.push($parentListItem.children().first());
-					$parentListItem = $parentListItem.parent().parent();
+			$("iframe[name='view']").attr('src', $(link).attr('href'));
+			if (! expandModelTree) {
+				return;
+			}
+		}
+
+		// Find matching view in the search index...
+		loadSearchIndex().done(function(index) {
+			const item = index.itemsById[targetId];
+			if (item && index.folders[item[1]][2] === 'view') {
+				// View found. Loading it in frame
+				if (! link) {
+					$("iframe[name='view']").attr('src', getModelId() + '/views/' + targetId + '.html');
 				}
-				while (spans.length) {
-					spans.pop().click();
+				if (expandModelTree) {
+					expandFolderPath(getFolderPath(index, item[1]));
 				}
 			}
-		}
+		});
 	}
 
 	$(window).on('message', function (e) {
@@ -186,6 +364,7 @@ function searchInViews() {
 
 	// Is a filter set?
 	if (filter.length === 0) {
+		searchCount++;
 		// No: show the top level entries ('Model Content' and 'Views') and stop here
 		$('.tree > li').show();
 		$('#tree-search').removeClass('filtered');
@@ -197,17 +376,40 @@ function searchInViews() {
 	$('#tree-search').addClass('filtered');
 	document.querySelector('#tree-search').title = "To clear filter, empty this field and press ENTER";
 
-	// Get model tree
-	let modelTree = $('.tree');
-
-	// Case insensitive search (a 'li' matches if itself or its children match)
-	let foundItems = modelTree.find("li").filter(function () {
-		let reg = new RegExp(filter, "ig");
-		let content = $(this).hasClass('tree-element') ? $(this) : $(this).find('li.tree-element');
-		return reg.test(content.text());
+	// Answer the search from the index, then load the folders of the found items and show them
+	const search = ++searchCount;
+	
+	loadSearchIndex().done(function(index) {
+		const items = findItems(index, filter);
+		
+		let folderIndexes = new Set();
+		items.forEach(function(item) {
+			folderIndexes.add(index.items[item][1]);
+		});
+		
+		const loaders = Array.from(folderIndexes).map(function(folderIndex) {
+			return loadFolderPath(getFolderPath(index, folderIndex));
+		});
+		
+		$.when.apply($, loaders).done(function() {
+			// Ignore if there is a newer search
+			if (search !== searchCount || ! isTreeFiltered()) {
+				return;
+			}
+			
+			const ids = new Set(items.map(function(item) {
+				return index.items[item][0];
+			}));
+			
+			const foundItems = $('.tree li.tree-element').filter(function () {
+				return ids.has(this.getAttribute('data-id'));
+			});
+			
+			// Show matching entries
+			const parentItems = foundItems.parents('.tree li');
+			foundItems.show();
+			parentItems.show();
+			parentItems.find('> span > i').addClass('glyphicon-triangle-bottom').removeClass('glyphicon-triangle-right');
+		});
 	});
-
-	// Show matching entries
-	foundItems.show();
-	foundItems.parent("ul").parent("li").find("> span > i").addClass('glyphicon-triangle-bottom').removeClass('glyphicon-triangle-right');
 }
\ No newline at end of file
@@ -6,7 +6,9 @@
 package com.archimatetool.templates.dialog;
 
 import java.text.Collator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jface.layout.TableColumnLayout;
 import org.eclipse.jface.viewers.ColumnWeightData;
@@ -23,6 +25,8 @@ import org.eclipse.swt.widgets.Table;
 
 import com.archimatetool.editor.ui.UIUtils;
 import com.archimatetool.templates.model.ITemplate;
+import com.archimatetool.templates.model.TemplateCatalog;
+import com.archimatetool.templates.model.TemplateCatalogJob;
 
 
 /**
@@ -32,6 +36,10 @@ import com.archimatetool.templates.model.ITemplate;
  */
 public class TemplatesTableViewer extends TableViewer {
 
+    // Reads the names of templates that are not in the Template Catalog
+    private TemplateCatalogJob fCatalogJob = new TemplateCatalogJob();
+    private Set<ITemplate> fPendingTemplates = new HashSet<>();
+    
     public TemplatesTableViewer(Composite parent, int style) {
         super(parent, SWT.FULL_SELECTION | style);
         
@@ -42,6 +50,38 @@ public class TemplatesTableViewer extends TableViewer {
         setContentProvider(new TemplatesTableViewerContentProvider());
         setLabelProvider(new TemplatesTableViewerLabelCellProvider());
         setComparator(new ViewerComparator(Collator.getInstance()));
+        
+        getControl().addDisposeListener(e -> {
+            fCatalogJob.clear();
+            fCatalogJob.cancel();
+            TemplateCatalog.INSTANCE.save();
+        });
+    }
+
+    /**
+     * @return The template's name, or its file name while it is read in the background if it is not in the Template Catalog
+     */
+    private String getTemplateName(ITemplate template) {
+        if(TemplateCatalogJob.isCatalogued(template, false)) {
+            return template.getName();
+        }
+        
+        if(fPendingTemplates.add(template)) {
+            fCatalogJob.add(template, false, () -> {
+                fPendingTemplates.remove(template);
+                if(!getControl().isDisposed()) {
+                    // All read so sort by name
+                    if(fPendingTemplates.isEmpty()) {
+                        refresh();
+                    }
+                    else {
+                        update(template, null);
+                    }
+                }
+            });
+        }
+        
+        return template.getFile().getName();
     }
     
     /**
@@ -85,7 +125,7 @@ public class TemplatesTableViewer extends TableViewer {
         @Override
         public String getText(Object element) {
             if(element instanceof ITemplate) {
-                return ((ITemplate)element).getName();
+                return getTemplateName((ITemplate)element);
             }
             return super.getText(element);
         }
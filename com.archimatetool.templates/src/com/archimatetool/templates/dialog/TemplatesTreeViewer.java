@@ -6,7 +6,9 @@
 package com.archimatetool.templates.dialog;
 
 import java.text.Collator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.jface.viewers.ITreeContentProvider;
 import org.eclipse.jface.viewers.LabelProvider;
@@ -20,6 +22,8 @@ import com.archimatetool.editor.ui.IArchiImages;
 import com.archimatetool.editor.ui.UIUtils;
 import com.archimatetool.templates.model.ITemplate;
 import com.archimatetool.templates.model.ITemplateGroup;
+import com.archimatetool.templates.model.TemplateCatalog;
+import com.archimatetool.templates.model.TemplateCatalogJob;
 
 
 
@@ -30,6 +34,10 @@ import com.archimatetool.templates.model.ITemplateGroup;
  */
 public class TemplatesTreeViewer extends TreeViewer {
 
+    // Reads the names of templates that are not in the Template Catalog
+    private TemplateCatalogJob fCatalogJob = new TemplateCatalogJob();
+    private Set<ITemplate> fPendingTemplates = new HashSet<>();
+    
     /**
      * @param parent
      * @param style
@@ -43,6 +51,38 @@ public class TemplatesTreeViewer extends TreeViewer {
         setContentProvider(new TemplatesTreeViewerContentProvider());
         setLabelProvider(new TemplatesTreeViewerLabelProvider());
         setComparator(new ViewerComparator(Collator.getInstance()));
+        
+        getControl().addDisposeListener(e -> {
+            fCatalogJob.clear();
+            fCatalogJob.cancel();
+            TemplateCatalog.INSTANCE.save();
+        });
+    }
+
+    /**
+     * @return The template's name, or its file name while it is read in the background if it is not in the Template Catalog
+     */
+    private String getTemplateName(ITemplate template) {
+        if(TemplateCatalogJob.isCatalogued(template, false)) {
+            return template.getName();
+        }
+        
+        if(fPendingTemplates.add(template)) {
+            fCatalogJob.add(template, false, () -> {
+                fPendingTemplates.remove(template);
+                if(!getControl().isDisposed()) {
+                    // All read so sort by name
+                    if(fPendingTemplates.isEmpty()) {
+                        refresh();
+                    }
+                    else {
+                        update(template, null);
+                    }
+                }
+            });
+        }
+        
+        return template.getFile().getName();
     }
 
     /**
@@ -99,7 +139,7 @@ public class TemplatesTreeViewer extends TreeViewer {
                 return ((ITemplateGroup)element).getName();
             }
             if(element instanceof ITemplate) {
-                return ((ITemplate)element).getName();
+                return getTemplateName((ITemplate)element);
             }
             return ""; //$NON-NLS-1$
         }
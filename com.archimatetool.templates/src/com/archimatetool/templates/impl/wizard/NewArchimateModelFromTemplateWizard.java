@@ -10,9 +10,7 @@ import java.io.IOException;
 
 import org.eclipse.jface.wizard.Wizard;
 
-import com.archimatetool.editor.model.IEditorModelManager;
 import com.archimatetool.editor.ui.services.UIRequestManager;
-import com.archimatetool.editor.utils.ZipUtils;
 import com.archimatetool.editor.views.tree.TreeEditElementRequest;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.ModelVersion;
@@ -20,6 +18,7 @@ import com.archimatetool.model.util.UUIDFactory;
 import com.archimatetool.templates.impl.model.ArchimateTemplateManager;
 import com.archimatetool.templates.model.ITemplate;
 import com.archimatetool.templates.model.TemplateManager;
+import com.archimatetool.templates.model.TemplateModelUtils;
 
 
 
@@ -60,12 +59,17 @@ public class NewArchimateModelFromTemplateWizard extends Wizard {
      * @throws IOException
      */
     public IArchimateModel createNewModel() throws IOException {
-        File file = getTempModelFile();
+        if(fSelectedTemplate == null) {
+            return null;
+        }
+        
+        File file = fSelectedTemplate.getFile();
         if(file == null || !file.exists()) {
             return null;
         }
         
-        IArchimateModel model = IEditorModelManager.INSTANCE.openModel(file);
+        // Load the model straight from the template file
+        IArchimateModel model = TemplateModelUtils.openModel(file);
         
         if(model != null) {
             // New name
@@ -74,9 +78,6 @@ public class NewArchimateModelFromTemplateWizard extends Wizard {
             // Set latest model version (need to do this in case we immediately save as Template)
             model.setVersion(ModelVersion.VERSION);
             
-            // Set file to null
-            model.setFile(null);
-            
             // New IDs
             UUIDFactory.generateNewIDs(model);
             
@@ -84,27 +85,8 @@ public class NewArchimateModelFromTemplateWizard extends Wizard {
             UIRequestManager.INSTANCE.fireRequestAsync(new TreeEditElementRequest(this, model));
         }
         
-        file.delete();
-        
         return model;
     }
-    
-    /**
-     * @return The extracted model from the canvas template as a temporary file or null
-     * @throws IOException
-     */
-    private File getTempModelFile() throws IOException {
-        if(fSelectedTemplate == null) {
-            return null;
-        }
-        
-        File zipFile = fSelectedTemplate.getFile();
-        
-        File tmpFile = File.createTempFile("~architemplate", null); //$NON-NLS-1$
-        tmpFile.deleteOnExit();
-        
-        return ZipUtils.extractZipEntry(zipFile, TemplateManager.ZIP_ENTRY_MODEL, tmpFile);
-    }
 
     @Override
     public void dispose() {
@@ -12,7 +12,6 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.zip.ZipOutputStream;
 
-import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.wizard.Wizard;
 import org.eclipse.osgi.util.NLS;
@@ -23,7 +22,7 @@ import org.eclipse.swt.widgets.Display;
 import org.jdom2.Document;
 import org.jdom2.Element;
 
-import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.editor.diagram.util.OffscreenDiagramRenderer;
 import com.archimatetool.editor.utils.ZipUtils;
 import com.archimatetool.jdom.JDOMUtils;
 import com.archimatetool.model.IArchimateModel;
@@ -34,6 +33,7 @@ import com.archimatetool.templates.model.ITemplate;
 import com.archimatetool.templates.model.ITemplateGroup;
 import com.archimatetool.templates.model.ITemplateXMLTags;
 import com.archimatetool.templates.model.TemplateManager;
+import com.archimatetool.templates.model.TemplateModelUtils;
 import com.archimatetool.templates.wizard.SaveModelAsTemplateToCollectionWizardPage;
 import com.archimatetool.templates.wizard.TemplateUtils;
 
@@ -150,32 +150,34 @@ public class SaveArchimateModelAsTemplateWizard extends Wizard {
             if(fIncludeThumbnails) {
                 int count = 2;
                 
-                for(IDiagramModel dm : fModel.getDiagramModels()) {
-                    int index = -1;
-                    
-                    if(fSelectedDiagramModel == dm) { // key thumbnail
-                        index = 1;
-                    }
-                    else if(count <= ITemplate.MAX_THUMBNAILS) { //others
-                        index = count++;
-                    }
-                    
-                    if(index != -1) {
-                        Image image = TemplateUtils.createThumbnailImage(dm);
-                        ZipUtils.addImageToZip(image, TemplateManager.ZIP_ENTRY_THUMBNAILS + index + ".png", zOut, SWT.IMAGE_PNG, null); //$NON-NLS-1$
-                        image.dispose();
+                // Render all of the thumbnails with one offscreen viewer
+                OffscreenDiagramRenderer renderer = new OffscreenDiagramRenderer();
+                
+                try {
+                    for(IDiagramModel dm : fModel.getDiagramModels()) {
+                        int index = -1;
+                        
+                        if(fSelectedDiagramModel == dm) { // key thumbnail
+                            index = 1;
+                        }
+                        else if(count <= ITemplate.MAX_THUMBNAILS) { //others
+                            index = count++;
+                        }
+                        
+                        if(index != -1) {
+                            Image image = TemplateUtils.createThumbnailImage(dm, renderer);
+                            ZipUtils.addImageToZip(image, TemplateManager.ZIP_ENTRY_THUMBNAILS + index + ".png", zOut, SWT.IMAGE_PNG, null); //$NON-NLS-1$
+                            image.dispose();
+                        }
                     }
                 }
+                finally {
+                    renderer.dispose();
+                }
             }
 
-            /*
-             * Save model to xml temp file and add to Zip.
-             * Do this last because we need to dispose the Archive Manager last because its images are re-used
-             * several times to create thumbnails.
-             */
-            File tempFile = saveModelToTempFile();
-            ZipUtils.addFileToZip(tempFile, TemplateManager.ZIP_ENTRY_MODEL, zOut);
-            tempFile.delete();
+            // Save the model straight to the Zip
+            TemplateModelUtils.saveModel(fModel, zOut);
         }
         finally {
             if(zOut != null) {
@@ -220,23 +222,6 @@ public class SaveArchimateModelAsTemplateWizard extends Wizard {
         return JDOMUtils.write2XMLString(doc);
     }
 
-    private File saveModelToTempFile() throws IOException {
-        File tmpFile = File.createTempFile("architemplate", null); //$NON-NLS-1$
-        tmpFile.deleteOnExit();
-        
-        // Copy the model
-        IArchimateModel tempModel = EcoreUtil.copy(fModel);
-        tempModel.eAdapters().clear();
-        tempModel.setFile(tmpFile);
-        
-        // Clone the Archive Manager for saving
-        IArchiveManager archiveManager = ((IArchiveManager)fModel.getAdapter(IArchiveManager.class)).clone(tempModel);
-        tempModel.setAdapter(IArchiveManager.class, archiveManager);
-        archiveManager.saveModel();
-        
-        return tmpFile;
-    }
-    
     @Override
     public void dispose() {
         super.dispose();
@@ -14,10 +14,13 @@ import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
 import org.jdom2.Document;
 import org.jdom2.Element;
 
@@ -46,9 +49,11 @@ public abstract class AbstractTemplate implements ITemplate, ITemplateXMLTags {
     private boolean fManifestLoaded;
     
     private String fKeyThumbnailPath;
+    private Image fKeyThumbnail;
+    private boolean fKeyThumbnailLoaded;
     
     private Map<Integer, Image> fThumbnails = new HashMap<>();
-    private int fThumbnailCount = -1;
+    private int fThumbnailCount;
     
     public AbstractTemplate() {
     }
@@ -91,19 +96,8 @@ public abstract class AbstractTemplate implements ITemplate, ITemplateXMLTags {
     
     @Override
     public int getThumbnailCount() {
-        if(fThumbnailCount == -1) {
-            fThumbnailCount = 0;
-            
-            try {
-                for(String s : ZipUtils.getZipFileEntryNames(fFile)) {
-                    if(s.endsWith(".png")) {
-                        fThumbnailCount++;
-                    }
-                }
-            }
-            catch(IOException ex) {
-                ex.printStackTrace();
-            }
+        if(!fManifestLoaded) {
+            loadManifest();
         }
         
         return fThumbnailCount;
@@ -115,16 +109,22 @@ public abstract class AbstractTemplate implements ITemplate, ITemplateXMLTags {
             loadManifest();
         }
         
-        if(fKeyThumbnailPath != null) {
-            try {
-                String imageNumber = fKeyThumbnailPath.replaceAll("[^0-9]+", "");
-                int index = Integer.parseInt(imageNumber);
-                return getThumbnail(index - 1);
-            }
-            catch(Exception ex) {
+        // Scaled down key thumbnail from the Template Catalog, only read from the template file when it's first needed
+        if(!fKeyThumbnailLoaded) {
+            fKeyThumbnailLoaded = true;
+            
+            if(fKeyThumbnailPath != null) {
+                ImageData imageData = TemplateCatalog.INSTANCE.loadKeyThumbnail(fFile);
+                if(imageData != null) {
+                    fKeyThumbnail = new Image(null, imageData);
+                }
             }
         }
         
+        if(fKeyThumbnail != null) {
+            return fKeyThumbnail;
+        }
+        
         return IArchiImages.ImageFactory.getImage(IArchiImages.DEFAULT_MODEL_THUMB);
     }
     
@@ -197,10 +197,17 @@ public abstract class AbstractTemplate implements ITemplate, ITemplateXMLTags {
         ZipUtils.addStringToZip(manifest, TemplateManager.ZIP_ENTRY_MANIFEST, zOut, Charset.forName("UTF-8"));
         
         // Add Model
-        // Save to temporary file rather than string because the actual encoding can either be ANSI or UTF-8 depending on content
-        File modelFile = ZipUtils.extractZipEntry(fFile, TemplateManager.ZIP_ENTRY_MODEL, File.createTempFile("archi", null));
-        ZipUtils.addFileToZip(modelFile, TemplateManager.ZIP_ENTRY_MODEL, zOut);
-        modelFile.delete();
+        // Copy the bytes straight from the template file because the actual encoding can either be ANSI or UTF-8 depending on content
+        try(ZipFile zipFile = new ZipFile(fFile)) {
+            ZipEntry zipEntry = zipFile.getEntry(TemplateManager.ZIP_ENTRY_MODEL);
+            if(zipEntry != null) {
+                zOut.putNextEntry(new ZipEntry(TemplateManager.ZIP_ENTRY_MODEL));
+                try(InputStream in = zipFile.getInputStream(zipEntry)) {
+                    in.transferTo(zOut);
+                }
+                zOut.closeEntry();
+            }
+        }
 
         // Thumbnails
         for(int i = 0; i < getThumbnailCount(); i++) {
@@ -220,42 +227,14 @@ public abstract class AbstractTemplate implements ITemplate, ITemplateXMLTags {
     }
     
     private void loadManifest() {
-        // Default first
         fManifestLoaded = true;
-        fName = "";
-        fDescription = "";
         
-        if(fFile != null && fFile.exists()) {
-            try {
-                // Manifest
-                String manifest = ZipUtils.extractZipEntry(fFile, TemplateManager.ZIP_ENTRY_MANIFEST, Charset.forName("UTF-8"));
-                if(manifest != null) {
-                    Document doc = JDOMUtils.readXMLString(manifest);
-                    Element rootElement = doc.getRootElement();
-                    
-                    // Name
-                    Element nameElement = rootElement.getChild(XML_TEMPLATE_ELEMENT_NAME);
-                    if(nameElement != null) {
-                        fName = nameElement.getText();
-                    }
-                    
-                    // Description
-                    Element descriptionElement = rootElement.getChild(XML_TEMPLATE_ELEMENT_DESCRIPTION);
-                    if(nameElement != null) {
-                        fDescription = descriptionElement.getText();
-                    }
-                    
-                    // Key thumbnail
-                    Element keyThumbnailElement = rootElement.getChild(XML_TEMPLATE_ELEMENT_KEY_THUMBNAIL);
-                    if(keyThumbnailElement != null) {
-                        fKeyThumbnailPath = keyThumbnailElement.getText();
-                    }
-                }
-            }
-            catch(Exception ex) {
-                ex.printStackTrace();
-            }
-        }
+        // Read from the Template Catalog rather than opening the zip file each time. This does not read the key thumbnail.
+        TemplateCatalog.Entry entry = TemplateCatalog.INSTANCE.loadEntry(fFile);
+        fName = entry.getName();
+        fDescription = entry.getDescription();
+        fKeyThumbnailPath = entry.getKeyThumbnailPath();
+        fThumbnailCount = entry.getThumbnailCount();
     }
     
     private Image loadImage(String imgName) {
@@ -302,5 +281,11 @@ public abstract class AbstractTemplate implements ITemplate, ITemplateXMLTags {
         }
         
         fThumbnails = null;
+        
+        if(fKeyThumbnail != null && !fKeyThumbnail.isDisposed()) {
+            fKeyThumbnail.dispose();
+        }
+        
+        fKeyThumbnail = null;
     }
 }
@@ -0,0 +1,403 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.templates.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.widgets.Display;
+import org.jdom2.Document;
+import org.jdom2.Element;
+
+import com.archimatetool.editor.ArchiPlugin;
+import com.archimatetool.editor.ui.ImageFactory;
+import com.archimatetool.editor.utils.StringUtils;
+import com.archimatetool.jdom.JDOMUtils;
+
+
+
+/**
+ * Catalog of the manifest details and key thumbnails of template files, saved between sessions.<br/>
+ * <br/>
+ * This is so that the templates in the New Model From Template Wizard and the Template Manager Dialog can be shown without opening
+ * each template's zip file and decoding its thumbnails every time. An entry is keyed by the template file's path and is only returned
+ * for the same file size and last modified time that it was read from.<br/>
+ * <br/>
+ * The manifest details are read first and the key thumbnail is only read and scaled when it is needed.
+ *
+ * @author Phillip Beauvoir
+ */
+@SuppressWarnings("nls")
+public class TemplateCatalog {
+
+    public static final TemplateCatalog INSTANCE = new TemplateCatalog(new File(ArchiPlugin.INSTANCE.getWorkspaceFolder(), "templates-catalog.xml"));
+
+    /**
+     * Maximum width or height of a key thumbnail in the catalog
+     */
+    public static final int KEY_THUMBNAIL_SIZE = 240;
+
+    private static final String XML_ELEMENT_CATALOG = "catalog";
+    private static final String XML_ELEMENT_ENTRY = "entry";
+    private static final String XML_ELEMENT_IMAGE = "image";
+    private static final String XML_ATTRIBUTE_SIZE = "size";
+    private static final String XML_ATTRIBUTE_THUMBNAIL_COUNT = "thumbnailCount";
+    private static final String XML_ATTRIBUTE_KEY_THUMBNAIL_READ = "keyThumbnailRead";
+
+    /**
+     * The catalog details of a template file
+     */
+    public static class Entry {
+        private long fileSize;
+        private long lastModified;
+
+        private String name = "";
+        private String description = "";
+        private String keyThumbnailPath;
+        private int thumbnailCount;
+        private ImageData keyThumbnail;
+        private boolean keyThumbnailRead;
+
+        public String getName() {
+            return name;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getKeyThumbnailPath() {
+            return keyThumbnailPath;
+        }
+
+        public int getThumbnailCount() {
+            return thumbnailCount;
+        }
+
+        /**
+         * @return The key thumbnail or null if there isn't one or it has not been read
+         */
+        public ImageData getKeyThumbnail() {
+            return keyThumbnail;
+        }
+
+        /**
+         * @return true if there is no key thumbnail or it has been read
+         */
+        public boolean isKeyThumbnailRead() {
+            return keyThumbnailPath == null || keyThumbnailRead;
+        }
+
+        private boolean isValidFor(File file) {
+            return file.length() == fileSize && file.lastModified() == lastModified;
+        }
+    }
+
+    private File fCatalogFile;
+    private Map<String, Entry> fEntries;
+    private boolean fDirty;
+
+    TemplateCatalog(File catalogFile) {
+        fCatalogFile = catalogFile;
+    }
+
+    /**
+     * @param file The template file
+     * @return The entry for the template file or null if it is not in the catalog or the file has changed since it was read.
+     *         This does not open the template file.
+     */
+    public synchronized Entry getEntry(File file) {
+        if(file == null) {
+            return null;
+        }
+
+        Entry entry = getEntries().get(file.getAbsolutePath());
+        return entry != null && entry.isValidFor(file) ? entry : null;
+    }
+
+    /**
+     * Get the entry for the template file, reading its manifest details from the template file and adding it to the catalog if needed.
+     * The key thumbnail is not read.
+     * @param file The template file
+     * @return The entry for the template file
+     */
+    public Entry loadEntry(File file) {
+        Entry entry = getEntry(file);
+
+        if(entry == null) {
+            entry = readEntry(file);
+            putEntry(file, entry);
+        }
+
+        return entry;
+    }
+
+    /**
+     * Get the key thumbnail of the template file, reading it from the template file and adding it to the catalog if needed.
+     * Must be called in the UI thread.
+     * @param file The template file
+     * @return The scaled key thumbnail or null if there isn't one
+     */
+    public ImageData loadKeyThumbnail(File file) {
+        Entry entry = loadEntry(file);
+
+        if(!entry.isKeyThumbnailRead()) {
+            putKeyThumbnail(file, entry, readKeyThumbnail(file, entry));
+        }
+
+        return entry.getKeyThumbnail();
+    }
+
+    /**
+     * Read the manifest details and number of thumbnails of a template file. The key thumbnail is not read.
+     * This does not add it to the catalog and can be called in a background thread.
+     * @param file The template file
+     * @return The entry
+     */
+    public Entry readEntry(File file) {
+        Entry entry = new Entry();
+
+        if(file == null || !file.exists()) {
+            return entry;
+        }
+
+        entry.fileSize = file.length();
+        entry.lastModified = file.lastModified();
+
+        try(ZipFile zipFile = new ZipFile(file)) {
+            // Thumbnails
+            for(Enumeration<? extends ZipEntry> en = zipFile.entries(); en.hasMoreElements();) {
+                if(en.nextElement().getName().endsWith(".png")) {
+                    entry.thumbnailCount++;
+                }
+            }
+
+            // Manifest
+            ZipEntry zipEntry = zipFile.getEntry(TemplateManager.ZIP_ENTRY_MANIFEST);
+            if(zipEntry != null) {
+                try(InputStream in = zipFile.getInputStream(zipEntry)) {
+                    readManifest(entry, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        catch(Exception ex) {
+            ex.printStackTrace();
+        }
+
+        return entry;
+    }
+
+    /**
+     * Read the key thumbnail of a template file at full size.
+     * This does not add it to the catalog and can be called in a background thread.
+     * @param file The template file
+     * @param entry The entry of the template file
+     * @return The key thumbnail or null if there isn't one
+     */
+    public ImageData readKeyThumbnail(File file, Entry entry) {
+        if(file == null || !file.exists() || entry.keyThumbnailPath == null) {
+            return null;
+        }
+
+        try(ZipFile zipFile = new ZipFile(file)) {
+            String imageNumber = entry.keyThumbnailPath.replaceAll("[^0-9]+", "");
+            ZipEntry zipEntry = zipFile.getEntry(TemplateManager.ZIP_ENTRY_THUMBNAILS + imageNumber + ".png");
+            if(zipEntry != null) {
+                try(InputStream in = zipFile.getInputStream(zipEntry)) {
+                    return new ImageData(in);
+                }
+            }
+        }
+        catch(Exception ex) {
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+
+    private void readManifest(Entry entry, String manifest) throws Exception {
+        Element rootElement = JDOMUtils.readXMLString(manifest).getRootElement();
+
+        // Name
+        Element nameElement = rootElement.getChild(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_NAME);
+        if(nameElement != null) {
+            entry.name = nameElement.getText();
+        }
+
+        // Description
+        Element descriptionElement = rootElement.getChild(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_DESCRIPTION);
+        if(descriptionElement != null) {
+            entry.description = descriptionElement.getText();
+        }
+
+        // Key thumbnail
+        Element keyThumbnailElement = rootElement.getChild(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_KEY_THUMBNAIL);
+        if(keyThumbnailElement != null) {
+            entry.keyThumbnailPath = keyThumbnailElement.getText();
+        }
+    }
+
+    /**
+     * Add an entry read by {@link #readEntry(File)} to the catalog
+     * @param file The template file
+     * @param entry The entry
+     */
+    public synchronized void putEntry(File file, Entry entry) {
+        if(file != null) {
+            getEntries().put(file.getAbsolutePath(), entry);
+            fDirty = true;
+        }
+    }
+
+    /**
+     * Add a key thumbnail read by {@link #readKeyThumbnail(File, Entry)} to an entry in the catalog, scaling it down.
+     * Must be called in the UI thread.
+     * @param file The template file
+     * @param entry The entry of the template file
+     * @param imageData The key thumbnail at full size or null if there isn't one
+     */
+    public void putKeyThumbnail(File file, Entry entry, ImageData imageData) {
+        // Scale it with a GC as ImageData#scaledTo does not use interpolation
+        if(imageData != null) {
+            int size = Math.max(imageData.width, imageData.height);
+            if(size > KEY_THUMBNAIL_SIZE) {
+                Image image = new Image(Display.getCurrent(), imageData);
+                Image scaledImage = ImageFactory.getScaledImage(image, KEY_THUMBNAIL_SIZE);
+                imageData = scaledImage.getImageData();
+                scaledImage.dispose();
+                image.dispose();
+            }
+        }
+
+        synchronized(this) {
+            entry.keyThumbnail = imageData;
+            entry.keyThumbnailRead = true;
+            fDirty = true;
+        }
+    }
+
+    /**
+     * Save the catalog if it has changed. Entries of template files that no longer exist are removed.
+     */
+    public synchronized void save() {
+        if(!fDirty) {
+            return;
+        }
+
+        Document doc = new Document();
+        Element rootElement = new Element(XML_ELEMENT_CATALOG);
+        doc.setRootElement(rootElement);
+
+        for(Map.Entry<String, Entry> mapEntry : fEntries.entrySet()) {
+            if(!new File(mapEntry.getKey()).exists()) {
+                continue;
+            }
+
+            Entry entry = mapEntry.getValue();
+
+            Element entryElement = new Element(XML_ELEMENT_ENTRY);
+            entryElement.setAttribute(ITemplateXMLTags.XML_TEMPLATE_ATTRIBUTE_FILE, mapEntry.getKey());
+            entryElement.setAttribute(XML_ATTRIBUTE_SIZE, String.valueOf(entry.fileSize));
+            entryElement.setAttribute(ITemplateXMLTags.XML_TEMPLATE_ATTRIBUTE_TIMESTAMP, String.valueOf(entry.lastModified));
+            entryElement.setAttribute(XML_ATTRIBUTE_THUMBNAIL_COUNT, String.valueOf(entry.thumbnailCount));
+            entryElement.setAttribute(XML_ATTRIBUTE_KEY_THUMBNAIL_READ, String.valueOf(entry.keyThumbnailRead));
+            rootElement.addContent(entryElement);
+
+            Element nameElement = new Element(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_NAME);
+            nameElement.setText(entry.name);
+            entryElement.addContent(nameElement);
+
+            Element descriptionElement = new Element(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_DESCRIPTION);
+            descriptionElement.setText(entry.description);
+            entryElement.addContent(descriptionElement);
+
+            if(entry.keyThumbnailPath != null) {
+                Element keyThumbnailElement = new Element(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_KEY_THUMBNAIL);
+                keyThumbnailElement.setText(entry.keyThumbnailPath);
+                entryElement.addContent(keyThumbnailElement);
+            }
+
+            // PNG bytes as Base64
+            if(entry.keyThumbnail != null) {
+                ImageLoader loader = new ImageLoader();
+                loader.data = new ImageData[] { entry.keyThumbnail };
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                loader.save(out, SWT.IMAGE_PNG);
+
+                Element imageElement = new Element(XML_ELEMENT_IMAGE);
+                imageElement.setText(Base64.getEncoder().encodeToString(out.toByteArray()));
+                entryElement.addContent(imageElement);
+            }
+        }
+
+        try {
+            fCatalogFile.getParentFile().mkdirs();
+            JDOMUtils.write2XMLFile(doc, fCatalogFile);
+            fDirty = false;
+        }
+        catch(IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private Map<String, Entry> getEntries() {
+        if(fEntries == null) {
+            fEntries = new HashMap<>();
+            load();
+        }
+
+        return fEntries;
+    }
+
+    private void load() {
+        if(!fCatalogFile.exists()) {
+            return;
+        }
+
+        try {
+            Document doc = JDOMUtils.readXMLFile(fCatalogFile);
+
+            for(Element entryElement : doc.getRootElement().getChildren(XML_ELEMENT_ENTRY)) {
+                Entry entry = new Entry();
+                entry.fileSize = Long.parseLong(entryElement.getAttributeValue(XML_ATTRIBUTE_SIZE));
+                entry.lastModified = Long.parseLong(entryElement.getAttributeValue(ITemplateXMLTags.XML_TEMPLATE_ATTRIBUTE_TIMESTAMP));
+                entry.thumbnailCount = Integer.parseInt(entryElement.getAttributeValue(XML_ATTRIBUTE_THUMBNAIL_COUNT));
+                entry.name = StringUtils.safeString(entryElement.getChildText(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_NAME));
+                entry.description = StringUtils.safeString(entryElement.getChildText(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_DESCRIPTION));
+                entry.keyThumbnailPath = entryElement.getChildText(ITemplateXMLTags.XML_TEMPLATE_ELEMENT_KEY_THUMBNAIL);
+
+                entry.keyThumbnailRead = Boolean.parseBoolean(entryElement.getAttributeValue(XML_ATTRIBUTE_KEY_THUMBNAIL_READ));
+
+                String png = entryElement.getChildText(XML_ELEMENT_IMAGE);
+                if(png != null) {
+                    entry.keyThumbnail = new ImageData(new ByteArrayInputStream(Base64.getDecoder().decode(png)));
+                    entry.keyThumbnailRead = true;
+                }
+
+                fEntries.put(entryElement.getAttributeValue(ITemplateXMLTags.XML_TEMPLATE_ATTRIBUTE_FILE), entry);
+            }
+        }
+        catch(Exception ex) {
+            // A bad catalog is read again from the template files
+            ex.printStackTrace();
+            fEntries.clear();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.templates.model;
+
+import java.io.File;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.widgets.Display;
+
+
+
+/**
+ * Background job to read templates that are not in the Template Catalog and add them to it.<br/>
+ * <br/>
+ * Opening a template's zip file, and decoding its key thumbnail, is the slow part so it is done here.
+ * Each request's callback is run in the UI thread when its template has been added to the catalog.
+ * Must be created in the UI thread.
+ *
+ * @author Phillip Beauvoir
+ */
+public class TemplateCatalogJob extends Job {
+
+    private static class Request {
+        File file;
+        boolean withKeyThumbnail;
+        Runnable callback;
+    }
+
+    private Queue<Request> requests = new ConcurrentLinkedQueue<>();
+
+    private Display display = Display.getCurrent();
+
+    public TemplateCatalogJob() {
+        super("Template Catalog"); //$NON-NLS-1$
+        setSystem(true);
+    }
+
+    /**
+     * @param template The template
+     * @param withKeyThumbnail If true the key thumbnail must be in the catalog as well
+     * @return true if the template's details can be got from the Template Catalog without reading the template file
+     */
+    public static boolean isCatalogued(ITemplate template, boolean withKeyThumbnail) {
+        if(template.getFile() == null) {
+            return true;
+        }
+
+        TemplateCatalog.Entry entry = TemplateCatalog.INSTANCE.getEntry(template.getFile());
+        return entry != null && (!withKeyThumbnail || entry.isKeyThumbnailRead());
+    }
+
+    /**
+     * Add a request to read a template in the order that requests are added
+     * @param template The template
+     * @param withKeyThumbnail If true read the key thumbnail as well
+     * @param callback Run in the UI thread when the template has been added to the catalog
+     */
+    public void add(ITemplate template, boolean withKeyThumbnail, Runnable callback) {
+        Request request = new Request();
+        request.file = template.getFile();
+        request.withKeyThumbnail = withKeyThumbnail;
+        request.callback = callback;
+        requests.add(request);
+        schedule();
+    }
+
+    /**
+     * @return true if there are requests that have not been started
+     */
+    public boolean hasRequests() {
+        return !requests.isEmpty();
+    }
+
+    /**
+     * Remove requests that have not been started
+     */
+    public void clear() {
+        requests.clear();
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        Request request = null;
+
+        while(!monitor.isCanceled() && (request = requests.poll()) != null) {
+            TemplateCatalog.Entry catalogEntry = TemplateCatalog.INSTANCE.getEntry(request.file);
+            TemplateCatalog.Entry entry = catalogEntry != null ? catalogEntry : TemplateCatalog.INSTANCE.readEntry(request.file);
+
+            boolean readKeyThumbnail = request.withKeyThumbnail && !entry.isKeyThumbnailRead();
+            ImageData keyThumbnail = readKeyThumbnail ? TemplateCatalog.INSTANCE.readKeyThumbnail(request.file, entry) : null;
+
+            // Wait for the entry to be added so that the full size ImageData is not queued
+            Request r = request;
+            if(!display.isDisposed()) {
+                display.syncExec(() -> {
+                    if(catalogEntry == null) {
+                        TemplateCatalog.INSTANCE.putEntry(r.file, entry);
+                    }
+                    if(readKeyThumbnail) {
+                        TemplateCatalog.INSTANCE.putKeyThumbnail(r.file, entry, keyThumbnail);
+                    }
+                    r.callback.run();
+                });
+            }
+        }
+
+        return Status.OK_STATUS;
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.templates.model;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.editor.model.IEditorModelManager;
+import com.archimatetool.model.IArchimateModel;
+
+
+
+/**
+ * Loads and saves the model of a template straight from and to the model entry of the template's zip file.<br/>
+ * <br/>
+ * The model entry is either a model file in archive format, if the model has images, or an XML model file.
+ * Neither is extracted to a temporary file.
+ *
+ * @author Phillip Beauvoir
+ */
+public final class TemplateModelUtils {
+
+    // The first bytes of a zip file
+    private static final byte[] ZIP_SIGNATURE = { 'P', 'K', 3, 4 };
+
+    private TemplateModelUtils() {
+    }
+
+    /**
+     * Load the model in a template file. Its images are not loaded.
+     * If the Workbench is running and the model is a later version or has unknown features the user is asked whether to continue.
+     * @param templateFile The template file
+     * @return The model or null if the template file has no model or the user chose not to continue
+     * @throws IOException
+     */
+    public static IArchimateModel loadModel(File templateFile) throws IOException {
+        try(ZipFile zipFile = new ZipFile(templateFile)) {
+            ZipEntry zipEntry = zipFile.getEntry(TemplateManager.ZIP_ENTRY_MODEL);
+            if(zipEntry == null) {
+                return null;
+            }
+
+            try(InputStream in = getModelStream(zipFile.getInputStream(zipEntry))) {
+                return IEditorModelManager.INSTANCE.loadModel(in, templateFile);
+            }
+        }
+    }
+
+    /**
+     * Load the images of the model in a template file and add them to an Archive Manager
+     * @param templateFile The template file
+     * @param archiveManager The Archive Manager to add the images to
+     * @throws IOException
+     */
+    public static void loadImages(File templateFile, IArchiveManager archiveManager) throws IOException {
+        try(ZipFile zipFile = new ZipFile(templateFile)) {
+            ZipEntry zipEntry = zipFile.getEntry(TemplateManager.ZIP_ENTRY_MODEL);
+            if(zipEntry != null) {
+                try(InputStream in = zipFile.getInputStream(zipEntry)) {
+                    archiveManager.loadImagesFromModelStream(in);
+                }
+            }
+        }
+    }
+
+    /**
+     * Load the model in a template file with its images and open it in the Models Tree as a new model
+     * @param templateFile The template file
+     * @return The model or null if the template file has no model
+     * @throws IOException
+     */
+    public static IArchimateModel openModel(File templateFile) throws IOException {
+        IArchimateModel model = loadModel(templateFile);
+        if(model == null) {
+            return null;
+        }
+
+        // Load the images now so that they are there when the model is opened
+        IArchiveManager archiveManager = IArchiveManager.FACTORY.createArchiveManager(model);
+        model.setAdapter(IArchiveManager.class, archiveManager);
+        loadImages(templateFile, archiveManager);
+
+        // And open its Views if set in Preferences
+        IEditorModelManager.INSTANCE.openModel(model, true);
+
+        return model;
+    }
+
+    /**
+     * Save a model and its images to the model entry of a template's zip file.
+     * The model is not copied and its file and Resource are not changed.
+     * @param model The model
+     * @param zOut The template's zip file stream
+     * @throws IOException
+     */
+    public static void saveModel(IArchimateModel model, ZipOutputStream zOut) throws IOException {
+        IArchiveManager archiveManager = (IArchiveManager)model.getAdapter(IArchiveManager.class);
+
+        zOut.putNextEntry(new ZipEntry(TemplateManager.ZIP_ENTRY_MODEL));
+        archiveManager.saveModel(zOut);
+        zOut.closeEntry();
+    }
+
+    /**
+     * @return The stream of the model xml file in the model entry's stream
+     */
+    private static InputStream getModelStream(InputStream entryStream) throws IOException {
+        InputStream in = new BufferedInputStream(entryStream);
+
+        // Not archive format so it's the model xml file
+        in.mark(ZIP_SIGNATURE.length);
+        byte[] signature = in.readNBytes(ZIP_SIGNATURE.length);
+        in.reset();
+        if(!Arrays.equals(ZIP_SIGNATURE, signature)) {
+            return in;
+        }
+
+        // Archive format so find the model xml file in it
+        ZipInputStream zIn = new ZipInputStream(in);
+        for(ZipEntry zipEntry; (zipEntry = zIn.getNextEntry()) != null;) {
+            if("model.xml".equals(zipEntry.getName())) { //$NON-NLS-1$
+                return zIn;
+            }
+        }
+
+        zIn.close();
+        throw new IOException("No model.xml in template model"); //$NON-NLS-1$
+    }
+}
@@ -51,6 +51,8 @@ import com.archimatetool.templates.dialog.TemplateManagerDialog;
 import com.archimatetool.templates.impl.model.ArchimateTemplateManager;
 import com.archimatetool.templates.model.ITemplate;
 import com.archimatetool.templates.model.ITemplateGroup;
+import com.archimatetool.templates.model.TemplateCatalog;
+import com.archimatetool.templates.model.TemplateCatalogJob;
 import com.archimatetool.templates.model.TemplateManager;
 
 
@@ -72,6 +74,11 @@ public abstract class NewModelFromTemplateWizardPage extends WizardPage {
     protected TableViewer fUserTableViewer;
     
     protected ITemplate fSelectedTemplate;
+    
+    // The group shown in the Gallery
+    private ITemplateGroup fGalleryGroup;
+    
+    private TemplateCatalogJob fCatalogJob = new TemplateCatalogJob();
 
     /*
      * Track and de-select Viewers so that only one has focus at a time
@@ -424,6 +431,8 @@ public abstract class NewModelFromTemplateWizardPage extends WizardPage {
      * Clear old root group
      */
     protected void clearGallery() {
+        fCatalogJob.clear();
+        
         if(fGalleryRoot != null && !fGallery.isDisposed() && fGallery.getItemCount() > 0) {
             while(fGalleryRoot.getItemCount() > 0) {
                 GalleryItem item = fGalleryRoot.getItem(0);
@@ -434,25 +443,75 @@ public abstract class NewModelFromTemplateWizardPage extends WizardPage {
     
     /**
      * Update the Gallery
+     * If all of the group's templates are in the Template Catalog they are shown sorted by name.
+     * If not, the templates that are not in the catalog are shown by file name and read in the background,
+     * and then the Gallery is updated again.
      * @param group
      */
     protected void updateGallery(ITemplateGroup group) {
-        for(ITemplate template : group.getSortedTemplates()) {
+        fGalleryGroup = group;
+        
+        boolean catalogued = true;
+        for(ITemplate template : group.getTemplates()) {
+            if(!isCatalogued(template)) {
+                catalogued = false;
+                break;
+            }
+        }
+        
+        for(ITemplate template : catalogued ? group.getSortedTemplates() : group.getTemplates()) {
             GalleryItem item = new GalleryItem(fGalleryRoot, SWT.NONE);
-            item.setText(StringUtils.safeString(template.getName()));
-            item.setImage(template.getKeyThumbnail());
             item.setData(template);
+            
+            if(catalogued || isCatalogued(template)) {
+                item.setText(StringUtils.safeString(template.getName()));
+                item.setImage(template.getKeyThumbnail());
+            }
+            else {
+                item.setText(template.getFile().getName());
+                item.setImage(IArchiImages.ImageFactory.getImage(IArchiImages.DEFAULT_MODEL_THUMB));
+                fCatalogJob.add(template, true, () -> templateCatalogued(item, template, group));
+            }
+        }
+        
+        // Select the selected template if it is in this group, else the first one
+        GalleryItem selectedItem = fGalleryRoot.getItemCount() > 0 ? fGalleryRoot.getItem(0) : null;
+        for(GalleryItem item : fGalleryRoot.getItems()) {
+            if(item.getData() == fSelectedTemplate) {
+                selectedItem = item;
+                break;
+            }
         }
         
-        if(fGalleryRoot.getItem(0) != null) {
-            fGallery.setSelection(new GalleryItem[] { fGalleryRoot.getItem(0) });
-            updateWizard((ITemplate)fGalleryRoot.getItem(0).getData());
+        if(selectedItem != null) {
+            fGallery.setSelection(new GalleryItem[] { selectedItem });
+            updateWizard((ITemplate)selectedItem.getData());
         }
         else {
             updateWizard(null);
         }
     }
     
+    private boolean isCatalogued(ITemplate template) {
+        return TemplateCatalogJob.isCatalogued(template, true);
+    }
+    
+    /**
+     * A template in the Gallery has been read by the Catalog Job
+     */
+    private void templateCatalogued(GalleryItem item, ITemplate template, ITemplateGroup group) {
+        if(!item.isDisposed()) {
+            item.setText(StringUtils.safeString(template.getName()));
+            item.setImage(template.getKeyThumbnail());
+        }
+        
+        // All read so show the group again sorted by name
+        if(group == fGalleryGroup && !fCatalogJob.hasRequests() && !fGallery.isDisposed()) {
+            clearGallery();
+            updateGallery(group);
+        }
+    }
+    
     /**
      * Update the wizard to show selected description text
      * @param template
@@ -479,5 +538,13 @@ public abstract class NewModelFromTemplateWizardPage extends WizardPage {
     }
     
     protected abstract String getHelpID();
+    
+    @Override
+    public void dispose() {
+        fCatalogJob.clear();
+        fCatalogJob.cancel();
+        TemplateCatalog.INSTANCE.save();
+        super.dispose();
+    }
 
 }
@@ -6,14 +6,12 @@
 package com.archimatetool.templates.wizard;
 
 import org.eclipse.draw2d.geometry.Rectangle;
-import org.eclipse.gef.GraphicalViewer;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.GC;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.widgets.Label;
-import org.eclipse.swt.widgets.Shell;
 
-import com.archimatetool.editor.diagram.util.DiagramUtils;
+import com.archimatetool.editor.diagram.util.OffscreenDiagramRenderer;
 import com.archimatetool.model.IDiagramModel;
 import com.archimatetool.templates.model.TemplateManager;
 
@@ -38,18 +36,21 @@ public class TemplateUtils {
             label.setImage(null);
         }
 
-        Shell shell = new Shell();
-        GraphicalViewer diagramViewer = DiagramUtils.createViewer(diagramModel, shell);
+        OffscreenDiagramRenderer renderer = new OffscreenDiagramRenderer();
         
-        final int margin = 5;
-        Rectangle bounds = DiagramUtils.getDiagramExtents(diagramViewer);
-        bounds.expand(margin * 2, margin * 2);
-        double ratio = Math.min(1, Math.min((double)label.getBounds().width / bounds.width,
-                (double)label.getBounds().height / bounds.height));
-        
-        Image image = DiagramUtils.createImage(diagramViewer, ratio, margin);
-        label.setImage(image);
-        shell.dispose();
+        try {
+            final int margin = 5;
+            Rectangle bounds = renderer.getDiagramExtents(diagramModel);
+            bounds.expand(margin * 2, margin * 2);
+            double ratio = Math.min(1, Math.min((double)label.getBounds().width / bounds.width,
+                    (double)label.getBounds().height / bounds.height));
+            
+            Image image = renderer.createImage(diagramModel, ratio, margin);
+            label.setImage(image);
+        }
+        finally {
+            renderer.dispose();
+        }
     }
     
     /**
@@ -58,17 +59,30 @@ public class TemplateUtils {
      * @return
      */
     public static Image createThumbnailImage(IDiagramModel diagramModel) {
-        Shell shell = new Shell();
-        GraphicalViewer diagramViewer = DiagramUtils.createViewer(diagramModel, shell);
+        OffscreenDiagramRenderer renderer = new OffscreenDiagramRenderer();
         
+        try {
+            return createThumbnailImage(diagramModel, renderer);
+        }
+        finally {
+            renderer.dispose();
+        }
+    }
+    
+    /**
+     * Create a thumbnail image to add to the template using a renderer that is used for more than one thumbnail
+     * @param dm
+     * @param renderer The renderer to use
+     * @return
+     */
+    public static Image createThumbnailImage(IDiagramModel diagramModel, OffscreenDiagramRenderer renderer) {
         int padding = 5;
-        Rectangle bounds = DiagramUtils.getDiagramExtents(diagramViewer);
+        Rectangle bounds = renderer.getDiagramExtents(diagramModel);
         bounds.expand(padding * 2, padding * 2);
         double ratio = Math.min(1, Math.min((double)TemplateManager.THUMBNAIL_WIDTH / bounds.width,
                 (double)TemplateManager.THUMBNAIL_HEIGHT / bounds.height));
         
-        Image image = DiagramUtils.createImage(diagramViewer, ratio, padding);
-        shell.dispose();
+        Image image = renderer.createImage(diagramModel, ratio, padding);
 
         // Draw a border
         GC gc = new GC(image);
@@ -59,6 +59,7 @@ import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IArchimateModelObject;
 import com.archimatetool.model.IArchimatePackage;
+import com.archimatetool.model.IFolder;
 import com.archimatetool.model.util.ArchimateModelUtils;
 import com.archimatetool.model.viewpoints.IViewpoint;
 import com.archimatetool.model.viewpoints.ViewpointManager;
@@ -975,6 +976,11 @@ implements IZestView, ISelectionListener {
             return true;
         }
         
+        // Bulk add or remove of a folder's concepts
+        if(msg.getNotifier() instanceof IFolder && (msg.getEventType() == Notification.ADD_MANY || msg.getEventType() == Notification.REMOVE_MANY)) {
+            return true;
+        }
+        
         return false;
     }
     
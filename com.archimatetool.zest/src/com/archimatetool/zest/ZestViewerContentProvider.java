@@ -16,7 +16,6 @@ import org.eclipse.zest.core.viewers.IGraphContentProvider;
 import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateElement;
 import com.archimatetool.model.IArchimateRelationship;
-import com.archimatetool.model.util.ArchimateModelUtils;
 import com.archimatetool.model.viewpoints.IViewpoint;
 import com.archimatetool.model.viewpoints.ViewpointManager;
 
@@ -151,9 +150,9 @@ public class ZestViewerContentProvider implements IGraphContentProvider {
             return;
         }
         
-        count++;
+        int nextCount = count + 1;
         
-        for(IArchimateRelationship relationship : ArchimateModelUtils.getAllRelationshipsForConcept(concept)) {
+        concept.forEachRelationship(relationship -> {
             IArchimateConcept other = relationship.getSource().equals(concept) ? relationship.getTarget() : relationship.getSource();
             int direction = relationship.getSource().equals(concept) ? DIR_OUT : DIR_IN;
 
@@ -168,10 +167,10 @@ public class ZestViewerContentProvider implements IGraphContentProvider {
 
             if(fViewpoint.isAllowedConcept(other.eClass()) && isVisible(relationship)) {
                 if(direction == fDirection || fDirection == DIR_BOTH) {
-                    getRelations(mainList, checkList, other, count);
+                    getRelations(mainList, checkList, other, nextCount);
                 }
             }
-        }
+        });
     }
     
     @Override
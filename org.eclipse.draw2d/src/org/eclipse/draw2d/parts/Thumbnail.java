@@ -208,7 +208,7 @@ public class Thumbnail extends Figure implements UpdateListener {
             theGraphics.translate(-p.x * getScaleX() - sx1, -p.y * getScaleY()
                     - sy1);
             theGraphics.scale(getScaleX());
-            sourceFigure.paint(theGraphics);
+            paintSource(theGraphics);
             theGraphics.popState();
 
             // Copy the painted tile image into the thumbnail image.
@@ -530,6 +530,17 @@ public class Thumbnail extends Figure implements UpdateListener {
         return sourceFigure;
     }
 
+    /**
+     * Paints the source figure into a tile of the thumbnail image. Subclasses
+     * may override this to change how the source figure is painted.
+     * 
+     * @param graphics
+     *            The Graphics used to paint
+     */
+    protected void paintSource(Graphics graphics) {
+        sourceFigure.paint(graphics);
+    }
+
     /**
      * Returns the rectangular region relative to the source figure which will
      * be the basis of the thumbnail. The value may be returned by reference and
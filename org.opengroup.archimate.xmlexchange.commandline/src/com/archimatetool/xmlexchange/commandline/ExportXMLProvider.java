@@ -16,6 +16,7 @@ import org.opengroup.archimate.xmlexchange.XMLModelExporter;
 import org.opengroup.archimate.xmlexchange.XMLValidator;
 
 import com.archimatetool.commandline.AbstractCommandLineProvider;
+import com.archimatetool.commandline.CommandLineMetrics;
 import com.archimatetool.commandline.CommandLineState;
 import com.archimatetool.editor.utils.StringUtils;
 import com.archimatetool.model.IArchimateModel;
@@ -73,15 +74,20 @@ public class ExportXMLProvider extends AbstractCommandLineProvider {
         
         logMessage(NLS.bind(Messages.ExportXMLProvider_3, model.getName(), outputFile.getPath()));
 
-        exporter.exportModel(model, outputFile);
+        try(CommandLineMetrics.Phase phase = startPhase("export")) { //$NON-NLS-1$
+            exporter.exportModel(model, outputFile);
+            addOutput(outputFile);
+        }
         
         logMessage(Messages.ExportXMLProvider_4);
         
         // Validate file
         logMessage(Messages.ExportXMLProvider_5);
         
-        XMLValidator validator = new XMLValidator();
-        validator.validateXML(outputFile);
+        try(CommandLineMetrics.Phase phase = startPhase("validate")) { //$NON-NLS-1$
+            XMLValidator validator = new XMLValidator();
+            validator.validateXML(outputFile);
+        }
 
         logMessage(Messages.ExportXMLProvider_6);
     }
@@ -0,0 +1,55 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.editor.model.IEditorModelManager;
+import com.archimatetool.model.IArchimateModel;
+
+
+/**
+ * Benchmarks for saving and loading a model with the ArchiveManager
+ *
+ * @author Phillip Beauvoir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("nls")
+public class ArchiveManagerBenchmarks {
+
+    @Benchmark
+    public File saveModel(GeneratedModelState state) throws IOException {
+        File file = new File(state.tempFolder, "save.archimate");
+        state.model.setFile(file);
+
+        try {
+            ((IArchiveManager)state.model.getAdapter(IArchiveManager.class)).saveModel();
+        }
+        finally {
+            state.model.setFile(state.modelFile);
+        }
+
+        return file;
+    }
+
+    @Benchmark
+    public IArchimateModel loadModel(GeneratedModelState state) throws IOException {
+        return IEditorModelManager.INSTANCE.load(state.modelFile);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.archimatetool.csv.export.CSVExporter;
+import com.archimatetool.csv.importer.CSVImporter;
+import com.archimatetool.model.IArchimateModel;
+
+
+/**
+ * Benchmarks for exporting and importing a model as CSV files
+ *
+ * @author Phillip Beauvoir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("nls")
+public class CSVBenchmarks {
+
+    /**
+     * The generated model exported to CSV files and a new empty model to import them into
+     */
+    @State(Scope.Thread)
+    public static class ImportState {
+        File elementsFile;
+        IArchimateModel targetModel;
+
+        @Setup(Level.Trial)
+        public void export(GeneratedModelState state) throws Exception {
+            File folder = state.createFolder("csv-import");
+            new CSVExporter(state.model).export(folder);
+            elementsFile = new File(folder, "elements.csv");
+        }
+
+        @Setup(Level.Invocation)
+        public void createTargetModel() {
+            targetModel = ModelGenerator.createEmptyModel();
+        }
+    }
+
+    @Benchmark
+    public File export(GeneratedModelState state) throws Exception {
+        File folder = state.createFolder("csv-export");
+        new CSVExporter(state.model).export(folder);
+        return folder;
+    }
+
+    @Benchmark
+    public IArchimateModel importIntoEmptyModel(ImportState importState) throws Exception {
+        new CSVImporter(importState.targetModel).doImport(importState.elementsFile);
+        return importState.targetModel;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.editor.utils.FileUtils;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.tests.TestUtils;
+
+
+/**
+ * Shared benchmark state holding a generated model and the model saved as an archive file.<br/>
+ * <br/>
+ * The counts can be changed with the "benchmarks.elements", "benchmarks.relations", "benchmarks.views"
+ * and "benchmarks.images" system properties, see {@link RunBenchmarks}.
+ *
+ * @author Phillip Beauvoir
+ */
+@State(Scope.Benchmark)
+@SuppressWarnings("nls")
+public class GeneratedModelState {
+
+    @Param({"1000"})
+    public int elements;
+
+    @Param({"2000"})
+    public int relations;
+
+    @Param({"20"})
+    public int views;
+
+    @Param({"10"})
+    public int images;
+
+    /**
+     * The generated model
+     */
+    public IArchimateModel model;
+
+    /**
+     * The generated model saved in archive format
+     */
+    public File modelFile;
+
+    /**
+     * Temp folder for this state's files
+     */
+    public File tempFolder;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        tempFolder = TestUtils.createTempFolder("benchmarks-" + System.nanoTime());
+
+        model = new ModelGenerator(elements, relations, views, images).generate();
+
+        modelFile = new File(tempFolder, "generated.archimate");
+        model.setFile(modelFile);
+        ((IArchiveManager)model.getAdapter(IArchiveManager.class)).saveModel();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileUtils.deleteFolder(tempFolder);
+    }
+
+    /**
+     * @return A new empty folder in the temp folder
+     */
+    public File createFolder(String name) {
+        File folder = new File(tempFolder, name);
+        folder.mkdirs();
+        return folder;
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.widgets.Display;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.archimatetool.reports.html.HTMLReportExporter;
+
+
+/**
+ * Benchmarks for creating an HTML report.<br/>
+ * The report renders diagram images so it is created on the Display thread.
+ *
+ * @author Phillip Beauvoir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@SuppressWarnings("nls")
+public class HTMLReportBenchmarks {
+
+    @Benchmark
+    public File createReport(GeneratedModelState state) throws IOException {
+        File folder = state.createFolder("html-report");
+        File[] result = new File[1];
+        IOException[] exception = new IOException[1];
+
+        Display.getDefault().syncExec(() -> {
+            try {
+                result[0] = new HTMLReportExporter(state.model).createReport(folder, "index.html");
+            }
+            catch(IOException ex) {
+                exception[0] = ex;
+            }
+        });
+
+        if(exception[0] != null) {
+            throw exception[0];
+        }
+
+        return result[0];
+    }
+}
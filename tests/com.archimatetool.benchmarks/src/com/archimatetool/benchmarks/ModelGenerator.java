@@ -0,0 +1,215 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.gef.commands.CommandStack;
+
+import com.archimatetool.editor.diagram.ArchimateDiagramModelFactory;
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.model.IArchimateDiagramModel;
+import com.archimatetool.model.IArchimateElement;
+import com.archimatetool.model.IArchimateFactory;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.IDiagramModelArchimateConnection;
+import com.archimatetool.model.IDiagramModelArchimateObject;
+import com.archimatetool.model.IProperty;
+import com.archimatetool.model.util.ArchimateModelUtils;
+
+
+/**
+ * Generates a synthetic model with a given number of elements, relations, views and images.<br/>
+ * <br/>
+ * The same counts and seed always generate the same model so that benchmark runs can be compared.
+ *
+ * @author Phillip Beauvoir
+ */
+@SuppressWarnings("nls")
+public class ModelGenerator {
+
+    /**
+     * Maximum number of elements added to each view
+     */
+    public static final int ELEMENTS_PER_VIEW = 50;
+
+    private int elementCount;
+    private int relationCount;
+    private int viewCount;
+    private int imageCount;
+
+    private Random random;
+
+    public ModelGenerator(int elementCount, int relationCount, int viewCount, int imageCount) {
+        this(elementCount, relationCount, viewCount, imageCount, 1);
+    }
+
+    public ModelGenerator(int elementCount, int relationCount, int viewCount, int imageCount, long seed) {
+        this.elementCount = elementCount;
+        this.relationCount = relationCount;
+        this.viewCount = viewCount;
+        this.imageCount = imageCount;
+        random = new Random(seed);
+    }
+
+    /**
+     * @return A new empty model with default folders, a Command Stack and an Archive Manager
+     */
+    public static IArchimateModel createEmptyModel() {
+        IArchimateModel model = IArchimateFactory.eINSTANCE.createArchimateModel();
+        model.setDefaults();
+        model.setAdapter(CommandStack.class, new CommandStack());
+        model.setAdapter(IArchiveManager.class, IArchiveManager.FACTORY.createArchiveManager(model));
+        return model;
+    }
+
+    /**
+     * @return A new generated model
+     */
+    public IArchimateModel generate() throws IOException {
+        IArchimateModel model = createEmptyModel();
+        model.setName("Generated Model");
+
+        List<IArchimateElement> elements = createElements(model);
+        List<IArchimateRelationship> relations = createRelations(model, elements);
+        List<String> imagePaths = createImages(model);
+        createViews(model, elements, relations.isEmpty(), imagePaths);
+
+        return model;
+    }
+
+    private List<IArchimateElement> createElements(IArchimateModel model) {
+        EClass[] eClasses = ArchimateModelUtils.getAllArchimateClasses();
+        List<IArchimateElement> elements = new ArrayList<>(elementCount);
+
+        for(int i = 0; i < elementCount; i++) {
+            IArchimateElement element = (IArchimateElement)IArchimateFactory.eINSTANCE.create(eClasses[i % eClasses.length]);
+            element.setName("Element " + i);
+            element.setDocumentation("Documentation for element " + i + "\nwith a second line");
+
+            for(int j = 0; j < 2; j++) {
+                IProperty property = IArchimateFactory.eINSTANCE.createProperty();
+                property.setKey("key" + j);
+                property.setValue("value" + random.nextInt(100));
+                element.getProperties().add(property);
+            }
+
+            model.getDefaultFolderForObject(element).getElements().add(element);
+            elements.add(element);
+        }
+
+        return elements;
+    }
+
+    private List<IArchimateRelationship> createRelations(IArchimateModel model, List<IArchimateElement> elements) {
+        List<IArchimateRelationship> relations = new ArrayList<>(relationCount);
+
+        if(elements.size() < 2) {
+            return relations;
+        }
+
+        // Give up after this many attempts in case there are few valid relationships
+        int attempts = relationCount * 10;
+
+        while(relations.size() < relationCount && attempts-- > 0) {
+            IArchimateElement source = elements.get(random.nextInt(elements.size()));
+            IArchimateElement target = elements.get(random.nextInt(elements.size()));
+
+            EClass[] validRelationships = ArchimateModelUtils.getValidRelationships(source, target);
+            if(source == target || validRelationships.length == 0) {
+                continue;
+            }
+
+            IArchimateRelationship relation = (IArchimateRelationship)IArchimateFactory.eINSTANCE.create(validRelationships[random.nextInt(validRelationships.length)]);
+            relation.setName("Relation " + relations.size());
+            relation.connect(source, target);
+            model.getDefaultFolderForObject(relation).getElements().add(relation);
+            relations.add(relation);
+        }
+
+        return relations;
+    }
+
+    private List<String> createImages(IArchimateModel model) throws IOException {
+        IArchiveManager archiveManager = (IArchiveManager)model.getAdapter(IArchiveManager.class);
+        List<String> imagePaths = new ArrayList<>(imageCount);
+
+        for(int i = 0; i < imageCount; i++) {
+            // Each image is different so that they are all stored
+            BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            g.setColor(new Color(random.nextInt(0xFFFFFF)));
+            g.fillRect(0, 0, 64, 64);
+            g.setColor(Color.BLACK);
+            g.drawString(String.valueOf(i), 10, 30);
+            g.dispose();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, "png", out);
+            imagePaths.add(archiveManager.addByteContentEntry("images/image" + i + ".png", out.toByteArray()));
+        }
+
+        return imagePaths;
+    }
+
+    private void createViews(IArchimateModel model, List<IArchimateElement> elements, boolean noRelations, List<String> imagePaths) {
+        if(elements.isEmpty()) {
+            return;
+        }
+
+        for(int i = 0; i < viewCount; i++) {
+            IArchimateDiagramModel dm = IArchimateFactory.eINSTANCE.createArchimateDiagramModel();
+            dm.setName("View " + i);
+            model.getDefaultFolderForObject(dm).getElements().add(dm);
+
+            Map<IArchimateElement, IDiagramModelArchimateObject> dmos = new LinkedHashMap<>();
+            int count = Math.min(ELEMENTS_PER_VIEW, elements.size());
+            int start = random.nextInt(elements.size());
+
+            for(int j = 0; j < count; j++) {
+                IArchimateElement element = elements.get((start + j) % elements.size());
+                IDiagramModelArchimateObject dmo = ArchimateDiagramModelFactory.createDiagramModelArchimateObject(element);
+                dmo.setBounds((j % 10) * 150 + 20, (j / 10) * 100 + 20, -1, -1);
+
+                // Every fifth object has an image
+                if(!imagePaths.isEmpty() && j % 5 == 0) {
+                    dmo.setImagePath(imagePaths.get((i * count + j) / 5 % imagePaths.size()));
+                }
+
+                dm.getChildren().add(dmo);
+                dmos.put(element, dmo);
+            }
+
+            if(noRelations) {
+                continue;
+            }
+
+            // Connections for relations where both ends are in the view
+            for(Map.Entry<IArchimateElement, IDiagramModelArchimateObject> entry : dmos.entrySet()) {
+                for(IArchimateRelationship relation : entry.getKey().getSourceRelationships()) {
+                    IDiagramModelArchimateObject target = dmos.get(relation.getTarget());
+                    if(target != null) {
+                        IDiagramModelArchimateConnection connection = ArchimateDiagramModelFactory.createDiagramModelArchimateConnection(relation);
+                        connection.connect(entry.getValue(), target);
+                    }
+                }
+            }
+        }
+    }
+}
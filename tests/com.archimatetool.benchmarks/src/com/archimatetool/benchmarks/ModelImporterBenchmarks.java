@@ -0,0 +1,70 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.modelimporter.ModelImporter;
+
+
+/**
+ * Benchmarks for importing a model into another model with the ModelImporter
+ *
+ * @author Phillip Beauvoir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ModelImporterBenchmarks {
+
+    /**
+     * A new empty model and a copy of the generated model to import into
+     */
+    @State(Scope.Thread)
+    public static class TargetState {
+        IArchimateModel emptyModel;
+        IArchimateModel copyModel;
+
+        @Setup(Level.Invocation)
+        public void createTargetModels(GeneratedModelState state) throws Exception {
+            emptyModel = ModelGenerator.createEmptyModel();
+
+            // A copy has the same IDs so all objects are updated
+            copyModel = EcoreUtil.copy(state.model);
+            copyModel.setAdapter(IArchiveManager.class, ((IArchiveManager)state.model.getAdapter(IArchiveManager.class)).clone(copyModel));
+        }
+    }
+
+    @Benchmark
+    public IArchimateModel importIntoEmptyModel(GeneratedModelState state, TargetState targetState) throws Exception {
+        new ModelImporter().getCommand(state.model, targetState.emptyModel).execute();
+        return targetState.emptyModel;
+    }
+
+    @Benchmark
+    public IArchimateModel updateExistingModel(GeneratedModelState state, TargetState targetState) throws Exception {
+        ModelImporter importer = new ModelImporter();
+        importer.setUpdate(true);
+        importer.setUpdateAll(true);
+        importer.getCommand(state.model, targetState.copyModel).execute();
+        return targetState.copyModel;
+    }
+}
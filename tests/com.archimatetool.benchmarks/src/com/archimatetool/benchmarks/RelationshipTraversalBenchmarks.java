@@ -0,0 +1,121 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.archimatetool.model.IArchimateConcept;
+import com.archimatetool.model.IArchimateElement;
+import com.archimatetool.model.IArchimateFactory;
+import com.archimatetool.model.IArchimatePackage;
+import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.util.ArchimateModelUtils;
+
+
+/**
+ * Benchmarks for traversing the relationships of a hub element that has many relationships
+ *
+ * @author Phillip Beauvoir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RelationshipTraversalBenchmarks {
+
+    /**
+     * Visitor that counts relations. It is created once per trial so that the
+     * forEachRelationship benchmarks do not measure the allocation of a capturing lambda.
+     */
+    static class RelationCounter implements Consumer<IArchimateRelationship> {
+        int count;
+
+        @Override
+        public void accept(IArchimateRelationship relation) {
+            count++;
+        }
+    }
+
+    /**
+     * A hub element connected to other elements by relations, half as source and half as target
+     */
+    @State(Scope.Benchmark)
+    public static class HubState {
+        @Param({ "10000" })
+        int hubRelations;
+
+        IArchimateElement hub;
+        IArchimateRelationship lastRelation;
+        RelationCounter counter = new RelationCounter();
+
+        @Setup(Level.Trial)
+        public void createHub() {
+            hub = IArchimateFactory.eINSTANCE.createBusinessActor();
+
+            for(int i = 0; i < hubRelations; i++) {
+                IArchimateElement element = IArchimateFactory.eINSTANCE.createBusinessRole();
+                IArchimateRelationship relation = (i % 2 == 0) ? IArchimateFactory.eINSTANCE.createAssignmentRelationship()
+                                                               : IArchimateFactory.eINSTANCE.createAssociationRelationship();
+                if(i % 2 == 0) {
+                    relation.connect(hub, element);
+                }
+                else {
+                    relation.connect(element, hub);
+                }
+
+                lastRelation = relation;
+            }
+        }
+    }
+
+    @Benchmark
+    public void getAllRelationshipsForConcept(HubState state, Blackhole blackhole) {
+        List<IArchimateRelationship> relations = ArchimateModelUtils.getAllRelationshipsForConcept(state.hub);
+        for(IArchimateRelationship relation : relations) {
+            blackhole.consume(relation);
+        }
+    }
+
+    @Benchmark
+    public int forEachRelationship(HubState state) {
+        state.counter.count = 0;
+        state.hub.forEachRelationship(state.counter);
+        return state.counter.count;
+    }
+
+    @Benchmark
+    public int forEachRelationshipOfType(HubState state) {
+        state.counter.count = 0;
+        state.hub.forEachRelationship(IArchimateConcept.ALL_RELATIONSHIPS, IArchimatePackage.Literals.ASSOCIATION_RELATIONSHIP, state.counter);
+        return state.counter.count;
+    }
+
+    @Benchmark
+    public boolean anyRelationshipNoMatch(HubState state) {
+        // Worst case as all relations are tested
+        return state.hub.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, IArchimatePackage.Literals.FLOW_RELATIONSHIP, relation -> true);
+    }
+
+    @Benchmark
+    public boolean hasDirectRelationship(HubState state) {
+        return ArchimateModelUtils.hasDirectRelationship(state.hub, state.lastRelation);
+    }
+}
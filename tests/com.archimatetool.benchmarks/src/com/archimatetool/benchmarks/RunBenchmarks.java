@@ -0,0 +1,90 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.io.File;
+
+import org.eclipse.swt.widgets.Display;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.archimatetool.tests.TestUtils;
+
+
+/**
+ * Runs the JMH benchmarks from the test runner so that they run in the OSGi framework with the Archi plug-ins.<br/>
+ * <br/>
+ * Run with "mvn clean verify -P benchmarks". Results are written as JSON so that runs can be compared.<br/>
+ * <br/>
+ * System properties:
+ * <ul>
+ * <li>benchmarks.result - the JSON results file</li>
+ * <li>benchmarks.include - regular expression of the benchmarks to run</li>
+ * <li>benchmarks.elements, benchmarks.relations, benchmarks.views, benchmarks.images - comma separated counts for the generated model</li>
+ * <li>benchmarks.hubRelations - comma separated counts of relations for the relationship traversal benchmarks</li>
+ * </ul>
+ *
+ * @author Phillip Beauvoir
+ */
+@SuppressWarnings("nls")
+public class RunBenchmarks {
+
+    private static final String[] MODEL_PARAMS = { "elements", "relations", "views", "images", "hubRelations" };
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        TestUtils.ensureDefaultDisplay();
+        Display display = Display.getCurrent();
+
+        String resultFile = System.getProperty("benchmarks.result", new File(TestUtils.getMainTempFolder(), "benchmarks.json").getPath());
+
+        ChainedOptionsBuilder builder = new OptionsBuilder()
+                .include(System.getProperty("benchmarks.include", RunBenchmarks.class.getPackageName() + "\\..*"))
+                .forks(0) // Forked VMs would not have the OSGi framework
+                .addProfiler(GCProfiler.class) // Allocation rates as well as times
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile);
+
+        for(String param : MODEL_PARAMS) {
+            String value = System.getProperty("benchmarks." + param);
+            if(value != null) {
+                builder.param(param, value.split(","));
+            }
+        }
+
+        // Run the benchmarks in another thread and run the event loop in this thread
+        // so that benchmarks can use the Display
+        Exception[] exception = new Exception[1];
+
+        Thread thread = new Thread(() -> {
+            try {
+                new Runner(builder.build()).run();
+            }
+            catch(Exception ex) {
+                exception[0] = ex;
+            }
+            finally {
+                display.wake();
+            }
+        }, "Benchmarks");
+
+        thread.start();
+
+        while(thread.isAlive()) {
+            if(!display.readAndDispatch()) {
+                display.sleep();
+            }
+        }
+
+        if(exception[0] != null) {
+            throw exception[0];
+        }
+    }
+}
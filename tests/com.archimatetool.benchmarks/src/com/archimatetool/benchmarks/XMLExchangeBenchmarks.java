@@ -0,0 +1,64 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opengroup.archimate.xmlexchange.XMLModelExporter;
+import org.opengroup.archimate.xmlexchange.XMLModelImporter;
+
+import com.archimatetool.model.IArchimateModel;
+
+
+/**
+ * Benchmarks for exporting and importing a model in the Open Exchange XML format
+ *
+ * @author Phillip Beauvoir
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@SuppressWarnings("nls")
+public class XMLExchangeBenchmarks {
+
+    /**
+     * The generated model exported to an XML file
+     */
+    @State(Scope.Benchmark)
+    public static class ImportState {
+        File xmlFile;
+
+        @Setup(Level.Trial)
+        public void export(GeneratedModelState state) throws Exception {
+            xmlFile = new File(state.createFolder("xml-import"), "model.xml");
+            new XMLModelExporter().exportModel(state.model, xmlFile);
+        }
+    }
+
+    @Benchmark
+    public File export(GeneratedModelState state) throws Exception {
+        File file = new File(state.createFolder("xml-export"), "model.xml");
+        new XMLModelExporter().exportModel(state.model, file);
+        return file;
+    }
+
+    @Benchmark
+    public IArchimateModel importModel(ImportState importState) throws Exception {
+        return new XMLModelImporter().createArchiMateModel(importState.xmlFile);
+    }
+}
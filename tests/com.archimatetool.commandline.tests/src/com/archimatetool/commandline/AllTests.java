@@ -16,8 +16,12 @@ import com.archimatetool.commandline.providers.LoadModelFromFileProviderTests;
 @Suite
 @SelectClasses({
     CreateEmptyModelProviderTests.class,
+    CommandLineBatchTests.class,
     CommandLineStateTests.class,
-    LoadModelFromFileProviderTests.class
+    CommandLineDaemonTests.class,
+    CommandLineMetricsTests.class,
+    LoadModelFromFileProviderTests.class,
+    ModelCacheTests.class
 })
 @SuiteDisplayName("All Command Line Tests")
 public class AllTests {
@@ -0,0 +1,122 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.utils.FileUtils;
+import com.archimatetool.model.IArchimateFactory;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.tests.TestUtils;
+
+
+@SuppressWarnings("nls")
+public class CommandLineBatchTests {
+    
+    @AfterEach
+    public void runAfterEachTest() throws IOException {
+        FileUtils.deleteFolder(TestUtils.TMP_FOLDER);
+    }
+    
+    @Test
+    public void parseArguments() {
+        assertArrayEquals(new String[] { "--loadModel", "model.archimate", "--html.createReport", "my report" },
+                CommandLineBatch.parseArguments("  --loadModel model.archimate   --html.createReport \"my report\" "));
+        
+        assertArrayEquals(new String[] { "--createEmptyModel", "" }, CommandLineBatch.parseArguments("--createEmptyModel \"\""));
+        assertArrayEquals(new String[0], CommandLineBatch.parseArguments("   "));
+    }
+    
+    @Test
+    public void readManifest() throws IOException {
+        File file = new File(TestUtils.createTempFolder("batch"), "manifest.txt");
+        Files.writeString(file.toPath(), "# Comment\n--loadModel a.archimate\n\n  --loadModel \"b c.archimate\"\n");
+        
+        List<String[]> jobs = CommandLineBatch.readManifest(file);
+        assertEquals(2, jobs.size());
+        assertArrayEquals(new String[] { "--loadModel", "a.archimate" }, jobs.get(0));
+        assertArrayEquals(new String[] { "--loadModel", "b c.archimate" }, jobs.get(1));
+    }
+    
+    @Test
+    public void runJobs_EachJobHasOwnModel() {
+        CommandLineBatch batch = new CommandLineBatch(args -> {
+            // State from a previous job in this thread is not seen
+            // (An assertion here would be lost in the worker thread so fail the job)
+            if(CommandLineState.getModel() != null) {
+                return 3;
+            }
+            
+            IArchimateModel model = IArchimateFactory.eINSTANCE.createArchimateModel();
+            model.setName(args[0]);
+            CommandLineState.setModel(model);
+            
+            Thread.sleep(20);
+            
+            if(!args[0].equals(CommandLineState.getModel().getName())) {
+                return 2;
+            }
+            
+            if(args.length > 1) {
+                throw new Exception("Job failed");
+            }
+            
+            return 0;
+        }, 4);
+        
+        List<CommandLineBatch.JobResult> results = batch.runJobs(List.of(
+                new String[] { "1" }, new String[] { "2" }, new String[] { "3", "fail" }, new String[] { "4" }, new String[] { "5" }));
+        
+        assertEquals(5, results.size());
+        
+        for(int i = 0; i < results.size(); i++) {
+            CommandLineBatch.JobResult result = results.get(i);
+            assertEquals(i + 1, result.getIndex());
+            assertTrue(result.getTime() >= 0);
+            
+            if(i == 2) {
+                assertTrue(result.isFailed());
+                assertEquals(-1, result.getExitCode());
+            }
+            else {
+                assertFalse(result.isFailed());
+            }
+        }
+        
+        // This thread's state is not changed
+        assertNull(CommandLineState.getModel());
+        assertNull(CommandLineState.getOutput());
+    }
+    
+    @Test
+    public void runJobs_ErrorFailsJob() {
+        CommandLineBatch batch = new CommandLineBatch(args -> {
+            if(args.length > 1) {
+                throw new NoClassDefFoundError("Provider crashed");
+            }
+            return 0;
+        }, 2);
+        
+        List<CommandLineBatch.JobResult> results = batch.runJobs(List.of(new String[] { "1" }, new String[] { "2", "crash" }));
+        
+        assertFalse(results.get(0).isFailed());
+        assertTrue(results.get(1).isFailed());
+        assertEquals(-1, results.get(1).getExitCode());
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.utils.FileUtils;
+import com.archimatetool.tests.TestUtils;
+
+
+@SuppressWarnings("nls")
+public class CommandLineDaemonTests {
+    
+    private List<String[]> jobs;
+    private CommandLineDaemon daemon;
+    private String token;
+    private Thread thread;
+    
+    @BeforeEach
+    public void runOnceBeforeEachTest() throws IOException {
+        jobs = new ArrayList<>();
+        
+        daemon = new CommandLineDaemon(args -> {
+            // The model cache is set while the daemon is running
+            assertNotNull(CommandLineState.getModelCache());
+            jobs.add(args);
+            System.out.println("Running job " + jobs.size());
+            return jobs.size();
+        }, 0, TestUtils.createTempFolder("daemon"));
+        
+        token = Files.readString(daemon.getTokenFile().toPath(), StandardCharsets.UTF_8);
+        
+        thread = new Thread(() -> {
+            try {
+                daemon.run();
+            }
+            catch(IOException ex) {
+                ex.printStackTrace();
+            }
+        });
+    }
+    
+    @AfterEach
+    public void runOnceAfterEachTest() throws Exception {
+        if(thread.isAlive()) {
+            sendJob(token, CommandLineDaemon.SHUTDOWN);
+            thread.join(5000);
+        }
+        FileUtils.deleteFolder(TestUtils.TMP_FOLDER);
+    }
+    
+    @Test
+    public void runJobsAndShutdown() throws Exception {
+        thread.start();
+        
+        List<String> output = sendJob(token, "--loadModel", "model.archimate");
+        assertEquals(List.of("Running job 1", CommandLineDaemon.EXIT_PREFIX + 1), output);
+        
+        output = sendJob(token, "--help");
+        assertEquals(List.of("Running job 2", CommandLineDaemon.EXIT_PREFIX + 2), output);
+        
+        assertEquals(2, jobs.size());
+        assertArrayEquals(new String[] { "--loadModel", "model.archimate" }, jobs.get(0));
+        assertArrayEquals(new String[] { "--help" }, jobs.get(1));
+        
+        output = sendJob(token, CommandLineDaemon.SHUTDOWN);
+        assertEquals(List.of(CommandLineDaemon.EXIT_PREFIX + 0), output);
+        
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertNull(CommandLineState.getModelCache());
+        
+        // Token file is deleted on shutdown
+        assertFalse(daemon.getTokenFile().exists());
+    }
+    
+    @Test
+    public void tokenFileIsOwnerOnly() throws Exception {
+        assertTrue(daemon.getTokenFile().exists());
+        assertEquals(64, token.length());
+        
+        if(daemon.getTokenFile().toPath().getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(daemon.getTokenFile().toPath())));
+        }
+    }
+    
+    @Test
+    public void connectionWithoutTokenIsRefused() throws Exception {
+        thread.start();
+        
+        // No token
+        List<String> output = sendJob(null, "--help");
+        assertTrue(output.isEmpty());
+        
+        // Wrong token
+        output = sendJob("1234", "--help");
+        assertTrue(output.isEmpty());
+        
+        // Can't shut it down either
+        output = sendJob(null, CommandLineDaemon.SHUTDOWN);
+        assertTrue(output.isEmpty());
+        
+        assertTrue(jobs.isEmpty());
+        assertTrue(thread.isAlive());
+        
+        // Still serves a client with the token
+        output = sendJob(token, "--help");
+        assertEquals(List.of("Running job 1", CommandLineDaemon.EXIT_PREFIX + 1), output);
+    }
+    
+    @Test
+    public void stalledConnectionTimesOut() throws Exception {
+        daemon.setReadTimeout(200);
+        thread.start();
+        
+        // Send the token but never finish the request
+        try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())) {
+            PrintWriter writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            writer.println(token);
+            writer.println("--help");
+            
+            // The daemon closes the connection without running the job
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            assertNull(reader.readLine());
+        }
+        
+        assertTrue(jobs.isEmpty());
+        
+        // The next client is served
+        List<String> output = sendJob(token, "--help");
+        assertEquals(List.of("Running job 1", CommandLineDaemon.EXIT_PREFIX + 1), output);
+    }
+    
+    private List<String> sendJob(String token, String... args) throws IOException {
+        try(Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort())) {
+            PrintWriter writer = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8);
+            if(token != null) {
+                writer.println(token);
+            }
+            for(String arg : args) {
+                writer.println(arg);
+            }
+            writer.println();
+            
+            List<String> lines = new ArrayList<>();
+            BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.utils.FileUtils;
+import com.archimatetool.model.IArchimateFactory;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.tests.TestUtils;
+
+
+@SuppressWarnings("nls")
+public class CommandLineMetricsTests {
+    
+    @AfterEach
+    public void runAfterEachTest() throws IOException {
+        CommandLineMetrics.close();
+        CommandLineState.reset();
+        FileUtils.deleteFolder(TestUtils.TMP_FOLDER);
+    }
+    
+    @Test
+    public void writesProviderAndPhaseLines() throws Exception {
+        File folder = TestUtils.createTempFolder("metrics");
+        File metricsFile = new File(folder, "metrics.jsonl");
+        File outputFile = new File(folder, "output.txt");
+        Files.writeString(outputFile.toPath(), "12345");
+        
+        IArchimateModel model = IArchimateFactory.eINSTANCE.createArchimateModel();
+        model.setDefaults();
+        model.setName("Test \"Model\"");
+        model.getDefaultFolderForObject(IArchimateFactory.eINSTANCE.createBusinessActor()).getElements().add(IArchimateFactory.eINSTANCE.createBusinessActor());
+        CommandLineState.setModel(model);
+        
+        CommandLineMetrics.open(metricsFile);
+        assertTrue(CommandLineMetrics.isEnabled());
+        
+        try(CommandLineMetrics.Phase provider = CommandLineMetrics.startProvider("test.provider")) {
+            try(CommandLineMetrics.Phase phase = CommandLineMetrics.startPhase("export")) {
+                CommandLineMetrics.addOutput(outputFile);
+            }
+        }
+        
+        CommandLineMetrics.close();
+        assertFalse(CommandLineMetrics.isEnabled());
+        
+        List<String> lines = Files.readAllLines(metricsFile.toPath());
+        assertEquals(2, lines.size());
+        
+        // Phase is written first when it is closed
+        String phaseLine = lines.get(0);
+        assertTrue(phaseLine.startsWith("{\"provider\":\"test.provider\",\"phase\":\"export\""));
+        assertTrue(phaseLine.contains("\"outputs\":[{\"path\":"));
+        assertTrue(phaseLine.contains("\"bytes\":5}"));
+        
+        String providerLine = lines.get(1);
+        assertTrue(providerLine.startsWith("{\"provider\":\"test.provider\",\"phase\":\"run\""));
+        assertTrue(providerLine.contains("\"wallMs\":"));
+        assertTrue(providerLine.contains("\"peakHeapBytes\":"));
+        assertTrue(providerLine.contains("\"model\":\"Test \\\"Model\\\"\""));
+        assertTrue(providerLine.contains("\"elements\":1,\"relations\":0,\"views\":0,\"images\":0"));
+    }
+    
+    @Test
+    public void peakHeapNotWrittenForConcurrentProviders() throws Exception {
+        File folder = TestUtils.createTempFolder("metrics");
+        File metricsFile = new File(folder, "metrics.jsonl");
+        
+        CommandLineMetrics.open(metricsFile);
+        
+        try(CommandLineMetrics.Phase provider1 = CommandLineMetrics.startProvider("test.provider1")) {
+            Thread thread = new Thread(() -> {
+                try(CommandLineMetrics.Phase provider2 = CommandLineMetrics.startProvider("test.provider2")) {
+                }
+            });
+            thread.start();
+            thread.join();
+        }
+        
+        // Runs on its own
+        try(CommandLineMetrics.Phase provider3 = CommandLineMetrics.startProvider("test.provider3")) {
+        }
+        
+        CommandLineMetrics.close();
+        
+        List<String> lines = Files.readAllLines(metricsFile.toPath());
+        assertEquals(3, lines.size());
+        
+        for(String line : lines.subList(0, 2)) {
+            assertTrue(line.contains("\"concurrent\":true"));
+            assertFalse(line.contains("\"peakHeapBytes\":"));
+        }
+        
+        assertTrue(lines.get(2).startsWith("{\"provider\":\"test.provider3\""));
+        assertTrue(lines.get(2).contains("\"peakHeapBytes\":"));
+        assertFalse(lines.get(2).contains("\"concurrent\""));
+    }
+    
+    @Test
+    public void nothingWrittenWhenNotEnabled() {
+        assertFalse(CommandLineMetrics.isEnabled());
+        
+        try(CommandLineMetrics.Phase provider = CommandLineMetrics.startProvider("test.provider")) {
+            // A phase can't be started as there is no current provider
+            try(CommandLineMetrics.Phase phase = CommandLineMetrics.startPhase("export")) {
+                phase.addOutput(new File("file"));
+            }
+        }
+    }
+}
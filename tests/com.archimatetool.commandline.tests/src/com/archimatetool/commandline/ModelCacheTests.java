@@ -0,0 +1,56 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.commandline;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+
+import org.eclipse.gef.commands.CommandStack;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.model.IArchiveManager;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.tests.TestData;
+
+
+@SuppressWarnings("nls")
+public class ModelCacheTests {
+    
+    @Test
+    public void getModel_ReturnsCopies() throws Exception {
+        ModelCache cache = new ModelCache(2);
+        
+        IArchimateModel model1 = cache.getModel(TestData.TEST_MODEL_FILE_ARCHISURANCE);
+        IArchimateModel model2 = cache.getModel(TestData.TEST_MODEL_FILE_ARCHISURANCE);
+        
+        assertNotNull(model1);
+        assertNotSame(model1, model2);
+        assertEquals(model1.getId(), model2.getId());
+        assertEquals(model1.getElements().size(), model2.getElements().size());
+        assertEquals(TestData.TEST_MODEL_FILE_ARCHISURANCE, model2.getFile());
+        
+        assertNotNull(model2.getAdapter(IArchiveManager.class));
+        assertNotNull(model2.getAdapter(CommandStack.class));
+        assertNotSame(model1.getAdapter(CommandStack.class), model2.getAdapter(CommandStack.class));
+        
+        assertEquals(1, cache.size());
+        
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    public void getModel_FileDoesNotExist() throws Exception {
+        ModelCache cache = new ModelCache(2);
+        assertNull(cache.getModel(new File("doesNotExist.archimate")));
+        assertEquals(0, cache.size());
+    }
+}
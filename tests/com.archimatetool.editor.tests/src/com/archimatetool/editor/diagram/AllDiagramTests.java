@@ -19,10 +19,13 @@ import com.archimatetool.editor.diagram.sketch.AllSketchTests;
 import com.archimatetool.editor.diagram.tools.FormatPainterInfoTests;
 import com.archimatetool.editor.diagram.tools.FormatPainterToolTests;
 import com.archimatetool.editor.diagram.util.DiagramUtilsTests;
+import com.archimatetool.editor.diagram.util.LayeredGraphLayoutTests;
+import com.archimatetool.editor.diagram.util.OffscreenDiagramRendererTests;
 
 @Suite
 @SelectClasses({
     // diagram
+    ArchimateDiagramEditorTests.class,
     ArchimateDiagramModelFactoryTests.class,
     DiagramEditorFindReplaceProviderTests.class,
     ImageExportProviderTests.class,
@@ -44,7 +47,9 @@ import com.archimatetool.editor.diagram.util.DiagramUtilsTests;
     FormatPainterInfoTests.class,
     FormatPainterToolTests.class,
     // diagram.util
-    DiagramUtilsTests.class
+    DiagramUtilsTests.class,
+    LayeredGraphLayoutTests.class,
+    OffscreenDiagramRendererTests.class
 })
 @SuiteDisplayName("All Diagram Tests")
 public class AllDiagramTests {
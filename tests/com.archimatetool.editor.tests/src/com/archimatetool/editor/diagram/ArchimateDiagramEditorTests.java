@@ -0,0 +1,123 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.GraphicalViewer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.model.IArchimateDiagramModel;
+import com.archimatetool.model.IArchimateElement;
+import com.archimatetool.model.IArchimateFactory;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IArchimatePackage;
+import com.archimatetool.model.IDiagramModelArchimateObject;
+import com.archimatetool.model.IDiagramModelReference;
+import com.archimatetool.testingtools.ArchimateTestEditor;
+import com.archimatetool.testingtools.ArchimateTestModel;
+
+
+/**
+ * ArchimateDiagramEditor Tests
+ *
+ * @author Phillip Beauvoir
+ */
+public class ArchimateDiagramEditorTests {
+
+    private ArchimateTestEditor testEditor;
+    private ArchimateDiagramEditor editor;
+
+    private IArchimateElement element1, element2;
+    private IArchimateDiagramModel dm2;
+    private IDiagramModelArchimateObject dmo1a, dmo1b;
+    private IDiagramModelReference ref;
+
+    @BeforeEach
+    public void runOnceBeforeEachTest() {
+        ArchimateTestModel tm = new ArchimateTestModel();
+        IArchimateModel model = tm.createNewModel();
+        IArchimateDiagramModel dm = (IArchimateDiagramModel)model.getDefaultDiagramModel();
+        dm2 = tm.addNewArchimateDiagramModel();
+
+        element1 = (IArchimateElement)tm.createModelElementAndAddToModel(IArchimatePackage.eINSTANCE.getBusinessActor());
+        element2 = (IArchimateElement)tm.createModelElementAndAddToModel(IArchimatePackage.eINSTANCE.getBusinessRole());
+
+        // element1 is in dm twice
+        dmo1a = ArchimateTestModel.createDiagramModelArchimateObjectAndAddToParent(element1, dm);
+        dmo1b = ArchimateTestModel.createDiagramModelArchimateObjectAndAddToParent(element1, dm);
+        dmo1b.setBounds(200, 0, 120, 55);
+
+        // element2 is only in dm2
+        ArchimateTestModel.createDiagramModelArchimateObjectAndAddToParent(element2, dm2);
+
+        // dm references dm2
+        ref = IArchimateFactory.eINSTANCE.createDiagramModelReference();
+        ref.setReferencedModel(dm2);
+        ref.setBounds(0, 100, 120, 55);
+        dm.getChildren().add(ref);
+
+        testEditor = new ArchimateTestEditor();
+        testEditor.setDiagramModel(dm);
+
+        editor = new ArchimateDiagramEditor() {
+            @Override
+            public GraphicalViewer getGraphicalViewer() {
+                return testEditor.getGraphicalViewer();
+            }
+        };
+    }
+
+    @AfterEach
+    public void runAfterEachTest() {
+        testEditor.dispose();
+    }
+
+    @Test
+    public void selectObjects_Concept() {
+        editor.selectObjects(new Object[] { element1 });
+        assertSelected(dmo1a, dmo1b);
+    }
+
+    @Test
+    public void selectObjects_DiagramModel() {
+        editor.selectObjects(new Object[] { dm2 });
+        assertSelected(ref);
+    }
+
+    @Test
+    public void selectObjects_DiagramModelReference() {
+        editor.selectObjects(new Object[] { ref });
+        assertSelected(ref);
+    }
+
+    @Test
+    public void selectObjects_NoDuplicates() {
+        editor.selectObjects(new Object[] { element1, dm2, dmo1a, element1, ref });
+        assertSelected(dmo1a, dmo1b, ref);
+    }
+
+    @Test
+    public void selectObjects_NotInDiagram() {
+        editor.selectObjects(new Object[] { element1 });
+        editor.selectObjects(new Object[] { element2 });
+        assertTrue(testEditor.getGraphicalViewer().getSelectedEditParts().isEmpty());
+    }
+
+    private void assertSelected(Object... models) {
+        List<?> selected = testEditor.getGraphicalViewer().getSelectedEditParts();
+        assertEquals(models.length, selected.size());
+        for(int i = 0; i < models.length; i++) {
+            assertEquals(models[i], ((EditPart)selected.get(i)).getModel());
+        }
+    }
+}
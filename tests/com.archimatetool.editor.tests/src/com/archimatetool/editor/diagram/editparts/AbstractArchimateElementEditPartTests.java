@@ -0,0 +1,98 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.editparts;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.eclipse.gef.GraphicalViewer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.ArchiPlugin;
+import com.archimatetool.editor.diagram.util.OffscreenDiagramRenderer;
+import com.archimatetool.editor.preferences.ConnectionPreferences;
+import com.archimatetool.editor.preferences.IPreferenceConstants;
+import com.archimatetool.model.FolderType;
+import com.archimatetool.model.IArchimateElement;
+import com.archimatetool.model.IArchimateFactory;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.IDiagramModel;
+import com.archimatetool.model.IDiagramModelArchimateConnection;
+import com.archimatetool.model.IDiagramModelArchimateObject;
+import com.archimatetool.testingtools.ArchimateTestModel;
+
+
+/**
+ * AbstractArchimateElementEditPart Tests
+ *
+ * @author Phillip Beauvoir
+ */
+public class AbstractArchimateElementEditPartTests {
+
+    private OffscreenDiagramRenderer renderer;
+    private IDiagramModel dm;
+    private IDiagramModelArchimateConnection connection;
+
+    @BeforeEach
+    public void runOnceBeforeEachTest() {
+        ArchimateTestModel tm = new ArchimateTestModel();
+        IArchimateModel model = tm.createNewModel();
+        dm = model.getDefaultDiagramModel();
+
+        IArchimateElement element1 = IArchimateFactory.eINSTANCE.createBusinessActor();
+        IArchimateElement element2 = IArchimateFactory.eINSTANCE.createBusinessActor();
+
+        // A nested type relationship
+        IArchimateRelationship relationship = IArchimateFactory.eINSTANCE.createCompositionRelationship();
+        relationship.setSource(element1);
+        relationship.setTarget(element2);
+        model.getFolder(FolderType.RELATIONS).getElements().add(relationship);
+
+        // dmo2 is nested in dmo1
+        IDiagramModelArchimateObject dmo1 = tm.createDiagramModelArchimateObjectAndAddToModel(element1);
+        dm.getChildren().add(dmo1);
+        IDiagramModelArchimateObject dmo2 = tm.createDiagramModelArchimateObjectAndAddToModel(element2);
+        dmo1.getChildren().add(dmo2);
+
+        connection = IArchimateFactory.eINSTANCE.createDiagramModelArchimateConnection();
+        connection.setArchimateRelationship(relationship);
+        connection.connect(dmo1, dmo2);
+
+        renderer = new OffscreenDiagramRenderer();
+    }
+
+    @AfterEach
+    public void runAfterEachTest() {
+        renderer.dispose();
+        ArchiPlugin.PREFERENCES.setToDefault(IPreferenceConstants.USE_NESTED_CONNECTIONS);
+        ArchiPlugin.PREFERENCES.setToDefault(IPreferenceConstants.HIDDEN_RELATIONS_TYPES);
+    }
+
+    @Test
+    public void testPreferencesChanged_ConnectionVisibilityRefreshed() {
+        // Start with no cached values so that the Edit Parts' preferences listeners are added before ConnectionPreferences' listener
+        ConnectionPreferences.resetCachedValues();
+        GraphicalViewer viewer = renderer.getViewer(dm);
+
+        // Nested so hidden
+        assertNull(viewer.getEditPartRegistry().get(connection));
+
+        // Not using nested connections so shown
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.USE_NESTED_CONNECTIONS, false);
+        assertNotNull(viewer.getEditPartRegistry().get(connection));
+
+        // Hidden again
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.USE_NESTED_CONNECTIONS, true);
+        assertNull(viewer.getEditPartRegistry().get(connection));
+
+        // Composition is not a hidden relationship type so shown
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.HIDDEN_RELATIONS_TYPES, 1 << 8);
+        assertNotNull(viewer.getEditPartRegistry().get(connection));
+    }
+}
@@ -11,6 +11,7 @@ import org.junit.platform.suite.api.SuiteDisplayName;
 
 @Suite
 @SelectClasses({
+    AbstractArchimateElementEditPartTests.class,
     ArchimateDiagramEditPartFactoryTests.class
 })
 @SuiteDisplayName("All EditParts Tests")
@@ -19,6 +19,7 @@ import com.archimatetool.editor.diagram.figures.elements.JunctionFigureTests;
 @SelectClasses({
     // figures
     AllArchimateTextControlContainerFigureTests.class,
+    LevelOfDetailTests.class,
     // figures.diagram
     DiagramImageFigureTests.class,
     DiagramModelReferenceFigureTests.class,
@@ -0,0 +1,78 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.figures;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipse.draw2d.Graphics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.ArchiPlugin;
+import com.archimatetool.editor.preferences.IPreferenceConstants;
+
+
+public class LevelOfDetailTests {
+    
+    @AfterEach
+    public void runAfterEachTest() {
+        ArchiPlugin.PREFERENCES.setToDefault(IPreferenceConstants.LEVEL_OF_DETAIL_SIMPLE_ZOOM);
+        ArchiPlugin.PREFERENCES.setToDefault(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM);
+    }
+
+    @Test
+    public void get_Scale() {
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_SIMPLE_ZOOM, 50);
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM, 25);
+        
+        assertEquals(LevelOfDetail.FULL, LevelOfDetail.get(2.0));
+        assertEquals(LevelOfDetail.FULL, LevelOfDetail.get(1.0));
+        assertEquals(LevelOfDetail.FULL, LevelOfDetail.get(0.5));
+        assertEquals(LevelOfDetail.SIMPLE, LevelOfDetail.get(0.4));
+        assertEquals(LevelOfDetail.SIMPLE, LevelOfDetail.get(0.25));
+        assertEquals(LevelOfDetail.MINIMAL, LevelOfDetail.get(0.2));
+    }
+    
+    @Test
+    public void get_Scale_Disabled() {
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_SIMPLE_ZOOM, 0);
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM, 0);
+        
+        assertEquals(LevelOfDetail.FULL, LevelOfDetail.get(0.1));
+    }
+
+    @Test
+    public void get_Scale_PreferencesChanged() {
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_SIMPLE_ZOOM, 50);
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM, 25);
+        assertEquals(LevelOfDetail.SIMPLE, LevelOfDetail.get(0.4));
+        
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM, 45);
+        assertEquals(LevelOfDetail.MINIMAL, LevelOfDetail.get(0.4));
+        
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_SIMPLE_ZOOM, 30);
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM, 20);
+        assertEquals(LevelOfDetail.FULL, LevelOfDetail.get(0.4));
+    }
+
+    @Test
+    public void paintWith() {
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LEVEL_OF_DETAIL_MINIMAL_ZOOM, 25);
+        
+        LevelOfDetail.paintWith(LevelOfDetail.MINIMAL, () -> {
+            assertEquals(LevelOfDetail.MINIMAL, LevelOfDetail.get((Graphics)null));
+            
+            LevelOfDetail.paintWith(LevelOfDetail.FULL, () -> {
+                assertEquals(LevelOfDetail.FULL, LevelOfDetail.get((Graphics)null));
+            });
+            
+            assertEquals(LevelOfDetail.MINIMAL, LevelOfDetail.get((Graphics)null));
+        });
+        
+        // A null Graphics has a scale of 1
+        assertEquals(LevelOfDetail.FULL, LevelOfDetail.get((Graphics)null));
+    }
+}
@@ -11,6 +11,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.eclipse.draw2d.Figure;
@@ -19,19 +20,25 @@ import org.eclipse.draw2d.IFigure;
 import org.eclipse.gef.editparts.FreeformGraphicalRootEditPart;
 import org.eclipse.gef.ui.parts.GraphicalViewerImpl;
 import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import com.archimatetool.editor.TestSupport;
 import com.archimatetool.editor.diagram.editparts.ArchimateDiagramEditPartFactory;
 import com.archimatetool.editor.diagram.sketch.editparts.SketchEditPartFactory;
+import com.archimatetool.editor.ui.ImageFactory;
+import com.archimatetool.editor.utils.FileUtils;
 import com.archimatetool.model.IArchimateDiagramModel;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IDiagramModel;
 import com.archimatetool.model.ISketchModel;
 import com.archimatetool.testingtools.ArchimateTestModel;
+import com.archimatetool.tests.TestUtils;
 
 /**
  * DiagramUtilsTests
@@ -49,6 +56,11 @@ public class DiagramUtilsTests {
         model = tm.loadModel();
     }
 
+    @AfterEach
+    public void runAfterEachTest() throws IOException {
+        FileUtils.deleteFolder(TestUtils.TMP_FOLDER);
+    }
+    
     @Test
     public void testCreateViewer_ArchimateModel() {
         IDiagramModel dm = model.getDiagramModels().get(0);
@@ -213,6 +225,51 @@ public class DiagramUtilsTests {
         img.dispose();
     }
 
+    @Test
+    public void testCreatePNGImageFile_Model() throws IOException {
+        IDiagramModel dm = model.getDiagramModels().get(2);
+        File file = new File(TestUtils.TMP_FOLDER, "test.png");
+        TestUtils.TMP_FOLDER.mkdirs();
+        
+        org.eclipse.draw2d.geometry.Rectangle bounds = DiagramUtils.createPNGImageFile(dm, 1, 0, file);
+        assertEquals(new org.eclipse.draw2d.geometry.Rectangle(0, 0, 720 + 193, 468 + 85), bounds);
+        
+        ImageData pngData = new ImageLoader().load(file.getPath())[0];
+        
+        // Same pixels as an Image of the whole diagram
+        Image img = DiagramUtils.createImage(dm, 1, 0);
+        ImageData imageData = img.getImageData(ImageFactory.getImageDeviceZoom());
+        img.dispose();
+        
+        assertEquals(imageData.width, pngData.width);
+        assertEquals(imageData.height, pngData.height);
+        
+        for(int y = 0; y < imageData.height; y++) {
+            for(int x = 0; x < imageData.width; x++) {
+                assertEquals(imageData.palette.getRGB(imageData.getPixel(x, y)), pngData.palette.getRGB(pngData.getPixel(x, y)));
+            }
+        }
+    }
+    
+    @Test
+    public void testCreatePNGImageFile_Figure_Scaled() throws IOException {
+        IFigure figure = new Figure();
+        figure.setSize(1500, 600);
+        File file = new File(TestUtils.TMP_FOLDER, "test.png");
+        TestUtils.TMP_FOLDER.mkdirs();
+        
+        // Wider and higher than one tile
+        DiagramUtils.createPNGImageFile(figure, 2, 0, file);
+        
+        Image img = DiagramUtils.createImage(figure, 2, 0);
+        ImageData imageData = img.getImageData(ImageFactory.getImageDeviceZoom());
+        img.dispose();
+        
+        ImageData pngData = new ImageLoader().load(file.getPath())[0];
+        assertEquals(imageData.width, pngData.width);
+        assertEquals(imageData.height, pngData.height);
+    }
+    
     @Test
     public void testGetDiagram_IsMinimumSize() {
         IDiagramModel dm = model.getDiagramModels().get(0);
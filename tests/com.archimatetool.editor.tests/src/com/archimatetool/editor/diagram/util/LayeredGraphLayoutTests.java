@@ -0,0 +1,112 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.draw2d.geometry.Point;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.model.IArchimateFactory;
+
+/**
+ * LayeredGraphLayoutTests
+ *
+ * @author Phillip Beauvoir
+ */
+@SuppressWarnings("nls")
+public class LayeredGraphLayoutTests {
+
+    @Test
+    public void testGetLayer() {
+        assertEquals(0, LayeredGraphLayout.getLayer(IArchimateFactory.eINSTANCE.createGoal()));
+        assertEquals(1, LayeredGraphLayout.getLayer(IArchimateFactory.eINSTANCE.createCapability()));
+        assertEquals(2, LayeredGraphLayout.getLayer(IArchimateFactory.eINSTANCE.createBusinessActor()));
+        assertEquals(3, LayeredGraphLayout.getLayer(IArchimateFactory.eINSTANCE.createApplicationComponent()));
+        assertEquals(4, LayeredGraphLayout.getLayer(IArchimateFactory.eINSTANCE.createNode()));
+        assertEquals(5, LayeredGraphLayout.getLayer(IArchimateFactory.eINSTANCE.createEquipment()));
+        assertEquals(6, LayeredGraphLayout.getLayer(IArchimateFactory.eINSTANCE.createWorkPackage()));
+        assertEquals(LayeredGraphLayout.NO_LAYER, LayeredGraphLayout.getLayer(IArchimateFactory.eINSTANCE.createLocation()));
+    }
+
+    @Test
+    public void testLayout_Empty() {
+        assertTrue(new LayeredGraphLayout().layout(new Point()).isEmpty());
+    }
+
+    @Test
+    public void testLayout_Cancelled() {
+        LayeredGraphLayout layout = new LayeredGraphLayout();
+        layout.addNode("app", 120, 55, 3);
+        layout.addNode("business", 120, 55, 2);
+        layout.addEdge("app", "business");
+
+        NullProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+        assertNull(layout.layout(new Point(), monitor));
+    }
+
+    @Test
+    public void testLayout_LayersAreOrdered() {
+        LayeredGraphLayout layout = new LayeredGraphLayout();
+        layout.addNode("app", 120, 55, 3);
+        layout.addNode("business", 120, 55, 2);
+        layout.addNode("tech", 120, 55, 4);
+
+        // Edges against the layer order
+        layout.addEdge("tech", "app");
+        layout.addEdge("app", "business");
+
+        Map<Object, Point> result = layout.layout(new Point(20, 20));
+        assertEquals(3, result.size());
+
+        assertEquals(20, result.get("business").y);
+        assertTrue(result.get("business").y < result.get("app").y);
+        assertTrue(result.get("app").y < result.get("tech").y);
+    }
+
+    @Test
+    public void testLayout_UnconnectedNodesAreOrderedByLayer() {
+        LayeredGraphLayout layout = new LayeredGraphLayout();
+        layout.addNode("tech", 120, 55, 4);
+        layout.addNode("business", 120, 55, 2);
+
+        Map<Object, Point> result = layout.layout(new Point(0, 0));
+        assertTrue(result.get("business").y < result.get("tech").y);
+    }
+
+    @Test
+    public void testLayout_IgnoresSelfAndUnknownEdges() {
+        LayeredGraphLayout layout = new LayeredGraphLayout();
+        layout.addNode("a", 120, 55, LayeredGraphLayout.NO_LAYER);
+        layout.addEdge("a", "a");
+        layout.addEdge("a", "unknown");
+
+        Map<Object, Point> result = layout.layout(new Point(10, 10));
+        assertEquals(new Point(10, 10), result.get("a"));
+    }
+
+    @Test
+    public void testLayout_WideRowIsWrapped() {
+        LayeredGraphLayout layout = new LayeredGraphLayout(10, 20, 500);
+
+        for(int i = 0; i < 20; i++) {
+            layout.addNode(i, 100, 50, 2);
+        }
+
+        Map<Object, Point> result = layout.layout(new Point(0, 0));
+        assertEquals(20, result.size());
+
+        for(Point pt : result.values()) {
+            assertTrue(pt.x + 100 <= 500);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.diagram.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import org.eclipse.gef.EditPart;
+import org.eclipse.gef.GraphicalViewer;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Rectangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.TestSupport;
+import com.archimatetool.editor.diagram.editparts.ArchimateDiagramEditPartFactory;
+import com.archimatetool.editor.diagram.sketch.editparts.SketchEditPartFactory;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IDiagramModel;
+import com.archimatetool.testingtools.ArchimateTestModel;
+
+/**
+ * OffscreenDiagramRendererTests
+ *
+ * @author Phillip Beauvoir
+ */
+public class OffscreenDiagramRendererTests {
+
+    private static IArchimateModel model;
+
+    private OffscreenDiagramRenderer renderer;
+
+    @BeforeAll
+    public static void runOnceBeforeAllTests() throws IOException {
+        ArchimateTestModel tm = new ArchimateTestModel(TestSupport.TEST_MODEL_FILE_1);
+        model = tm.loadModel();
+    }
+
+    @BeforeEach
+    public void runBeforeEachTest() {
+        renderer = new OffscreenDiagramRenderer();
+    }
+
+    @AfterEach
+    public void runAfterEachTest() {
+        renderer.dispose();
+    }
+
+    @Test
+    public void testGetViewer_SwapsContents() {
+        IDiagramModel dm1 = model.getDiagramModels().get(0);
+        IDiagramModel dm2 = model.getDiagramModels().get(1);
+
+        GraphicalViewer viewer = renderer.getViewer(dm1);
+        assertSame(dm1, viewer.getContents().getModel());
+        assertTrue(viewer.getEditPartFactory() instanceof ArchimateDiagramEditPartFactory);
+
+        // Same viewer with a Sketch View
+        assertSame(viewer, renderer.getViewer(dm2));
+        assertSame(dm2, viewer.getContents().getModel());
+        assertTrue(viewer.getEditPartFactory() instanceof SketchEditPartFactory);
+    }
+
+    @Test
+    public void testGetViewer_SameModelKeepsContents() {
+        IDiagramModel dm = model.getDiagramModels().get(2);
+
+        EditPart contents = renderer.getViewer(dm).getContents();
+        assertSame(contents, renderer.getViewer(dm).getContents());
+    }
+
+    @Test
+    public void testCreateImage_SameAsDiagramUtils() {
+        int width = 720 + 193; // x of furthest object in diagram, and its width
+        int height = 468 + 85; // x of furthest object in diagram, and its height
+
+        // Render another View first
+        renderer.createImage(model.getDiagramModels().get(0), 1, 0).dispose();
+
+        Image img = renderer.createImage(model.getDiagramModels().get(2), 1, 0);
+        assertEquals(new Rectangle(0, 0, width, height), img.getBounds());
+        img.dispose();
+
+        // Blank View is minimum 100 x 100
+        img = renderer.createImage(model.getDiagramModels().get(0), 1, 0);
+        assertEquals(new Rectangle(0, 0, 100, 100), img.getBounds());
+        img.dispose();
+    }
+
+    @Test
+    public void testGetDiagramExtents() {
+        assertEquals(new org.eclipse.draw2d.geometry.Rectangle(0, 0, 720 + 193, 468 + 85),
+                renderer.getDiagramExtents(model.getDiagramModels().get(2)));
+    }
+
+    @Test
+    public void testDispose() {
+        GraphicalViewer viewer = renderer.getViewer(model.getDiagramModels().get(2));
+        renderer.dispose();
+
+        assertNull(viewer.getContents());
+        assertThrows(IllegalStateException.class, () -> renderer.getViewer(model.getDiagramModels().get(2)));
+    }
+}
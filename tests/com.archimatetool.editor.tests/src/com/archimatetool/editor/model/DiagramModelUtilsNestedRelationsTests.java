@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.eclipse.emf.ecore.EClass;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -95,6 +96,12 @@ public class DiagramModelUtilsNestedRelationsTests {
         dmo4.getChildren().add(dmo5);
     }
     
+    @AfterEach
+    public void runAfterEachTest() {
+        ArchiPlugin.PREFERENCES.setToDefault(IPreferenceConstants.USE_NESTED_CONNECTIONS);
+        ArchiPlugin.PREFERENCES.setToDefault(IPreferenceConstants.HIDDEN_RELATIONS_TYPES);
+    }
+    
     // =================================================================================================
     
     @Test
@@ -133,4 +140,24 @@ public class DiagramModelUtilsNestedRelationsTests {
         connection.connect(dmo4, dmo5);
         assertTrue(DiagramModelUtils.shouldBeHiddenConnection(connection));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testShouldBeHiddenConnection_HiddenRelationsTypesChanged() {
+        IDiagramModelArchimateConnection connection = IArchimateFactory.eINSTANCE.createDiagramModelArchimateConnection();
+        connection.setArchimateRelationship(relationship2);
+        connection.connect(dmo4, dmo5);
+        assertTrue(DiagramModelUtils.shouldBeHiddenConnection(connection));
+        
+        // Only hide Composition relations (see ConnectionPreferences)
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.HIDDEN_RELATIONS_TYPES, 1 << 9);
+        assertFalse(DiagramModelUtils.isNestedConnectionTypeRelationship(relationship2));
+        assertFalse(DiagramModelUtils.shouldBeHiddenConnection(connection));
+        
+        connection.setArchimateRelationship(relationship1);
+        assertTrue(DiagramModelUtils.shouldBeHiddenConnection(connection));
+        
+        // Not nested
+        connection.connect(dmo2, dmo5);
+        assertFalse(DiagramModelUtils.shouldBeHiddenConnection(connection));
+    }
+}
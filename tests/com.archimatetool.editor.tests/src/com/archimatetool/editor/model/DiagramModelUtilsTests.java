@@ -9,15 +9,23 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.eclipse.gef.commands.Command;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import com.archimatetool.editor.diagram.commands.DiagramCommandFactory;
+import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateDiagramModel;
 import com.archimatetool.model.IArchimateElement;
 import com.archimatetool.model.IArchimateFactory;
@@ -34,6 +42,7 @@ import com.archimatetool.model.IDiagramModelConnection;
 import com.archimatetool.model.IDiagramModelGroup;
 import com.archimatetool.model.IDiagramModelObject;
 import com.archimatetool.model.IDiagramModelReference;
+import com.archimatetool.model.IFolder;
 import com.archimatetool.testingtools.ArchimateTestModel;
 import com.archimatetool.tests.TestData;
 
@@ -230,6 +239,101 @@ public class DiagramModelUtilsTests {
         list = DiagramModelUtils.findDiagramModelConnectionsForRelation(diagramModel, relationship);
         assertEquals(3, list.size());
     }
+    
+    @Test
+    public void findDiagramModelComponentsForArchimateConcept_ReferencesMatchIterator() {
+        // All Archimate components in the loaded model
+        for(IDiagramModel dm : model.getDiagramModels()) {
+            for(Iterator<EObject> iter = dm.eAllContents(); iter.hasNext();) {
+                if(iter.next() instanceof IDiagramModelArchimateComponent dmc) {
+                    assertReferencesMatchIterator(dm, dmc.getArchimateConcept());
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void findDiagramModelObjectsForElement_UndoRedoDelete() {
+        IArchimateElement element = IArchimateFactory.eINSTANCE.createBusinessActor();
+        IArchimateRelationship relationship = IArchimateFactory.eINSTANCE.createAssociationRelationship();
+        IDiagramModel diagramModel = tm.addNewArchimateDiagramModel();
+        
+        createDataForDiagramModelArchimateObjects(element, diagramModel);
+        createDataForDiagramModelConnections(relationship);
+        
+        // Delete dmo2 which has the nested dmo3 and dmo4
+        Command cmd = DiagramCommandFactory.createDeleteDiagramObjectCommand(dmo2);
+        cmd.execute();
+        assertEquals(List.of(dmo1), DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element));
+        assertTrue(DiagramModelUtils.findDiagramModelConnectionsForRelation(diagramModel, relationship).isEmpty());
+        assertReferencesMatchIterator(diagramModel, element);
+        assertReferencesMatchIterator(diagramModel, relationship);
+        
+        cmd.undo();
+        assertEquals(4, DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element).size());
+        assertEquals(3, DiagramModelUtils.findDiagramModelConnectionsForRelation(diagramModel, relationship).size());
+        assertReferencesMatchIterator(diagramModel, element);
+        assertReferencesMatchIterator(diagramModel, relationship);
+        
+        cmd.redo();
+        assertEquals(List.of(dmo1), DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element));
+        assertTrue(DiagramModelUtils.findDiagramModelConnectionsForRelation(diagramModel, relationship).isEmpty());
+        assertReferencesMatchIterator(diagramModel, element);
+        assertReferencesMatchIterator(diagramModel, relationship);
+    }
+    
+    @Test
+    public void findDiagramModelObjectsForElement_CopiedObjects() {
+        IArchimateElement element = IArchimateFactory.eINSTANCE.createBusinessActor();
+        IDiagramModel diagramModel = tm.addNewArchimateDiagramModel();
+        createDataForDiagramModelArchimateObjects(element, diagramModel);
+        
+        // A copy that is not in a diagram model is not found
+        IDiagramModelArchimateObject copy = EcoreUtil.copy(dmo2);
+        assertSame(element, copy.getArchimateElement());
+        assertEquals(4, DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element).size());
+        
+        // Paste the copy, it and its children are found
+        diagramModel.getChildren().add(copy);
+        assertEquals(7, DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element).size());
+        assertReferencesMatchIterator(diagramModel, element);
+        
+        // A copy in another diagram model is not found in this one
+        IDiagramModel diagramModel2 = tm.addNewArchimateDiagramModel();
+        diagramModel2.getChildren().add(EcoreUtil.copy(dmo1));
+        assertEquals(7, DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element).size());
+        assertEquals(1, DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel2, element).size());
+        assertReferencesMatchIterator(diagramModel2, element);
+    }
+    
+    @Test
+    public void findDiagramModelObjectsForElement_DiagramModelNotInModel() {
+        IArchimateElement element = IArchimateFactory.eINSTANCE.createBusinessActor();
+        IDiagramModel diagramModel = IArchimateFactory.eINSTANCE.createArchimateDiagramModel();
+        createDataForDiagramModelArchimateObjects(element, diagramModel);
+        
+        // Found by iterating the diagram model
+        assertEquals(4, DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element).size());
+        
+        // Add it to the model and remove it again (as in delete and undo)
+        model.getDefaultFolderForObject(diagramModel).getElements().add(diagramModel);
+        assertEquals(4, DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element).size());
+        assertReferencesMatchIterator(diagramModel, element);
+        
+        ((IFolder)diagramModel.eContainer()).getElements().remove(diagramModel);
+        assertEquals(4, DiagramModelUtils.findDiagramModelObjectsForElement(diagramModel, element).size());
+    }
+    
+    private void assertReferencesMatchIterator(IDiagramModel diagramModel, IArchimateConcept concept) {
+        if(concept instanceof IArchimateElement element) {
+            assertEquals(new HashSet<>(DiagramModelUtils.findDiagramModelObjectsForElementByIterator(diagramModel, element)),
+                         new HashSet<>(DiagramModelUtils.findDiagramModelObjectsForElementByReference(diagramModel, element)));
+        }
+        else if(concept instanceof IArchimateRelationship relationship) {
+            assertEquals(new HashSet<>(DiagramModelUtils.findDiagramModelConnectionsForRelationByIterator(diagramModel, relationship)),
+                         new HashSet<>(DiagramModelUtils.findDiagramModelConnectionsForRelationByReference(diagramModel, relationship)));
+        }
+    }
 
     // =================================================================================================
 
@@ -294,6 +398,36 @@ public class DiagramModelUtilsTests {
         assertTrue(DiagramModelUtils.hasDiagramModelReference(diagramModel3));
     }
     
+    @Test
+    public void hasDiagramModelReference_UndoRedoDelete() {
+        IDiagramModel diagramModel1 = tm.addNewArchimateDiagramModel();
+        IDiagramModel diagramModel2 = tm.addNewArchimateDiagramModel();
+        
+        IDiagramModelReference ref = IArchimateFactory.eINSTANCE.createDiagramModelReference();
+        ref.setReferencedModel(diagramModel1);
+        IDiagramModelGroup group = IArchimateFactory.eINSTANCE.createDiagramModelGroup();
+        group.getChildren().add(ref);
+        diagramModel2.getChildren().add(group);
+        assertTrue(DiagramModelUtils.hasDiagramModelReference(diagramModel1));
+        
+        // Delete the group containing the reference
+        Command cmd = DiagramCommandFactory.createDeleteDiagramObjectCommand(group);
+        cmd.execute();
+        assertFalse(DiagramModelUtils.hasDiagramModelReference(diagramModel1));
+        assertTrue(DiagramModelUtils.findDiagramModelReferences(diagramModel2, diagramModel1).isEmpty());
+        
+        cmd.undo();
+        assertTrue(DiagramModelUtils.hasDiagramModelReference(diagramModel1));
+        assertEquals(List.of(ref), DiagramModelUtils.findDiagramModelReferences(diagramModel2, diagramModel1));
+        assertEquals(List.of(ref), DiagramModelUtils.findDiagramModelReferencesByIterator(diagramModel2, diagramModel1));
+        
+        // Not found in another container
+        assertTrue(DiagramModelUtils.findDiagramModelReferences(diagramModel1, diagramModel1).isEmpty());
+        
+        cmd.redo();
+        assertFalse(DiagramModelUtils.hasDiagramModelReference(diagramModel1));
+    }
+    
     @Test
     public void hasDiagramModelArchimateConnection() {
         IArchimateRelationship relationship = IArchimateFactory.eINSTANCE.createAssociationRelationship();
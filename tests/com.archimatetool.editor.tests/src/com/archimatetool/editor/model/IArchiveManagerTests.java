@@ -8,10 +8,22 @@ package com.archimatetool.editor.model;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 
 import org.eclipse.emf.common.util.URI;
 import org.junit.jupiter.api.Test;
@@ -68,4 +80,43 @@ public class IArchiveManagerTests {
         String path = IArchiveManager.FACTORY.getArchiveFilePath(file);
         assertEquals("archive:file:///" + file2.getAbsolutePath(), path);
     }
+    
+    // Default methods for other implementations
+    
+    @Test
+    public void testDefault_addDecodedImageBytes() throws IOException {
+        IArchiveManager archiveManager = mock(IArchiveManager.class, CALLS_REAL_METHODS);
+        byte[] bytes = new byte[] { 1, 2, 3 };
+        when(archiveManager.addByteContentEntry(anyString(), eq(bytes))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        String pathName = archiveManager.addDecodedImageBytes("img1.png", bytes);
+        assertTrue(pathName.startsWith("images/"));
+        assertTrue(pathName.endsWith(".png"));
+        verify(archiveManager).addByteContentEntry(pathName, bytes);
+    }
+    
+    @Test
+    public void testDefault_saveModel_Stream() {
+        IArchiveManager archiveManager = mock(IArchiveManager.class, CALLS_REAL_METHODS);
+        assertThrows(IOException.class, () -> archiveManager.saveModel(new ByteArrayOutputStream()));
+    }
+    
+    @Test
+    public void testDefault_loadImagesFromModelStream() throws IOException {
+        IArchiveManager archiveManager = mock(IArchiveManager.class, CALLS_REAL_METHODS);
+        File[] tmpFile = new File[1];
+        
+        // The stream is copied to a temporary file
+        when(archiveManager.loadImagesFromModelFile(any())).thenAnswer(invocation -> {
+            tmpFile[0] = invocation.getArgument(0);
+            return Files.mismatch(tmpFile[0].toPath(), TestSupport.TEST_MODEL_FILE_ZIPPED.toPath()) == -1;
+        });
+        
+        try(InputStream in = new FileInputStream(TestSupport.TEST_MODEL_FILE_ZIPPED)) {
+            assertTrue(archiveManager.loadImagesFromModelStream(in));
+        }
+        
+        // And deleted
+        assertFalse(tmpFile[0].exists());
+    }
 }
\ No newline at end of file
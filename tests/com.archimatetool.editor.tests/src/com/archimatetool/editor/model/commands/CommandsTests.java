@@ -9,13 +9,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.eclipse.gef.commands.Command;
 import org.eclipse.gef.commands.CompoundCommand;
@@ -23,6 +28,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.archimatetool.editor.model.IEditorModelManager;
+import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateElement;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IArchimatePackage;
@@ -108,6 +114,62 @@ public class CommandsTests {
         assertEquals(11, parent.getElements().indexOf(relationship));
     }
     
+    @Test
+    public void testDeleteArchimateConceptsCommand() {
+        IArchimateRelationship relationship = (IArchimateRelationship)tm.getObjectByID("670aa5ed");
+        IFolder parent = (IFolder)relationship.eContainer();
+        
+        List<EObject> originalElements = new ArrayList<>(parent.getElements());
+        
+        // Every other concept in the folder
+        List<IArchimateConcept> concepts = new ArrayList<>();
+        for(int i = 0; i < originalElements.size(); i += 2) {
+            concepts.add((IArchimateConcept)originalElements.get(i));
+        }
+        if(!concepts.contains(relationship)) {
+            concepts.add(relationship);
+        }
+        
+        List<Notification> notifications = new ArrayList<>();
+        parent.eAdapters().add(new AdapterImpl() {
+            @Override
+            public void notifyChanged(Notification msg) {
+                notifications.add(msg);
+            }
+        });
+        
+        DeleteArchimateConceptsCommand cmd = new DeleteArchimateConceptsCommand(parent, concepts);
+        cmd.execute();
+        
+        for(IArchimateConcept concept : concepts) {
+            assertNull(concept.eContainer());
+            assertFalse(parent.getElements().contains(concept));
+        }
+        assertEquals(originalElements.size() - concepts.size(), parent.getElements().size());
+        
+        assertFalse(relationship.getSource().getSourceRelationships().contains(relationship));
+        assertFalse(relationship.getTarget().getTargetRelationships().contains(relationship));
+        
+        // One notification
+        assertEquals(1, notifications.size());
+        assertEquals(Notification.REMOVE_MANY, notifications.get(0).getEventType());
+        assertEquals(concepts.size(), ((List<?>)notifications.get(0).getOldValue()).size());
+        
+        cmd.undo();
+        assertEquals(originalElements, parent.getElements());
+        for(IArchimateConcept concept : concepts) {
+            assertSame(parent, concept.eContainer());
+        }
+        assertTrue(relationship.getSource().getSourceRelationships().contains(relationship));
+        assertTrue(relationship.getTarget().getTargetRelationships().contains(relationship));
+        
+        cmd.redo();
+        assertEquals(originalElements.size() - concepts.size(), parent.getElements().size());
+        
+        cmd.undo();
+        assertEquals(originalElements, parent.getElements());
+    }
+    
     @Test
     public void testDeleteFolderCommand() {
         IFolder folder = (IFolder)tm.getObjectByID("403e5717");
@@ -5,6 +5,7 @@
  */
 package com.archimatetool.editor.model.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -14,8 +15,15 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
 
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.swt.graphics.Image;
@@ -117,6 +125,25 @@ public class ArchiveManagerTests {
         assertEquals(1, archiveManager.getLoadedImagePaths().size());
     }
     
+    @Test
+    public void testAddDecodedImageBytes() throws Exception {
+        File imgFile = new File(TestSupport.getTestDataFolder(), "/img/img1.png");
+        byte[] bytes = Files.readAllBytes(imgFile.toPath());
+        
+        String pathName = archiveManager.addDecodedImageBytes("img1.png", bytes);
+        assertTrue(pathName.startsWith("images/"));
+        assertTrue(pathName.endsWith(".png"));
+        assertEquals(1, archiveManager.getLoadedImagePaths().size());
+        assertArrayEquals(bytes, archiveManager.getBytesFromEntry(pathName));
+        
+        // Same bytes from another file name is the same image
+        assertEquals(pathName, archiveManager.addDecodedImageBytes("another.png", bytes.clone()));
+        assertEquals(1, archiveManager.getLoadedImagePaths().size());
+        
+        // Same as adding from the file
+        assertEquals(pathName, archiveManager.addImageFromFile(imgFile));
+    }
+    
     @Test
     public void testCreateImage_Null() throws Exception {
         assertNull(archiveManager.createImage("something"));
@@ -180,6 +207,30 @@ public class ArchiveManagerTests {
         assertEquals(0, archiveManager.getImagePaths().size());
     }
     
+    @Test
+    public void testLoadImagesFromModelStream() throws Exception {
+        // Stream is not an archive file, returns false
+        try(InputStream in = new FileInputStream(TestData.TEST_MODEL_FILE_ARCHISURANCE)) {
+            assertFalse(archiveManager.loadImagesFromModelStream(in));
+        }
+        
+        // Loaded images is empty
+        assertTrue(archiveManager.getLoadedImagePaths().isEmpty());
+        
+        // Load some images
+        try(InputStream in = new FileInputStream(TestSupport.TEST_MODEL_FILE_ZIPPED)) {
+            assertTrue(archiveManager.loadImagesFromModelStream(in));
+        }
+        assertEquals(2, archiveManager.getLoadedImagePaths().size());
+        
+        // Same as from the file
+        ArchiveManager archiveManager2 = new ArchiveManager(model);
+        archiveManager2.loadImagesFromModelFile(TestSupport.TEST_MODEL_FILE_ZIPPED);
+        for(String entryName : archiveManager2.getLoadedImagePaths()) {
+            assertArrayEquals(archiveManager2.getBytesFromEntry(entryName), archiveManager.getBytesFromEntry(entryName));
+        }
+    }
+    
     @Test
     public void testHasImages() throws IOException {
         assertFalse(archiveManager.hasImages());
@@ -241,6 +292,45 @@ public class ArchiveManagerTests {
         assertSame(resource, model.eResource());
     }
     
+    @Test
+    public void testSaveModel_Stream() throws IOException {
+        IDiagramModelImage dmImage = IArchimateFactory.eINSTANCE.createDiagramModelImage();
+        dm.getChildren().add(dmImage);
+        
+        // Not an archive file
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveManager.saveModel(out);
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("<?xml"));
+        
+        // Model's file and Resource are not changed
+        assertNull(model.getFile());
+        assertNull(model.eResource());
+        
+        // Is an archive file
+        archiveManager.loadImagesFromModelFile(TestSupport.TEST_MODEL_FILE_ZIPPED);
+        dmImage.setImagePath(archiveManager.getLoadedImagePaths().iterator().next());
+        
+        out = new ByteArrayOutputStream();
+        archiveManager.saveModel(out);
+        
+        ArchiveManager archiveManager2 = new ArchiveManager(model);
+        assertTrue(archiveManager2.loadImagesFromModelStream(new ByteArrayInputStream(out.toByteArray())));
+        assertEquals(Set.of(dmImage.getImagePath()), archiveManager2.getLoadedImagePaths());
+    }
+    
+    @Test
+    public void testSaveModel_Stream_ResourceSame() throws IOException {
+        File file = TestUtils.createTempFile(".archimate");
+        model.setFile(file);
+        archiveManager.saveModel();
+        Resource resource = model.eResource();
+        
+        archiveManager.saveModel(new ByteArrayOutputStream());
+        
+        assertSame(resource, model.eResource());
+        assertEquals(file.getAbsolutePath(), resource.getURI().toFileString());
+    }
+    
     @Test
     public void testClone() throws IOException {
         archiveManager.loadImagesFromModelFile(TestSupport.TEST_MODEL_FILE_ZIPPED);
@@ -10,9 +10,12 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 
 import org.eclipse.gef.commands.Command;
 import org.eclipse.gef.commands.CommandStack;
@@ -120,6 +123,18 @@ public class EditorModelManagerTests {
         assertEquals(1, editorModelManager.getModels().size());
     }
 
+    @Test
+    public void openModel_Model_KeepsArchiveManager() {
+        IArchimateModel model = IArchimateFactory.eINSTANCE.createArchimateModel();
+        model.setDefaults();
+        
+        IArchiveManager archiveManager = IArchiveManager.FACTORY.createArchiveManager(model);
+        model.setAdapter(IArchiveManager.class, archiveManager);
+        
+        editorModelManager.openModel(model);
+        assertSame(archiveManager, model.getAdapter(IArchiveManager.class));
+    }
+
     @Test
     public void loadModel_File_Null() {
         IArchimateModel model = editorModelManager.loadModel(null);
@@ -179,6 +194,34 @@ public class EditorModelManagerTests {
         IArchimateModel model2 = editorModelManager.loadModel(file);
         assertNotEquals(model2, model);
     }
+    
+    @Test
+    public void loadModel_Stream() throws Exception {
+        File file = TestData.TEST_MODEL_FILE_ARCHISURANCE;
+        
+        IArchimateModel model;
+        try(InputStream in = new FileInputStream(file)) {
+            model = editorModelManager.loadModel(in, file);
+        }
+        assertNotNull(model);
+        assertEquals("Archisurance", model.getName());
+        
+        // File is not set
+        assertNull(model.getFile());
+        
+        // Has no Command Stack or Archive Manager
+        assertNull(model.getAdapter(CommandStack.class));
+        assertNull(model.getAdapter(IArchiveManager.class));
+        
+        // Is *not* registered
+        assertEquals(0, editorModelManager.getModels().size());
+        
+        // Open it
+        editorModelManager.openModel(model, true);
+        assertTrue(editorModelManager.getModels().contains(model));
+        assertTrue(model.getAdapter(CommandStack.class) instanceof CommandStack);
+        assertTrue(model.getAdapter(IArchiveManager.class) instanceof IArchiveManager);
+    }
 
     @Test
     public void isModelLoaded_File() {
@@ -11,6 +11,7 @@ import org.junit.platform.suite.api.SuiteDisplayName;
 
 @Suite
 @SelectClasses({
+    ImageThumbnailCacheTests.class,
     PropertiesLabelProviderTests.class
 })
 @SuiteDisplayName("All PropertySections Tests")
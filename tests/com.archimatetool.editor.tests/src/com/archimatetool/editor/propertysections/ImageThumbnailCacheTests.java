@@ -0,0 +1,74 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.propertysections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.junit.jupiter.api.Test;
+
+
+
+@SuppressWarnings("nls")
+public class ImageThumbnailCacheTests {
+    
+    private ImageData createImageData() {
+        return new ImageData(10, 10, 24, new PaletteData(0xFF, 0xFF00, 0xFF0000));
+    }
+
+    @Test
+    public void get_SameBytes() {
+        ImageThumbnailCache cache = new ImageThumbnailCache(10);
+        byte[] bytes = new byte[] { 1, 2, 3 };
+        ImageData imageData = createImageData();
+        
+        cache.put("images/1.png", bytes, imageData);
+        assertSame(imageData, cache.get("images/1.png", bytes));
+    }
+    
+    @Test
+    public void get_DifferentBytes() {
+        ImageThumbnailCache cache = new ImageThumbnailCache(10);
+        cache.put("images/1.png", new byte[] { 1, 2, 3 }, createImageData());
+        
+        // Same path in another model with other bytes
+        assertNull(cache.get("images/1.png", new byte[] { 1, 2, 3 }));
+        assertNull(cache.get("images/1.png", null));
+        assertNull(cache.get("images/2.png", new byte[] { 1, 2, 3 }));
+    }
+    
+    @Test
+    public void put_RemovesLeastRecentlyUsed() {
+        ImageThumbnailCache cache = new ImageThumbnailCache(2);
+        byte[] bytes1 = new byte[] { 1 };
+        byte[] bytes2 = new byte[] { 2 };
+        byte[] bytes3 = new byte[] { 3 };
+        
+        cache.put("images/1.png", bytes1, createImageData());
+        cache.put("images/2.png", bytes2, createImageData());
+        
+        // Use the first one so that the second one is the least recently used
+        cache.get("images/1.png", bytes1);
+        
+        cache.put("images/3.png", bytes3, createImageData());
+        
+        assertEquals(2, cache.size());
+        assertNull(cache.get("images/2.png", bytes2));
+        assertEquals(10, cache.get("images/1.png", bytes1).width);
+        assertEquals(10, cache.get("images/3.png", bytes3).width);
+    }
+    
+    @Test
+    public void clear() {
+        ImageThumbnailCache cache = new ImageThumbnailCache(10);
+        cache.put("images/1.png", new byte[] { 1 }, createImageData());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
@@ -7,8 +7,12 @@ package com.archimatetool.editor.ui.findreplace;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.regex.Pattern;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -116,4 +120,42 @@ public abstract class AbstractFindReplaceProviderTests {
         provider.setParameter(IFindReplaceProvider.PARAM_CASE_SENSITIVE, true);
         assertEquals("(?s).*\\b\\Q" + searchString + "\\E\\b.*", provider.getSearchStringPattern(searchString));
     }
+    
+    @Test
+    public void testMatchesSearchString() {
+        assertTrue(provider.matchesSearchString("Hello World", "world"));
+        assertTrue(provider.matchesSearchString("Hello\nWorld", "world"));
+        assertFalse(provider.matchesSearchString(null, "world"));
+        assertFalse(provider.matchesSearchString("Hello World", ""));
+        assertFalse(provider.matchesSearchString("Hello World", null));
+        
+        // Test regex characters don't mess things up
+        assertTrue(provider.matchesSearchString("Hello ( C \\ *. World", "( c \\ *."));
+        assertFalse(provider.matchesSearchString("Hello World", ".*"));
+        
+        provider.setParameter(IFindReplaceProvider.PARAM_CASE_SENSITIVE, true);
+        assertFalse(provider.matchesSearchString("Hello World", "world"));
+        assertTrue(provider.matchesSearchString("Hello World", "World"));
+        
+        provider.setParameter(IFindReplaceProvider.PARAM_WHOLE_WORD, true);
+        assertTrue(provider.matchesSearchString("Hello World", "World"));
+        assertFalse(provider.matchesSearchString("Hello Worlds", "World"));
+    }
+    
+    @Test
+    public void testGetSearchPattern_IsCompiledOnce() {
+        Pattern pattern = provider.getSearchPattern("Hello");
+        assertSame(pattern, provider.getSearchPattern("Hello"));
+        
+        // New pattern for new string or parameters
+        assertNotSame(pattern, provider.getSearchPattern("World"));
+        
+        pattern = provider.getSearchPattern("World");
+        provider.setParameter(IFindReplaceProvider.PARAM_CASE_SENSITIVE, true);
+        assertNotSame(pattern, provider.getSearchPattern("World"));
+        
+        pattern = provider.getSearchPattern("World");
+        provider.setParameter(IFindReplaceProvider.PARAM_WHOLE_WORD, true);
+        assertNotSame(pattern, provider.getSearchPattern("World"));
+    }
 }
@@ -0,0 +1,127 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.views;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.beans.PropertyChangeEvent;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import com.archimatetool.editor.model.IEditorModelManager;
+
+
+/**
+ * AbstractModelView Tests
+ *
+ * @author Phillip Beauvoir
+ */
+public class AbstractModelViewTests {
+
+    private AbstractModelView view;
+    private TreeViewer viewer;
+
+    private Notification msg1 = mock(Notification.class);
+    private Notification msg2 = mock(Notification.class);
+    private Notification msg3 = mock(Notification.class);
+
+    @BeforeEach
+    public void runOnceBeforeEachTest() {
+        viewer = new TreeViewer(new Shell());
+
+        // No Workbench to create the View's actions so use a mock that calls the real methods
+        view = mock(AbstractModelView.class, CALLS_REAL_METHODS);
+        doReturn(viewer).when(view).getViewer();
+        doReturn(true).when(view).isCoalescingNotifications();
+        doNothing().when(view).doRefreshFromNotifications(any());
+    }
+
+    @AfterEach
+    public void runAfterEachTest() {
+        viewer.getControl().getShell().dispose();
+    }
+
+    @Test
+    public void queueNotification_NotificationsWithinDelayAreOneRefresh() {
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENT, msg1);
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENT, msg2);
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENT, msg3);
+
+        // Nothing is refreshed until the delay is over
+        verify(view, never()).doRefreshFromCoalescedNotifications(any());
+
+        readAndDispatch(200);
+
+        verify(view, times(1)).doRefreshFromCoalescedNotifications(any());
+        verify(view).doRefreshFromCoalescedNotifications(List.of(msg1, msg2, msg3));
+    }
+
+    @Test
+    public void flushNotifications_AppliesPendingNotificationsNow() {
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENT, msg1);
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENT, msg2);
+
+        view.flushNotifications();
+        verify(view).doRefreshFromCoalescedNotifications(List.of(msg1, msg2));
+
+        // Nothing left for the scheduled refresh
+        readAndDispatch(200);
+        verify(view, times(1)).doRefreshFromCoalescedNotifications(any());
+
+        // Nothing pending
+        view.flushNotifications();
+        verify(view, times(1)).doRefreshFromCoalescedNotifications(any());
+    }
+
+    @Test
+    public void propertyChange_EventsStartFlushesPendingNotificationsBeforeBuffering() {
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENT, msg1);
+
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENTS_START, null);
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENT, msg2);
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENT, msg3);
+        fireEvent(IEditorModelManager.PROPERTY_ECORE_EVENTS_END, null);
+
+        // The pending notification is applied first and then the buffered notifications
+        InOrder inOrder = inOrder(view);
+        inOrder.verify(view).doRefreshFromCoalescedNotifications(List.of(msg1));
+        inOrder.verify(view).doRefreshFromNotifications(List.of(msg2, msg3));
+
+        readAndDispatch(200);
+        verify(view, times(1)).doRefreshFromCoalescedNotifications(any());
+    }
+
+    private void fireEvent(String propertyName, Object newValue) {
+        view.propertyChange(new PropertyChangeEvent(this, propertyName, null, newValue));
+    }
+
+    private void readAndDispatch(int millis) {
+        Display display = Display.getCurrent();
+        boolean[] done = new boolean[1];
+        display.timerExec(millis, () -> done[0] = true);
+        while(!done[0]) {
+            if(!display.readAndDispatch()) {
+                display.sleep();
+            }
+        }
+    }
+}
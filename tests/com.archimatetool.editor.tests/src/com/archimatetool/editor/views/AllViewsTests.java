@@ -12,13 +12,19 @@ import org.junit.platform.suite.api.SuiteDisplayName;
 
 import com.archimatetool.editor.views.tree.TreeModelViewerDragDropHandlerTests;
 import com.archimatetool.editor.views.tree.TreeModelViewerFindReplaceProviderTests;
+import com.archimatetool.editor.views.tree.TreeModelViewerTests;
+import com.archimatetool.editor.views.tree.TreeSelectionSynchroniserTests;
 import com.archimatetool.editor.views.tree.commands.DeleteCommandHandlerTests;
 
 @Suite
 @SelectClasses({
+    // views
+    AbstractModelViewTests.class,
     // views.tree
     TreeModelViewerDragDropHandlerTests.class,
     TreeModelViewerFindReplaceProviderTests.class,
+    TreeModelViewerTests.class,
+    TreeSelectionSynchroniserTests.class,
     // views.tree.commands
     DeleteCommandHandlerTests.class
 })
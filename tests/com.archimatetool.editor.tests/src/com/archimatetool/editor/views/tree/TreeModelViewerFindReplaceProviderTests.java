@@ -12,7 +12,9 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
+import java.util.List;
 
+import org.eclipse.gef.commands.CommandStack;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.StructuredSelection;
 import org.eclipse.swt.SWT;
@@ -27,7 +29,10 @@ import com.archimatetool.editor.model.IEditorModelManager;
 import com.archimatetool.editor.ui.findreplace.AbstractFindReplaceProvider;
 import com.archimatetool.editor.ui.findreplace.AbstractFindReplaceProviderTests;
 import com.archimatetool.editor.ui.findreplace.IFindReplaceProvider;
+import com.archimatetool.model.IArchimateElement;
+import com.archimatetool.model.IArchimateFactory;
 import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IFolder;
 import com.archimatetool.model.INameable;
 import com.archimatetool.model.util.ArchimateModelUtils;
 import com.archimatetool.tests.TestData;
@@ -342,4 +347,57 @@ public class TreeModelViewerFindReplaceProviderTests extends AbstractFindReplace
         assertEquals(0, provider.getAllMatchingElements("busines").size());
         assertEquals(0, provider.getAllMatchingElements("custom").size());
     }
+    
+    @Test
+    public void testGetAllMatchingElements_DocumentationAndProperties() {
+        provider.setParameter(IFindReplaceProvider.PARAM_ALL_MODELS, true);
+        
+        IArchimateElement element = IArchimateFactory.eINSTANCE.createBusinessActor();
+        element.setName("Actor");
+        element.setDocumentation("Some zebra text");
+        element.getProperties().add(IArchimateFactory.eINSTANCE.createProperty("key", "A quagga"));
+        
+        IFolder folder = model1.getDefaultFolderForObject(element);
+        folder.getElements().add(element);
+        
+        try {
+            assertTrue(provider.getAllMatchingElements("zebra").isEmpty());
+            provider.setParameter(IFindReplaceProvider.PARAM_INCLUDE_DOCUMENTATION, true);
+            assertEquals(List.of(element), provider.getAllMatchingElements("zebra"));
+            
+            assertTrue(provider.getAllMatchingElements("quagga").isEmpty());
+            provider.setParameter(IFindReplaceProvider.PARAM_INCLUDE_PROPERTIES, true);
+            assertEquals(List.of(element), provider.getAllMatchingElements("quagga"));
+            
+            // Replace in documentation and property value
+            provider.doReplaceCommands(List.of(element), "zebra", "horse");
+            provider.doReplaceCommands(List.of(element), "quagga", "donkey");
+            assertEquals("Some horse text", element.getDocumentation());
+            assertEquals("A donkey", element.getProperties().get(0).getValue());
+            assertEquals("Actor", element.getName());
+        }
+        finally {
+            folder.getElements().remove(element);
+        }
+    }
+    
+    @Test
+    public void testReplaceAll_IsOneCommand() {
+        provider.setParameter(IFindReplaceProvider.PARAM_ALL, true);
+        provider.setParameter(IFindReplaceProvider.PARAM_ALL_MODELS, true);
+        provider.setParameter(IFindReplaceProvider.PARAM_INCLUDE_RELATIONS, true);
+        provider.setParameter(IFindReplaceProvider.PARAM_CASE_SENSITIVE, true);
+        
+        assertTrue(provider.replace("FindMe", "FoundMe"));
+        
+        // The matches are found again after the model has changed
+        assertEquals(0, provider.getAllMatchingElements("FindMe").size());
+        assertEquals(11, provider.getAllMatchingElements("FoundMe").size());
+        
+        // One undo restores all the names
+        CommandStack stack = (CommandStack)model1.getAdapter(CommandStack.class);
+        stack.undo();
+        assertEquals(11, provider.getAllMatchingElements("FindMe").size());
+        assertEquals(0, provider.getAllMatchingElements("FoundMe").size());
+    }
 }
@@ -0,0 +1,57 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.views.tree;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * TreeModelViewer Tests
+ *
+ * @author Phillip Beauvoir
+ */
+public class TreeModelViewerTests {
+
+    private TreeModelViewer treeViewer;
+    private int refreshCount;
+
+    @BeforeEach
+    public void runOnceBeforeEachTest() {
+        treeViewer = new TreeModelViewer(new Shell(), SWT.NONE);
+        treeViewer.setPendingRefreshHandler(() -> refreshCount++);
+    }
+
+    @AfterEach
+    public void runAfterEachTest() {
+        treeViewer.getControl().getShell().dispose();
+    }
+
+    @Test
+    public void setSelection_AppliesPendingRefresh() {
+        treeViewer.setSelection(new StructuredSelection(new Object()), true);
+        assertEquals(1, refreshCount);
+    }
+
+    @Test
+    public void editElement_AppliesPendingRefresh() {
+        treeViewer.editElement(new Object());
+        assertEquals(1, refreshCount);
+    }
+
+    @Test
+    public void setSelection_NoPendingRefreshHandler() {
+        treeViewer.setPendingRefreshHandler(null);
+        treeViewer.setSelection(StructuredSelection.EMPTY, true);
+        assertEquals(0, refreshCount);
+    }
+}
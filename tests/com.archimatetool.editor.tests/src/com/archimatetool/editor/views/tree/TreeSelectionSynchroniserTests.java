@@ -0,0 +1,139 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.editor.views.tree;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.eclipse.jface.viewers.SelectionChangedEvent;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.ArchiPlugin;
+import com.archimatetool.editor.diagram.IDiagramModelEditor;
+import com.archimatetool.editor.preferences.IPreferenceConstants;
+
+
+/**
+ * TreeSelectionSynchroniser Tests
+ *
+ * @author Phillip Beauvoir
+ */
+public class TreeSelectionSynchroniserTests {
+
+    private TreeModelViewer treeViewer;
+    private TreeSelectionSynchroniser synchroniser;
+
+    private IDiagramModelEditor visibleEditor, hiddenEditor;
+
+    private Object object1 = new Object();
+    private Object object2 = new Object();
+    private Object object3 = new Object();
+
+    @BeforeEach
+    public void runOnceBeforeEachTest() {
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LINK_VIEW, true);
+
+        visibleEditor = mock(IDiagramModelEditor.class);
+        hiddenEditor = mock(IDiagramModelEditor.class);
+
+        treeViewer = new TreeModelViewer(new Shell(), SWT.NONE);
+
+        // No Workbench so supply the open editors and their visibility
+        synchroniser = new TreeSelectionSynchroniser(treeViewer) {
+            @Override
+            void registerListeners() {
+            }
+
+            @Override
+            void unregisterListeners() {
+            }
+
+            @Override
+            List<IDiagramModelEditor> getOpenEditors() {
+                return List.of(visibleEditor, hiddenEditor);
+            }
+
+            @Override
+            boolean isVisible(IDiagramModelEditor editor) {
+                return editor == visibleEditor;
+            }
+        };
+    }
+
+    @AfterEach
+    public void runAfterEachTest() {
+        treeViewer.getControl().getShell().dispose();
+        ArchiPlugin.PREFERENCES.setToDefault(IPreferenceConstants.LINK_VIEW);
+    }
+
+    @Test
+    public void selectionChanged_RapidSelectionsAreCoalesced() {
+        selectInTree(object1);
+        selectInTree(object2);
+        selectInTree(object1, object3);
+
+        // Nothing is sent until the UI thread is free
+        verify(visibleEditor, never()).selectObjects(any());
+
+        readAndDispatch();
+
+        // Only the last selection is sent
+        verify(visibleEditor, times(1)).selectObjects(any());
+        verify(visibleEditor).selectObjects(new Object[] { object1, object3 });
+    }
+
+    @Test
+    public void selectionChanged_HiddenEditorSyncedWhenShown() {
+        selectInTree(object1);
+        selectInTree(object2);
+        readAndDispatch();
+
+        verify(visibleEditor).selectObjects(new Object[] { object2 });
+        verify(hiddenEditor, never()).selectObjects(any());
+
+        // Brought to top or activated
+        synchroniser.syncEditor(hiddenEditor);
+        verify(hiddenEditor, times(1)).selectObjects(new Object[] { object2 });
+
+        // Already in sync
+        synchroniser.syncEditor(hiddenEditor);
+        synchroniser.syncEditor(visibleEditor);
+        verify(hiddenEditor, times(1)).selectObjects(any());
+        verify(visibleEditor, times(1)).selectObjects(any());
+    }
+
+    @Test
+    public void selectionChanged_NotSyncedWhenLinkViewIsOff() {
+        ArchiPlugin.PREFERENCES.setValue(IPreferenceConstants.LINK_VIEW, false);
+
+        selectInTree(object1);
+        readAndDispatch();
+        synchroniser.syncEditor(hiddenEditor);
+
+        verify(visibleEditor, never()).selectObjects(any());
+        verify(hiddenEditor, never()).selectObjects(any());
+    }
+
+    private void selectInTree(Object... objects) {
+        synchroniser.selectionChanged(new SelectionChangedEvent(treeViewer, new StructuredSelection(objects)));
+    }
+
+    private void readAndDispatch() {
+        Display display = Display.getCurrent();
+        while(display.readAndDispatch());
+    }
+}
@@ -6,11 +6,16 @@
 package com.archimatetool.model.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.emf.ecore.EClass;
 import org.junit.jupiter.api.Named;
@@ -20,6 +25,7 @@ import com.archimatetool.model.IArchimateConcept;
 import com.archimatetool.model.IArchimateFactory;
 import com.archimatetool.model.IArchimateModel;
 import com.archimatetool.model.IArchimatePackage;
+import com.archimatetool.model.IArchimateRelationship;
 import com.archimatetool.model.IProfile;
 import com.archimatetool.model.ParamsTest;
 
@@ -109,6 +115,52 @@ public abstract class ArchimateConceptTests {
         assertEquals(1, concept.getTargetRelationships().size());
     }
     
+    @ParamsTest
+    public void testForEachRelationship(IArchimateConcept concept) {
+        IArchimateConcept other = IArchimateFactory.eINSTANCE.createBusinessActor();
+        
+        IArchimateRelationship relation1 = IArchimateFactory.eINSTANCE.createAssociationRelationship();
+        relation1.connect(concept, other);
+        IArchimateRelationship relation2 = IArchimateFactory.eINSTANCE.createFlowRelationship();
+        relation2.connect(other, concept);
+        IArchimateRelationship relation3 = IArchimateFactory.eINSTANCE.createAssociationRelationship();
+        relation3.connect(concept, concept);
+        
+        List<IArchimateRelationship> visited = new ArrayList<>();
+        
+        // A relationship connected at both ends is only visited once
+        concept.forEachRelationship(visited::add);
+        assertEquals(List.of(relation1, relation3, relation2), visited);
+        
+        visited.clear();
+        concept.forEachRelationship(IArchimateConcept.SOURCE_RELATIONSHIPS, null, visited::add);
+        assertEquals(List.of(relation1, relation3), visited);
+        
+        visited.clear();
+        concept.forEachRelationship(IArchimateConcept.TARGET_RELATIONSHIPS, null, visited::add);
+        assertEquals(List.of(relation2, relation3), visited);
+        
+        visited.clear();
+        concept.forEachRelationship(IArchimateConcept.ALL_RELATIONSHIPS, IArchimatePackage.Literals.ASSOCIATION_RELATIONSHIP, visited::add);
+        assertEquals(List.of(relation1, relation3), visited);
+    }
+    
+    @ParamsTest
+    public void testAnyRelationship(IArchimateConcept concept) {
+        IArchimateConcept other = IArchimateFactory.eINSTANCE.createBusinessActor();
+        
+        assertFalse(concept.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, null, relation -> true));
+        
+        IArchimateRelationship relation = IArchimateFactory.eINSTANCE.createFlowRelationship();
+        relation.connect(other, concept);
+        
+        assertTrue(concept.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, null, rel -> rel == relation));
+        assertTrue(concept.anyRelationship(IArchimateConcept.TARGET_RELATIONSHIPS, IArchimatePackage.Literals.FLOW_RELATIONSHIP, rel -> true));
+        assertFalse(concept.anyRelationship(IArchimateConcept.SOURCE_RELATIONSHIPS, null, rel -> true));
+        assertFalse(concept.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, IArchimatePackage.Literals.ASSOCIATION_RELATIONSHIP, rel -> true));
+        assertFalse(concept.anyRelationship(IArchimateConcept.ALL_RELATIONSHIPS, null, rel -> rel.getSource() == concept));
+    }
+    
     @ParamsTest
     public void testGetProfiles(IArchimateConcept concept) {
         CommonTests.testList(concept.getProfiles(), IArchimatePackage.eINSTANCE.getProfile());
@@ -6,6 +6,9 @@
 package com.archimatetool.model.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -16,6 +19,7 @@ import com.archimatetool.model.IDiagramModel;
 import com.archimatetool.model.IDiagramModelArchimateConnection;
 import com.archimatetool.model.IDiagramModelArchimateObject;
 import com.archimatetool.model.IDiagramModelGroup;
+import com.archimatetool.model.IDiagramModelReference;
 import com.archimatetool.model.IFolder;
 
 
@@ -299,4 +303,137 @@ public class DiagramModelExtraTests {
         assertEquals(0, ((ArchimateRelationship)conn3a.getArchimateRelationship()).diagramConnections.size());
     }
     
+    /**
+     * See {@link DiagramModelComponent#eInverseAdd(org.eclipse.emf.ecore.InternalEObject, int, Class, org.eclipse.emf.common.notify.NotificationChain)}
+     * See {@link DiagramModelComponent#eInverseRemove(org.eclipse.emf.ecore.InternalEObject, int, Class, org.eclipse.emf.common.notify.NotificationChain)}
+     */
+    @Test
+    public void testRemoveAncestor_RemovesChildReferences() {
+        ArchimateElement e1 = (ArchimateElement)IArchimateFactory.eINSTANCE.createBusinessActor();
+        ArchimateElement e2 = (ArchimateElement)IArchimateFactory.eINSTANCE.createBusinessActor();
+        ArchimateRelationship r1 = (ArchimateRelationship)IArchimateFactory.eINSTANCE.createAssociationRelationship();
+        
+        IArchimateModel model = IArchimateFactory.eINSTANCE.createArchimateModel();
+        model.setDefaults();
+        IDiagramModel dm = IArchimateFactory.eINSTANCE.createArchimateDiagramModel();
+        model.getDefaultFolderForObject(dm).getElements().add(dm);
+        
+        /*
+          dm
+           |-- group
+                 |-- dmo1
+                      |-- dmo2
+           dmo1 <-- conn1 --> dmo2
+        */
+        IDiagramModelGroup group = IArchimateFactory.eINSTANCE.createDiagramModelGroup();
+        dm.getChildren().add(group);
+        
+        IDiagramModelArchimateObject dmo1 = IArchimateFactory.eINSTANCE.createDiagramModelArchimateObject();
+        dmo1.setArchimateElement(e1);
+        group.getChildren().add(dmo1);
+        
+        IDiagramModelArchimateObject dmo2 = IArchimateFactory.eINSTANCE.createDiagramModelArchimateObject();
+        dmo2.setArchimateElement(e2);
+        dmo1.getChildren().add(dmo2);
+        
+        IDiagramModelArchimateConnection conn1 = IArchimateFactory.eINSTANCE.createDiagramModelArchimateConnection();
+        conn1.setArchimateRelationship(r1);
+        conn1.connect(dmo1, dmo2);
+        
+        assertEquals(1, e1.getReferencingDiagramObjects().size());
+        assertEquals(1, e2.getReferencingDiagramObjects().size());
+        assertEquals(1, r1.getReferencingDiagramConnections().size());
+        
+        // Remove the group, the child references are removed
+        dm.getChildren().remove(group);
+        
+        assertEquals(0, e1.diagramObjects.size());
+        assertEquals(0, e2.diagramObjects.size());
+        assertEquals(0, r1.diagramConnections.size());
+        
+        // Add the group back again (as in undo), the child references are added
+        dm.getChildren().add(group);
+        
+        assertEquals(1, e1.diagramObjects.size());
+        assertEquals(1, e2.diagramObjects.size());
+        assertEquals(1, r1.diagramConnections.size());
+        assertEquals(1, e1.getReferencingDiagramObjects().size());
+        assertEquals(1, e2.getReferencingDiagramObjects().size());
+        assertEquals(1, r1.getReferencingDiagramConnections().size());
+        
+        // Move dmo2 to the diagram model, it is still referenced once
+        dm.getChildren().add(dmo2);
+        assertEquals(1, e2.diagramObjects.size());
+        assertEquals(1, e2.getReferencingDiagramObjects().size());
+        assertEquals(1, r1.getReferencingDiagramConnections().size());
+    }
+    
+    @Test
+    public void testGetCopy_ChildReferencesNotOrphaned() {
+        ArchimateElement e1 = (ArchimateElement)IArchimateFactory.eINSTANCE.createBusinessActor();
+        ArchimateElement e2 = (ArchimateElement)IArchimateFactory.eINSTANCE.createBusinessActor();
+        ArchimateElement e3 = (ArchimateElement)IArchimateFactory.eINSTANCE.createBusinessActor();
+        
+        IDiagramModelArchimateObject dmo1 = IArchimateFactory.eINSTANCE.createDiagramModelArchimateObject();
+        dmo1.setArchimateElement(e1);
+        IDiagramModelArchimateObject dmo2 = IArchimateFactory.eINSTANCE.createDiagramModelArchimateObject();
+        dmo2.setArchimateElement(e2);
+        dmo1.getChildren().add(dmo2);
+        IDiagramModelArchimateObject dmo3 = IArchimateFactory.eINSTANCE.createDiagramModelArchimateObject();
+        dmo3.setArchimateElement(e3);
+        dmo2.getChildren().add(dmo3);
+        
+        // The copy has no children and a copy of the element so the original elements only reference the originals
+        IDiagramModelArchimateObject copy = (IDiagramModelArchimateObject)dmo1.getCopy();
+        assertEquals(0, copy.getChildren().size());
+        assertEquals(1, ((ArchimateElement)copy.getArchimateElement()).diagramObjects.size());
+        
+        assertEquals(1, e1.diagramObjects.size());
+        assertEquals(1, e2.diagramObjects.size());
+        assertEquals(1, e3.diagramObjects.size());
+        assertTrue(e3.diagramObjects.contains(dmo3));
+    }
+    
+    @Test
+    public void testDiagramModelReference_DiagramModel_getReferencingDiagramModelReferences() {
+        IArchimateModel model = IArchimateFactory.eINSTANCE.createArchimateModel();
+        model.setDefaults();
+        DiagramModel dm1 = (DiagramModel)IArchimateFactory.eINSTANCE.createArchimateDiagramModel();
+        model.getDefaultFolderForObject(dm1).getElements().add(dm1);
+        DiagramModel dm2 = (DiagramModel)IArchimateFactory.eINSTANCE.createSketchModel();
+        model.getDefaultFolderForObject(dm2).getElements().add(dm2);
+        
+        IDiagramModelReference ref = IArchimateFactory.eINSTANCE.createDiagramModelReference();
+        ref.setReferencedModel(dm1);
+        
+        // Not in a diagram model
+        assertEquals(1, dm1.diagramModelReferences.size());
+        assertEquals(0, dm1.getReferencingDiagramModelReferences().size());
+        
+        // Add to a group in dm2
+        IDiagramModelGroup group = IArchimateFactory.eINSTANCE.createDiagramModelGroup();
+        group.getChildren().add(ref);
+        dm2.getChildren().add(group);
+        assertEquals(List.of(ref), dm1.getReferencingDiagramModelReferences());
+        
+        // Remove the group
+        dm2.getChildren().remove(group);
+        assertEquals(0, dm1.diagramModelReferences.size());
+        assertEquals(0, dm1.getReferencingDiagramModelReferences().size());
+        
+        // Add it back
+        dm2.getChildren().add(group);
+        assertEquals(List.of(ref), dm1.getReferencingDiagramModelReferences());
+        
+        // Reference another diagram model
+        ref.setReferencedModel(dm2);
+        assertEquals(0, dm1.diagramModelReferences.size());
+        assertEquals(List.of(ref), dm2.getReferencingDiagramModelReferences());
+        
+        // Remove dm2 from the model
+        ((IFolder)dm2.eContainer()).getElements().remove(dm2);
+        assertEquals(1, dm2.diagramModelReferences.size());
+        assertEquals(0, dm2.getReferencingDiagramModelReferences().size());
+    }
+    
 }
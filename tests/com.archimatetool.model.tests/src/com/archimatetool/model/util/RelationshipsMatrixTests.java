@@ -5,15 +5,22 @@
  */
 package com.archimatetool.model.util;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EcorePackage;
 import org.junit.jupiter.api.Test;
+import org.osgi.framework.Bundle;
 
 import com.archimatetool.model.IArchimateElement;
 import com.archimatetool.model.IArchimateFactory;
@@ -128,4 +135,57 @@ public class RelationshipsMatrixTests {
         // Not OK from Junction to relation
         assertFalse(matrix.isValidRelationship(objectClass, relationClass, relationshipType));
     }
+    
+    @Test
+    public void testIsValidRelationship_NotArchimateClasses() {
+        EClass sourceClass = IArchimatePackage.eINSTANCE.getBusinessActor();
+        EClass eObjectClass = EcorePackage.eINSTANCE.getEObject();
+        
+        assertFalse(matrix.isValidRelationship(sourceClass, sourceClass, null));
+        assertFalse(matrix.isValidRelationship(sourceClass, sourceClass, eObjectClass));
+        assertFalse(matrix.isValidRelationship(sourceClass, sourceClass, IArchimatePackage.eINSTANCE.getBusinessActor()));
+        assertFalse(matrix.isValidRelationship(eObjectClass, sourceClass, IArchimatePackage.eINSTANCE.getAssociationRelationship()));
+        assertFalse(matrix.isValidRelationship(sourceClass, eObjectClass, IArchimatePackage.eINSTANCE.getAssociationRelationship()));
+        assertFalse(matrix.isValidRelationshipStart(eObjectClass, IArchimatePackage.eINSTANCE.getAssociationRelationship()));
+    }
+    
+    @Test
+    public void testBinaryFileIsUpToDate() throws Exception {
+        Bundle bundle = Platform.getBundle(RelationshipsMatrix.BUNDLE_ID);
+        RelationshipsMatrix xmlMatrix = new RelationshipsMatrix(bundle.getEntry(RelationshipsMatrix.RELATIONSHIPS_KEYS_FILE),
+                bundle.getEntry(RelationshipsMatrix.RELATIONSHIPS_FILE));
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        xmlMatrix.writeBinary(out);
+        
+        try(InputStream in = bundle.getEntry(RelationshipsMatrix.RELATIONSHIPS_BINARY_FILE).openStream()) {
+            assertArrayEquals(out.toByteArray(), in.readAllBytes(), "relationships.bin is out of date. Run RelationshipsMatrix.main()");
+        }
+    }
+    
+    @Test
+    public void testBinaryAndXMLMatricesAreSame() {
+        Bundle bundle = Platform.getBundle(RelationshipsMatrix.BUNDLE_ID);
+        RelationshipsMatrix xmlMatrix = new RelationshipsMatrix(bundle.getEntry(RelationshipsMatrix.RELATIONSHIPS_KEYS_FILE),
+                bundle.getEntry(RelationshipsMatrix.RELATIONSHIPS_FILE));
+        
+        assertEquals(xmlMatrix.getRelationshipsValueMap(), matrix.getRelationshipsValueMap());
+        
+        EClass[] classes = ArchimateModelUtils.getAllArchimateClasses();
+        EClass[] relations = ArchimateModelUtils.getRelationsClasses();
+        
+        for(EClass source : classes) {
+            for(EClass relationship : relations) {
+                assertEquals(xmlMatrix.isValidRelationshipStart(source, relationship), matrix.isValidRelationshipStart(source, relationship));
+                
+                for(EClass target : classes) {
+                    assertEquals(xmlMatrix.isValidRelationship(source, target, relationship), matrix.isValidRelationship(source, target, relationship));
+                }
+                
+                for(EClass target : relations) {
+                    assertEquals(xmlMatrix.isValidRelationship(source, target, relationship), matrix.isValidRelationship(source, target, relationship));
+                }
+            }
+        }
+    }
 } 
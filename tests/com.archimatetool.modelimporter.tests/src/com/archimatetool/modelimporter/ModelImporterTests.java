@@ -8,7 +8,17 @@ package com.archimatetool.modelimporter;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.gef.commands.Command;
+import org.eclipse.gef.commands.CommandStack;
 import org.junit.jupiter.api.Test;
 
 import com.archimatetool.model.FolderType;
@@ -200,5 +210,95 @@ public class ModelImporterTests {
         IFolder viewsFolder = model.getFolder(FolderType.DIAGRAMS);
         assertEquals(2, viewsFolder.getElements().size());
     }
+    
+    @Test
+    public void getCommand_Update_UnchangedModel() throws Exception {
+        ModelImporter importer = new ModelImporter();
+        importer.setUpdate(true);
+        
+        ArchimateTestModel tm = new ArchimateTestModel(TestData.TEST_MODEL_FILE);
+        IArchimateModel model = tm.loadModelWithCommandStack();
+        
+        // Nothing to update so no commands
+        Command cmd = importer.getCommand(TestData.TEST_MODEL_FILE, model);
+        assertFalse(cmd.canExecute());
+        
+        // Unchanged sub-folder is skipped with its contents
+        assertTrue(importer.getStatusMessages().stream().anyMatch(msg -> msg.getMessage().contains("Folder1")));
+        assertFalse(importer.getStatusMessages().stream().anyMatch(msg -> msg.getMessage().contains("BA1")));
+    }
+    
+    @Test
+    public void doImport_Update_ChangedObjects() throws Exception {
+        ModelImporter importer = new ModelImporter();
+        importer.setUpdate(true);
+        
+        ArchimateTestModel tm = new ArchimateTestModel(TestData.TEST_MODEL_FILE);
+        IArchimateModel model = tm.loadModelWithCommandStack();
+        
+        IFolder businessFolder = model.getFolder(FolderType.BUSINESS);
+        IArchimateElement element1 = (IArchimateElement)businessFolder.getElements().get(0);
+        element1.getProperties().get(0).setValue("My Value");
+        
+        IFolder businessSubFolder = businessFolder.getFolders().get(0);
+        IArchimateElement element2 = (IArchimateElement)businessSubFolder.getElements().get(0);
+        element2.setName("My BA1");
+        
+        IArchimateElement element3 = (IArchimateElement)businessSubFolder.getElements().get(1);
+        element3.setDocumentation("My Documentation");
+        
+        importer.doImport(TestData.TEST_MODEL_FILE, model);
+        
+        // Changed objects are updated
+        assertEquals("BA1", element2.getName());
+        assertEquals("BR1 Documentation", element3.getDocumentation());
+        assertEquals("v1", element1.getProperties().get(0).getValue());
+        
+        // Undo
+        CommandStack stack = (CommandStack)model.getAdapter(CommandStack.class);
+        stack.undo();
+        assertEquals("My BA1", element2.getName());
+        assertEquals("My Documentation", element3.getDocumentation());
+        assertEquals("My Value", element1.getProperties().get(0).getValue());
+    }
+    
+    @Test
+    public void doImport_Prepared_SameAsNotPrepared() throws Exception {
+        // Not prepared
+        ModelImporter importer1 = new ModelImporter();
+        importer1.setUpdate(true);
+        IArchimateModel model1 = createChangedModel();
+        importer1.doImport(TestData.TEST_MODEL_FILE, model1);
+        
+        // Prepared in another thread
+        ModelImporter importer2 = new ModelImporter();
+        importer2.setUpdate(true);
+        IArchimateModel model2 = createChangedModel();
+        IArchimateModel importedModel = CompletableFuture.supplyAsync(() -> {
+            try {
+                return importer2.prepare(TestData.TEST_MODEL_FILE, model2, new NullProgressMonitor());
+            }
+            catch(IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }).get();
+        importer2.doImport(importedModel, model2);
+        
+        assertEquals(getMessages(importer1), getMessages(importer2));
+        
+        IFolder businessSubFolder = model2.getFolder(FolderType.BUSINESS).getFolders().get(0);
+        assertEquals("BA1", businessSubFolder.getElements().get(0).getName());
+    }
+    
+    private IArchimateModel createChangedModel() throws IOException {
+        IArchimateModel model = new ArchimateTestModel(TestData.TEST_MODEL_FILE).loadModelWithCommandStack();
+        IFolder businessSubFolder = model.getFolder(FolderType.BUSINESS).getFolders().get(0);
+        businessSubFolder.getElements().get(0).setName("My BA1");
+        return model;
+    }
+    
+    private List<String> getMessages(ModelImporter importer) {
+        return importer.getStatusMessages().stream().map(StatusMessage::getMessage).collect(Collectors.toList());
+    }
 
 }
@@ -21,6 +21,7 @@ import com.archimatetool.model.IDiagramModel;
 import com.archimatetool.model.IDiagramModelArchimateObject;
 import com.archimatetool.model.IDiagramModelObject;
 import com.archimatetool.model.IDiagramModelReference;
+import com.archimatetool.model.IFolder;
 import com.archimatetool.reports.TestData;
 import com.archimatetool.testingtools.ArchimateTestModel;
 import com.archimatetool.tests.TestUtils;
@@ -66,6 +67,10 @@ public class HTMLReportExporterTests {
         assertTrue(objectsFolder.exists());
         assertEquals(10, objectsFolder.listFiles().length);
 
+        File treeFolder = new File(modelFolder, "tree");
+        assertTrue(treeFolder.exists());
+        assertTrue(new File(modelFolder, "search.js").exists());
+
         assertTrue(new File(targetFolder, "css").exists());
         assertTrue(new File(targetFolder, "elements").exists());
         assertTrue(new File(targetFolder, "hints").exists());
@@ -83,6 +88,11 @@ public class HTMLReportExporterTests {
                 assertTrue(new File(elementsFolder, ((IArchimateConcept)eObject).getId() + ".html").exists());
             }
             
+            // Folders
+            else if(eObject instanceof IFolder) {
+                assertTrue(new File(treeFolder, ((IFolder)eObject).getId() + ".js").exists());
+            }
+            
             // Views & Images
             else if(eObject instanceof IDiagramModel) {
                 assertTrue(new File(imagesFolder, ((IDiagramModel)eObject).getId() + ".png").exists());
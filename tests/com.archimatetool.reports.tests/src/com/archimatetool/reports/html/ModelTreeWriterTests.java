@@ -0,0 +1,144 @@
+/**
+ * This program and the accompanying materials
+ * are made available under the terms of the License
+ * which accompanies this distribution in the file LICENSE.txt
+ */
+package com.archimatetool.reports.html;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.archimatetool.editor.utils.FileUtils;
+import com.archimatetool.model.FolderType;
+import com.archimatetool.model.IArchimateElement;
+import com.archimatetool.model.IArchimateFactory;
+import com.archimatetool.model.IArchimateModel;
+import com.archimatetool.model.IArchimateRelationship;
+import com.archimatetool.model.IFolder;
+import com.archimatetool.model.IProperties;
+import com.archimatetool.model.IProperty;
+import com.archimatetool.tests.TestUtils;
+
+
+@SuppressWarnings("nls")
+public class ModelTreeWriterTests {
+    
+    private IArchimateModel model;
+    private File modelFolder;
+    
+    @BeforeEach
+    public void runOnceBeforeEachTest() {
+        model = IArchimateFactory.eINSTANCE.createArchimateModel();
+        model.setDefaults();
+        modelFolder = TestUtils.createTempFolder("archi-html-tree");
+    }
+    
+    @AfterEach
+    public void runOnceAfterEachTest() throws Exception {
+        FileUtils.deleteFolder(TestUtils.TMP_FOLDER);
+    }
+    
+    @Test
+    public void testWrite_FolderFiles() throws Exception {
+        IFolder businessFolder = model.getFolder(FolderType.BUSINESS);
+        IArchimateElement actor = addElement(businessFolder, "Zebra");
+        IArchimateElement role = addElement(businessFolder, "apple");
+        
+        IFolder subFolder = IArchimateFactory.eINSTANCE.createFolder();
+        subFolder.setName("Sub");
+        businessFolder.getFolders().add(subFolder);
+        
+        ModelTreeWriter writer = new ModelTreeWriter(model);
+        writer.write(modelFolder);
+        
+        // A file for every folder
+        for(IFolder folder : model.getFolders()) {
+            assertTrue(new File(modelFolder, "tree/" + folder.getId() + ".js").exists());
+        }
+        assertTrue(new File(modelFolder, "tree/" + subFolder.getId() + ".js").exists());
+        
+        assertEquals(3, writer.getFolderCounts().get(businessFolder.getId()));
+        assertEquals(0, writer.getFolderCounts().get(subFolder.getId()));
+        
+        // Folders first and elements sorted by name
+        String content = read("tree/" + businessFolder.getId() + ".js");
+        assertTrue(content.startsWith("treeFolderLoaded(\"" + businessFolder.getId() + "\","));
+        assertTrue(content.contains("\"f\":[[\"" + subFolder.getId() + "\",\"Sub\",0]]"));
+        assertTrue(content.indexOf(role.getId()) < content.indexOf(actor.getId()));
+    }
+    
+    @Test
+    public void testWrite_HiddenObjectsNotWritten() throws Exception {
+        IFolder businessFolder = model.getFolder(FolderType.BUSINESS);
+        IArchimateElement hidden = addElement(businessFolder, "Hidden");
+        addProperty(hidden, "TRUE");
+        addElement(businessFolder, "Shown");
+        
+        IFolder hiddenFolder = IArchimateFactory.eINSTANCE.createFolder();
+        businessFolder.getFolders().add(hiddenFolder);
+        addProperty(hiddenFolder, "true");
+        
+        ModelTreeWriter writer = new ModelTreeWriter(model);
+        writer.write(modelFolder);
+        
+        assertEquals(1, writer.getFolderCounts().get(businessFolder.getId()));
+        assertFalse(new File(modelFolder, "tree/" + hiddenFolder.getId() + ".js").exists());
+        assertFalse(read("tree/" + businessFolder.getId() + ".js").contains(hidden.getId()));
+        assertFalse(read(ModelTreeWriter.SEARCH_INDEX_FILE).contains(hidden.getId()));
+    }
+    
+    @Test
+    public void testWrite_SearchIndex() throws Exception {
+        IArchimateElement actor = addElement(model.getFolder(FolderType.BUSINESS), "Customer Service");
+        IArchimateElement role = addElement(model.getFolder(FolderType.BUSINESS), "customer");
+        
+        IArchimateRelationship relation = IArchimateFactory.eINSTANCE.createAssignmentRelationship();
+        relation.connect(actor, role);
+        model.getFolder(FolderType.RELATIONS).getElements().add(relation);
+        
+        new ModelTreeWriter(model).write(modelFolder);
+        
+        String content = read(ModelTreeWriter.SEARCH_INDEX_FILE);
+        assertTrue(content.startsWith("searchIndexLoaded({"));
+        
+        // Items are indexed in tree order, "customer" is in both elements and the relation's source and target names
+        assertTrue(content.contains("\"tokens\":[\"customer\",\"service\"]"));
+        assertTrue(content.contains("\"postings\":[[0,1,2],[1,2]]"));
+        
+        // Relations are written with their type and the names of source and target
+        assertTrue(read("tree/" + model.getFolder(FolderType.RELATIONS).getId() + ".js")
+                .contains("[\"" + relation.getId() + "\",\"\",\"AssignmentRelationship\",\"Customer Service\",\"customer\"]"));
+    }
+    
+    @Test
+    public void testToJSONString() {
+        assertEquals("\"\"", ModelTreeWriter.toJSONString(null));
+        assertEquals("\"a\\\"b\\\\c\\nd\"", ModelTreeWriter.toJSONString("a\"b\\c\nd"));
+        assertEquals("\"\\u2028\"", ModelTreeWriter.toJSONString("\u2028"));
+    }
+    
+    private IArchimateElement addElement(IFolder folder, String name) {
+        IArchimateElement element = IArchimateFactory.eINSTANCE.createBusinessActor();
+        element.setName(name);
+        folder.getElements().add(element);
+        return element;
+    }
+    
+    private void addProperty(IProperties object, String value) {
+        IProperty property = IArchimateFactory.eINSTANCE.createProperty(ModelTreeWriter.HIDE_FROM_EXPORT, value);
+        object.getProperties().add(property);
+    }
+    
+    private String read(String path) throws Exception {
+        return Files.readString(new File(modelFolder, path).toPath(), StandardCharsets.UTF_8);
+    }
+}